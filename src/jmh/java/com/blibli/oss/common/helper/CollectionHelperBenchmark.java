@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.TimeUnit;
+import org.apache.commons.lang3.ArrayUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Benchmarks of {@link CollectionHelper}. Methods prefixed with <code>lang</code> or
+ * <code>jdk</code> are the baselines doing the same work with commons-lang3 or the JDK.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionHelperBenchmark {
+
+  private String[] elements;
+  private String[] additions;
+  private String target;
+  private TimeUnit unit;
+  private List<String> list;
+  private Set<String> set;
+  private Map<String, String> map;
+
+  // null inputs are fields, not literals, so the JIT cannot fold the null checks away
+  private List<String> nullList;
+  private Map<String, String> nullMap;
+
+  @Setup
+  public void setUp() {
+    elements = new String[100];
+    additions = new String[] {"a", "b", "c"};
+    target = "element-99";
+    unit = TimeUnit.DAYS;
+    list = new ArrayList<>();
+    set = new HashSet<>();
+    map = new HashMap<>();
+    for (int i = 0; i < elements.length; i++) {
+      elements[i] = i % 10 == 0 ? null : "element-" + i;
+    }
+    list.addAll(Arrays.asList(elements));
+    set.addAll(list);
+    for (String element : elements) {
+      map.put(element, element);
+    }
+  }
+
+  @Benchmark
+  public List<String> addToList() {
+    return CollectionHelper.addToList(new ArrayList<>(), additions);
+  }
+
+  @Benchmark
+  public List<String> addToListNull() {
+    return CollectionHelper.addToList(nullList, additions);
+  }
+
+  @Benchmark
+  public String findInCollection() {
+    return CollectionHelper.findInCollection(list, target::equals);
+  }
+
+  @Benchmark
+  public void forEach(Blackhole blackhole) {
+    CollectionHelper.forEach(list, blackhole::consume);
+  }
+
+  @Benchmark
+  public boolean isEmpty() {
+    return CollectionHelper.isEmpty(list);
+  }
+
+  @Benchmark
+  public boolean isEmptyMap() {
+    return CollectionHelper.isEmpty(map);
+  }
+
+  @Benchmark
+  public boolean isNotEmpty() {
+    return CollectionHelper.isNotEmpty(list);
+  }
+
+  @Benchmark
+  public boolean isNotEmptyMap() {
+    return CollectionHelper.isNotEmpty(nullMap);
+  }
+
+  @Benchmark
+  public boolean isInCollection() {
+    return CollectionHelper.isInCollection(target, set);
+  }
+
+  @Benchmark
+  public boolean isInEnumSet() {
+    return CollectionHelper.isInEnumSet(unit, TimeUnit.HOURS, TimeUnit.MINUTES, TimeUnit.DAYS);
+  }
+
+  @Benchmark
+  public boolean langContains() {
+    return ArrayUtils.contains(new TimeUnit[] {TimeUnit.HOURS, TimeUnit.MINUTES, TimeUnit.DAYS},
+        unit);
+  }
+
+  @Benchmark
+  public List<String> sanitize() {
+    List<String> copy = new ArrayList<>(list);
+    CollectionHelper.sanitize(copy);
+    return copy;
+  }
+
+  @Benchmark
+  public Map<String, String> sanitizeMap() {
+    Map<String, String> copy = new HashMap<>(map);
+    CollectionHelper.sanitize(copy);
+    return copy;
+  }
+
+  @Benchmark
+  public int sizeOf() {
+    return CollectionHelper.sizeOf(list);
+  }
+
+  @Benchmark
+  public Set<String> toSet() {
+    return CollectionHelper.toSet(elements);
+  }
+
+  @Benchmark
+  public List<String> toList() {
+    return CollectionHelper.toList(elements);
+  }
+
+  @Benchmark
+  public List<String> jdkToList() {
+    List<String> result = new ArrayList<>(elements.length);
+    for (String element : elements) {
+      if (element != null) {
+        result.add(element);
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.TimeUnit;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Benchmarks of {@link CommonHelper}. Methods prefixed with <code>lang</code> or <code>jdk</code>
+ * are the baselines doing the same work with commons-lang3 or the JDK.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommonHelperBenchmark {
+
+  private String text;
+  private String blank;
+  private String enumName;
+  private String fallback;
+  private Date date;
+  private List<String> list;
+
+  // null inputs are fields, not literals, so the JIT cannot fold the null checks away
+  private Boolean nullBoolean;
+  private Date nullDate;
+  private Double nullDouble;
+  private Integer nullInteger;
+  private Long nullLong;
+  private String nullString;
+  private List<String> nullList;
+  private Map<String, String> nullMap;
+  private Set<String> nullSet;
+
+  @Setup
+  public void setUp() {
+    text = "Java Common Helper";
+    blank = " ";
+    enumName = "MINUTES";
+    fallback = "fallback";
+    date = new Date(1529081980307L);
+    list = new ArrayList<>();
+  }
+
+  @Benchmark
+  public boolean denullifyBoolean() {
+    return CommonHelper.denullify(nullBoolean);
+  }
+
+  @Benchmark
+  public Date denullifyDate() {
+    return CommonHelper.denullify(nullDate);
+  }
+
+  @Benchmark
+  public Date denullifyDateNotNull() {
+    return CommonHelper.denullify(date);
+  }
+
+  @Benchmark
+  public List<String> denullifyClass() throws Exception {
+    return CommonHelper.denullify(nullList, ArrayList.class);
+  }
+
+  @Benchmark
+  public String denullifyVarargs() {
+    return CommonHelper.denullify(nullString, nullString, fallback);
+  }
+
+  @Benchmark
+  public Double denullifyDouble() {
+    return CommonHelper.denullify(nullDouble);
+  }
+
+  @Benchmark
+  public Integer denullifyInteger() {
+    return CommonHelper.denullify(nullInteger);
+  }
+
+  @Benchmark
+  public Long denullifyLong() {
+    return CommonHelper.denullify(nullLong);
+  }
+
+  @Benchmark
+  public List<String> denullifyList() {
+    return CommonHelper.denullify(nullList);
+  }
+
+  @Benchmark
+  public Map<String, String> denullifyMap() {
+    return CommonHelper.denullify(nullMap);
+  }
+
+  @Benchmark
+  public Set<String> denullifySet() {
+    return CommonHelper.denullify(nullSet);
+  }
+
+  @Benchmark
+  public String denullifyString() {
+    return CommonHelper.denullify(nullString);
+  }
+
+  @Benchmark
+  public String langDefaultString() {
+    return StringUtils.defaultString(nullString);
+  }
+
+  @Benchmark
+  public Object langDefaultIfNull() {
+    return ObjectUtils.defaultIfNull(nullList, list);
+  }
+
+  @Benchmark
+  public void doIfNotNull(Blackhole blackhole) {
+    CommonHelper.doIfNotNull(list, blackhole::consume);
+  }
+
+  @Benchmark
+  public void doIfNotNullNull(Blackhole blackhole) {
+    CommonHelper.doIfNotNull(nullList, blackhole::consume);
+  }
+
+  @Benchmark
+  public String generateUUID() {
+    return CommonHelper.generateUUID();
+  }
+
+  @Benchmark
+  public Integer getIfNotNull() {
+    return CommonHelper.getIfNotNull(text, String::length);
+  }
+
+  @Benchmark
+  public Integer getIfNotNullNull() {
+    return CommonHelper.getIfNotNull(nullString, String::length);
+  }
+
+  @Benchmark
+  public String toLowerCase() {
+    return CommonHelper.toLowerCase(text);
+  }
+
+  @Benchmark
+  public String toUpperCase() {
+    return CommonHelper.toUpperCase(text);
+  }
+
+  @Benchmark
+  public String langUpperCase() {
+    return StringUtils.upperCase(text);
+  }
+
+  @Benchmark
+  public TimeUnit valueOf() {
+    return CommonHelper.valueOf(enumName, TimeUnit.class);
+  }
+
+  @Benchmark
+  public TimeUnit valueOfBlank() {
+    return CommonHelper.valueOf(blank, TimeUnit.class);
+  }
+
+  @Benchmark
+  public TimeUnit jdkValueOf() {
+    return TimeUnit.valueOf(enumName);
+  }
+}
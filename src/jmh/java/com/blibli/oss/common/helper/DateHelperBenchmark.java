@@ -0,0 +1,384 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.CommonDateTimePatterns;
+import com.blibli.oss.common.helper.constants.TimeComparator;
+import com.blibli.oss.common.helper.constants.TimeUnit;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmarks of {@link DateHelper}. Methods prefixed with <code>joda</code> or <code>jdk</code> are
+ * the baselines doing the same work without the helper.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateHelperBenchmark {
+
+  private static final String PATTERN = CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss;
+  private static final String CUSTOM_PATTERN = "yyyy/MM/dd HH:mm";
+  private static final DateTimeZone ZONE = DateTimeZone.forID("Asia/Jakarta");
+  private static final Locale INDONESIAN = new Locale("id");
+  private static final DateTimeFormatter JODA = DateTimeFormat.forPattern(PATTERN);
+  private static final String[] CANDIDATES = {CommonDateTimePatterns.dd_MM_yy,
+      CommonDateTimePatterns.dd_MM_yyyy, CommonDateTimePatterns.dd_MMM_yyyy__HH_mm};
+
+  private Date first;
+  private Date second;
+  private long millis;
+  private long secondMillis;
+  private String text;
+  private String customText;
+  private String mixedText;
+  private String invalidText;
+
+  // null input is a field, not a literal, so the JIT cannot fold the null checks away
+  private Date nullDate;
+
+  private long[] batch;
+  private List<String> batchTexts;
+
+  @Setup
+  public void setUp() {
+    first = new DateTime(2018, 6, 15, 23, 59, 40, 307).toDate();
+    second = new DateTime(2018, 6, 16, 1, 2, 3, 4).toDate();
+    millis = first.getTime();
+    secondMillis = second.getTime();
+    text = DateHelper.toString(first, PATTERN);
+    customText = DateHelper.toString(first, CUSTOM_PATTERN);
+    mixedText = "15 Jun 2018 23:59";
+    invalidText = "31 Foo 2018 25:00:00";
+
+    Random random = new Random(18);
+    batch = new long[10000];
+    for (int i = 0; i < batch.length; i++) {
+      batch[i] = millis + random.nextInt(1000000000);
+    }
+    batchTexts = Arrays.asList(DateHelper.formatAll(batch, PATTERN));
+  }
+
+  @Benchmark
+  public Date add() {
+    return DateHelper.add(first, 3, TimeUnit.DAYS);
+  }
+
+  @Benchmark
+  public Date addNull() {
+    return DateHelper.add(nullDate, 3, TimeUnit.DAYS);
+  }
+
+  @Benchmark
+  public long addMillis() {
+    return DateHelper.add(millis, 3, TimeUnit.DAYS);
+  }
+
+  @Benchmark
+  public long addMillisInZone() {
+    return DateHelper.add(millis, 3, TimeUnit.DAYS, ZONE);
+  }
+
+  @Benchmark
+  public long jodaPlusDays() {
+    return new DateTime(millis, ZONE).plusDays(3).getMillis();
+  }
+
+  @Benchmark
+  public Date minus() {
+    return DateHelper.minus(first, 3, TimeUnit.HOURS);
+  }
+
+  @Benchmark
+  public long minusMillisInZone() {
+    return DateHelper.minus(millis, 3, TimeUnit.WEEKS, ZONE);
+  }
+
+  @Benchmark
+  public long truncate() {
+    return DateHelper.truncate(millis, TimeUnit.DAYS, ZONE);
+  }
+
+  @Benchmark
+  public long jodaRoundFloor() {
+    return new DateTime(millis, ZONE).dayOfMonth().roundFloorCopy().getMillis();
+  }
+
+  @Benchmark
+  public long bucket() {
+    return DateHelper.bucket(millis, 15, TimeUnit.MINUTES, ZONE);
+  }
+
+  @Benchmark
+  public long[] bucketAll() {
+    long[] dst = new long[batch.length];
+    DateHelper.bucket(batch, 15, TimeUnit.MINUTES, ZONE, dst);
+    return dst;
+  }
+
+  @Benchmark
+  public long[] truncateAll() {
+    long[] dst = new long[batch.length];
+    DateHelper.truncate(batch, TimeUnit.HOURS, ZONE, dst);
+    return dst;
+  }
+
+  @Benchmark
+  public long range() {
+    return DateHelper.range(millis, millis + 86400000L, 1, TimeUnit.MINUTES).sum();
+  }
+
+  @Benchmark
+  public long rangeDates() {
+    return DateHelper.range(first, second, 1, TimeUnit.MINUTES).count();
+  }
+
+  @Benchmark
+  public boolean is() {
+    return DateHelper.is(first, TimeComparator.BEFORE_OR_EQUAL_TO, second);
+  }
+
+  @Benchmark
+  public boolean isNull() {
+    return DateHelper.is(nullDate, TimeComparator.BEFORE_OR_EQUAL_TO, second);
+  }
+
+  @Benchmark
+  public boolean isMillis() {
+    return DateHelper.is(millis, TimeComparator.BEFORE_OR_EQUAL_TO, secondMillis);
+  }
+
+  @Benchmark
+  public boolean jdkBeforeOrEqual() {
+    return !first.after(second);
+  }
+
+  @Benchmark
+  public int count() {
+    return DateHelper.count(batch, TimeComparator.AFTER, secondMillis);
+  }
+
+  @Benchmark
+  public int[] select() {
+    return DateHelper.select(batch, TimeComparator.AFTER, secondMillis);
+  }
+
+  @Benchmark
+  public BitSet mask() {
+    return DateHelper.mask(batch, TimeComparator.AFTER, secondMillis);
+  }
+
+  @Benchmark
+  public int countWithDates() {
+    int count = 0;
+    for (long value : batch) {
+      count += DateHelper.is(new Date(value), TimeComparator.AFTER, second) ? 1 : 0;
+    }
+    return count;
+  }
+
+  @Benchmark
+  public long currentTimeMillis() {
+    return DateHelper.currentTimeMillis();
+  }
+
+  @Benchmark
+  public Date now() {
+    return DateHelper.now();
+  }
+
+  @Benchmark
+  public String nowPattern() {
+    return DateHelper.now(PATTERN);
+  }
+
+  @Benchmark
+  public String nowPatternTick() {
+    return DateHelper.now(PATTERN, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public String jodaNow() {
+    return JODA.print(System.currentTimeMillis());
+  }
+
+  @Benchmark
+  public DatePattern compile() {
+    return DateHelper.compile(CUSTOM_PATTERN);
+  }
+
+  @Benchmark
+  public DatePattern compileInZoneAndLocale() {
+    return DateHelper.compile(PATTERN, ZONE, INDONESIAN);
+  }
+
+  @Benchmark
+  public DateTimeFormatter jodaForPattern() {
+    return DateTimeFormat.forPattern(CUSTOM_PATTERN);
+  }
+
+  @Benchmark
+  public String toStringDate() {
+    return DateHelper.toString(first, PATTERN);
+  }
+
+  @Benchmark
+  public String toStringNull() {
+    return DateHelper.toString(nullDate, PATTERN);
+  }
+
+  @Benchmark
+  public String toStringMillis() {
+    return DateHelper.toString(millis, PATTERN);
+  }
+
+  @Benchmark
+  public String toStringCustomPattern() {
+    return DateHelper.toString(millis, CUSTOM_PATTERN);
+  }
+
+  @Benchmark
+  public String toStringInZoneAndLocale() {
+    return DateHelper.toString(millis, PATTERN, ZONE, INDONESIAN);
+  }
+
+  @Benchmark
+  public String jodaPrint() {
+    return JODA.print(millis);
+  }
+
+  @Benchmark
+  public Date toDate() {
+    return DateHelper.toDate(text, PATTERN);
+  }
+
+  @Benchmark
+  public long toMillis() {
+    return DateHelper.toMillis(text, PATTERN);
+  }
+
+  @Benchmark
+  public long toMillisCustomPattern() {
+    return DateHelper.toMillis(customText, CUSTOM_PATTERN);
+  }
+
+  @Benchmark
+  public long toMillisInZone() {
+    return DateHelper.toMillis(text, PATTERN, ZONE);
+  }
+
+  @Benchmark
+  public long toMillisInvalidSuppressed() {
+    return DateHelper.toMillis(invalidText, PATTERN, DateHelper.ParseMode.SUPPRESS_EXCEPTION);
+  }
+
+  @Benchmark
+  public Date toDateInvalidSuppressed() {
+    return DateHelper.toDate(invalidText, PATTERN, DateHelper.ParseMode.SUPPRESS_EXCEPTION);
+  }
+
+  @Benchmark
+  public long jodaParseMillis() {
+    return JODA.parseMillis(text);
+  }
+
+  @Benchmark
+  public long jodaParseInvalidCaught() {
+    try {
+      return JODA.parseMillis(invalidText);
+    } catch (IllegalArgumentException e) {
+      return DateHelper.NULL_MILLIS;
+    }
+  }
+
+  @Benchmark
+  public String detectPattern() {
+    return DateHelper.detectPattern(mixedText);
+  }
+
+  @Benchmark
+  public long toMillisDetected() {
+    return DateHelper.toMillisDetected(mixedText, DateHelper.ParseMode.STRICT);
+  }
+
+  @Benchmark
+  public Date toDateDetected() {
+    return DateHelper.toDateDetected(mixedText, DateHelper.ParseMode.STRICT);
+  }
+
+  @Benchmark
+  public long tryEachPattern() {
+    for (String candidate : CANDIDATES) {
+      try {
+        return DateHelper.toMillis(mixedText, candidate);
+      } catch (IllegalArgumentException e) {
+        // try the next one
+      }
+    }
+    return DateHelper.NULL_MILLIS;
+  }
+
+  @Benchmark
+  public String[] formatAll() {
+    return DateHelper.formatAll(batch, PATTERN);
+  }
+
+  @Benchmark
+  public long[] parseAll() {
+    return DateHelper.parseAll(batchTexts, PATTERN, DateHelper.ParseMode.STRICT);
+  }
+
+  @Benchmark
+  public void jodaFormatAll(Blackhole blackhole) {
+    for (long value : batch) {
+      blackhole.consume(JODA.print(value));
+    }
+  }
+
+  @Benchmark
+  public long toMilliseconds() {
+    return DateHelper.toMilliseconds(millis, TimeUnit.MINUTES);
+  }
+
+  @Benchmark
+  public long jdkToMillis() {
+    return java.util.concurrent.TimeUnit.MINUTES.toMillis(millis);
+  }
+}
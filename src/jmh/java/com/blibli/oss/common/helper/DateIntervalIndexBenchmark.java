@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+
+/**
+ * Benchmarks of {@link DateIntervalIndex}, against scanning every window with
+ * {@link DateHelper#is(long, com.blibli.oss.common.helper.constants.TimeComparator, long)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateIntervalIndexBenchmark {
+
+  private long[] starts;
+  private long[] ends;
+  private DateIntervalIndex index;
+  private long point;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(18);
+    starts = new long[100000];
+    ends = new long[starts.length];
+    for (int i = 0; i < starts.length; i++) {
+      starts[i] = random.nextInt(1000000000) * 1000L;
+      ends[i] = starts[i] + random.nextInt(3600000);
+    }
+    index = DateIntervalIndex.of(starts, ends);
+    point = starts[starts.length / 2];
+  }
+
+  @Benchmark
+  public DateIntervalIndex build() {
+    return DateIntervalIndex.of(starts, ends);
+  }
+
+  @Benchmark
+  public boolean anyContains() {
+    return index.anyContains(point);
+  }
+
+  @Benchmark
+  public int[] containing() {
+    return index.containing(point);
+  }
+
+  @Benchmark
+  public void forEachContaining(Blackhole blackhole) {
+    index.forEachContaining(point, blackhole::consume);
+  }
+
+  @Benchmark
+  public int[] overlapping() {
+    return index.overlapping(point, point + 60000);
+  }
+
+  @Benchmark
+  public void forEachOverlapping(Blackhole blackhole) {
+    index.forEachOverlapping(point, point + 60000, blackhole::consume);
+  }
+
+  @Benchmark
+  public int scanContaining() {
+    int count = 0;
+    for (int i = 0; i < starts.length; i++) {
+      if (DateHelper.is(point, com.blibli.oss.common.helper.constants.TimeComparator
+          .AFTER_OR_EQUAL_TO, starts[i]) && DateHelper.is(point,
+          com.blibli.oss.common.helper.constants.TimeComparator.BEFORE, ends[i])) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
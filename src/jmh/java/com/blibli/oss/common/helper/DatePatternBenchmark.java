@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.TimeUnit;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Benchmarks of {@link DatePattern} and {@link CachedDatePrinter}. Methods prefixed with
+ * <code>joda</code> are the baselines doing the same work with Joda.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DatePatternBenchmark {
+
+  private static final DatePattern PATTERN = CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS;
+  private static final DatePattern ZONED_PATTERN =
+      PATTERN.withZone(DateTimeZone.forID("Asia/Jakarta")).withLocale(new Locale("id"));
+  private static final DatePattern CUSTOM_PATTERN = DateHelper.compile("yyyy/MM/dd HH:mm");
+  private static final DatePattern ISO = CompiledDateTimePatterns.ISO_8601;
+  private static final DateTimeFormatter JODA = DateTimeFormat.forPattern(PATTERN.getPattern());
+  private static final DateTimeFormatter JODA_ISO = ISODateTimeFormat.dateTime();
+  private static final CachedDatePrinter CACHED = PATTERN.cached(TimeUnit.SECONDS);
+
+  private long millis;
+  private Date date;
+  private String text;
+  private String zonedText;
+  private String invalidText;
+  private String isoText;
+  private byte[] bytes;
+  private char[] chars;
+  private byte[] byteBuf;
+  private ByteBuffer byteBuffer;
+  private StringBuilder builder;
+
+  @Setup
+  public void setUp() {
+    millis = 1529081980307L;
+    date = new Date(millis);
+    text = PATTERN.print(millis);
+    zonedText = "15 Jun 2018 23:59:40.307";
+    invalidText = "15 Foo 2018 23:59:40.307";
+    isoText = ISO.print(millis);
+    bytes = text.getBytes(StandardCharsets.UTF_8);
+    chars = new char[64];
+    byteBuf = new byte[64];
+    byteBuffer = ByteBuffer.allocate(64);
+    builder = new StringBuilder(64);
+  }
+
+  @Benchmark
+  public String print() {
+    return PATTERN.print(millis);
+  }
+
+  @Benchmark
+  public String printDate() {
+    return PATTERN.print(date);
+  }
+
+  @Benchmark
+  public String printInZoneAndLocale() {
+    return ZONED_PATTERN.print(millis);
+  }
+
+  @Benchmark
+  public String printCustom() {
+    return CUSTOM_PATTERN.print(millis);
+  }
+
+  @Benchmark
+  public String printIso() {
+    return ISO.print(millis);
+  }
+
+  @Benchmark
+  public String jodaPrint() {
+    return JODA.print(millis);
+  }
+
+  @Benchmark
+  public String jodaPrintIso() {
+    return JODA_ISO.print(millis);
+  }
+
+  @Benchmark
+  public StringBuilder printToStringBuilder() {
+    builder.setLength(0);
+    return PATTERN.printTo(builder, millis);
+  }
+
+  @Benchmark
+  public int printToChars() {
+    return PATTERN.printTo(chars, 0, millis);
+  }
+
+  @Benchmark
+  public int printToBytes() {
+    return PATTERN.printTo(byteBuf, 0, millis);
+  }
+
+  @Benchmark
+  public int printToByteBuffer() {
+    byteBuffer.clear();
+    return PATTERN.printTo(byteBuffer, millis);
+  }
+
+  @Benchmark
+  public String printCached() {
+    return CACHED.print(millis);
+  }
+
+  @Benchmark
+  public long parseMillis() {
+    return PATTERN.parseMillis(text);
+  }
+
+  @Benchmark
+  public long parseMillisInZoneAndLocale() {
+    return ZONED_PATTERN.parseMillis(zonedText);
+  }
+
+  @Benchmark
+  public long parseMillisInvalid() {
+    return PATTERN.parseMillis(invalidText, DateHelper.NULL_MILLIS);
+  }
+
+  @Benchmark
+  public Date parse() {
+    return PATTERN.parse(text);
+  }
+
+  @Benchmark
+  public long parseIso() {
+    return ISO.parseMillis(isoText);
+  }
+
+  @Benchmark
+  public long parseBytes() {
+    return PATTERN.parseMillis(bytes, 0, bytes.length);
+  }
+
+  @Benchmark
+  public long jodaParseMillis() {
+    return JODA.parseMillis(text);
+  }
+
+  @Benchmark
+  public long jodaParseIso() {
+    return JODA_ISO.parseMillis(isoText);
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Benchmarks of {@link FixedDecimal}. Methods prefixed with <code>jdk</code> are the baselines
+ * doing the same work with {@link BigDecimal}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedDecimalBenchmark {
+
+  private String priceText;
+  private FixedDecimal[] prices;
+  private BigDecimal[] bigDecimalPrices;
+  private FixedDecimal.Accumulator total;
+  private FixedDecimal tax;
+  private BigDecimal bigDecimalTax;
+
+  @Setup
+  public void setUp() {
+    priceText = "15000.50";
+    prices = new FixedDecimal[64];
+    bigDecimalPrices = new BigDecimal[64];
+    total = new FixedDecimal.Accumulator(2);
+    tax = FixedDecimal.of(11, 2);
+    bigDecimalTax = new BigDecimal("0.11");
+
+    for (int i = 0; i < prices.length; i++) {
+      prices[i] = FixedDecimal.of(1500050 + i * 1000L, 2);
+      bigDecimalPrices[i] = prices[i].toBigDecimal();
+    }
+  }
+
+  @Benchmark
+  public FixedDecimal parse() {
+    return FixedDecimal.parse(priceText, 2, RoundingMode.HALF_UP);
+  }
+
+  @Benchmark
+  public BigDecimal jdkParse() {
+    return new BigDecimal(priceText).setScale(2, RoundingMode.HALF_UP);
+  }
+
+  @Benchmark
+  public long sumCart() {
+    total.reset();
+    for (int i = 0; i < prices.length; i++) {
+      total.add(prices[i], i + 1);
+    }
+    return total.getUnscaledValue();
+  }
+
+  @Benchmark
+  public BigDecimal jdkSumCart() {
+    BigDecimal sum = BigDecimal.ZERO;
+    for (int i = 0; i < bigDecimalPrices.length; i++) {
+      sum = sum.add(bigDecimalPrices[i].multiply(BigDecimal.valueOf(i + 1)));
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public FixedDecimal multiplyTax() {
+    return prices[7].multiply(tax, RoundingMode.HALF_UP);
+  }
+
+  @Benchmark
+  public BigDecimal jdkMultiplyTax() {
+    return bigDecimalPrices[7].multiply(bigDecimalTax).setScale(2, RoundingMode.HALF_UP);
+  }
+}
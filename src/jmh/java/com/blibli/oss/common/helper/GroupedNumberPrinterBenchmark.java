@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.text.NumberFormat;
+import java.util.Locale;
+
+/**
+ * Benchmarks of {@link GroupedNumberPrinter}. Methods prefixed with <code>jdk</code> are the
+ * baselines doing the same work with {@link NumberFormat} and {@link String#format(String,
+ * Object...)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupedNumberPrinterBenchmark {
+
+  private Locale indonesia;
+  private GroupedNumberPrinter printer;
+  private NumberFormat format;
+  private StringBuilder builder;
+  private ByteBuffer buffer;
+  private FixedDecimal fixedValue;
+  private long longValue;
+  private double doubleValue;
+
+  @Setup
+  public void setUp() {
+    indonesia = Locale.forLanguageTag("id-ID");
+    printer = GroupedNumberPrinter.forLocale(indonesia);
+    format = NumberFormat.getCurrencyInstance(indonesia);
+    builder = new StringBuilder(64);
+    buffer = ByteBuffer.allocate(64);
+    fixedValue = FixedDecimal.of(123456789, 2);
+    longValue = 1234567890L;
+    doubleValue = 1234567.89;
+  }
+
+  @Benchmark
+  public StringBuilder printLongTo() {
+    builder.setLength(0);
+    return printer.printTo(builder, longValue);
+  }
+
+  @Benchmark
+  public StringBuilder printDoubleTo() {
+    builder.setLength(0);
+    return printer.printTo(builder, doubleValue);
+  }
+
+  @Benchmark
+  public StringBuilder printFixedDecimalTo() {
+    builder.setLength(0);
+    return printer.printTo(builder, fixedValue);
+  }
+
+  @Benchmark
+  public int printDoubleToByteBuffer() {
+    buffer.clear();
+    return printer.printTo(buffer, doubleValue);
+  }
+
+  @Benchmark
+  public String printDouble() {
+    return printer.print(doubleValue);
+  }
+
+  @Benchmark
+  public String jdkFormatDouble() {
+    return format.format(doubleValue);
+  }
+
+  @Benchmark
+  public String jdkStringFormatDouble() {
+    return String.format(indonesia, "Rp%,.2f", doubleValue);
+  }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.TimeComparator;
+import com.blibli.oss.common.helper.constants.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Benchmarks of {@link JavaTimeHelper}. Methods prefixed with <code>jdk</code> are the baselines
+ * doing the same work with <code>java.time</code> directly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JavaTimeHelperBenchmark {
+
+  private static final String PATTERN = "dd MMM yyyy HH:mm:ss";
+  private static final String DATE_PATTERN = "dd-MM-yyyy";
+  private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN);
+
+  private ZoneId zone;
+  private Instant instant;
+  private Instant otherInstant;
+  private ZonedDateTime zonedDateTime;
+  private LocalDateTime localDateTime;
+  private LocalDate localDate;
+  private String text;
+  private String dateText;
+  private String blank;
+  private String invalidText;
+
+  // null input is a field, not a literal, so the JIT cannot fold the null checks away
+  private Instant nullInstant;
+
+  @Setup
+  public void setUp() {
+    zone = ZoneId.of("Asia/Jakarta");
+    instant = Instant.ofEpochMilli(1529081980307L);
+    otherInstant = instant.plusSeconds(3600);
+    zonedDateTime = instant.atZone(zone);
+    localDateTime = zonedDateTime.toLocalDateTime();
+    localDate = localDateTime.toLocalDate();
+    text = FORMATTER.format(localDateTime);
+    dateText = DateTimeFormatter.ofPattern(DATE_PATTERN).format(localDate);
+    blank = " ";
+    invalidText = "31 Foo 2018";
+  }
+
+  @Benchmark
+  public Instant addInstant() {
+    return JavaTimeHelper.add(instant, 3, TimeUnit.HOURS);
+  }
+
+  @Benchmark
+  public Instant jdkPlusInstant() {
+    return instant.plus(3, ChronoUnit.HOURS);
+  }
+
+  @Benchmark
+  public LocalDate addLocalDate() {
+    return JavaTimeHelper.add(localDate, 3, TimeUnit.DAYS);
+  }
+
+  @Benchmark
+  public LocalDateTime addLocalDateTime() {
+    return JavaTimeHelper.add(localDateTime, 3, TimeUnit.MINUTES);
+  }
+
+  @Benchmark
+  public ZonedDateTime addZonedDateTime() {
+    return JavaTimeHelper.add(zonedDateTime, 3, TimeUnit.WEEKS);
+  }
+
+  @Benchmark
+  public Instant addNull() {
+    return JavaTimeHelper.add(nullInstant, 3, TimeUnit.HOURS);
+  }
+
+  @Benchmark
+  public Instant minusInstant() {
+    return JavaTimeHelper.minus(instant, 3, TimeUnit.HOURS);
+  }
+
+  @Benchmark
+  public LocalDate minusLocalDate() {
+    return JavaTimeHelper.minus(localDate, 3, TimeUnit.DAYS);
+  }
+
+  @Benchmark
+  public LocalDateTime minusLocalDateTime() {
+    return JavaTimeHelper.minus(localDateTime, 3, TimeUnit.MINUTES);
+  }
+
+  @Benchmark
+  public ZonedDateTime minusZonedDateTime() {
+    return JavaTimeHelper.minus(zonedDateTime, 3, TimeUnit.WEEKS);
+  }
+
+  @Benchmark
+  public boolean isInstant() {
+    return JavaTimeHelper.is(instant, TimeComparator.BEFORE_OR_EQUAL_TO, otherInstant);
+  }
+
+  @Benchmark
+  public boolean isInstantNull() {
+    return JavaTimeHelper.is(instant, TimeComparator.BEFORE_OR_EQUAL_TO, nullInstant);
+  }
+
+  @Benchmark
+  public boolean jdkIsBeforeOrEqual() {
+    return !instant.isAfter(otherInstant);
+  }
+
+  @Benchmark
+  public boolean isLocalDate() {
+    return JavaTimeHelper.is(localDate, TimeComparator.EQUAL_TO, localDate);
+  }
+
+  @Benchmark
+  public boolean isLocalDateTime() {
+    return JavaTimeHelper.is(localDateTime, TimeComparator.AFTER, localDateTime);
+  }
+
+  @Benchmark
+  public boolean isZonedDateTime() {
+    return JavaTimeHelper.is(zonedDateTime, TimeComparator.NOT_EQUAL_TO, zonedDateTime);
+  }
+
+  @Benchmark
+  public String toStringInstant() {
+    return JavaTimeHelper.toString(instant, PATTERN);
+  }
+
+  @Benchmark
+  public String toStringInstantInZone() {
+    return JavaTimeHelper.toString(instant, PATTERN, zone);
+  }
+
+  @Benchmark
+  public String toStringLocalDate() {
+    return JavaTimeHelper.toString(localDate, DATE_PATTERN);
+  }
+
+  @Benchmark
+  public String toStringLocalDateTime() {
+    return JavaTimeHelper.toString(localDateTime, PATTERN);
+  }
+
+  @Benchmark
+  public String toStringZonedDateTime() {
+    return JavaTimeHelper.toString(zonedDateTime, PATTERN);
+  }
+
+  @Benchmark
+  public String jdkFormat() {
+    return FORMATTER.format(localDateTime);
+  }
+
+  @Benchmark
+  public Instant toInstant() {
+    return JavaTimeHelper.toInstant(text, PATTERN);
+  }
+
+  @Benchmark
+  public Instant toInstantInZone() {
+    return JavaTimeHelper.toInstant(text, PATTERN, zone);
+  }
+
+  @Benchmark
+  public Instant toInstantBlank() {
+    return JavaTimeHelper.toInstant(blank, PATTERN);
+  }
+
+  @Benchmark
+  public Instant toInstantInvalidCaught() {
+    try {
+      return JavaTimeHelper.toInstant(invalidText, PATTERN);
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  @Benchmark
+  public LocalDate toLocalDate() {
+    return JavaTimeHelper.toLocalDate(dateText, DATE_PATTERN);
+  }
+
+  @Benchmark
+  public LocalDateTime toLocalDateTime() {
+    return JavaTimeHelper.toLocalDateTime(text, PATTERN);
+  }
+
+  @Benchmark
+  public LocalDateTime jdkParse() {
+    return LocalDateTime.parse(text, FORMATTER);
+  }
+
+  @Benchmark
+  public ZonedDateTime toZonedDateTime() {
+    return JavaTimeHelper.toZonedDateTime(text, PATTERN, zone);
+  }
+}
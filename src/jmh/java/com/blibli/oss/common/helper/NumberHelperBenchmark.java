@@ -0,0 +1,301 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.Comparator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Benchmarks of {@link NumberHelper}. Methods prefixed with <code>jdk</code> are the baselines
+ * doing the same work without the helper.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberHelperBenchmark {
+
+  private BigDecimal bigDecimal;
+  private BigDecimal otherBigDecimal;
+  private FixedDecimal fixedDecimal;
+  private FixedDecimal otherFixedDecimal;
+  private Double doubleValue;
+  private Double otherDouble;
+  private Integer intValue;
+  private Integer otherInt;
+  private Long longValue;
+  private Long otherLong;
+  private String intText;
+  private String longText;
+  private String doubleText;
+  private String coordinateText;
+  private String exponentText;
+  private String invalidText;
+  private String rupiahText;
+  private Locale indonesia;
+  private GroupedNumberParser rupiahParser;
+  private String record;
+  private byte[] recordBytes;
+  private List<String> column;
+  private BitSet invalid;
+  private String joinedColumn;
+
+  // null inputs are fields, not literals, so the JIT cannot fold the null checks away
+  private BigDecimal nullBigDecimal;
+  private Long nullLong;
+  private String nullText;
+
+  @Setup
+  public void setUp() {
+    bigDecimal = new BigDecimal("12345.6789");
+    otherBigDecimal = new BigDecimal("12345.67890");
+    fixedDecimal = FixedDecimal.of(123456789, 4);
+    otherFixedDecimal = FixedDecimal.of(1234567890, 5);
+    doubleValue = 12345.6789d;
+    otherDouble = 9876.54321d;
+    intValue = 123456;
+    otherInt = 654321;
+    longValue = 123456789012L;
+    otherLong = 210987654321L;
+    intText = "123456";
+    longText = "123456789012";
+    doubleText = "12345.6789";
+    coordinateText = "-6.175392123456789";
+    exponentText = "2.2250738585072014E-308";
+    invalidText = "12a45";
+    rupiahText = "Rp 1.234.567,89";
+    indonesia = Locale.forLanguageTag("id-ID");
+    rupiahParser = GroupedNumberParser.forLocale(indonesia);
+    record = "0000123456|123456789012|12345.6789";
+    recordBytes = record.getBytes(StandardCharsets.US_ASCII);
+    column = new ArrayList<>();
+    invalid = new BitSet();
+
+    Random random = new Random(21);
+    StringBuilder joined = new StringBuilder();
+    for (int i = 0; i < 100000; i++) {
+      String text = i % 50 == 0 ? "n/a" : Integer.toString(random.nextInt(10000000));
+      column.add(text);
+      joined.append(i == 0 ? "" : "\n").append(text);
+    }
+    joinedColumn = joined.toString();
+  }
+
+  @Benchmark
+  public boolean isBigDecimal() {
+    return NumberHelper.is(bigDecimal, Comparator.EQ, otherBigDecimal);
+  }
+
+  @Benchmark
+  public boolean isBigDecimalNull() {
+    return NumberHelper.is(nullBigDecimal, Comparator.EQ, otherBigDecimal);
+  }
+
+  @Benchmark
+  public boolean jdkCompareBigDecimal() {
+    return bigDecimal.compareTo(otherBigDecimal) == 0;
+  }
+
+  @Benchmark
+  public boolean isFixedDecimal() {
+    return NumberHelper.is(fixedDecimal, Comparator.EQ, otherFixedDecimal);
+  }
+
+  @Benchmark
+  public boolean isDouble() {
+    return NumberHelper.is(doubleValue, Comparator.GT, otherDouble);
+  }
+
+  @Benchmark
+  public boolean isInteger() {
+    return NumberHelper.is(intValue, Comparator.LTE, otherInt);
+  }
+
+  @Benchmark
+  public boolean isLong() {
+    return NumberHelper.is(longValue, Comparator.NEQ, otherLong);
+  }
+
+  @Benchmark
+  public boolean isLongNull() {
+    return NumberHelper.is(longValue, Comparator.NEQ, nullLong);
+  }
+
+  @Benchmark
+  public boolean jdkCompareLong() {
+    return longValue.longValue() != otherLong.longValue();
+  }
+
+  @Benchmark
+  public int parseInt() {
+    return NumberHelper.parseInt(intText, NumberHelper.ParseMode.STRICT);
+  }
+
+  @Benchmark
+  public int parseIntInvalidSuppressed() {
+    return NumberHelper.parseInt(invalidText, NumberHelper.ParseMode.SUPPRESS_EXCEPTION);
+  }
+
+  @Benchmark
+  public int parseIntNullSuppressed() {
+    return NumberHelper.parseInt(nullText, NumberHelper.ParseMode.SUPPRESS_EXCEPTION);
+  }
+
+  @Benchmark
+  public int jdkParseInt() {
+    return Integer.parseInt(intText);
+  }
+
+  @Benchmark
+  public int jdkParseIntInvalidCaught() {
+    try {
+      return Integer.parseInt(invalidText);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  @Benchmark
+  public long parseLong() {
+    return NumberHelper.parseLong(longText, NumberHelper.ParseMode.STRICT);
+  }
+
+  @Benchmark
+  public long parseLongInvalidSuppressed() {
+    return NumberHelper.parseLong(invalidText, NumberHelper.ParseMode.SUPPRESS_EXCEPTION);
+  }
+
+  @Benchmark
+  public long jdkParseLong() {
+    return Long.parseLong(longText);
+  }
+
+  @Benchmark
+  public double parseDouble() {
+    return NumberHelper.parseDouble(doubleText, NumberHelper.ParseMode.STRICT);
+  }
+
+  @Benchmark
+  public double parseDoubleInvalidSuppressed() {
+    return NumberHelper.parseDouble(invalidText, NumberHelper.ParseMode.SUPPRESS_EXCEPTION);
+  }
+
+  @Benchmark
+  public double jdkParseDouble() {
+    return Double.parseDouble(doubleText);
+  }
+
+  @Benchmark
+  public double parseDoubleCoordinate() {
+    return NumberHelper.parseDouble(coordinateText, NumberHelper.ParseMode.STRICT);
+  }
+
+  @Benchmark
+  public double jdkParseDoubleCoordinate() {
+    return Double.parseDouble(coordinateText);
+  }
+
+  @Benchmark
+  public double parseDoubleExponent() {
+    return NumberHelper.parseDouble(exponentText, NumberHelper.ParseMode.STRICT);
+  }
+
+  @Benchmark
+  public double jdkParseDoubleExponent() {
+    return Double.parseDouble(exponentText);
+  }
+
+  @Benchmark
+  public long parseLongRange() {
+    return NumberHelper.parseLong(record, 11, 23, NumberHelper.ParseMode.STRICT);
+  }
+
+  @Benchmark
+  public long parseLongBytes() {
+    return NumberHelper.parseLong(recordBytes, 11, 12, NumberHelper.ParseMode.STRICT);
+  }
+
+  @Benchmark
+  public long jdkParseLongSubstring() {
+    return Long.parseLong(record.substring(11, 23));
+  }
+
+  @Benchmark
+  public long jdkParseLongBytes() {
+    return Long.parseLong(new String(recordBytes, 11, 12, StandardCharsets.US_ASCII));
+  }
+
+  @Benchmark
+  public long[] parseLongsColumn() {
+    return NumberHelper.parseLongs(column, invalid);
+  }
+
+  @Benchmark
+  public long[] parseLongsColumnParallel() {
+    return NumberHelper.parseLongs(column, invalid, true);
+  }
+
+  @Benchmark
+  public long[] parseLongsDelimited() {
+    return NumberHelper.parseLongs(joinedColumn, '\n', invalid);
+  }
+
+  @Benchmark
+  public long[] parseLongsRowByRow() {
+    long[] values = new long[column.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = NumberHelper.parseLong(column.get(i), NumberHelper.ParseMode.SUPPRESS_EXCEPTION);
+    }
+    return values;
+  }
+
+  @Benchmark
+  public double parseDoubleLocale() {
+    return NumberHelper.parseDouble(rupiahText, indonesia, NumberHelper.ParseMode.STRICT);
+  }
+
+  @Benchmark
+  public FixedDecimal parseFixedDecimalLocale() {
+    return rupiahParser.parseFixedDecimal(rupiahText, 2, RoundingMode.HALF_UP,
+        NumberHelper.ParseMode.STRICT);
+  }
+
+  @Benchmark
+  public double jdkParseDoubleReplaced() {
+    return Double.parseDouble(rupiahText.replaceAll("[^0-9,]", "").replace(',', '.'));
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Random;
+
+/**
+ * Benchmarks of {@link TimeUnitHelper}. Methods prefixed with <code>jdk</code> are the baselines
+ * doing the same work with {@link java.util.concurrent.TimeUnit}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeUnitHelperBenchmark {
+
+  private long duration;
+  private long[] durations;
+  private long[] converted;
+  private long maxDuration;
+
+  // null input is a field, not a literal, so the JIT cannot fold the null check away
+  private TimeUnit nullUnit;
+
+  @Setup
+  public void setUp() {
+    duration = 1529081980307L;
+    durations = new long[10000];
+    converted = new long[durations.length];
+    maxDuration = Long.MAX_VALUE;
+
+    Random random = new Random(18);
+    for (int i = 0; i < durations.length; i++) {
+      durations[i] = random.nextInt() * 1000L;
+    }
+  }
+
+  @Benchmark
+  public long factor() {
+    return TimeUnitHelper.factor(TimeUnit.DAYS, TimeUnit.MILLISECONDS);
+  }
+
+  @Benchmark
+  public long convert() {
+    return TimeUnitHelper.convert(duration, TimeUnit.MILLISECONDS, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public long convertNullUnit() {
+    return TimeUnitHelper.convert(duration, nullUnit, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public long jdkConvert() {
+    return java.util.concurrent.TimeUnit.MILLISECONDS.toSeconds(duration);
+  }
+
+  @Benchmark
+  public long convertExact() {
+    return TimeUnitHelper.convertExact(duration, TimeUnit.SECONDS, TimeUnit.MILLISECONDS);
+  }
+
+  @Benchmark
+  public long convertExactOverflowCaught() {
+    try {
+      return TimeUnitHelper.convertExact(maxDuration, TimeUnit.DAYS, TimeUnit.NANOSECONDS);
+    } catch (ArithmeticException e) {
+      return 0L;
+    }
+  }
+
+  @Benchmark
+  public long[] convertAll() {
+    TimeUnitHelper.convert(durations, TimeUnit.MILLISECONDS, converted, TimeUnit.SECONDS);
+    return converted;
+  }
+
+  @Benchmark
+  public long[] convertExactAll() {
+    TimeUnitHelper.convertExact(durations, TimeUnit.MILLISECONDS, converted, TimeUnit.SECONDS);
+    return converted;
+  }
+
+  @Benchmark
+  public long[] jdkConvertAll() {
+    for (int i = 0; i < durations.length; i++) {
+      converted[i] = java.util.concurrent.TimeUnit.MILLISECONDS.toSeconds(durations[i]);
+    }
+    return converted;
+  }
+
+  @Benchmark
+  public java.util.concurrent.TimeUnit toConcurrentTimeUnit() {
+    return TimeUnitHelper.toConcurrentTimeUnit(TimeUnit.HOURS);
+  }
+
+  @Benchmark
+  public TimeUnit fromConcurrentTimeUnit() {
+    return TimeUnitHelper.fromConcurrentTimeUnit(java.util.concurrent.TimeUnit.HOURS);
+  }
+}
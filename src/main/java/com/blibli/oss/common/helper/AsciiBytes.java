@@ -0,0 +1,115 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only {@link CharSequence} view over a range of ASCII bytes, so that byte input can be
+ * parsed without decoding it into a {@link String} first.
+ */
+final class AsciiBytes implements CharSequence {
+
+  private final byte[] array;
+  private final ByteBuffer buffer;
+  private final int offset;
+  private final int length;
+
+  private AsciiBytes(byte[] array, ByteBuffer buffer, int offset, int length) {
+    this.array = array;
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Returns a view over {@code length} bytes of {@code buf} starting at {@code offset} if they are
+   * all ASCII, otherwise decodes them as UTF-8.
+   *
+   * @throws IndexOutOfBoundsException if the range is outside {@code buf}
+   */
+  static CharSequence of(byte[] buf, int offset, int length) {
+    if (offset < 0 || length < 0 || offset > buf.length - length) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + offset + ", " + offset + " + " + length + ") out of bounds for length "
+              + buf.length);
+    }
+    for (int i = offset, end = offset + length; i < end; i++) {
+      if (buf[i] < 0) {
+        return new String(buf, offset, length, StandardCharsets.UTF_8);
+      }
+    }
+    return new AsciiBytes(buf, null, offset, length);
+  }
+
+  /**
+   * Returns a view over {@code length} bytes of {@code buf} starting at absolute index
+   * {@code offset} if they are all ASCII, otherwise decodes them as UTF-8. The position of
+   * {@code buf} is not modified either way.
+   *
+   * @throws IndexOutOfBoundsException if the range is outside the limit of {@code buf}
+   */
+  static CharSequence of(ByteBuffer buf, int offset, int length) {
+    if (offset < 0 || length < 0 || offset > buf.limit() - length) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + offset + ", " + offset + " + " + length + ") out of bounds for limit "
+              + buf.limit());
+    }
+    if (buf.hasArray()) {
+      return of(buf.array(), buf.arrayOffset() + offset, length);
+    }
+    for (int i = offset, end = offset + length; i < end; i++) {
+      if (buf.get(i) < 0) {
+        ByteBuffer range = buf.duplicate();
+        range.limit(offset + length).position(offset);
+        return StandardCharsets.UTF_8.decode(range).toString();
+      }
+    }
+    return new AsciiBytes(null, buf, offset, length);
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+    }
+    return (char) (array != null ? array[offset + index] : buffer.get(offset + index));
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+    }
+    return new AsciiBytes(array, buffer, offset + start, end - start);
+  }
+
+  @Override
+  public String toString() {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = charAt(i);
+    }
+    return new String(chars);
+  }
+}
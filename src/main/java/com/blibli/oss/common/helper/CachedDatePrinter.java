@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.TimeUnit;
+
+/**
+ * Coarse clock formatter that renders a {@link DatePattern} at most once per tick and returns the
+ * cached string for every other instant of the same tick. Instances are thread-safe; concurrent
+ * readers of the same tick share the cached string without locking.
+ * <br>The cached string is the representation of the start of the tick, so patterns finer than the
+ * tick (e.g. milliseconds with a {@link TimeUnit#SECONDS} tick) print the truncated value.
+ *
+ * @see DatePattern#cached(TimeUnit)
+ * @see DateHelper#now(String, TimeUnit)
+ */
+public final class CachedDatePrinter {
+
+  private final DatePattern pattern;
+  private final long tickMillis;
+  private volatile Entry last = new Entry(DateHelper.NULL_MILLIS, "");
+
+  CachedDatePrinter(DatePattern pattern, TimeUnit tick) {
+    if (tick != TimeUnit.MILLISECONDS && tick != TimeUnit.SECONDS && tick != TimeUnit.MINUTES) {
+      throw new IllegalArgumentException("Unsupported tick: " + tick);
+    }
+    this.pattern = pattern;
+    this.tickMillis = DateHelper.toMilliseconds(1, tick);
+  }
+
+  /**
+   * Returns the pattern this printer renders.
+   *
+   * @return compiled pattern
+   */
+  public DatePattern getPattern() {
+    return pattern;
+  }
+
+  /**
+   * Returns string representation of the tick containing {@code millis}, rendering it only if it is
+   * not the tick printed last.
+   *
+   * @param millis milliseconds since 1970-01-01T00:00:00Z
+   * @return formatted start of the tick. Never returns null.
+   */
+  public String print(long millis) {
+    long tickStart = millis - Math.floorMod(millis, tickMillis);
+    Entry entry = last;
+    if (entry.tickStart != tickStart) {
+      entry = new Entry(tickStart, pattern.print(tickStart));
+      last = entry;
+    }
+    return entry.text;
+  }
+
+  /**
+   * Returns string representation of the current tick of {@link DateHelper#getClock()}.
+   *
+   * @return formatted start of the current tick. Never returns null.
+   */
+  public String now() {
+    return print(DateHelper.currentTimeMillis());
+  }
+
+  private static final class Entry {
+
+    private final long tickStart;
+    private final String text;
+
+    private Entry(long tickStart, String text) {
+      this.tickStart = tickStart;
+      this.text = text;
+    }
+  }
+}
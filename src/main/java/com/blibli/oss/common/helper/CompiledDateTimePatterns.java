@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.CommonDateTimePatterns;
+import org.joda.time.format.DateTimeFormat;
+
+/**
+ * Pre-compiled {@link DatePattern} handles of every pattern in {@link CommonDateTimePatterns}.
+ * <br>{@link #ISO_8601} is the exception: it is a lenient ISO-8601 codec and is only reachable
+ * through this field, {@link DateHelper#compile(String)} compiles
+ * {@link CommonDateTimePatterns#ISO_8601} as a plain {@link DateTimeFormat} pattern.
+ */
+public final class CompiledDateTimePatterns {
+
+  /**
+   * Compiled {@link CommonDateTimePatterns#dd_MM_yy}
+   */
+  public static final DatePattern dd_MM_yy = DatePattern.of(CommonDateTimePatterns.dd_MM_yy);
+
+  /**
+   * Compiled {@link CommonDateTimePatterns#dd_MM_yyyy}
+   */
+  public static final DatePattern dd_MM_yyyy = DatePattern.of(CommonDateTimePatterns.dd_MM_yyyy);
+
+  /**
+   * Compiled {@link CommonDateTimePatterns#dd_MMM_yyyy}
+   */
+  public static final DatePattern dd_MMM_yyyy = DatePattern.of(CommonDateTimePatterns.dd_MMM_yyyy);
+
+  /**
+   * Compiled {@link CommonDateTimePatterns#dd_MMM_yyyy__HH_mm}
+   */
+  public static final DatePattern dd_MMM_yyyy__HH_mm =
+      DatePattern.of(CommonDateTimePatterns.dd_MMM_yyyy__HH_mm);
+
+  /**
+   * Compiled {@link CommonDateTimePatterns#dd_MMM_yyyy__hh_mm_a}
+   */
+  public static final DatePattern dd_MMM_yyyy__hh_mm_a =
+      DatePattern.of(CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_a);
+
+  /**
+   * Compiled {@link CommonDateTimePatterns#dd_MMM_yyyy__HH_mm_ss}
+   */
+  public static final DatePattern dd_MMM_yyyy__HH_mm_ss =
+      DatePattern.of(CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss);
+
+  /**
+   * Compiled {@link CommonDateTimePatterns#dd_MMM_yyyy__hh_mm_ss_a}
+   */
+  public static final DatePattern dd_MMM_yyyy__hh_mm_ss_a =
+      DatePattern.of(CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_a);
+
+  /**
+   * Compiled {@link CommonDateTimePatterns#dd_MMM_yyyy__HH_mm_ss_SSS}
+   */
+  public static final DatePattern dd_MMM_yyyy__HH_mm_ss_SSS =
+      DatePattern.of(CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS);
+
+  /**
+   * Compiled {@link CommonDateTimePatterns#dd_MMM_yyyy__hh_mm_ss_SSS_a}
+   */
+  public static final DatePattern dd_MMM_yyyy__hh_mm_ss_SSS_a =
+      DatePattern.of(CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_SSS_a);
+
+  /**
+   * ISO-8601 date time with milliseconds and offset, printed the way
+   * {@link org.joda.time.format.ISODateTimeFormat#dateTime()} does and parsed the way
+   * {@link org.joda.time.format.ISODateTimeFormat#dateTimeParser()} does.<br>
+   * Unlike {@link CommonDateTimePatterns#ISO_8601} compiled by {@link DateHelper#compile(String)},
+   * it prints <code>Z</code> instead of <code>+00:00</code> in UTC and parses any ISO-8601 date or
+   * date time, e.g. <code>2017-01-29</code>, <code>2017-01-29T13:50</code> or
+   * <code>2017-01-29T13:50:59.370123+0700</code>. Values without offset are read in the default
+   * zone.
+   */
+  public static final DatePattern ISO_8601 = IsoDatePattern.create();
+
+  /**
+   * Compiled {@link CommonDateTimePatterns#ISO_8601}, following {@link DateTimeFormat} exactly.
+   */
+  private static final DatePattern ISO_8601_PATTERN =
+      DatePattern.of(CommonDateTimePatterns.ISO_8601);
+
+  /**
+   * Returns the pre-compiled handle of {@code pattern} if it is one of
+   * {@link CommonDateTimePatterns}.
+   *
+   * @param pattern date time pattern
+   * @return pre-compiled handle, or null if {@code pattern} is not a common pattern
+   */
+  static DatePattern find(String pattern) {
+    switch (pattern) {
+      case CommonDateTimePatterns.dd_MM_yy:
+        return dd_MM_yy;
+      case CommonDateTimePatterns.dd_MM_yyyy:
+        return dd_MM_yyyy;
+      case CommonDateTimePatterns.dd_MMM_yyyy:
+        return dd_MMM_yyyy;
+      case CommonDateTimePatterns.dd_MMM_yyyy__HH_mm:
+        return dd_MMM_yyyy__HH_mm;
+      case CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_a:
+        return dd_MMM_yyyy__hh_mm_a;
+      case CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss:
+        return dd_MMM_yyyy__HH_mm_ss;
+      case CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_a:
+        return dd_MMM_yyyy__hh_mm_ss_a;
+      case CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS:
+        return dd_MMM_yyyy__HH_mm_ss_SSS;
+      case CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_SSS_a:
+        return dd_MMM_yyyy__hh_mm_ss_SSS_a;
+      case CommonDateTimePatterns.ISO_8601:
+        return ISO_8601_PATTERN;
+      default:
+        return null;
+    }
+  }
+}
@@ -17,17 +17,26 @@
 package com.blibli.oss.common.helper;
 
 import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTimeZone;
 import org.joda.time.format.DateTimeFormat;
 import com.blibli.oss.common.helper.constants.CommonDateTimePatterns;
 import com.blibli.oss.common.helper.constants.TimeUnit;
 import com.blibli.oss.common.helper.constants.TimeComparator;
 
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 import static com.blibli.oss.common.helper.constants.TimeUnit.MILLISECONDS;
 import static com.blibli.oss.common.helper.constants.TimeUnit.NANOSECONDS;
-import static com.blibli.oss.common.helper.constants.TimeUnit.SECONDS;
-import static com.blibli.oss.common.helper.constants.TimeUnit.MINUTES;
-import static com.blibli.oss.common.helper.constants.TimeUnit.HOURS;
 import static com.blibli.oss.common.helper.constants.TimeUnit.DAYS;
 import static com.blibli.oss.common.helper.constants.TimeUnit.WEEKS;
 
@@ -36,6 +45,58 @@ import static com.blibli.oss.common.helper.constants.TimeUnit.WEEKS;
  */
 public class DateHelper {
 
+  /**
+   * Stands for a null date in the epoch milliseconds overloads, e.g.
+   * {@link DateHelper#add(long, int, TimeUnit)} and {@link DateHelper#toMillis(String, String)}.
+   */
+  public static final long NULL_MILLIS = Long.MIN_VALUE;
+
+  private static final int MAX_CACHED_NOW_PATTERNS = 500;
+
+  private static final int MAX_CACHED_PATTERNS = 500;
+
+  private static final int MAX_CACHED_ZONED_PATTERNS = 500;
+
+  /**
+   * Local millis of Monday 1969-12-29, which weekly buckets are aligned to.
+   */
+  private static final long WEEK_ORIGIN = -3 * 86400000L;
+
+  private static final Map<TimeUnit, ConcurrentHashMap<String, CachedDatePrinter>> CACHED_NOW =
+      new EnumMap<>(TimeUnit.class);
+
+  private static final ConcurrentHashMap<String, DatePattern> PATTERNS =
+      new ConcurrentHashMap<>();
+
+  private static final ConcurrentHashMap<DateTimeZone, ConcurrentHashMap<String, DatePattern>>
+      ZONED_PATTERNS = new ConcurrentHashMap<>();
+
+  /**
+   * Locale-bound copies of the instances returned by {@link #compile(String, DateTimeZone)}.
+   */
+  private static final ConcurrentHashMap<Locale, ConcurrentHashMap<DatePattern, DatePattern>>
+      LOCALIZED_PATTERNS = new ConcurrentHashMap<>();
+
+  private static volatile Clock clock = Clock.systemUTC();
+
+  static {
+    for (TimeUnit unit : TimeUnit.values()) {
+      CACHED_NOW.put(unit, new ConcurrentHashMap<>());
+    }
+  }
+
+  public enum ParseMode {
+    /**
+     * Suppresses {@link IllegalArgumentException} that may be thrown when parsing the input.
+     * Invalid input is detected without creating the exception in the first place.
+     */
+    SUPPRESS_EXCEPTION,
+    /**
+     * Propagates {@link IllegalArgumentException} that may be thrown when parsing the input
+     */
+    STRICT
+  }
+
   /**
    * Adds the specified amount of time to the given {@code date}.
    *
@@ -52,6 +113,67 @@ public class DateHelper {
     return null;
   }
 
+  /**
+   * Adds the specified amount of time to the given epoch milliseconds, without allocating.
+   *
+   * @see DateHelper#add(Date, int, TimeUnit)
+   * @param millis to be added, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit}
+   * @return epoch milliseconds with the added amount of time difference if {@code millis} is not
+   * {@link DateHelper#NULL_MILLIS}, otherwise returns {@link DateHelper#NULL_MILLIS}
+   */
+  public static long add(long millis, int diff, TimeUnit unit) {
+    if (millis != NULL_MILLIS) {
+      return millis + toMilliseconds(diff, unit);
+    }
+    return NULL_MILLIS;
+  }
+
+  /**
+   * Adds the specified amount of time to the given {@code date} on the local time-line of
+   * {@code zone}, i.e. adding {@link TimeUnit#DAYS} or {@link TimeUnit#WEEKS} keeps the wall clock
+   * time across daylight saving transitions. Smaller units are added as exact durations.
+   *
+   * @see DateHelper#add(Date, int, TimeUnit)
+   * @param date to be added
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit}
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @return new instance of {@link Date} with the added amount of time difference if the base
+   * {@code date} is not null, otherwise returns null
+   */
+  public static Date add(Date date, int diff, TimeUnit unit, DateTimeZone zone) {
+    if (date != null) {
+      return new Date(add(date.getTime(), diff, unit, zone));
+    }
+    return null;
+  }
+
+  /**
+   * Adds the specified amount of time to the given epoch milliseconds on the local time-line of
+   * {@code zone}, without allocating.
+   *
+   * @see DateHelper#add(Date, int, TimeUnit, DateTimeZone)
+   * @param millis to be added, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit}
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @return epoch milliseconds with the added amount of time difference if {@code millis} is not
+   * {@link DateHelper#NULL_MILLIS}, otherwise returns {@link DateHelper#NULL_MILLIS}
+   */
+  public static long add(long millis, int diff, TimeUnit unit, DateTimeZone zone) {
+    if (millis == NULL_MILLIS) {
+      return NULL_MILLIS;
+    }
+    if (unit != DAYS && unit != WEEKS) {
+      return millis + toMilliseconds(diff, unit);
+    }
+    ZoneOffsets offsets = ZoneOffsets.forZone(zoneOrDefault(zone));
+    long local = millis + offsets.getOffset(millis);
+    return offsets.toUtc(local + toMilliseconds(diff, unit));
+  }
+
   /**
    * Subtracts the specified amount of time from the given {@code date}.
    *
@@ -68,6 +190,246 @@ public class DateHelper {
     return null;
   }
 
+  /**
+   * Subtracts the specified amount of time from the given epoch milliseconds, without allocating.
+   *
+   * @see DateHelper#minus(Date, int, TimeUnit)
+   * @param millis to be subtracted, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit}
+   * @return epoch milliseconds with the subtracted amount of time difference if {@code millis} is
+   * not {@link DateHelper#NULL_MILLIS}, otherwise returns {@link DateHelper#NULL_MILLIS}
+   */
+  public static long minus(long millis, int diff, TimeUnit unit) {
+    if (millis != NULL_MILLIS) {
+      return millis - toMilliseconds(diff, unit);
+    }
+    return NULL_MILLIS;
+  }
+
+  /**
+   * Subtracts the specified amount of time from the given {@code date} on the local time-line of
+   * {@code zone}.
+   *
+   * @see DateHelper#add(Date, int, TimeUnit, DateTimeZone)
+   * @param date to be subtracted
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit}
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @return new instance of {@link Date} with the subtracted amount of time difference if the base
+   * {@code date} is not null, otherwise returns null
+   */
+  public static Date minus(Date date, int diff, TimeUnit unit, DateTimeZone zone) {
+    return add(date, -diff, unit, zone);
+  }
+
+  /**
+   * Subtracts the specified amount of time from the given epoch milliseconds on the local
+   * time-line of {@code zone}, without allocating.
+   *
+   * @see DateHelper#add(Date, int, TimeUnit, DateTimeZone)
+   * @param millis to be subtracted, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit}
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @return epoch milliseconds with the subtracted amount of time difference if {@code millis} is
+   * not {@link DateHelper#NULL_MILLIS}, otherwise returns {@link DateHelper#NULL_MILLIS}
+   */
+  public static long minus(long millis, int diff, TimeUnit unit, DateTimeZone zone) {
+    return add(millis, -diff, unit, zone);
+  }
+
+  /**
+   * Truncates the given epoch milliseconds to the start of its {@code unit} in the default zone,
+   * e.g. to the start of the hour or of the day.
+   *
+   * @see DateHelper#bucket(long, int, TimeUnit, DateTimeZone)
+   * @param millis to be truncated, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param unit {@link TimeUnit}, null or sub-millisecond units leave {@code millis} unchanged
+   * @return epoch milliseconds of the start of the unit if {@code millis} is not
+   * {@link DateHelper#NULL_MILLIS}, otherwise returns {@link DateHelper#NULL_MILLIS}
+   */
+  public static long truncate(long millis, TimeUnit unit) {
+    return bucket(millis, 1, unit, null);
+  }
+
+  /**
+   * Truncates the given epoch milliseconds to the start of its {@code unit} in {@code zone}, e.g.
+   * to the start of the hour or of the day.
+   *
+   * @see DateHelper#bucket(long, int, TimeUnit, DateTimeZone)
+   * @param millis to be truncated, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param unit {@link TimeUnit}, null or sub-millisecond units leave {@code millis} unchanged
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @return epoch milliseconds of the start of the unit if {@code millis} is not
+   * {@link DateHelper#NULL_MILLIS}, otherwise returns {@link DateHelper#NULL_MILLIS}
+   */
+  public static long truncate(long millis, TimeUnit unit, DateTimeZone zone) {
+    return bucket(millis, 1, unit, zone);
+  }
+
+  /**
+   * Returns the start of the {@code size} x {@code unit} wide bucket the given epoch milliseconds
+   * fall into, using long arithmetic on the local time of {@code zone} only.<br>
+   * Buckets are aligned to 1970-01-01T00:00 local time, except {@link TimeUnit#WEEKS} which start
+   * on Mondays. Truncation to one unit gives the same results as Joda's <code>roundFloor</code> of
+   * the corresponding field: sub-day units keep the offset in effect at {@code millis}, while
+   * {@link TimeUnit#DAYS} and {@link TimeUnit#WEEKS} start at local midnight, or at the end of a
+   * daylight saving gap covering it.
+   *
+   * @param millis to be bucketed, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param size number of units per bucket
+   * @param unit {@link TimeUnit}, null or sub-millisecond units count milliseconds
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @return epoch milliseconds of the start of the bucket if {@code millis} is not
+   * {@link DateHelper#NULL_MILLIS}, otherwise returns {@link DateHelper#NULL_MILLIS}
+   * @throws IllegalArgumentException if {@code size} is not positive
+   */
+  public static long bucket(long millis, int size, TimeUnit unit, DateTimeZone zone) {
+    long width = bucketWidth(size, unit);
+    if (millis == NULL_MILLIS || width == 1) {
+      return millis;
+    }
+    return bucketStart(millis, width, unit, ZoneOffsets.forZone(zoneOrDefault(zone)));
+  }
+
+  /**
+   * Truncates every element of {@code millis} to the start of its {@code unit} in {@code zone}.
+   *
+   * @see DateHelper#bucket(long[], int, TimeUnit, DateTimeZone, long[])
+   * @param millis to be truncated, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param unit {@link TimeUnit}, null or sub-millisecond units leave {@code millis} unchanged
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @param dst receives the truncated values, may be {@code millis} itself
+   * @throws IllegalArgumentException if {@code dst} is shorter than {@code millis}
+   */
+  public static void truncate(long[] millis, TimeUnit unit, DateTimeZone zone, long[] dst) {
+    bucket(millis, 1, unit, zone, dst);
+  }
+
+  /**
+   * Writes the bucket start of every element of {@code millis} into {@code dst}. Elements at or
+   * after the last offset transition of {@code zone}, i.e. all of them for fixed-offset zones such
+   * as <code>Asia/Jakarta</code>, are bucketed with a single offset looked up once.
+   *
+   * @see DateHelper#bucket(long, int, TimeUnit, DateTimeZone)
+   * @param millis to be bucketed, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param size number of units per bucket
+   * @param unit {@link TimeUnit}, null or sub-millisecond units count milliseconds
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @param dst receives the bucket starts, may be {@code millis} itself
+   * @throws IllegalArgumentException if {@code size} is not positive or {@code dst} is shorter
+   *         than {@code millis}
+   */
+  public static void bucket(long[] millis, int size, TimeUnit unit, DateTimeZone zone,
+      long[] dst) {
+    int length = millis.length;
+    if (dst.length < length) {
+      throw new IllegalArgumentException(
+          "Destination length " + dst.length + " is shorter than source length " + length);
+    }
+    long width = bucketWidth(size, unit);
+    if (width == 1) {
+      System.arraycopy(millis, 0, dst, 0, length);
+      return;
+    }
+    ZoneOffsets offsets = ZoneOffsets.forZone(zoneOrDefault(zone));
+    long fixedSince = offsets.fixedSince();
+    int fixedOffset = offsets.fixedOffset();
+    long origin = unit == WEEKS ? WEEK_ORIGIN : 0L;
+    for (int i = 0; i < length; i++) {
+      long value = millis[i];
+      long local = value + fixedOffset;
+      long start = local - Math.floorMod(local - origin, width) - fixedOffset;
+      if (value == NULL_MILLIS) {
+        dst[i] = NULL_MILLIS;
+      } else if (start >= fixedSince) {
+        dst[i] = start;
+      } else {
+        dst[i] = bucketStart(value, width, unit, offsets);
+      }
+    }
+  }
+
+  /**
+   * Returns the epoch milliseconds from {@code start} (inclusive) to {@code end} (exclusive), every
+   * {@code step} {@code unit}s, e.g. every 15 minutes between two dates.<br>
+   * The stream is lazy, elements are computed as they are consumed, and its spliterator is sized
+   * and splits evenly, so it can be consumed in parallel. Use {@link LongStream#iterator()} for a
+   * {@link java.util.PrimitiveIterator.OfLong}.
+   *
+   * @param start first element, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param end bound of the range, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param step distance between elements, to be paired with {@code unit}
+   * @param unit {@link TimeUnit}, null counts milliseconds
+   * @return elements of the range, empty if {@code start} is not before {@code end} or either of
+   *         them is {@link DateHelper#NULL_MILLIS}
+   * @throws IllegalArgumentException if {@code step} is shorter than one millisecond or not a whole
+   *         number of milliseconds, or the range has more than {@link Long#MAX_VALUE} elements
+   */
+  public static LongStream range(long start, long end, int step, TimeUnit unit) {
+    long stepMillis;
+    try {
+      stepMillis = TimeUnitHelper.convertExact(step, unit, MILLISECONDS);
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Step must be a whole number of milliseconds: " + step
+          + " " + unit, e);
+    }
+    if (stepMillis < 1) {
+      throw new IllegalArgumentException("Step must be at least one millisecond: " + step + " "
+          + unit);
+    }
+    long count = 0;
+    if (start != NULL_MILLIS && end != NULL_MILLIS && start < end) {
+      long distance = end - start;
+      count = Long.divideUnsigned(distance - 1, stepMillis) + 1;
+      if (count < 0) {
+        throw new IllegalArgumentException("Range has too many elements");
+      }
+    }
+    return StreamSupport.longStream(new DateRangeSpliterator(start, stepMillis, 0, count), false);
+  }
+
+  /**
+   * Returns the epoch milliseconds from {@code start} (inclusive) to {@code end} (exclusive), every
+   * {@code step} {@code unit}s, without allocating a {@link Date} per element.
+   *
+   * @see DateHelper#range(long, long, int, TimeUnit)
+   * @param start first element
+   * @param end bound of the range
+   * @param step distance between elements, to be paired with {@code unit}
+   * @param unit {@link TimeUnit}, null counts milliseconds
+   * @return elements of the range, empty if {@code start} is not before {@code end} or either of
+   *         them is null
+   * @throws IllegalArgumentException if {@code step} is shorter than one millisecond or not a whole
+   *         number of milliseconds
+   */
+  public static LongStream range(Date start, Date end, int step, TimeUnit unit) {
+    return range(start == null ? NULL_MILLIS : start.getTime(),
+        end == null ? NULL_MILLIS : end.getTime(), step, unit);
+  }
+
+  private static long bucketWidth(int size, TimeUnit unit) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Bucket size must be positive: " + size);
+    }
+    return Math.multiplyExact(size, Math.max(1L, TimeUnitHelper.factor(unit, MILLISECONDS)));
+  }
+
+  private static long bucketStart(long millis, long width, TimeUnit unit, ZoneOffsets offsets) {
+    int offset = offsets.getOffset(millis);
+    long local = millis + offset;
+    long start = local - Math.floorMod(local - (unit == WEEKS ? WEEK_ORIGIN : 0L), width);
+    if (unit == DAYS || unit == WEEKS) {
+      return offsets.toUtc(start, offset);
+    }
+    return start - offset;
+  }
+
+  private static DateTimeZone zoneOrDefault(DateTimeZone zone) {
+    return zone != null ? zone : DateTimeZone.getDefault();
+  }
+
   /**
    * Evaluates whether {@code firstDate} satisfies {@code comparator} when compared to {@code secondDate}.
    *
@@ -112,12 +474,218 @@ public class DateHelper {
   }
 
   /**
-   * Syntax sugar. Returns new {@link Date}.
+   * Evaluates whether {@code firstMillis} satisfies {@code comparator} when compared to
+   * {@code secondMillis}. {@link DateHelper#NULL_MILLIS} stands for null, so the outcome is the
+   * same as {@link DateHelper#is(Date, TimeComparator, Date)} with the equivalent dates.
+   *
+   * @see DateHelper#is(Date, TimeComparator, Date)
+   * @param firstMillis epoch milliseconds
+   * @param comparator of type {@link TimeComparator}
+   * @param secondMillis epoch milliseconds
+   * @return see ref
+   */
+  public static boolean is(long firstMillis, TimeComparator comparator, long secondMillis) {
+    boolean firstNull = firstMillis == NULL_MILLIS;
+    boolean secondNull = secondMillis == NULL_MILLIS;
+    if (TimeComparator.EQUAL_TO.equals(comparator) && firstNull && secondNull) {
+      return true;
+    } else if (TimeComparator.NOT_EQUAL_TO.equals(comparator) && (firstNull ^ secondNull)) {
+      return true;
+    } else if (firstNull || secondNull || comparator == null) {
+      return false;
+    }
+
+    switch (comparator) {
+      case BEFORE:
+        return firstMillis < secondMillis;
+      case BEFORE_OR_EQUAL_TO:
+        return firstMillis <= secondMillis;
+      case EQUAL_TO:
+        return firstMillis == secondMillis;
+      case NOT_EQUAL_TO:
+        return firstMillis != secondMillis;
+      case AFTER:
+        return firstMillis > secondMillis;
+      case AFTER_OR_EQUAL_TO:
+        return firstMillis >= secondMillis;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Counts the elements of {@code millis} that satisfy {@code comparator} when compared to
+   * {@code pivot}, with the same outcome as calling
+   * {@link DateHelper#is(long, TimeComparator, long)} on every element. The comparator is resolved
+   * once into a single range check, so the loop over the elements has no branches.
+   *
+   * @param millis epoch milliseconds, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param comparator of type {@link TimeComparator}
+   * @param pivot epoch milliseconds every element is compared to
+   * @return number of matching elements, 0 if {@code millis} is null
+   */
+  public static int count(long[] millis, TimeComparator comparator, long pivot) {
+    long lower = lowerBound(comparator, pivot);
+    long upper = upperBound(comparator, pivot);
+    if (millis == null || lower > upper) {
+      return 0;
+    }
+    long shift = Long.MIN_VALUE - lower;
+    long span = upper + shift;
+    int count = 0;
+    for (long value : millis) {
+      count += value + shift <= span ? 1 : 0;
+    }
+    return comparator == TimeComparator.NOT_EQUAL_TO ? millis.length - count : count;
+  }
+
+  /**
+   * Returns the indexes of the elements of {@code millis} that satisfy {@code comparator} when
+   * compared to {@code pivot}.
+   *
+   * @see DateHelper#count(long[], TimeComparator, long)
+   * @param millis epoch milliseconds, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param comparator of type {@link TimeComparator}
+   * @param pivot epoch milliseconds every element is compared to
+   * @return indexes of matching elements in ascending order, empty if {@code millis} is null
+   */
+  public static int[] select(long[] millis, TimeComparator comparator, long pivot) {
+    int count = count(millis, comparator, pivot);
+    int[] indexes = new int[count];
+    if (count == 0) {
+      return indexes;
+    }
+    long lower = lowerBound(comparator, pivot);
+    long upper = upperBound(comparator, pivot);
+    long shift = Long.MIN_VALUE - lower;
+    long span = upper + shift;
+    boolean negate = comparator == TimeComparator.NOT_EQUAL_TO;
+    for (int i = 0, j = 0; j < count; i++) {
+      if ((millis[i] + shift <= span) != negate) {
+        indexes[j++] = i;
+      }
+    }
+    return indexes;
+  }
+
+  /**
+   * Returns a bitmap of the elements of {@code millis} that satisfy {@code comparator} when
+   * compared to {@code pivot}, where bit {@code i} is set if element {@code i} matches.
+   *
+   * @see DateHelper#count(long[], TimeComparator, long)
+   * @param millis epoch milliseconds, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param comparator of type {@link TimeComparator}
+   * @param pivot epoch milliseconds every element is compared to
+   * @return bitmap of matching elements, empty if {@code millis} is null
+   */
+  public static BitSet mask(long[] millis, TimeComparator comparator, long pivot) {
+    if (millis == null) {
+      return new BitSet();
+    }
+    long lower = lowerBound(comparator, pivot);
+    long upper = upperBound(comparator, pivot);
+    long[] words = new long[(millis.length + 63) >>> 6];
+    if (lower <= upper) {
+      long shift = Long.MIN_VALUE - lower;
+      long span = upper + shift;
+      for (int i = 0; i < millis.length; i++) {
+        words[i >>> 6] |= (millis[i] + shift <= span ? 1L : 0L) << i;
+      }
+    }
+    if (comparator == TimeComparator.NOT_EQUAL_TO) {
+      for (int i = 0; i < words.length; i++) {
+        words[i] = ~words[i];
+      }
+      if ((millis.length & 63) != 0) {
+        words[words.length - 1] &= -1L >>> (64 - (millis.length & 63));
+      }
+    }
+    return BitSet.valueOf(words);
+  }
+
+  /**
+   * Lowest element that satisfies {@code comparator} against {@code pivot}. Together with
+   * {@link DateHelper#upperBound(TimeComparator, long)} it describes the closed range of matching
+   * elements, or of non-matching elements for {@link TimeComparator#NOT_EQUAL_TO}. The range is
+   * empty when the lower bound is greater than the upper bound.
+   */
+  private static long lowerBound(TimeComparator comparator, long pivot) {
+    if (comparator == null) {
+      return Long.MAX_VALUE;
+    }
+    if (pivot == NULL_MILLIS) {
+      return comparator == TimeComparator.EQUAL_TO || comparator == TimeComparator.NOT_EQUAL_TO
+          ? NULL_MILLIS : Long.MAX_VALUE;
+    }
+    switch (comparator) {
+      case BEFORE:
+      case BEFORE_OR_EQUAL_TO:
+        return NULL_MILLIS + 1;
+      case AFTER:
+        return pivot == Long.MAX_VALUE ? Long.MAX_VALUE : pivot + 1;
+      default:
+        return pivot;
+    }
+  }
+
+  /**
+   * @see DateHelper#lowerBound(TimeComparator, long)
+   */
+  private static long upperBound(TimeComparator comparator, long pivot) {
+    if (comparator == null) {
+      return Long.MIN_VALUE;
+    }
+    if (pivot == NULL_MILLIS) {
+      return comparator == TimeComparator.EQUAL_TO || comparator == TimeComparator.NOT_EQUAL_TO
+          ? NULL_MILLIS : Long.MIN_VALUE;
+    }
+    switch (comparator) {
+      case BEFORE:
+        return pivot - 1;
+      case AFTER:
+        return pivot == Long.MAX_VALUE ? Long.MIN_VALUE : Long.MAX_VALUE;
+      case AFTER_OR_EQUAL_TO:
+        return Long.MAX_VALUE;
+      default:
+        return pivot;
+    }
+  }
+
+  /**
+   * Returns the clock backing {@link DateHelper#now()} and its variants.
+   *
+   * @return current clock, {@link Clock#systemUTC()} unless replaced
+   */
+  public static Clock getClock() {
+    return clock;
+  }
+
+  /**
+   * Replaces the clock backing {@link DateHelper#now()} and its variants, e.g. with
+   * {@link Clock#fixed(java.time.Instant, java.time.ZoneId)} in tests.
+   *
+   * @param newClock clock to be used. Passing null restores {@link Clock#systemUTC()}
+   */
+  public static void setClock(Clock newClock) {
+    clock = newClock == null ? Clock.systemUTC() : newClock;
+  }
+
+  /**
+   * Returns the current time of {@link DateHelper#getClock()} in epoch milliseconds.
+   *
+   * @return milliseconds since 1970-01-01T00:00:00Z
+   */
+  public static long currentTimeMillis() {
+    return clock.millis();
+  }
+
+  /**
+   * Syntax sugar. Returns new {@link Date} of the current time of {@link DateHelper#getClock()}.
    *
    * @return new {@link Date}
    */
   public static Date now() {
-    return new Date();
+    return new Date(currentTimeMillis());
   }
 
   /**
@@ -129,7 +697,142 @@ public class DateHelper {
    * @return string representation of the current time
    */
   public static String now(String pattern) {
-    return toString(now(), pattern);
+    return toString(currentTimeMillis(), pattern);
+  }
+
+  /**
+   * Returns string representation of the current time according to the given {@code pattern},
+   * re-rendering it only when the current {@code tick} changes and returning the cached string
+   * otherwise.
+   *
+   * @see CachedDatePrinter
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}
+   * @param tick one of {@link TimeUnit#MILLISECONDS}, {@link TimeUnit#SECONDS} or
+   *             {@link TimeUnit#MINUTES}
+   * @return string representation of the start of the current tick if {@code pattern} is not
+   *         blank, otherwise returns empty string
+   * @throws IllegalArgumentException if {@code pattern} is invalid or {@code tick} is not supported
+   */
+  public static String now(String pattern, TimeUnit tick) {
+    if (StringUtils.isBlank(pattern)) {
+      return "";
+    }
+    if (tick == null) {
+      throw new IllegalArgumentException("Unsupported tick: null");
+    }
+    ConcurrentHashMap<String, CachedDatePrinter> printers = CACHED_NOW.get(tick);
+    CachedDatePrinter printer = printers.get(pattern);
+    if (printer == null) {
+      printer = compile(pattern).cached(tick);
+      if (printers.size() < MAX_CACHED_NOW_PATTERNS) {
+        CachedDatePrinter existing = printers.putIfAbsent(pattern, printer);
+        printer = existing == null ? printer : existing;
+      }
+    }
+    return printer.now();
+  }
+
+  /**
+   * Compiles the given {@code pattern} into an immutable, thread-safe {@link DatePattern} that can
+   * be kept in a static field and reused without further pattern lookups.<br>
+   * Patterns listed in {@link CommonDateTimePatterns} resolve to their pre-compiled handles in
+   * {@link CompiledDateTimePatterns}, other patterns are cached, so repeated calls with the same
+   * pattern return the same instance.
+   *
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}
+   * @return compiled pattern
+   * @throws IllegalArgumentException if {@code pattern} is blank or invalid
+   */
+  public static DatePattern compile(String pattern) {
+    if (pattern == null) {
+      return DatePattern.of(null);
+    }
+    DatePattern compiled = CompiledDateTimePatterns.find(pattern);
+    if (compiled == null) {
+      compiled = PATTERNS.get(pattern);
+    }
+    if (compiled == null) {
+      compiled = DatePattern.of(pattern);
+      if (PATTERNS.size() < MAX_CACHED_PATTERNS) {
+        DatePattern existing = PATTERNS.putIfAbsent(pattern, compiled);
+        compiled = existing == null ? compiled : existing;
+      }
+    }
+    return compiled;
+  }
+
+  /**
+   * Compiles the given {@code pattern} bound to {@code zone}. Compiled patterns are cached per
+   * zone, so repeated calls with the same pattern and zone return the same instance.
+   *
+   * @see DateHelper#compile(String)
+   * @see DatePattern#withZone(DateTimeZone)
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}
+   * @param zone time zone, null to follow {@link DateTimeZone#getDefault()}
+   * @return compiled pattern
+   * @throws IllegalArgumentException if {@code pattern} is blank or invalid
+   */
+  public static DatePattern compile(String pattern, DateTimeZone zone) {
+    if (zone == null) {
+      return compile(pattern);
+    }
+    ConcurrentHashMap<String, DatePattern> patterns = ZONED_PATTERNS.get(zone);
+    if (patterns == null) {
+      if (ZONED_PATTERNS.size() >= MAX_CACHED_ZONED_PATTERNS) {
+        return compile(pattern).withZone(zone);
+      }
+      patterns = new ConcurrentHashMap<>();
+      ConcurrentHashMap<String, DatePattern> existing = ZONED_PATTERNS.putIfAbsent(zone, patterns);
+      patterns = existing == null ? patterns : existing;
+    }
+    DatePattern compiled = pattern == null ? null : patterns.get(pattern);
+    if (compiled == null) {
+      compiled = compile(pattern).withZone(zone);
+      if (patterns.size() < MAX_CACHED_ZONED_PATTERNS) {
+        DatePattern existing = patterns.putIfAbsent(pattern, compiled);
+        compiled = existing == null ? compiled : existing;
+      }
+    }
+    return compiled;
+  }
+
+  /**
+   * Compiles the given {@code pattern} bound to {@code zone} and {@code locale}. Compiled patterns
+   * are cached per zone and locale, so repeated calls with the same arguments return the same
+   * instance.
+   *
+   * @see DateHelper#compile(String)
+   * @see DatePattern#withLocale(Locale)
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}
+   * @param zone time zone, null to follow {@link DateTimeZone#getDefault()}
+   * @param locale locale of month and AM/PM texts, null to follow {@link Locale#getDefault()}
+   * @return compiled pattern
+   * @throws IllegalArgumentException if {@code pattern} is blank or invalid
+   */
+  public static DatePattern compile(String pattern, DateTimeZone zone, Locale locale) {
+    DatePattern compiled = compile(pattern, zone);
+    if (locale == null) {
+      return compiled;
+    }
+    ConcurrentHashMap<DatePattern, DatePattern> patterns = LOCALIZED_PATTERNS.get(locale);
+    if (patterns == null) {
+      if (LOCALIZED_PATTERNS.size() >= MAX_CACHED_ZONED_PATTERNS) {
+        return compiled.withLocale(locale);
+      }
+      patterns = new ConcurrentHashMap<>();
+      ConcurrentHashMap<DatePattern, DatePattern> existing =
+          LOCALIZED_PATTERNS.putIfAbsent(locale, patterns);
+      patterns = existing == null ? patterns : existing;
+    }
+    DatePattern localized = patterns.get(compiled);
+    if (localized == null) {
+      localized = compiled.withLocale(locale);
+      if (patterns.size() < MAX_CACHED_ZONED_PATTERNS) {
+        DatePattern existing = patterns.putIfAbsent(compiled, localized);
+        localized = existing == null ? localized : existing;
+      }
+    }
+    return localized;
   }
 
   /**
@@ -143,11 +846,217 @@ public class DateHelper {
    */
   public static Date toDate(String str, String pattern) {
     if (StringUtils.isNoneBlank(str, pattern)) {
-      return DateTimeFormat.forPattern(pattern).parseDateTime(str).toDate();
+      return compile(pattern).parse(str);
+    }
+    return null;
+  }
+
+  /**
+   * Parses the given {@code str} using {@code pattern} to an instance of {@link Date}.
+   *
+   * @see DatePattern#parseMillis(CharSequence, long)
+   * @param str to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return new instance of {@link Date} with the parsed value if neither {@code str} nor
+   *         {@code pattern} is blank, otherwise returns null. If {@code str} cannot be parsed and
+   *         parseMode is {@link ParseMode#SUPPRESS_EXCEPTION}, returns null
+   * @throws IllegalArgumentException if {@code pattern} is invalid, or if {@code str} cannot be
+   *         parsed and parseMode is {@link ParseMode#STRICT}
+   */
+  public static Date toDate(String str, String pattern, ParseMode parseMode) {
+    if (!ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)) {
+      return toDate(str, pattern);
+    }
+    long millis = toMillis(str, pattern, parseMode);
+    return millis == NULL_MILLIS ? null : new Date(millis);
+  }
+
+  /**
+   * Parses the given {@code str} as a local date time of {@code zone} to an instance of
+   * {@link Date}.
+   *
+   * @see DateHelper#toDate(String, String)
+   * @param str to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @return new instance of {@link Date} with the parsed value if neither {@code str} nor
+   *         {@code pattern} is blank, otherwise returns null
+   */
+  public static Date toDate(String str, String pattern, DateTimeZone zone) {
+    if (StringUtils.isNoneBlank(str, pattern)) {
+      return compile(pattern, zone).parse(str);
+    }
+    return null;
+  }
+
+  /**
+   * Parses the given {@code str} using {@code pattern} to epoch milliseconds, without creating any
+   * date object.
+   *
+   * @see DateHelper#toDate(String, String)
+   * @param str to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @return epoch milliseconds if neither {@code str} nor {@code pattern} is blank, otherwise
+   *         returns {@link DateHelper#NULL_MILLIS}
+   * @throws IllegalArgumentException if {@code pattern} is invalid or {@code str} cannot be parsed
+   */
+  public static long toMillis(String str, String pattern) {
+    if (StringUtils.isNoneBlank(str, pattern)) {
+      return compile(pattern).parseMillis(str);
+    }
+    return NULL_MILLIS;
+  }
+
+  /**
+   * Parses the given {@code str} using {@code pattern} to epoch milliseconds, without creating any
+   * date object.
+   *
+   * @see DateHelper#toDate(String, String, ParseMode)
+   * @param str to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return epoch milliseconds if neither {@code str} nor {@code pattern} is blank, otherwise
+   *         returns {@link DateHelper#NULL_MILLIS}. If {@code str} cannot be parsed and parseMode
+   *         is {@link ParseMode#SUPPRESS_EXCEPTION}, returns {@link DateHelper#NULL_MILLIS}
+   * @throws IllegalArgumentException if {@code pattern} is invalid, or if {@code str} cannot be
+   *         parsed and parseMode is {@link ParseMode#STRICT}
+   */
+  public static long toMillis(String str, String pattern, ParseMode parseMode) {
+    if (!ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)) {
+      return toMillis(str, pattern);
+    }
+    if (StringUtils.isNoneBlank(str, pattern)) {
+      return compile(pattern).parseMillis(str, NULL_MILLIS);
+    }
+    return NULL_MILLIS;
+  }
+
+  /**
+   * Parses the given {@code str} as a local date time of {@code zone} to epoch milliseconds.
+   *
+   * @see DateHelper#toMillis(String, String)
+   * @param str to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @return epoch milliseconds if neither {@code str} nor {@code pattern} is blank, otherwise
+   *         returns {@link DateHelper#NULL_MILLIS}
+   * @throws IllegalArgumentException if {@code pattern} is invalid or {@code str} cannot be parsed
+   */
+  public static long toMillis(String str, String pattern, DateTimeZone zone) {
+    if (StringUtils.isNoneBlank(str, pattern)) {
+      return compile(pattern, zone).parseMillis(str);
+    }
+    return NULL_MILLIS;
+  }
+
+  /**
+   * Parses the given {@code str} as a local date time of {@code zone}, written with the month and
+   * AM/PM texts of {@code locale}, to an instance of {@link Date}.
+   *
+   * @see DateHelper#toDate(String, String)
+   * @param str to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @param locale locale of month and AM/PM texts, null to use {@link Locale#getDefault()}
+   * @return new instance of {@link Date} with the parsed value if neither {@code str} nor
+   *         {@code pattern} is blank, otherwise returns null
+   */
+  public static Date toDate(String str, String pattern, DateTimeZone zone, Locale locale) {
+    if (StringUtils.isNoneBlank(str, pattern)) {
+      return compile(pattern, zone, locale).parse(str);
     }
     return null;
   }
 
+  /**
+   * Parses the given {@code str} as a local date time of {@code zone}, written with the month and
+   * AM/PM texts of {@code locale}, to epoch milliseconds.
+   *
+   * @see DateHelper#toMillis(String, String)
+   * @param str to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @param locale locale of month and AM/PM texts, null to use {@link Locale#getDefault()}
+   * @return epoch milliseconds if neither {@code str} nor {@code pattern} is blank, otherwise
+   *         returns {@link DateHelper#NULL_MILLIS}
+   * @throws IllegalArgumentException if {@code pattern} is invalid or {@code str} cannot be parsed
+   */
+  public static long toMillis(String str, String pattern, DateTimeZone zone, Locale locale) {
+    if (StringUtils.isNoneBlank(str, pattern)) {
+      return compile(pattern, zone, locale).parseMillis(str);
+    }
+    return NULL_MILLIS;
+  }
+
+  /**
+   * Recognizes which of {@link CommonDateTimePatterns} the given {@code str} is written in, by
+   * its layout only. E.g. <code>29-01-17</code> is {@link CommonDateTimePatterns#dd_MM_yy} and
+   * <code>2017-01-29T13:50:59.370+07:00</code> is {@link CommonDateTimePatterns#ISO_8601}.<br>
+   * ISO-8601 texts in other layouts, e.g. <code>2017-01-29</code>, match no pattern and return
+   * null, although {@link #toDateDetected(String, ParseMode)} parses them with
+   * {@link CompiledDateTimePatterns#ISO_8601}.
+   *
+   * @param str to be recognized
+   * @return one of {@link CommonDateTimePatterns}, or null if {@code str} is blank or not in the
+   *         layout of any of them
+   */
+  public static String detectPattern(String str) {
+    if (StringUtils.isBlank(str)) {
+      return null;
+    }
+    return DatePatternDetector.detectPattern(str);
+  }
+
+  /**
+   * Parses the given {@code str} with whichever of {@link CommonDateTimePatterns} it is written
+   * in, recognizing the pattern and reading the fields in the same scan. Useful when a column
+   * mixes several patterns, instead of trying each pattern until one does not throw.
+   *
+   * @see DateHelper#detectPattern(String)
+   * @param str to be parsed
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return new instance of {@link Date} with the parsed value if {@code str} is not blank,
+   *         otherwise returns null. If {@code str} cannot be parsed and parseMode is
+   *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns null
+   * @throws IllegalArgumentException if {@code str} is not in any of
+   *         {@link CommonDateTimePatterns} or cannot be parsed with it, and parseMode is
+   *         {@link ParseMode#STRICT}
+   */
+  public static Date toDateDetected(String str, ParseMode parseMode) {
+    long millis = toMillisDetected(str, parseMode);
+    return millis == NULL_MILLIS ? null : new Date(millis);
+  }
+
+  /**
+   * Parses the given {@code str} with whichever of {@link CommonDateTimePatterns} it is written
+   * in to epoch milliseconds, without creating any date object.
+   *
+   * @see DateHelper#toDateDetected(String, ParseMode)
+   * @param str to be parsed
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return epoch milliseconds if {@code str} is not blank, otherwise returns
+   *         {@link DateHelper#NULL_MILLIS}. If {@code str} cannot be parsed and parseMode is
+   *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns {@link DateHelper#NULL_MILLIS}
+   * @throws IllegalArgumentException if {@code str} is not in any of
+   *         {@link CommonDateTimePatterns} or cannot be parsed with it, and parseMode is
+   *         {@link ParseMode#STRICT}
+   */
+  public static long toMillisDetected(String str, ParseMode parseMode) {
+    if (StringUtils.isBlank(str)) {
+      return NULL_MILLIS;
+    }
+    boolean strict = !ParseMode.SUPPRESS_EXCEPTION.equals(parseMode);
+    return DatePatternDetector.parseMillis(str, strict, NULL_MILLIS);
+  }
+
   /**
    * Returns string representation of the given {@code date} and formats it according to the given
    * {@code pattern}.
@@ -159,13 +1068,208 @@ public class DateHelper {
    */
   public static String toString(Date date, String pattern) {
     if (date != null && StringUtils.isNotBlank(pattern)) {
-      return DateTimeFormat.forPattern(pattern).print(date.getTime());
+      return compile(pattern).print(date.getTime());
+    }
+    return "";
+  }
+
+  /**
+   * Returns string representation of the given epoch milliseconds and formats it according to the
+   * given {@code pattern}.
+   *
+   * @see DateHelper#toString(Date, String)
+   * @param millis to be converted to String, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @return string representation of the given {@code millis}. Never returns null.
+   */
+  public static String toString(long millis, String pattern) {
+    if (millis != NULL_MILLIS && StringUtils.isNotBlank(pattern)) {
+      return compile(pattern).print(millis);
+    }
+    return "";
+  }
+
+  /**
+   * Returns string representation of the given {@code date} in {@code zone}.
+   *
+   * @see DateHelper#toString(Date, String)
+   * @param date to be converted to String
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @return string representation of the given {@code date}. Never returns null.
+   */
+  public static String toString(Date date, String pattern, DateTimeZone zone) {
+    if (date != null && StringUtils.isNotBlank(pattern)) {
+      return compile(pattern, zone).print(date.getTime());
     }
     return "";
   }
 
   /**
-   * Converts {@code input} to milliseconds with respect to the given {@code unit}.
+   * Returns string representation of the given epoch milliseconds in {@code zone}.
+   *
+   * @see DateHelper#toString(Date, String, DateTimeZone)
+   * @param millis to be converted to String, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @return string representation of the given {@code millis}. Never returns null.
+   */
+  public static String toString(long millis, String pattern, DateTimeZone zone) {
+    if (millis != NULL_MILLIS && StringUtils.isNotBlank(pattern)) {
+      return compile(pattern, zone).print(millis);
+    }
+    return "";
+  }
+
+  /**
+   * Returns string representation of the given {@code date} in {@code zone}, with the month and
+   * AM/PM texts of {@code locale}, e.g. <code>17 Agu 2017</code> for <code>id</code>.
+   *
+   * @see DateHelper#toString(Date, String)
+   * @param date to be converted to String
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @param locale locale of month and AM/PM texts, null to use {@link Locale#getDefault()}
+   * @return string representation of the given {@code date}. Never returns null.
+   */
+  public static String toString(Date date, String pattern, DateTimeZone zone, Locale locale) {
+    if (date != null && StringUtils.isNotBlank(pattern)) {
+      return compile(pattern, zone, locale).print(date.getTime());
+    }
+    return "";
+  }
+
+  /**
+   * Returns string representation of the given epoch milliseconds in {@code zone}, with the month
+   * and AM/PM texts of {@code locale}.
+   *
+   * @see DateHelper#toString(Date, String, DateTimeZone, Locale)
+   * @param millis to be converted to String, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param zone time zone, null to use {@link DateTimeZone#getDefault()}
+   * @param locale locale of month and AM/PM texts, null to use {@link Locale#getDefault()}
+   * @return string representation of the given {@code millis}. Never returns null.
+   */
+  public static String toString(long millis, String pattern, DateTimeZone zone, Locale locale) {
+    if (millis != NULL_MILLIS && StringUtils.isNotBlank(pattern)) {
+      return compile(pattern, zone, locale).print(millis);
+    }
+    return "";
+  }
+
+  /**
+   * Formats every element of {@code millis} according to the given {@code pattern}, splitting the
+   * work across {@link ForkJoinPool#commonPool()}.
+   *
+   * @see DateHelper#formatAll(long[], String, ForkJoinPool)
+   * @param millis to be converted to String, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @return string representations, in the same order as {@code millis}. Never returns null.
+   */
+  public static String[] formatAll(long[] millis, String pattern) {
+    return formatAll(millis, pattern, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Formats every element of {@code millis} according to the given {@code pattern}, splitting the
+   * work across {@code pool}. Results are written into one pre-sized array.
+   *
+   * @see DateHelper#toString(long, String)
+   * @param millis to be converted to String, {@link DateHelper#NULL_MILLIS} stands for null
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param pool runs the work, its parallelism bounds the number of concurrent workers. Null to
+   *             run on the calling thread.
+   * @return string representations, in the same order as {@code millis}. Returns an empty array if
+   *         {@code millis} is null, and empty strings if {@code pattern} is blank.
+   */
+  public static String[] formatAll(long[] millis, String pattern, ForkJoinPool pool) {
+    if (millis == null) {
+      return new String[0];
+    }
+    if (StringUtils.isBlank(pattern)) {
+      String[] result = new String[millis.length];
+      Arrays.fill(result, "");
+      return result;
+    }
+    return compile(pattern).printAll(millis, pool);
+  }
+
+  /**
+   * Parses every element of {@code texts} using {@code pattern}, splitting the work across
+   * {@link ForkJoinPool#commonPool()}.
+   *
+   * @see DateHelper#parseAll(List, String, ParseMode, ForkJoinPool)
+   * @param texts to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @return epoch milliseconds, in the same order as {@code texts}
+   * @throws IllegalArgumentException if {@code pattern} is invalid or an element cannot be parsed
+   */
+  public static long[] parseAll(List<? extends CharSequence> texts, String pattern) {
+    return parseAll(texts, pattern, ParseMode.STRICT, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Parses every element of {@code texts} using {@code pattern}, splitting the work across
+   * {@link ForkJoinPool#commonPool()}.
+   *
+   * @see DateHelper#parseAll(List, String, ParseMode, ForkJoinPool)
+   * @param texts to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return epoch milliseconds, in the same order as {@code texts}
+   * @throws IllegalArgumentException if {@code pattern} is invalid, or if an element cannot be
+   *         parsed and parseMode is {@link ParseMode#STRICT}
+   */
+  public static long[] parseAll(List<? extends CharSequence> texts, String pattern,
+      ParseMode parseMode) {
+    return parseAll(texts, pattern, parseMode, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Parses every element of {@code texts} using {@code pattern}, splitting the work across
+   * {@code pool}. Results are written into one pre-sized array.
+   *
+   * @see DateHelper#toMillis(String, String, ParseMode)
+   * @param texts to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}.
+   *                Common patterns can be found in {@link CommonDateTimePatterns}.
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @param pool runs the work, its parallelism bounds the number of concurrent workers. Null to
+   *             run on the calling thread.
+   * @return epoch milliseconds, in the same order as {@code texts}. Blank elements, and elements
+   *         that cannot be parsed when parseMode is {@link ParseMode#SUPPRESS_EXCEPTION}, result in
+   *         {@link DateHelper#NULL_MILLIS}. Returns an empty array if {@code texts} is null, and
+   *         {@link DateHelper#NULL_MILLIS} only if {@code pattern} is blank.
+   * @throws IllegalArgumentException if {@code pattern} is invalid, or if an element cannot be
+   *         parsed and parseMode is {@link ParseMode#STRICT}
+   */
+  public static long[] parseAll(List<? extends CharSequence> texts, String pattern,
+      ParseMode parseMode, ForkJoinPool pool) {
+    if (texts == null) {
+      return new long[0];
+    }
+    if (StringUtils.isBlank(pattern)) {
+      long[] result = new long[texts.size()];
+      Arrays.fill(result, NULL_MILLIS);
+      return result;
+    }
+    boolean strict = !ParseMode.SUPPRESS_EXCEPTION.equals(parseMode);
+    return compile(pattern).parseAll(texts, strict, pool);
+  }
+
+  /**
+   * Converts {@code input} to milliseconds with respect to the given {@code unit}. Results that do
+   * not fit in a long wrap around; {@link TimeUnitHelper#convert(long, TimeUnit, TimeUnit)}
+   * saturates and {@link TimeUnitHelper#convertExact(long, TimeUnit, TimeUnit)} throws instead.
    *
    * @param input time, paired with {@code unit}
    * @param unit  of type {@link TimeUnit}. <strong>Passing null will return the input itself,
@@ -173,32 +1277,14 @@ public class DateHelper {
    * @return milliseconds value of {@code input}.
    */
   public static long toMilliseconds(long input, TimeUnit unit) {
-    long result = input;
-
-    if (unit != null) {
-      while (unit != MILLISECONDS) {
-        if (unit == NANOSECONDS) {
-          result /= 1000;
-          unit = MILLISECONDS;
-        } else if (unit == SECONDS) {
-          result *= 1000;
-          unit = MILLISECONDS;
-        } else if (unit == MINUTES) {
-          result *= 60;
-          unit = SECONDS;
-        } else if (unit == HOURS) {
-          result *= 60;
-          unit = MINUTES;
-        } else if (unit == DAYS) {
-          result *= 24;
-          unit = HOURS;
-        } else if (unit == WEEKS) {
-          result *= 7;
-          unit = DAYS;
-        }
-      }
+    if (unit == null) {
+      return input;
     }
-
-    return result;
+    if (unit == NANOSECONDS) {
+      // kept for backward compatibility, see TimeUnitHelper#convert for the exact conversion
+      return input / 1000;
+    }
+    return input * TimeUnitHelper.factor(unit, MILLISECONDS);
   }
+
 }
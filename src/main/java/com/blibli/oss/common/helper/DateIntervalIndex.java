@@ -0,0 +1,325 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.TimeComparator;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable index of time windows, answering "which windows contain this instant" and "which
+ * windows overlap this range" in <code>O(log n + k)</code> instead of checking every window with
+ * {@link DateHelper#is(long, TimeComparator, long)}.<br>
+ * A window contains an instant {@code t} if <code>is(t, startComparator, start)</code> and
+ * <code>is(t, endComparator, end)</code> hold, e.g. {@link TimeComparator#AFTER_OR_EQUAL_TO} start
+ * and {@link TimeComparator#BEFORE} end. A {@link DateHelper#NULL_MILLIS} start or end leaves the
+ * window open on that side.<br>
+ * Windows are kept as closed <code>long</code> ranges sorted by start, laid out as an implicit
+ * binary search tree augmented with the maximum end of each subtree (the layout of Heng Li's
+ * cgranges). Queries report windows by their position in the arrays the index was built from, in
+ * ascending order of start.
+ */
+public final class DateIntervalIndex {
+
+  /**
+   * Subtrees of at most <code>2^(LINEAR_SCAN_LEVEL + 1) - 1</code> nodes are scanned linearly.
+   */
+  private static final int LINEAR_SCAN_LEVEL = 3;
+
+  private static final int[] EMPTY = new int[0];
+
+  private final TimeComparator startComparator;
+  private final TimeComparator endComparator;
+
+  /**
+   * Smallest contained instant of each window, ascending.
+   */
+  private final long[] lows;
+
+  /**
+   * Largest contained instant of each window.
+   */
+  private final long[] highs;
+
+  /**
+   * Largest {@link #highs} value in the subtree rooted at each node.
+   */
+  private final long[] maxHighs;
+
+  /**
+   * Position of each window in the arrays the index was built from.
+   */
+  private final int[] ids;
+
+  private final int rootLevel;
+
+  private DateIntervalIndex(long[] starts, long[] ends, TimeComparator startComparator,
+      TimeComparator endComparator) {
+    if (startComparator != TimeComparator.AFTER
+        && startComparator != TimeComparator.AFTER_OR_EQUAL_TO) {
+      throw new IllegalArgumentException("Start comparator must be AFTER or AFTER_OR_EQUAL_TO: "
+          + startComparator);
+    }
+    if (endComparator != TimeComparator.BEFORE
+        && endComparator != TimeComparator.BEFORE_OR_EQUAL_TO) {
+      throw new IllegalArgumentException("End comparator must be BEFORE or BEFORE_OR_EQUAL_TO: "
+          + endComparator);
+    }
+    if (starts.length != ends.length) {
+      throw new IllegalArgumentException(
+          "Got " + starts.length + " starts but " + ends.length + " ends");
+    }
+    this.startComparator = startComparator;
+    this.endComparator = endComparator;
+
+    long[] unsortedLows = new long[starts.length];
+    long[] unsortedHighs = new long[starts.length];
+    for (int i = 0; i < starts.length; i++) {
+      unsortedLows[i] = low(starts[i]);
+      unsortedHighs[i] = high(ends[i]);
+    }
+    ids = IntStream.range(0, starts.length)
+        .filter(i -> unsortedLows[i] <= unsortedHighs[i])
+        .boxed()
+        .sorted((a, b) -> Long.compare(unsortedLows[a], unsortedLows[b]))
+        .mapToInt(Integer::intValue)
+        .toArray();
+    int n = ids.length;
+    lows = new long[n];
+    highs = new long[n];
+    for (int i = 0; i < n; i++) {
+      lows[i] = unsortedLows[ids[i]];
+      highs[i] = unsortedHighs[ids[i]];
+    }
+    maxHighs = highs.clone();
+    rootLevel = index();
+  }
+
+  /**
+   * Indexes half-open windows, i.e. {@link TimeComparator#AFTER_OR_EQUAL_TO} {@code starts[i]} and
+   * {@link TimeComparator#BEFORE} {@code ends[i]}.
+   *
+   * @param starts epoch millis each window starts at, {@link DateHelper#NULL_MILLIS} for none
+   * @param ends epoch millis each window ends at, {@link DateHelper#NULL_MILLIS} for none
+   * @return new index
+   * @throws IllegalArgumentException if {@code starts} and {@code ends} differ in length
+   */
+  public static DateIntervalIndex of(long[] starts, long[] ends) {
+    return of(starts, ends, TimeComparator.AFTER_OR_EQUAL_TO, TimeComparator.BEFORE);
+  }
+
+  /**
+   * Indexes windows containing the instants {@code t} for which
+   * <code>is(t, startComparator, starts[i])</code> and <code>is(t, endComparator, ends[i])</code>
+   * hold.
+   *
+   * @param starts epoch millis each window starts at, {@link DateHelper#NULL_MILLIS} for none
+   * @param ends epoch millis each window ends at, {@link DateHelper#NULL_MILLIS} for none
+   * @param startComparator {@link TimeComparator#AFTER} or
+   *                        {@link TimeComparator#AFTER_OR_EQUAL_TO}
+   * @param endComparator {@link TimeComparator#BEFORE} or
+   *                      {@link TimeComparator#BEFORE_OR_EQUAL_TO}
+   * @return new index
+   * @throws IllegalArgumentException if {@code starts} and {@code ends} differ in length, or a
+   *         comparator is not one of the above
+   */
+  public static DateIntervalIndex of(long[] starts, long[] ends, TimeComparator startComparator,
+      TimeComparator endComparator) {
+    return new DateIntervalIndex(starts, ends, startComparator, endComparator);
+  }
+
+  /**
+   * @return number of indexed windows, not counting windows that contain no instant at all
+   */
+  public int size() {
+    return ids.length;
+  }
+
+  /**
+   * Returns whether any window contains {@code millis}.
+   *
+   * @param millis epoch millis
+   * @return true if at least one window contains {@code millis}. Never allocates.
+   */
+  public boolean anyContains(long millis) {
+    return query(millis, millis, null);
+  }
+
+  /**
+   * Returns the windows containing {@code millis}.
+   *
+   * @param millis epoch millis
+   * @return positions of the windows in the arrays the index was built from, in ascending order of
+   *         start
+   */
+  public int[] containing(long millis) {
+    return collect(millis, millis);
+  }
+
+  /**
+   * Reports the windows containing {@code millis} to {@code action}, without allocating.
+   *
+   * @param millis epoch millis
+   * @param action receives positions of the windows in the arrays the index was built from, in
+   *               ascending order of start
+   */
+  public void forEachContaining(long millis, IntConsumer action) {
+    query(millis, millis, action);
+  }
+
+  /**
+   * Returns the windows sharing at least one instant with the range from {@code start} to
+   * {@code end}, both bounds being interpreted with the comparators of this index.
+   *
+   * @param start epoch millis the range starts at, {@link DateHelper#NULL_MILLIS} for none
+   * @param end epoch millis the range ends at, {@link DateHelper#NULL_MILLIS} for none
+   * @return positions of the windows in the arrays the index was built from, in ascending order of
+   *         start
+   */
+  public int[] overlapping(long start, long end) {
+    return collect(low(start), high(end));
+  }
+
+  /**
+   * Reports the windows sharing at least one instant with the range from {@code start} to
+   * {@code end} to {@code action}, without allocating.
+   *
+   * @see #overlapping(long, long)
+   * @param start epoch millis the range starts at, {@link DateHelper#NULL_MILLIS} for none
+   * @param end epoch millis the range ends at, {@link DateHelper#NULL_MILLIS} for none
+   * @param action receives positions of the windows in the arrays the index was built from, in
+   *               ascending order of start
+   */
+  public void forEachOverlapping(long start, long end, IntConsumer action) {
+    query(low(start), high(end), action);
+  }
+
+  private long low(long start) {
+    if (start == DateHelper.NULL_MILLIS) {
+      return Long.MIN_VALUE;
+    }
+    if (startComparator == TimeComparator.AFTER) {
+      return start == Long.MAX_VALUE ? Long.MAX_VALUE : start + 1;
+    }
+    return start;
+  }
+
+  private long high(long end) {
+    if (end == DateHelper.NULL_MILLIS) {
+      return Long.MAX_VALUE;
+    }
+    return endComparator == TimeComparator.BEFORE ? end - 1 : end;
+  }
+
+  private int[] collect(long low, long high) {
+    int[][] result = {EMPTY};
+    int[] count = {0};
+    query(low, high, id -> {
+      if (count[0] == result[0].length) {
+        result[0] = Arrays.copyOf(result[0], Math.max(8, count[0] * 2));
+      }
+      result[0][count[0]++] = id;
+    });
+    return count[0] == result[0].length ? result[0] : Arrays.copyOf(result[0], count[0]);
+  }
+
+  /**
+   * Computes {@link #maxHighs} of every inner node.
+   *
+   * @return level of the root, or -1 if the index is empty
+   */
+  private int index() {
+    int n = lows.length;
+    if (n == 0) {
+      return -1;
+    }
+    int lastIndex = 0;
+    long last = 0;
+    for (int i = 0; i < n; i += 2) {
+      lastIndex = i;
+      last = maxHighs[i];
+    }
+    int level;
+    for (level = 1; 1L << level <= n; level++) {
+      long x = 1L << (level - 1);
+      long first = (x << 1) - 1;
+      long step = x << 2;
+      for (long i = first; i < n; i += step) {
+        long left = maxHighs[(int) (i - x)];
+        long right = i + x < n ? maxHighs[(int) (i + x)] : last;
+        maxHighs[(int) i] = Math.max(highs[(int) i], Math.max(left, right));
+      }
+      lastIndex = (lastIndex >> level & 1) != 0 ? lastIndex - (int) x : lastIndex + (int) x;
+      if (lastIndex < n && maxHighs[lastIndex] > last) {
+        last = maxHighs[lastIndex];
+      }
+    }
+    return level - 1;
+  }
+
+  /**
+   * Reports every window sharing at least one instant with the closed range from {@code low} to
+   * {@code high} to {@code action}, in ascending order of start.
+   *
+   * @param action receives window positions, or null to stop at the first window found
+   * @return whether a window was found and {@code action} is null
+   */
+  private boolean query(long low, long high, IntConsumer action) {
+    if (rootLevel < 0 || low > high) {
+      return false;
+    }
+    return visit((1L << rootLevel) - 1, rootLevel, low, high, action);
+  }
+
+  /**
+   * Visits the left subtree, the node itself and the right subtree of {@code node}, skipping
+   * subtrees that end before {@code low} or start after {@code high}.
+   */
+  private boolean visit(long node, int level, long low, long high, IntConsumer action) {
+    int n = lows.length;
+    if (level <= LINEAR_SCAN_LEVEL) {
+      long first = node >> level << level;
+      long last = Math.min(first + (1L << (level + 1)) - 1, n);
+      for (int i = (int) first; i < last && lows[i] <= high; i++) {
+        if (low <= highs[i]) {
+          if (action == null) {
+            return true;
+          }
+          action.accept(ids[i]);
+        }
+      }
+      return false;
+    }
+    long half = 1L << (level - 1);
+    long left = node - half;
+    if ((left >= n || maxHighs[(int) left] >= low) && visit(left, level - 1, low, high, action)) {
+      return true;
+    }
+    if (node < n && lows[(int) node] <= high) {
+      if (low <= highs[(int) node]) {
+        if (action == null) {
+          return true;
+        }
+        action.accept(ids[(int) node]);
+      }
+      return visit(node + half, level - 1, low, high, action);
+    }
+    return false;
+  }
+}
@@ -0,0 +1,521 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.CommonDateTimePatterns;
+import com.blibli.oss.common.helper.constants.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Compiled form of a date time pattern. Instances are immutable and thread-safe, so they are
+ * meant to be created once (see {@link DateHelper#compile(String)}) and kept in a static field.
+ * <br>Handles of every pattern in
+ * {@link com.blibli.oss.common.helper.constants.CommonDateTimePatterns} are available in
+ * {@link CompiledDateTimePatterns}.
+ *
+ * @see DateHelper#compile(String)
+ */
+public abstract class DatePattern {
+
+  /**
+   * Bulk operations on fewer elements than this run on the calling thread.
+   */
+  static final int BULK_THRESHOLD = 4096;
+
+  private static final ThreadLocal<byte[]> BYTE_SCRATCH =
+      ThreadLocal.withInitial(() -> new byte[768]);
+
+  private final String pattern;
+
+  DatePattern(String pattern) {
+    this.pattern = pattern;
+  }
+
+  /**
+   * Compiles {@code pattern} without looking it up in {@link CompiledDateTimePatterns}.
+   *
+   * @param pattern must conform to the specifications of {@link DateTimeFormat}
+   * @return new compiled pattern
+   * @throws IllegalArgumentException if {@code pattern} is invalid
+   */
+  static DatePattern of(String pattern) {
+    JodaDatePattern joda = new JodaDatePattern(pattern, DateTimeFormat.forPattern(pattern));
+    FixedDatePattern fixed = FixedDatePattern.forPattern(pattern, joda);
+    return fixed != null ? fixed : joda;
+  }
+
+  /**
+   * Returns the pattern this instance was compiled from.
+   *
+   * @return the source pattern
+   */
+  public String getPattern() {
+    return pattern;
+  }
+
+  /**
+   * Returns a copy of this pattern that prints and parses local date times of {@code zone} instead
+   * of the default zone.<br>
+   * Offsets of the zone are looked up in a precomputed transition table, and zones without
+   * daylight saving (e.g. <code>Asia/Jakarta</code>) resolve to a single addition.
+   *
+   * @param zone time zone, null to follow {@link DateTimeZone#getDefault()}
+   * @return new compiled pattern
+   */
+  public abstract DatePattern withZone(DateTimeZone zone);
+
+  /**
+   * Returns the zone this pattern is bound to.
+   *
+   * @return time zone, or null if this pattern follows {@link DateTimeZone#getDefault()}
+   */
+  public abstract DateTimeZone getZone();
+
+  /**
+   * Returns a copy of this pattern that prints and parses month and AM/PM texts of {@code locale}
+   * instead of the default locale, e.g. <code>Agu</code> instead of <code>Aug</code> for
+   * <code>id</code>.<br>
+   * Texts of {@link CommonDateTimePatterns} are resolved once per locale into lookup tables, so
+   * printing and parsing never go through {@link java.text.DateFormatSymbols}.
+   *
+   * @param locale locale, null to follow {@link Locale#getDefault()}
+   * @return new compiled pattern
+   */
+  public abstract DatePattern withLocale(Locale locale);
+
+  /**
+   * Returns the locale this pattern is bound to.
+   *
+   * @return locale, or null if this pattern follows {@link Locale#getDefault()}
+   */
+  public abstract Locale getLocale();
+
+  /**
+   * Returns string representation of the given epoch {@code millis}.
+   *
+   * @param millis milliseconds since 1970-01-01T00:00:00Z
+   * @return formatted value. Never returns null.
+   */
+  public abstract String print(long millis);
+
+  /**
+   * Appends string representation of the given epoch {@code millis} to {@code buf}.<br>
+   * Patterns of {@link com.blibli.oss.common.helper.constants.CommonDateTimePatterns} produce no
+   * garbage as long as {@code buf} has enough capacity.
+   *
+   * @param buf to append to
+   * @param millis milliseconds since 1970-01-01T00:00:00Z
+   * @return {@code buf}
+   */
+  public StringBuilder printTo(StringBuilder buf, long millis) {
+    return buf.append(print(millis));
+  }
+
+  /**
+   * Appends string representation of the given epoch {@code millis} to {@code out}.
+   *
+   * @param out to append to
+   * @param millis milliseconds since 1970-01-01T00:00:00Z
+   * @throws IOException propagated from {@code out}
+   */
+  public void printTo(Appendable out, long millis) throws IOException {
+    out.append(print(millis));
+  }
+
+  /**
+   * Writes string representation of the given epoch {@code millis} into {@code buf}.
+   *
+   * @param buf to write to, must have enough room after {@code offset}
+   * @param offset index of the first char to write
+   * @param millis milliseconds since 1970-01-01T00:00:00Z
+   * @return index after the last written char
+   */
+  public int printTo(char[] buf, int offset, long millis) {
+    String str = print(millis);
+    str.getChars(0, str.length(), buf, offset);
+    return offset + str.length();
+  }
+
+  /**
+   * Writes UTF-8 encoded string representation of the given epoch {@code millis} into {@code buf}.
+   *
+   * @param buf to write to, must have enough room after {@code offset}
+   * @param offset index of the first byte to write
+   * @param millis milliseconds since 1970-01-01T00:00:00Z
+   * @return index after the last written byte
+   */
+  public int printTo(byte[] buf, int offset, long millis) {
+    byte[] bytes = print(millis).getBytes(StandardCharsets.UTF_8);
+    System.arraycopy(bytes, 0, buf, offset, bytes.length);
+    return offset + bytes.length;
+  }
+
+  /**
+   * Writes UTF-8 encoded string representation of the given epoch {@code millis} at the position
+   * of {@code buf}, advancing it by the number of written bytes.<br>
+   * Patterns of {@link com.blibli.oss.common.helper.constants.CommonDateTimePatterns} encode
+   * straight into {@code buf} without creating a {@link String}.
+   *
+   * @param buf to write to
+   * @param millis milliseconds since 1970-01-01T00:00:00Z
+   * @return number of written bytes
+   * @throws java.nio.BufferOverflowException if {@code buf} has not enough room, in which case
+   *         nothing is written
+   */
+  public int printTo(ByteBuffer buf, long millis) {
+    byte[] bytes = print(millis).getBytes(StandardCharsets.UTF_8);
+    buf.put(bytes);
+    return bytes.length;
+  }
+
+  /**
+   * Writes the first {@code length} chars of {@code chars} UTF-8 encoded at the position of
+   * {@code buf}.
+   *
+   * @return number of written bytes
+   */
+  static int putUtf8(ByteBuffer buf, char[] chars, int length) {
+    byte[] scratch = BYTE_SCRATCH.get();
+    int end = encodeUtf8(chars, length, scratch, 0);
+    buf.put(scratch, 0, end);
+    return end;
+  }
+
+  /**
+   * Returns string representation of the given {@code date}.
+   *
+   * @param date to be converted to String
+   * @return formatted value if {@code date} is not null, otherwise returns empty string
+   */
+  public String print(Date date) {
+    return date == null ? "" : print(date.getTime());
+  }
+
+  /**
+   * Parses the given {@code text} to an instance of {@link Date}.
+   *
+   * @param text to be parsed
+   * @return new instance of {@link Date} if {@code text} is not blank, otherwise returns null
+   * @throws IllegalArgumentException if {@code text} does not match the pattern
+   */
+  public Date parse(CharSequence text) {
+    if (StringUtils.isNotBlank(text)) {
+      return new Date(parseMillis(text));
+    }
+    return null;
+  }
+
+  /**
+   * Parses the given {@code text} to epoch milliseconds without creating any intermediate date
+   * object.<br>
+   * Patterns of {@link com.blibli.oss.common.helper.constants.CommonDateTimePatterns} read their
+   * fixed-position fields straight out of {@code text}; any other input is handed over to Joda.
+   *
+   * @param text to be parsed, must not be null
+   * @return milliseconds since 1970-01-01T00:00:00Z
+   * @throws IllegalArgumentException if {@code text} does not match the pattern
+   */
+  public abstract long parseMillis(CharSequence text);
+
+  /**
+   * Parses the given {@code text} to epoch milliseconds, returning {@code defaultValue} instead of
+   * throwing when it cannot be parsed.<br>
+   * Malformed input is detected through parse positions rather than exceptions, so rejecting it
+   * does not pay for building a stack trace.
+   *
+   * @param text to be parsed
+   * @param defaultValue returned if {@code text} is null or cannot be parsed
+   * @return milliseconds since 1970-01-01T00:00:00Z, or {@code defaultValue}
+   */
+  public abstract long parseMillis(CharSequence text, long defaultValue);
+
+  /**
+   * Parses {@code length} UTF-8 encoded bytes of {@code buf} starting at {@code offset} to epoch
+   * milliseconds.<br>
+   * ASCII input is read in place, so patterns of
+   * {@link com.blibli.oss.common.helper.constants.CommonDateTimePatterns} never create a
+   * {@link String} for it.
+   *
+   * @param buf to be parsed
+   * @param offset index of the first byte to parse
+   * @param length number of bytes to parse
+   * @return milliseconds since 1970-01-01T00:00:00Z
+   * @throws IllegalArgumentException if the bytes do not match the pattern
+   * @throws IndexOutOfBoundsException if the range is outside {@code buf}
+   */
+  public long parseMillis(byte[] buf, int offset, int length) {
+    return parseMillis(AsciiBytes.of(buf, offset, length));
+  }
+
+  /**
+   * Parses {@code length} UTF-8 encoded bytes of {@code buf} starting at {@code offset} to epoch
+   * milliseconds, returning {@code defaultValue} instead of throwing when they cannot be parsed.
+   *
+   * @see #parseMillis(byte[], int, int)
+   * @param buf to be parsed
+   * @param offset index of the first byte to parse
+   * @param length number of bytes to parse
+   * @param defaultValue returned if the bytes cannot be parsed
+   * @return milliseconds since 1970-01-01T00:00:00Z, or {@code defaultValue}
+   * @throws IndexOutOfBoundsException if the range is outside {@code buf}
+   */
+  public long parseMillis(byte[] buf, int offset, int length, long defaultValue) {
+    return parseMillis(AsciiBytes.of(buf, offset, length), defaultValue);
+  }
+
+  /**
+   * Parses {@code length} UTF-8 encoded bytes of {@code buf} starting at absolute index
+   * {@code offset} to epoch milliseconds. The position of {@code buf} is not modified.
+   *
+   * @see #parseMillis(byte[], int, int)
+   * @param buf to be parsed, heap or direct
+   * @param offset index of the first byte to parse
+   * @param length number of bytes to parse
+   * @return milliseconds since 1970-01-01T00:00:00Z
+   * @throws IllegalArgumentException if the bytes do not match the pattern
+   * @throws IndexOutOfBoundsException if the range is outside the limit of {@code buf}
+   */
+  public long parseMillis(ByteBuffer buf, int offset, int length) {
+    return parseMillis(AsciiBytes.of(buf, offset, length));
+  }
+
+  /**
+   * Parses {@code length} UTF-8 encoded bytes of {@code buf} starting at absolute index
+   * {@code offset} to epoch milliseconds, returning {@code defaultValue} instead of throwing when
+   * they cannot be parsed. The position of {@code buf} is not modified.
+   *
+   * @see #parseMillis(byte[], int, int)
+   * @param buf to be parsed, heap or direct
+   * @param offset index of the first byte to parse
+   * @param length number of bytes to parse
+   * @param defaultValue returned if the bytes cannot be parsed
+   * @return milliseconds since 1970-01-01T00:00:00Z, or {@code defaultValue}
+   * @throws IndexOutOfBoundsException if the range is outside the limit of {@code buf}
+   */
+  public long parseMillis(ByteBuffer buf, int offset, int length, long defaultValue) {
+    return parseMillis(AsciiBytes.of(buf, offset, length), defaultValue);
+  }
+
+  /**
+   * Formats every element of {@code millis} into a pre-sized array, splitting the work across
+   * {@code pool}. Each worker reuses one buffer for all elements of its chunk. Small inputs, and
+   * any input if {@code pool} has a parallelism of 1, are formatted on the calling thread instead.
+   *
+   * @param millis milliseconds since 1970-01-01T00:00:00Z, {@link DateHelper#NULL_MILLIS} stands
+   *               for null and is formatted as empty string
+   * @param pool runs the chunks, e.g. {@link ForkJoinPool#commonPool()}, null to run on the
+   *             calling thread
+   * @return formatted values, in the same order as {@code millis}
+   */
+  public String[] printAll(long[] millis, ForkJoinPool pool) {
+    String[] result = new String[millis.length];
+    boolean sequential = isSequential(millis.length, pool);
+    PrintAllTask task = new PrintAllTask(this, millis, result, 0, millis.length,
+        sequential ? millis.length : chunkSize(millis.length, pool));
+    if (sequential) {
+      task.compute();
+    } else {
+      pool.invoke(task);
+    }
+    return result;
+  }
+
+  /**
+   * Parses every element of {@code texts} into a pre-sized array, splitting the work across
+   * {@code pool}. Small inputs, and any input if {@code pool} has a parallelism of 1, are parsed on
+   * the calling thread instead.
+   *
+   * @param texts to be parsed, blank or null elements result in {@link DateHelper#NULL_MILLIS}
+   * @param strict whether to throw if an element cannot be parsed, otherwise it results in
+   *               {@link DateHelper#NULL_MILLIS}
+   * @param pool runs the chunks, e.g. {@link ForkJoinPool#commonPool()}, null to run on the
+   *             calling thread
+   * @return milliseconds since 1970-01-01T00:00:00Z, in the same order as {@code texts}
+   * @throws IllegalArgumentException if {@code strict} and an element cannot be parsed
+   */
+  public long[] parseAll(List<? extends CharSequence> texts, boolean strict, ForkJoinPool pool) {
+    CharSequence[] source = texts.toArray(new CharSequence[texts.size()]);
+    long[] result = new long[source.length];
+    boolean sequential = isSequential(source.length, pool);
+    ParseAllTask task = new ParseAllTask(this, source, result, strict, 0, source.length,
+        sequential ? source.length : chunkSize(source.length, pool));
+    if (sequential) {
+      task.compute();
+    } else {
+      pool.invoke(task);
+    }
+    return result;
+  }
+
+  /**
+   * Whether a bulk operation over {@code length} elements runs as a single chunk on the calling
+   * thread, which is always the case without a {@code pool}. Such a task must not split, since
+   * forking outside of a pool goes to the common pool.
+   */
+  private static boolean isSequential(int length, ForkJoinPool pool) {
+    return pool == null || length < BULK_THRESHOLD || pool.getParallelism() == 1;
+  }
+
+  private static int chunkSize(int length, ForkJoinPool pool) {
+    return Math.max(BULK_THRESHOLD / 4, length / (pool.getParallelism() * 8));
+  }
+
+  /**
+   * Returns a printer that renders this pattern once per {@code tick} and serves the cached string
+   * in between, e.g. for stamping log or audit records with the current time.
+   *
+   * @param tick one of {@link TimeUnit#MILLISECONDS}, {@link TimeUnit#SECONDS} or
+   *             {@link TimeUnit#MINUTES}
+   * @return new cached printer
+   * @throws IllegalArgumentException if {@code tick} is not supported
+   */
+  public CachedDatePrinter cached(TimeUnit tick) {
+    return new CachedDatePrinter(this, tick);
+  }
+
+  /**
+   * Encodes the first {@code length} chars of {@code src} as UTF-8 into {@code dst}.
+   *
+   * @return index after the last written byte
+   */
+  static int encodeUtf8(char[] src, int length, byte[] dst, int offset) {
+    for (int i = 0; i < length; i++) {
+      char c = src[i];
+      if (c < 0x80) {
+        dst[offset++] = (byte) c;
+      } else if (c < 0x800) {
+        dst[offset++] = (byte) (0xC0 | c >> 6);
+        dst[offset++] = (byte) (0x80 | c & 0x3F);
+      } else if (Character.isHighSurrogate(c) && i + 1 < length
+          && Character.isLowSurrogate(src[i + 1])) {
+        int cp = Character.toCodePoint(c, src[++i]);
+        dst[offset++] = (byte) (0xF0 | cp >> 18);
+        dst[offset++] = (byte) (0x80 | cp >> 12 & 0x3F);
+        dst[offset++] = (byte) (0x80 | cp >> 6 & 0x3F);
+        dst[offset++] = (byte) (0x80 | cp & 0x3F);
+      } else if (Character.isSurrogate(c)) {
+        dst[offset++] = '?';
+      } else {
+        dst[offset++] = (byte) (0xE0 | c >> 12);
+        dst[offset++] = (byte) (0x80 | c >> 6 & 0x3F);
+        dst[offset++] = (byte) (0x80 | c & 0x3F);
+      }
+    }
+    return offset;
+  }
+
+  @Override
+  public String toString() {
+    return pattern;
+  }
+
+  private static final class PrintAllTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final DatePattern pattern;
+    private final long[] millis;
+    private final String[] result;
+    private final int from;
+    private final int to;
+    private final int chunk;
+
+    PrintAllTask(DatePattern pattern, long[] millis, String[] result, int from, int to,
+        int chunk) {
+      this.pattern = pattern;
+      this.millis = millis;
+      this.result = result;
+      this.from = from;
+      this.to = to;
+      this.chunk = chunk;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > chunk) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new PrintAllTask(pattern, millis, result, from, middle, chunk),
+            new PrintAllTask(pattern, millis, result, middle, to, chunk));
+        return;
+      }
+      StringBuilder buf = new StringBuilder(32);
+      for (int i = from; i < to; i++) {
+        if (millis[i] == DateHelper.NULL_MILLIS) {
+          result[i] = "";
+        } else {
+          buf.setLength(0);
+          result[i] = pattern.printTo(buf, millis[i]).toString();
+        }
+      }
+    }
+  }
+
+  private static final class ParseAllTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final DatePattern pattern;
+    private final CharSequence[] texts;
+    private final long[] result;
+    private final boolean strict;
+    private final int from;
+    private final int to;
+    private final int chunk;
+
+    ParseAllTask(DatePattern pattern, CharSequence[] texts, long[] result, boolean strict,
+        int from, int to, int chunk) {
+      this.pattern = pattern;
+      this.texts = texts;
+      this.result = result;
+      this.strict = strict;
+      this.from = from;
+      this.to = to;
+      this.chunk = chunk;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > chunk) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new ParseAllTask(pattern, texts, result, strict, from, middle, chunk),
+            new ParseAllTask(pattern, texts, result, strict, middle, to, chunk));
+        return;
+      }
+      for (int i = from; i < to; i++) {
+        CharSequence text = texts[i];
+        if (StringUtils.isBlank(text)) {
+          result[i] = DateHelper.NULL_MILLIS;
+        } else if (strict) {
+          result[i] = pattern.parseMillis(text);
+        } else {
+          result[i] = pattern.parseMillis(text, DateHelper.NULL_MILLIS);
+        }
+      }
+    }
+  }
+}
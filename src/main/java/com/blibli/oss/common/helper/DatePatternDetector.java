@@ -0,0 +1,404 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.CommonDateTimePatterns;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Recognizes which of {@link CommonDateTimePatterns} a text is written in and parses it, in a
+ * single left-to-right scan.
+ * <br>The layouts are compiled once into a state machine over character classes (digit, letter,
+ * separators). Each state knows which field the digit run ending in it belongs to, so the fields
+ * are collected while the layout is recognized and converted to epoch millis right after the
+ * scan. Texts that are recognized but not valid for their pattern, e.g. unknown month texts or
+ * out of range fields, are handed to the recognized pattern, so results and exceptions are the
+ * same as parsing with that pattern directly.
+ * <br>ISO-8601 texts are recognized in any layout {@link CompiledDateTimePatterns#ISO_8601}
+ * parses, but only the exact layout of {@link CommonDateTimePatterns#ISO_8601} is reported as
+ * that pattern by {@link #detectPattern(CharSequence)}.
+ */
+final class DatePatternDetector {
+
+  private static final int DIGIT = 0;
+  private static final int DASH = 1;
+  private static final int SPACE = 2;
+  private static final int COLON = 3;
+  private static final int DOT = 4;
+  private static final int LETTER = 5;
+  private static final int LETTER_T = 6;
+  private static final int OTHER = 7;
+  private static final int CLASSES = 8;
+
+  private static final int DAY = 0;
+  private static final int MONTH = 1;
+  private static final int YEAR = 2;
+  private static final int HOUR = 3;
+  private static final int MINUTE = 4;
+  private static final int SECOND = 5;
+  private static final int MILLIS = 6;
+
+  private static final byte[] ASCII_CLASSES = new byte[128];
+
+  /**
+   * Layout of {@link CommonDateTimePatterns#ISO_8601} up to the offset, in the notation of
+   * {@link #LAYOUTS}.
+   */
+  private static final String ISO_PATTERN_LAYOUT = "dddd-dd-ddTdd:dd:dd.ddd";
+
+  /**
+   * Candidate patterns, in the order of {@link #LAYOUTS}.
+   */
+  private static final DatePattern[] PATTERNS = {
+      CompiledDateTimePatterns.dd_MM_yy,
+      CompiledDateTimePatterns.dd_MM_yyyy,
+      CompiledDateTimePatterns.dd_MMM_yyyy,
+      CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm,
+      CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_a,
+      CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss,
+      CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_a,
+      CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS,
+      CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_SSS_a,
+      CompiledDateTimePatterns.ISO_8601,
+      CompiledDateTimePatterns.ISO_8601
+  };
+
+  /**
+   * Layout of every candidate: <code>d</code> is a digit, <code>L</code> a run of letters,
+   * <code>*</code> the rest of the text and any other character stands for itself.
+   */
+  private static final String[] LAYOUTS = {
+      "dd-dd-dd",
+      "dd-dd-dddd",
+      "dd L dddd",
+      "dd L dddd dd:dd",
+      "dd L dddd dd:dd L",
+      "dd L dddd dd:dd:dd",
+      "dd L dddd dd:dd:dd L",
+      "dd L dddd dd:dd:dd.ddd",
+      "dd L dddd dd:dd:dd.ddd L",
+      "dddd-dd-dd",
+      "dddd-dd-ddT*"
+  };
+
+  /**
+   * Field of every digit run of the layout at the same index, or null if the fields are not
+   * collected because the pattern parses the text itself.
+   */
+  private static final int[][] RUN_FIELDS = {
+      {DAY, MONTH, YEAR},
+      {DAY, MONTH, YEAR},
+      {DAY, YEAR},
+      {DAY, YEAR, HOUR, MINUTE},
+      {DAY, YEAR, HOUR, MINUTE},
+      {DAY, YEAR, HOUR, MINUTE, SECOND},
+      {DAY, YEAR, HOUR, MINUTE, SECOND},
+      {DAY, YEAR, HOUR, MINUTE, SECOND, MILLIS},
+      {DAY, YEAR, HOUR, MINUTE, SECOND, MILLIS},
+      null,
+      null
+  };
+
+  private static final int[] TRANSITIONS;
+  private static final int[] FIELDS;
+  private static final int[] ACCEPTS;
+  private static final boolean[] LETTER_STATES;
+
+  static {
+    Arrays.fill(ASCII_CLASSES, (byte) OTHER);
+    for (char c = '0'; c <= '9'; c++) {
+      ASCII_CLASSES[c] = DIGIT;
+    }
+    for (char c = 'a'; c <= 'z'; c++) {
+      ASCII_CLASSES[c] = LETTER;
+      ASCII_CLASSES[Character.toUpperCase(c)] = LETTER;
+    }
+    ASCII_CLASSES['T'] = LETTER_T;
+    ASCII_CLASSES['-'] = DASH;
+    ASCII_CLASSES[' '] = SPACE;
+    ASCII_CLASSES[':'] = COLON;
+    ASCII_CLASSES['.'] = DOT;
+
+    Builder builder = new Builder();
+    for (int i = 0; i < LAYOUTS.length; i++) {
+      builder.add(LAYOUTS[i], RUN_FIELDS[i], i);
+    }
+    TRANSITIONS = Arrays.copyOf(builder.transitions, builder.states * CLASSES);
+    FIELDS = Arrays.copyOf(builder.fields, builder.states);
+    ACCEPTS = Arrays.copyOf(builder.accepts, builder.states);
+    LETTER_STATES = Arrays.copyOf(builder.letters, builder.states);
+  }
+
+  private DatePatternDetector() {
+  }
+
+  private static int classOf(char c) {
+    if (c < 128) {
+      return ASCII_CLASSES[c];
+    }
+    return Character.isLetter(c) ? LETTER : OTHER;
+  }
+
+  /**
+   * Returns the pattern {@code text} is written in.
+   *
+   * @param text text to be recognized, must not be null
+   * @return one of {@link CompiledDateTimePatterns}, or null if {@code text} is not in the layout
+   *         of any {@link CommonDateTimePatterns}
+   */
+  static DatePattern detect(CharSequence text) {
+    int state = 0;
+    for (int i = 0, end = text.length(); i < end && state >= 0; i++) {
+      state = TRANSITIONS[state * CLASSES + classOf(text.charAt(i))];
+    }
+    return state < 0 || ACCEPTS[state] < 0 ? null : PATTERNS[ACCEPTS[state]];
+  }
+
+  /**
+   * Returns the pattern {@code text} is written in, as one of {@link CommonDateTimePatterns}.
+   *
+   * @param text text to be recognized, must not be null
+   * @return one of {@link CommonDateTimePatterns}, or null if {@code text} is not in the layout of
+   *         any of them
+   */
+  static String detectPattern(CharSequence text) {
+    DatePattern pattern = detect(text);
+    if (pattern == CompiledDateTimePatterns.ISO_8601) {
+      return isIsoPatternLayout(text) ? CommonDateTimePatterns.ISO_8601 : null;
+    }
+    return pattern == null ? null : pattern.getPattern();
+  }
+
+  /**
+   * Whether {@code text} is in the layout of {@link CommonDateTimePatterns#ISO_8601}, i.e.
+   * <code>yyyy-MM-ddTHH:mm:ss.SSS</code> followed by <code>Z</code>, <code>&#177;HH:mm</code> or
+   * <code>&#177;HHmm</code>.
+   */
+  private static boolean isIsoPatternLayout(CharSequence text) {
+    int pos = ISO_PATTERN_LAYOUT.length();
+    if (!matchesLayout(text, 0, ISO_PATTERN_LAYOUT) || text.length() <= pos) {
+      return false;
+    }
+    switch (text.charAt(pos)) {
+      case 'Z':
+        return text.length() == pos + 1;
+      case '+':
+      case '-':
+        return text.length() == pos + 6 && matchesLayout(text, pos + 1, "dd:dd")
+            || text.length() == pos + 5 && matchesLayout(text, pos + 1, "dddd");
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Whether {@code text} starting at {@code from} begins with {@code layout}, in which
+   * <code>d</code> is a digit and any other character stands for itself.
+   */
+  private static boolean matchesLayout(CharSequence text, int from, String layout) {
+    if (text.length() - from < layout.length()) {
+      return false;
+    }
+    for (int i = 0; i < layout.length(); i++) {
+      char token = layout.charAt(i);
+      char c = text.charAt(from + i);
+      if (token == 'd' ? classOf(c) != DIGIT : c != token) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Parses {@code text} with the pattern it is written in.
+   *
+   * @param text text to be parsed, must not be null
+   * @param strict whether invalid text throws instead of returning {@code defaultValue}
+   * @param defaultValue returned if {@code text} cannot be parsed and {@code strict} is false
+   * @return epoch millis
+   * @throws IllegalArgumentException if {@code strict} is true and {@code text} is not in the
+   *         layout of any {@link CommonDateTimePatterns} or cannot be parsed with it
+   */
+  static long parseMillis(CharSequence text, boolean strict, long defaultValue) {
+    int day = 0;
+    int month = 0;
+    int year = 0;
+    int hour = 0;
+    int minute = 0;
+    int second = 0;
+    int millis = 0;
+    int monthStart = -1;
+    int monthEnd = -1;
+    int halfdayStart = -1;
+    int value = 0;
+    int state = 0;
+    int end = text.length();
+    for (int i = 0; i <= end; i++) {
+      int charClass;
+      char c = 0;
+      if (i < end) {
+        c = text.charAt(i);
+        charClass = classOf(c);
+      } else {
+        charClass = OTHER;
+      }
+      if (charClass == DIGIT) {
+        value = value * 10 + c - '0';
+      } else {
+        switch (FIELDS[state]) {
+          case DAY:
+            day = value;
+            break;
+          case MONTH:
+            month = value;
+            break;
+          case YEAR:
+            year = value;
+            break;
+          case HOUR:
+            hour = value;
+            break;
+          case MINUTE:
+            minute = value;
+            break;
+          case SECOND:
+            second = value;
+            break;
+          case MILLIS:
+            millis = value;
+            break;
+          default:
+            break;
+        }
+        value = 0;
+      }
+      if (i == end) {
+        break;
+      }
+      int next = TRANSITIONS[state * CLASSES + charClass];
+      if (next < 0) {
+        return unrecognized(text, strict, defaultValue);
+      }
+      if (LETTER_STATES[next] && !LETTER_STATES[state]) {
+        if (monthStart < 0) {
+          monthStart = i;
+        } else {
+          halfdayStart = i;
+        }
+      } else if (LETTER_STATES[state] && !LETTER_STATES[next] && monthEnd < 0) {
+        monthEnd = i;
+      }
+      state = next;
+    }
+    if (ACCEPTS[state] < 0) {
+      return unrecognized(text, strict, defaultValue);
+    }
+
+    DatePattern pattern = PATTERNS[ACCEPTS[state]];
+    long result = FixedDatePattern.INVALID;
+    if (pattern instanceof FixedDatePattern) {
+      DateSymbols symbols = DateSymbols.forLocale(Locale.getDefault());
+      int pm = 0;
+      if (monthStart >= 0) {
+        month = symbols.matchShortMonth(text, monthStart, monthEnd);
+      }
+      if (halfdayStart >= 0) {
+        pm = symbols.matchHalfday(text, halfdayStart, end);
+      }
+      boolean exact = month > 0 && (monthStart < 0
+          || symbols.shortMonth(month).length == monthEnd - monthStart) && (halfdayStart < 0
+          || pm >= 0 && symbols.halfday(pm == 1).length == end - halfdayStart);
+      if (exact) {
+        result = ((FixedDatePattern) pattern)
+            .fromFields(day, month, year, hour, minute, second, millis, pm);
+      }
+    }
+    if (result != FixedDatePattern.INVALID) {
+      return result;
+    }
+    return strict ? pattern.parseMillis(text) : pattern.parseMillis(text, defaultValue);
+  }
+
+  private static long unrecognized(CharSequence text, boolean strict, long defaultValue) {
+    if (strict) {
+      throw new IllegalArgumentException("Unrecognized date format: \"" + text + '"');
+    }
+    return defaultValue;
+  }
+
+  /**
+   * Merges layouts into one state machine, sharing the states of common prefixes.
+   */
+  private static final class Builder {
+
+    private int states = 1;
+    private int[] transitions = new int[128 * CLASSES];
+    private int[] fields = new int[128];
+    private int[] accepts = new int[128];
+    private boolean[] letters = new boolean[128];
+
+    Builder() {
+      Arrays.fill(transitions, -1);
+      Arrays.fill(fields, -1);
+      Arrays.fill(accepts, -1);
+    }
+
+    void add(String layout, int[] runFields, int index) {
+      int state = 0;
+      int run = 0;
+      for (int i = 0; i < layout.length(); i++) {
+        char token = layout.charAt(i);
+        if (token == 'd') {
+          state = follow(state, DIGIT);
+          boolean runEnds = i + 1 == layout.length() || layout.charAt(i + 1) != 'd';
+          if (runEnds && runFields != null) {
+            fields[state] = runFields[run++];
+          }
+        } else if (token == 'L') {
+          int next = follow(state, LETTER);
+          transitions[state * CLASSES + LETTER_T] = next;
+          transitions[next * CLASSES + LETTER] = next;
+          transitions[next * CLASSES + LETTER_T] = next;
+          letters[next] = true;
+          state = next;
+        } else if (token == '*') {
+          Arrays.fill(transitions, state * CLASSES, state * CLASSES + CLASSES, state);
+        } else {
+          state = follow(state, classOf(token));
+        }
+      }
+      accepts[state] = index;
+    }
+
+    /**
+     * Returns the state reached from {@code state} on {@code charClass}, adding it if needed.
+     */
+    private int follow(int state, int charClass) {
+      int next = transitions[state * CLASSES + charClass];
+      if (next < 0) {
+        if (states == fields.length) {
+          throw new IllegalStateException("Too many states");
+        }
+        next = states++;
+        transitions[state * CLASSES + charClass] = next;
+      }
+      return next;
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Sized {@link Spliterator.OfLong} over <code>start + i * step</code> for
+ * <code>origin &lt;= i &lt; fence</code>. Elements are computed on demand, and splitting halves the
+ * index range, so parallel streams partition it evenly.
+ */
+final class DateRangeSpliterator implements Spliterator.OfLong {
+
+  private final long start;
+  private final long step;
+  private long origin;
+  private final long fence;
+
+  DateRangeSpliterator(long start, long step, long origin, long fence) {
+    this.start = start;
+    this.step = step;
+    this.origin = origin;
+    this.fence = fence;
+  }
+
+  @Override
+  public OfLong trySplit() {
+    long middle = (origin + fence) >>> 1;
+    if (middle <= origin) {
+      return null;
+    }
+    DateRangeSpliterator prefix = new DateRangeSpliterator(start, step, origin, middle);
+    origin = middle;
+    return prefix;
+  }
+
+  @Override
+  public boolean tryAdvance(LongConsumer action) {
+    if (origin >= fence) {
+      return false;
+    }
+    action.accept(start + origin++ * step);
+    return true;
+  }
+
+  @Override
+  public void forEachRemaining(LongConsumer action) {
+    long value = start + origin * step;
+    for (long i = origin; i < fence; i++, value += step) {
+      action.accept(value);
+    }
+    origin = fence;
+  }
+
+  @Override
+  public long estimateSize() {
+    return fence - origin;
+  }
+
+  @Override
+  public int characteristics() {
+    return ORDERED | SIZED | SUBSIZED | IMMUTABLE | NONNULL | DISTINCT | SORTED;
+  }
+
+  @Override
+  public Comparator<? super Long> getComparator() {
+    return null;
+  }
+}
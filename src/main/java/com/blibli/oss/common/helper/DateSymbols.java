@@ -0,0 +1,220 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import org.joda.time.DateTimeUtils;
+
+import java.text.DateFormatSymbols;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Locale dependent texts used by {@link FixedDatePattern}, resolved once per {@link Locale} from
+ * the same {@link DateFormatSymbols} Joda uses, so specialized and Joda output never differ.
+ */
+final class DateSymbols {
+
+  private static final ConcurrentHashMap<Locale, DateSymbols> CACHE = new ConcurrentHashMap<>();
+
+  private final Locale locale;
+  private final char[][] shortMonths;
+  private final char[][] halfdays;
+  private final Trie shortMonthTrie;
+  private final Trie halfdayTrie;
+
+  private DateSymbols(Locale locale) {
+    this.locale = locale;
+    DateFormatSymbols symbols = DateTimeUtils.getDateFormatSymbols(locale);
+    String[] months = symbols.getShortMonths();
+    String[] amPm = symbols.getAmPmStrings();
+
+    shortMonths = new char[12][];
+    for (int i = 0; i < 12; i++) {
+      shortMonths[i] = months[i].toCharArray();
+    }
+    halfdays = new char[][] {amPm[0].toCharArray(), amPm[1].toCharArray()};
+    shortMonthTrie = new Trie(shortMonths, 1, locale);
+    halfdayTrie = new Trie(halfdays, 0, locale);
+  }
+
+  /**
+   * Returns the symbols of {@code locale}, resolving them on first use only.
+   *
+   * @param locale locale, must not be null
+   * @return cached symbols
+   */
+  static DateSymbols forLocale(Locale locale) {
+    DateSymbols symbols = CACHE.get(locale);
+    if (symbols == null) {
+      symbols = new DateSymbols(locale);
+      DateSymbols existing = CACHE.putIfAbsent(locale, symbols);
+      if (existing != null) {
+        symbols = existing;
+      }
+    }
+    return symbols;
+  }
+
+  /**
+   * @return locale these symbols belong to
+   */
+  Locale getLocale() {
+    return locale;
+  }
+
+  /**
+   * @param month month of year, 1 to 12
+   * @return short month text
+   */
+  char[] shortMonth(int month) {
+    return shortMonths[month - 1];
+  }
+
+  /**
+   * Matches the short month text at {@code pos} the way Joda does: as is, all lowercase or all
+   * uppercase, preferring the longest match.
+   *
+   * @return month of year, 1 to 12, or -1 if no short month text starts at {@code pos}
+   */
+  int matchShortMonth(CharSequence text, int pos, int end) {
+    return shortMonthTrie.match(text, pos, end);
+  }
+
+  /**
+   * Matches the AM/PM text at {@code pos} as is, all lowercase or all uppercase, preferring the
+   * longest match.
+   *
+   * @return 0 for AM, 1 for PM, or -1 if no AM/PM text starts at {@code pos}
+   */
+  int matchHalfday(CharSequence text, int pos, int end) {
+    return halfdayTrie.match(text, pos, end);
+  }
+
+  /**
+   * @param pm whether the time is after noon
+   * @return AM or PM text
+   */
+  char[] halfday(boolean pm) {
+    return halfdays[pm ? 1 : 0];
+  }
+
+  /**
+   * Trie of a few texts, each mapped to a value, so matching reads every char of the input once
+   * instead of comparing it against each text. Nodes are numbered breadth first and the edges of
+   * node {@code n} are {@code edgeStart[n]} until {@code edgeStart[n + 1]}.
+   * <p>
+   * Like Joda's text field parser, which accepts a text as is, all lowercase or all uppercase but
+   * not in mixed case, every text is added in those three forms. Case forms of a different length
+   * are left out so a match is always as long as the text itself; such input, and any other input
+   * that does not match, is left to the Joda formatter.
+   */
+  private static final class Trie {
+
+    private final int[] edgeStart;
+    private final char[] labels;
+    private final int[] targets;
+    private final int[] values;
+
+    /**
+     * @param texts texts to be matched. Empty texts never match and the first of equal texts wins
+     * @param firstValue value of {@code texts[0]}, the following texts count up from it
+     * @param locale locale whose case rules give the lowercase and uppercase forms
+     */
+    Trie(char[][] texts, int firstValue, Locale locale) {
+      List<TreeMap<Character, Integer>> children = new ArrayList<>();
+      List<Integer> nodeValues = new ArrayList<>();
+      children.add(new TreeMap<>());
+      nodeValues.add(-1);
+      for (int i = 0; i < texts.length; i++) {
+        String text = new String(texts[i]);
+        String[] forms = {text, text.toLowerCase(locale), text.toUpperCase(locale)};
+        for (String form : forms) {
+          if (form.isEmpty() || form.length() != text.length()) {
+            continue;
+          }
+          int node = 0;
+          for (int j = 0; j < form.length(); j++) {
+            Integer next = children.get(node).get(form.charAt(j));
+            if (next == null) {
+              next = children.size();
+              children.get(node).put(form.charAt(j), next);
+              children.add(new TreeMap<>());
+              nodeValues.add(-1);
+            }
+            node = next;
+          }
+          if (nodeValues.get(node) < 0) {
+            nodeValues.set(node, firstValue + i);
+          }
+        }
+      }
+
+      // renumber breadth first so the edges of every node are contiguous
+      int[] order = new int[children.size()];
+      int[] number = new int[children.size()];
+      int size = 1;
+      for (int i = 0; i < size; i++) {
+        for (int child : children.get(order[i]).values()) {
+          number[child] = size;
+          order[size++] = child;
+        }
+      }
+      edgeStart = new int[size + 1];
+      labels = new char[size - 1];
+      targets = new int[size - 1];
+      values = new int[size];
+      int edge = 0;
+      for (int i = 0; i < size; i++) {
+        edgeStart[i] = edge;
+        values[i] = nodeValues.get(order[i]);
+        for (Map.Entry<Character, Integer> entry : children.get(order[i]).entrySet()) {
+          labels[edge] = entry.getKey();
+          targets[edge++] = number[entry.getValue()];
+        }
+      }
+      edgeStart[size] = edge;
+    }
+
+    /**
+     * @return value of the longest text that starts at {@code pos}, or -1 if there is none
+     */
+    int match(CharSequence text, int pos, int end) {
+      int node = 0;
+      int value = -1;
+      for (int i = pos; i < end; i++) {
+        char c = text.charAt(i);
+        int edge = edgeStart[node];
+        int last = edgeStart[node + 1];
+        while (edge < last && labels[edge] != c) {
+          edge++;
+        }
+        if (edge == last) {
+          break;
+        }
+        node = targets[edge];
+        if (values[node] >= 0) {
+          value = values[node];
+        }
+      }
+      return value;
+    }
+  }
+}
@@ -0,0 +1,527 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.CommonDateTimePatterns;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+/**
+ * {@link DatePattern} hand-specialized for the fixed-width layouts of
+ * {@link CommonDateTimePatterns}. Fields are computed with plain arithmetic on the epoch value and
+ * written straight into the output, so printing into a caller-supplied buffer produces no garbage.
+ * Parsing reads the fields from their fixed positions and converts them back to epoch millis the
+ * same way.
+ * <br>Years outside <code>0..9999</code> and any input not in the exact canonical layout (e.g.
+ * single digit days, full month names or invalid field values) are delegated to the equivalent
+ * Joda formatter, so results and exceptions are identical to Joda's.
+ */
+final class FixedDatePattern extends DatePattern {
+
+  static final long MILLIS_PER_DAY = 86400000L;
+  static final int MILLIS_PER_HOUR = 3600000;
+  static final int MILLIS_PER_MINUTE = 60000;
+  static final int MILLIS_PER_SECOND = 1000;
+
+  /**
+   * Returned by {@link #parseFixed(CharSequence)} when the text is not in the canonical layout, so
+   * only Joda can tell whether it is valid.
+   */
+  static final long MISMATCH = Long.MIN_VALUE;
+
+  /**
+   * Returned by {@link #parseFixed(CharSequence)} when the text is in the canonical layout but
+   * cannot be converted to an instant, in which case Joda would reject it as well.
+   */
+  static final long INVALID = Long.MIN_VALUE + 1;
+
+  static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[256]);
+
+  private final JodaDatePattern fallback;
+  private final boolean textMonth;
+  private final boolean twoDigitYear;
+  private final int timeFields;
+  private final boolean halfday;
+  private final int twoDigitYearPivot;
+
+  /**
+   * Offset table of the zone this pattern is bound to, or null to follow the default zone.
+   */
+  private final ZoneOffsets zone;
+
+  /**
+   * Texts of the locale this pattern is bound to, or null to follow the default locale.
+   */
+  private final DateSymbols symbols;
+
+  /**
+   * @param pattern source pattern
+   * @param fallback Joda formatter of the same pattern
+   * @param textMonth whether the month is printed as text (<code>MMM</code>)
+   * @param twoDigitYear whether the year is printed with two digits (<code>yy</code>)
+   * @param timeFields number of time fields: 0 (none), 2 (hour and minute), 3 (up to second) or
+   *                   4 (up to millisecond)
+   * @param halfday whether the hour is printed as clock hour of half day with AM/PM marker
+   */
+  private FixedDatePattern(String pattern, JodaDatePattern fallback, boolean textMonth,
+      boolean twoDigitYear, int timeFields, boolean halfday) {
+    super(pattern);
+    this.fallback = fallback;
+    this.textMonth = textMonth;
+    this.twoDigitYear = twoDigitYear;
+    this.timeFields = timeFields;
+    this.halfday = halfday;
+    // same pivot as org.joda.time.format.DateTimeFormat uses for 'yy'
+    this.twoDigitYearPivot = new DateTime().getYear() - 30;
+    this.zone = null;
+    this.symbols = null;
+  }
+
+  private FixedDatePattern(FixedDatePattern base, JodaDatePattern fallback, ZoneOffsets zone,
+      DateSymbols symbols) {
+    super(base.getPattern());
+    this.fallback = fallback;
+    this.textMonth = base.textMonth;
+    this.twoDigitYear = base.twoDigitYear;
+    this.timeFields = base.timeFields;
+    this.halfday = base.halfday;
+    this.twoDigitYearPivot = base.twoDigitYearPivot;
+    this.zone = zone;
+    this.symbols = symbols;
+  }
+
+  /**
+   * Returns the specialized implementation of {@code pattern}.
+   *
+   * @param pattern date time pattern
+   * @param fallback Joda formatter of the same pattern
+   * @return specialized pattern, or null if {@code pattern} is not one of
+   *         {@link CommonDateTimePatterns}
+   */
+  static FixedDatePattern forPattern(String pattern, JodaDatePattern fallback) {
+    switch (pattern) {
+      case CommonDateTimePatterns.dd_MM_yy:
+        return new FixedDatePattern(pattern, fallback, false, true, 0, false);
+      case CommonDateTimePatterns.dd_MM_yyyy:
+        return new FixedDatePattern(pattern, fallback, false, false, 0, false);
+      case CommonDateTimePatterns.dd_MMM_yyyy:
+        return new FixedDatePattern(pattern, fallback, true, false, 0, false);
+      case CommonDateTimePatterns.dd_MMM_yyyy__HH_mm:
+        return new FixedDatePattern(pattern, fallback, true, false, 2, false);
+      case CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_a:
+        return new FixedDatePattern(pattern, fallback, true, false, 2, true);
+      case CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss:
+        return new FixedDatePattern(pattern, fallback, true, false, 3, false);
+      case CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_a:
+        return new FixedDatePattern(pattern, fallback, true, false, 3, true);
+      case CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS:
+        return new FixedDatePattern(pattern, fallback, true, false, 4, false);
+      case CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_SSS_a:
+        return new FixedDatePattern(pattern, fallback, true, false, 4, true);
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public DatePattern withZone(DateTimeZone zone) {
+    return new FixedDatePattern(this, fallback.withZone(zone),
+        zone == null ? null : ZoneOffsets.forZone(zone), symbols);
+  }
+
+  @Override
+  public DateTimeZone getZone() {
+    return zone == null ? null : zone.getZone();
+  }
+
+  @Override
+  public DatePattern withLocale(Locale locale) {
+    return new FixedDatePattern(this, fallback.withLocale(locale), zone,
+        locale == null ? null : DateSymbols.forLocale(locale));
+  }
+
+  @Override
+  public Locale getLocale() {
+    return symbols == null ? null : symbols.getLocale();
+  }
+
+  private DateSymbols symbols() {
+    return symbols != null ? symbols : DateSymbols.forLocale(Locale.getDefault());
+  }
+
+  @Override
+  public String print(long millis) {
+    char[] buf = SCRATCH.get();
+    int end = format(buf, 0, millis);
+    return end < 0 ? fallback.print(millis) : new String(buf, 0, end);
+  }
+
+  @Override
+  public StringBuilder printTo(StringBuilder buf, long millis) {
+    char[] scratch = SCRATCH.get();
+    int end = format(scratch, 0, millis);
+    if (end < 0) {
+      return fallback.printTo(buf, millis);
+    }
+    return buf.append(scratch, 0, end);
+  }
+
+  @Override
+  public void printTo(Appendable out, long millis) throws IOException {
+    char[] scratch = SCRATCH.get();
+    int end = format(scratch, 0, millis);
+    if (end < 0) {
+      fallback.printTo(out, millis);
+      return;
+    }
+    for (int i = 0; i < end; i++) {
+      out.append(scratch[i]);
+    }
+  }
+
+  @Override
+  public int printTo(char[] buf, int offset, long millis) {
+    int end = format(buf, offset, millis);
+    return end < 0 ? fallback.printTo(buf, offset, millis) : end;
+  }
+
+  @Override
+  public int printTo(byte[] buf, int offset, long millis) {
+    char[] scratch = SCRATCH.get();
+    int end = format(scratch, 0, millis);
+    if (end < 0) {
+      return fallback.printTo(buf, offset, millis);
+    }
+    return encodeUtf8(scratch, end, buf, offset);
+  }
+
+  @Override
+  public int printTo(ByteBuffer buf, long millis) {
+    char[] scratch = SCRATCH.get();
+    int end = format(scratch, 0, millis);
+    return end < 0 ? fallback.printTo(buf, millis) : putUtf8(buf, scratch, end);
+  }
+
+  @Override
+  public long parseMillis(CharSequence text) {
+    long millis = parseFixed(text);
+    return millis == MISMATCH || millis == INVALID ? fallback.parseMillis(text) : millis;
+  }
+
+  @Override
+  public long parseMillis(CharSequence text, long defaultValue) {
+    if (text == null) {
+      return defaultValue;
+    }
+    long millis = parseFixed(text);
+    if (millis == MISMATCH) {
+      return fallback.parseMillis(text, defaultValue);
+    }
+    return millis == INVALID ? defaultValue : millis;
+  }
+
+  /**
+   * Parses {@code text} in the exact canonical layout of this pattern.
+   *
+   * @return epoch millis, {@link #MISMATCH} if {@code text} is not in the canonical layout, or
+   *         {@link #INVALID} if it has invalid field values or falls into a time zone offset
+   *         transition gap
+   */
+  private long parseFixed(CharSequence text) {
+    int end = text.length();
+    int day = read2(text, 0, end);
+    int pos = 2;
+    int month;
+    if (textMonth) {
+      if (!isChar(text, pos++, end, ' ')) {
+        return MISMATCH;
+      }
+      DateSymbols symbols = symbols();
+      month = symbols.matchShortMonth(text, pos, end);
+      if (month < 0) {
+        return MISMATCH;
+      }
+      pos += symbols.shortMonth(month).length;
+      if (!isChar(text, pos++, end, ' ')) {
+        return MISMATCH;
+      }
+    } else {
+      if (!isChar(text, pos, end, '-')) {
+        return MISMATCH;
+      }
+      month = read2(text, pos + 1, end);
+      if (!isChar(text, pos + 3, end, '-')) {
+        return MISMATCH;
+      }
+      pos += 4;
+    }
+
+    int year;
+    if (twoDigitYear) {
+      year = read2(text, pos, end);
+      if (year < 0) {
+        return MISMATCH;
+      }
+      pos += 2;
+    } else {
+      int high = read2(text, pos, end);
+      int low = read2(text, pos + 2, end);
+      if (high < 0 || low < 0) {
+        return MISMATCH;
+      }
+      year = high * 100 + low;
+      pos += 4;
+    }
+
+    int hour = 0;
+    int minute = 0;
+    int second = 0;
+    int millisOfSecond = 0;
+    int pm = 0;
+    if (timeFields > 0) {
+      if (!isChar(text, pos, end, ' ') || !isChar(text, pos + 3, end, ':')) {
+        return MISMATCH;
+      }
+      hour = read2(text, pos + 1, end);
+      minute = read2(text, pos + 4, end);
+      pos += 6;
+      if (timeFields > 2) {
+        if (!isChar(text, pos, end, ':')) {
+          return MISMATCH;
+        }
+        second = read2(text, pos + 1, end);
+        pos += 3;
+      }
+      if (timeFields > 3) {
+        int high = read2(text, pos + 1, end);
+        int low = read1(text, pos + 3, end);
+        if (!isChar(text, pos, end, '.') || high < 0 || low < 0) {
+          return MISMATCH;
+        }
+        millisOfSecond = high * 10 + low;
+        pos += 4;
+      }
+      if (halfday) {
+        if (!isChar(text, pos++, end, ' ')) {
+          return MISMATCH;
+        }
+        DateSymbols symbols = symbols();
+        pm = symbols.matchHalfday(text, pos, end);
+        if (pm < 0) {
+          return MISMATCH;
+        }
+        pos += symbols.halfday(pm == 1).length;
+      }
+    }
+
+    if (pos != end || day < 0 || month < 0 || hour < 0 || minute < 0 || second < 0) {
+      return MISMATCH;
+    }
+    return fromFields(day, month, year, hour, minute, second, millisOfSecond, pm);
+  }
+
+  /**
+   * Converts the fields of a text in the canonical layout of this pattern to epoch millis.
+   *
+   * @param year year as written, i.e. two digits only if the pattern uses <code>yy</code>
+   * @param hour hour as written, i.e. clock hour of half day if the pattern has an AM/PM marker
+   * @param pm 1 for PM, 0 for AM. Ignored if the pattern has no AM/PM marker
+   * @return epoch millis, or {@link #INVALID} if a field value is invalid or the local date time
+   *         falls into a time zone offset transition gap
+   */
+  long fromFields(int day, int month, int year, int hour, int minute, int second,
+      int millisOfSecond, int pm) {
+    if (twoDigitYear) {
+      year = fromTwoDigitYear(year);
+    }
+    if (halfday) {
+      if (hour == 0 || hour > 12) {
+        return INVALID;
+      }
+      hour = hour % 12 + pm * 12;
+    }
+    if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month) || hour > 23
+        || minute > 59 || second > 59) {
+      return INVALID;
+    }
+
+    long local = daysFromCivil(year, month, day) * MILLIS_PER_DAY + hour * MILLIS_PER_HOUR
+        + minute * MILLIS_PER_MINUTE + second * MILLIS_PER_SECOND + millisOfSecond;
+    ZoneOffsets offsets = ZoneOffsets.forZoneOrDefault(zone);
+    int offset = offsets.getOffsetFromLocal(local);
+    return offsets.isGap(local, offset) ? INVALID : local - offset;
+  }
+
+  /**
+   * Mirrors the two digit year resolution of Joda's <code>TwoDigitYear</code> parser.
+   */
+  private int fromTwoDigitYear(int year) {
+    int low = twoDigitYearPivot - 50;
+    int t = low >= 0 ? low % 100 : 99 + ((low + 1) % 100);
+    return year + low + (year < t ? 100 : 0) - t;
+  }
+
+  /**
+   * Days since 1970-01-01 of the given proleptic Gregorian date, see
+   * http://howardhinnant.github.io/date_algorithms.html
+   */
+  static long daysFromCivil(int year, int month, int day) {
+    int y = month <= 2 ? year - 1 : year;
+    int era = Math.floorDiv(y, 400);
+    int yearOfEra = y - era * 400;
+    int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+    int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+    return era * 146097L + dayOfEra - 719468;
+  }
+
+  /**
+   * Inverse of {@link #daysFromCivil(int, int, int)}, see
+   * http://howardhinnant.github.io/date_algorithms.html
+   *
+   * @return <code>year &lt;&lt; 9 | month &lt;&lt; 5 | day</code>
+   */
+  static long civilFromDays(long days) {
+    long z = days + 719468;
+    long era = Math.floorDiv(z, 146097);
+    int dayOfEra = (int) (z - era * 146097);
+    int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    int mp = (5 * dayOfYear + 2) / 153;
+    int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+    int month = mp < 10 ? mp + 3 : mp - 9;
+    long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+    return year << 9 | month << 5 | day;
+  }
+
+  static int daysInMonth(int year, int month) {
+    if (month == 2) {
+      return (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+    }
+    return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+  }
+
+  /**
+   * @return value of the two ASCII digits at {@code pos}, or -1 if they are not both digits
+   */
+  static int read2(CharSequence text, int pos, int end) {
+    if (pos + 1 >= end) {
+      return -1;
+    }
+    int high = text.charAt(pos) - '0';
+    int low = text.charAt(pos + 1) - '0';
+    if (high < 0 || high > 9 || low < 0 || low > 9) {
+      return -1;
+    }
+    return high * 10 + low;
+  }
+
+  /**
+   * @return value of the ASCII digit at {@code pos}, or -1 if it is not a digit
+   */
+  static int read1(CharSequence text, int pos, int end) {
+    if (pos >= end) {
+      return -1;
+    }
+    int digit = text.charAt(pos) - '0';
+    return digit < 0 || digit > 9 ? -1 : digit;
+  }
+
+  static boolean isChar(CharSequence text, int pos, int end, char expected) {
+    return pos < end && text.charAt(pos) == expected;
+  }
+
+  /**
+   * Writes {@code millis} into {@code buf} starting at {@code pos}.
+   *
+   * @return index after the last written char, or -1 if the year is outside <code>0..9999</code>,
+   *         in which case nothing is written
+   */
+  private int format(char[] buf, int pos, long millis) {
+    long local = millis + ZoneOffsets.forZoneOrDefault(zone).getOffset(millis);
+    long days = Math.floorDiv(local, MILLIS_PER_DAY);
+    int millisOfDay = (int) Math.floorMod(local, MILLIS_PER_DAY);
+    long civil = civilFromDays(days);
+    long year = civil >> 9;
+    int month = (int) (civil >> 5 & 0xF);
+    int day = (int) (civil & 0x1F);
+
+    if (year < 0 || year > 9999) {
+      return -1;
+    }
+
+    DateSymbols symbols = textMonth || halfday ? symbols() : null;
+    pos = put2(buf, pos, day);
+    if (textMonth) {
+      buf[pos++] = ' ';
+      pos = put(buf, pos, symbols.shortMonth(month));
+      buf[pos++] = ' ';
+    } else {
+      buf[pos++] = '-';
+      pos = put2(buf, pos, month);
+      buf[pos++] = '-';
+    }
+    if (twoDigitYear) {
+      pos = put2(buf, pos, (int) year % 100);
+    } else {
+      pos = put2(buf, pos, (int) year / 100);
+      pos = put2(buf, pos, (int) year % 100);
+    }
+
+    if (timeFields > 0) {
+      int hour = millisOfDay / MILLIS_PER_HOUR;
+      buf[pos++] = ' ';
+      if (halfday) {
+        int clockHour = hour % 12;
+        pos = put2(buf, pos, clockHour == 0 ? 12 : clockHour);
+      } else {
+        pos = put2(buf, pos, hour);
+      }
+      buf[pos++] = ':';
+      pos = put2(buf, pos, millisOfDay / MILLIS_PER_MINUTE % 60);
+      if (timeFields > 2) {
+        buf[pos++] = ':';
+        pos = put2(buf, pos, millisOfDay / MILLIS_PER_SECOND % 60);
+      }
+      if (timeFields > 3) {
+        int millisOfSecond = millisOfDay % MILLIS_PER_SECOND;
+        buf[pos++] = '.';
+        buf[pos++] = (char) ('0' + millisOfSecond / 100);
+        pos = put2(buf, pos, millisOfSecond % 100);
+      }
+      if (halfday) {
+        buf[pos++] = ' ';
+        pos = put(buf, pos, symbols.halfday(hour >= 12));
+      }
+    }
+    return pos;
+  }
+
+  static int put2(char[] buf, int pos, int value) {
+    buf[pos] = (char) ('0' + value / 10);
+    buf[pos + 1] = (char) ('0' + value % 10);
+    return pos + 2;
+  }
+
+  static int put(char[] buf, int pos, char[] text) {
+    System.arraycopy(text, 0, buf, pos, text.length);
+    return pos + text.length;
+  }
+}
@@ -0,0 +1,503 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Immutable fixed-point decimal, an unscaled <code>long</code> with a declared scale of 0 to 18
+ * fraction digits, for prices and other amounts that do not need the range of {@link BigDecimal}.
+ * <code>FixedDecimal.of(1500050, 2)</code> is <code>15000.50</code>.<br>
+ * Arithmetic is exact: results that do not fit in a <code>long</code> throw
+ * {@link ArithmeticException} instead of wrapping, and the only operations that may lose digits
+ * take a {@link RoundingMode}, which behaves the same as in {@link BigDecimal#setScale(int,
+ * RoundingMode)}.<br>
+ * Like {@link BigDecimal}, {@link #equals(Object)} considers the scale while
+ * {@link #compareTo(FixedDecimal)} only considers the value, so <code>1.0</code> and
+ * <code>1.00</code> compare as equal but are not equal.
+ */
+public final class FixedDecimal implements Comparable<FixedDecimal> {
+
+  /**
+   * Largest supported scale, 10 to its power is the largest power of ten in a <code>long</code>.
+   */
+  public static final int MAX_SCALE = 18;
+
+  private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+  static {
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i <= MAX_SCALE; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private final long unscaledValue;
+  private final int scale;
+
+  private FixedDecimal(long unscaledValue, int scale) {
+    this.unscaledValue = unscaledValue;
+    this.scale = scale;
+  }
+
+  /**
+   * @param unscaledValue value multiplied by <code>10^scale</code>
+   * @param scale number of fraction digits, 0 to {@link #MAX_SCALE}
+   * @return <code>unscaledValue / 10^scale</code>
+   * @throws IllegalArgumentException if {@code scale} is out of range
+   */
+  public static FixedDecimal of(long unscaledValue, int scale) {
+    return new FixedDecimal(unscaledValue, checkScale(scale));
+  }
+
+  /**
+   * Converts {@code value} without rounding.
+   *
+   * @see FixedDecimal#valueOf(BigDecimal, int, RoundingMode)
+   * @param value to be converted
+   * @return {@code value} with the same scale, or scale 0 if {@code value} has a negative scale
+   * @throws ArithmeticException if {@code value} does not fit
+   * @throws IllegalArgumentException if the scale of {@code value} is above {@link #MAX_SCALE}
+   */
+  public static FixedDecimal valueOf(BigDecimal value) {
+    return valueOf(value, Math.max(value.scale(), 0), RoundingMode.UNNECESSARY);
+  }
+
+  /**
+   * Converts {@code value} to the given scale.
+   *
+   * @param value to be converted
+   * @param scale number of fraction digits, 0 to {@link #MAX_SCALE}
+   * @param roundingMode to apply if {@code value} has more fraction digits than {@code scale}
+   * @return {@code value} rounded to {@code scale}
+   * @throws ArithmeticException if the result does not fit, or rounding is needed and
+   *         roundingMode is {@link RoundingMode#UNNECESSARY}
+   * @throws IllegalArgumentException if {@code scale} is out of range
+   */
+  public static FixedDecimal valueOf(BigDecimal value, int scale, RoundingMode roundingMode) {
+    return new FixedDecimal(value.setScale(checkScale(scale), roundingMode).unscaledValue()
+        .longValueExact(), scale);
+  }
+
+  /**
+   * Parses a plain decimal such as <code>-15000.50</code> straight into the unscaled value, without
+   * going through {@link BigDecimal}. The text is an optional sign, ASCII digits and at most one
+   * point with digits on at least one side; exponents and grouping separators are not accepted.
+   *
+   * @param text to be parsed
+   * @param scale number of fraction digits of the result, 0 to {@link #MAX_SCALE}
+   * @param roundingMode to apply if {@code text} has more fraction digits than {@code scale}
+   * @return parsed value
+   * @throws NumberFormatException if {@code text} is null or not a plain decimal
+   * @throws ArithmeticException if the result does not fit, or rounding is needed and
+   *         roundingMode is {@link RoundingMode#UNNECESSARY}
+   * @throws IllegalArgumentException if {@code scale} is out of range
+   */
+  public static FixedDecimal parse(CharSequence text, int scale, RoundingMode roundingMode) {
+    checkScale(scale);
+    int length = text == null ? 0 : text.length();
+    int i = 0;
+    boolean negative = false;
+    if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+      negative = text.charAt(0) == '-';
+      i++;
+    }
+    // accumulated negatively, so that Long.MIN_VALUE fits as well
+    long negatedMagnitude = 0;
+    int digits = 0;
+    int fractionDigits = -1;
+    int firstDropped = 0;
+    boolean restDropped = false;
+    for (; i < length; i++) {
+      char c = text.charAt(i);
+      if (c == '.' && fractionDigits < 0) {
+        fractionDigits = 0;
+        continue;
+      }
+      if (c < '0' || c > '9') {
+        throw invalid(text);
+      }
+      digits++;
+      if (fractionDigits < 0 || fractionDigits < scale) {
+        negatedMagnitude =
+            Math.subtractExact(Math.multiplyExact(negatedMagnitude, 10), c - '0');
+        fractionDigits = fractionDigits < 0 ? -1 : fractionDigits + 1;
+      } else if (fractionDigits++ == scale) {
+        firstDropped = c - '0';
+      } else {
+        restDropped |= c != '0';
+      }
+    }
+    if (digits == 0) {
+      throw invalid(text);
+    }
+    int kept = Math.min(Math.max(fractionDigits, 0), scale);
+    long value = Math.multiplyExact(negative ? negatedMagnitude
+        : Math.negateExact(negatedMagnitude), POWERS_OF_TEN[scale - kept]);
+    if (firstDropped != 0 || restDropped) {
+      int half = firstDropped != 5 ? Integer.compare(firstDropped, 5) : restDropped ? 1 : 0;
+      value = round(value, negative ? -1 : 1, half, roundingMode);
+    }
+    return new FixedDecimal(value, scale);
+  }
+
+  /**
+   * Converts digits already read by a parser such as {@link GroupedNumberParser}.
+   *
+   * @param negative sign of the value
+   * @param significand digits of the value, unsigned
+   * @param exponent decimal exponent of the last digit of {@code significand}
+   * @return <code>significand * 10^exponent</code> rounded to {@code scale}
+   * @throws ArithmeticException see {@link FixedDecimal#valueOf(BigDecimal, int, RoundingMode)}
+   * @throws IllegalArgumentException if {@code scale} is out of range
+   */
+  static FixedDecimal fromDigits(boolean negative, long significand, int exponent, int scale,
+      RoundingMode roundingMode) {
+    int shift = exponent + checkScale(scale);
+    if (significand >= 0 && shift >= -MAX_SCALE && shift <= MAX_SCALE) {
+      long value = negative ? -significand : significand;
+      return new FixedDecimal(shift >= 0 ? Math.multiplyExact(value, POWERS_OF_TEN[shift])
+          : downscale(value, -shift, roundingMode), scale);
+    }
+    BigDecimal value = new BigDecimal(new BigInteger(Long.toUnsignedString(significand)),
+        -exponent);
+    return valueOf(negative ? value.negate() : value, scale, roundingMode);
+  }
+
+  /**
+   * @return value multiplied by <code>10^scale</code>
+   */
+  public long getUnscaledValue() {
+    return unscaledValue;
+  }
+
+  /**
+   * @return number of fraction digits
+   */
+  public int getScale() {
+    return scale;
+  }
+
+  /**
+   * @return -1, 0 or 1 as this value is negative, zero or positive
+   */
+  public int signum() {
+    return Long.signum(unscaledValue);
+  }
+
+  /**
+   * @return exact sum, with the larger of both scales
+   * @throws ArithmeticException if the result does not fit
+   */
+  public FixedDecimal add(FixedDecimal other) {
+    int resultScale = Math.max(scale, other.scale);
+    try {
+      return new FixedDecimal(Math.addExact(upscale(unscaledValue, scale, resultScale),
+          upscale(other.unscaledValue, other.scale, resultScale)), resultScale);
+    } catch (ArithmeticException e) {
+      // an operand may not fit the larger scale on its own while the result does
+      return valueOf(toBigDecimal().add(other.toBigDecimal()), resultScale,
+          RoundingMode.UNNECESSARY);
+    }
+  }
+
+  /**
+   * @return exact difference, with the larger of both scales
+   * @throws ArithmeticException if the result does not fit
+   */
+  public FixedDecimal subtract(FixedDecimal other) {
+    int resultScale = Math.max(scale, other.scale);
+    try {
+      return new FixedDecimal(Math.subtractExact(upscale(unscaledValue, scale, resultScale),
+          upscale(other.unscaledValue, other.scale, resultScale)), resultScale);
+    } catch (ArithmeticException e) {
+      // an operand may not fit the larger scale on its own while the result does
+      return valueOf(toBigDecimal().subtract(other.toBigDecimal()), resultScale,
+          RoundingMode.UNNECESSARY);
+    }
+  }
+
+  /**
+   * @param quantity e.g. the number of items of a cart line
+   * @return exact product, with the same scale
+   * @throws ArithmeticException if the result does not fit
+   */
+  public FixedDecimal multiply(long quantity) {
+    return new FixedDecimal(Math.multiplyExact(unscaledValue, quantity), scale);
+  }
+
+  /**
+   * Multiplies by a rate such as a discount or tax percentage, keeping the scale of this value.
+   *
+   * @param multiplicand e.g. <code>0.11</code>
+   * @param roundingMode to apply to the fraction digits beyond the scale of this value
+   * @return product rounded to the scale of this value
+   * @throws ArithmeticException if the result does not fit, or rounding is needed and
+   *         roundingMode is {@link RoundingMode#UNNECESSARY}
+   */
+  public FixedDecimal multiply(FixedDecimal multiplicand, RoundingMode roundingMode) {
+    long product;
+    try {
+      product = Math.multiplyExact(unscaledValue, multiplicand.unscaledValue);
+    } catch (ArithmeticException e) {
+      // the unrounded product needs more than 64 bits, the rounded one may still fit
+      return valueOf(toBigDecimal().multiply(multiplicand.toBigDecimal()), scale, roundingMode);
+    }
+    return new FixedDecimal(downscale(product, multiplicand.scale, roundingMode), scale);
+  }
+
+  /**
+   * @param newScale number of fraction digits of the result, 0 to {@link #MAX_SCALE}
+   * @param roundingMode to apply if {@code newScale} is smaller than the scale of this value
+   * @return this value with the new scale
+   * @throws ArithmeticException if the result does not fit, or rounding is needed and
+   *         roundingMode is {@link RoundingMode#UNNECESSARY}
+   * @throws IllegalArgumentException if {@code newScale} is out of range
+   */
+  public FixedDecimal setScale(int newScale, RoundingMode roundingMode) {
+    checkScale(newScale);
+    if (newScale == scale) {
+      return this;
+    }
+    return new FixedDecimal(rescale(unscaledValue, scale, newScale, roundingMode), newScale);
+  }
+
+  /**
+   * @return this value negated
+   * @throws ArithmeticException if the result does not fit
+   */
+  public FixedDecimal negate() {
+    return new FixedDecimal(Math.negateExact(unscaledValue), scale);
+  }
+
+  /**
+   * @return this value as {@link BigDecimal} with the same scale
+   */
+  public BigDecimal toBigDecimal() {
+    return BigDecimal.valueOf(unscaledValue, scale);
+  }
+
+  /**
+   * Compares the values regardless of their scales.
+   */
+  @Override
+  public int compareTo(FixedDecimal other) {
+    if (scale == other.scale) {
+      return Long.compare(unscaledValue, other.unscaledValue);
+    }
+    boolean upscaleThis = scale < other.scale;
+    long value = upscaleThis ? unscaledValue : other.unscaledValue;
+    long factor = POWERS_OF_TEN[Math.abs(other.scale - scale)];
+    if (value > Long.MAX_VALUE / factor || value < Long.MIN_VALUE / factor) {
+      // beyond the range of long, so larger in magnitude than the other value
+      return upscaleThis ? Long.signum(value) : -Long.signum(value);
+    }
+    long upscaled = value * factor;
+    return upscaleThis ? Long.compare(upscaled, other.unscaledValue)
+        : Long.compare(unscaledValue, upscaled);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof FixedDecimal)) {
+      return false;
+    }
+    FixedDecimal that = (FixedDecimal) o;
+    return unscaledValue == that.unscaledValue && scale == that.scale;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Long.hashCode(unscaledValue) + scale;
+  }
+
+  /**
+   * @return plain decimal with exactly {@link #getScale()} fraction digits, e.g.
+   *         <code>15000.50</code>
+   */
+  @Override
+  public String toString() {
+    return toBigDecimal().toPlainString();
+  }
+
+  /**
+   * Mutable running total with a fixed scale, e.g. for summing the lines of a cart without
+   * creating an intermediate {@link FixedDecimal} per line. Not thread safe.
+   */
+  public static final class Accumulator {
+
+    private final int scale;
+    private long unscaledValue;
+
+    /**
+     * @param scale number of fraction digits of the total, 0 to {@link #MAX_SCALE}
+     * @throws IllegalArgumentException if {@code scale} is out of range
+     */
+    public Accumulator(int scale) {
+      this.scale = checkScale(scale);
+    }
+
+    /**
+     * @return this accumulator
+     * @throws ArithmeticException if the total does not fit or {@code value} has fraction digits
+     *         beyond the scale of the total, in which case the total is left unchanged
+     */
+    public Accumulator add(FixedDecimal value) {
+      unscaledValue = Math.addExact(unscaledValue, toScale(value));
+      return this;
+    }
+
+    /**
+     * Adds <code>price * quantity</code>.
+     *
+     * @return this accumulator
+     * @throws ArithmeticException see {@link Accumulator#add(FixedDecimal)}
+     */
+    public Accumulator add(FixedDecimal price, long quantity) {
+      unscaledValue = Math.addExact(unscaledValue, Math.multiplyExact(toScale(price), quantity));
+      return this;
+    }
+
+    /**
+     * @return this accumulator
+     * @throws ArithmeticException see {@link Accumulator#add(FixedDecimal)}
+     */
+    public Accumulator subtract(FixedDecimal value) {
+      unscaledValue = Math.subtractExact(unscaledValue, toScale(value));
+      return this;
+    }
+
+    /**
+     * Sets the total back to zero.
+     *
+     * @return this accumulator
+     */
+    public Accumulator reset() {
+      unscaledValue = 0;
+      return this;
+    }
+
+    /**
+     * @return total multiplied by <code>10^scale</code>
+     */
+    public long getUnscaledValue() {
+      return unscaledValue;
+    }
+
+    /**
+     * @return number of fraction digits of the total
+     */
+    public int getScale() {
+      return scale;
+    }
+
+    /**
+     * @return current total
+     */
+    public FixedDecimal toFixedDecimal() {
+      return new FixedDecimal(unscaledValue, scale);
+    }
+
+    @Override
+    public String toString() {
+      return toFixedDecimal().toString();
+    }
+
+    private long toScale(FixedDecimal value) {
+      return rescale(value.unscaledValue, value.scale, scale, RoundingMode.UNNECESSARY);
+    }
+  }
+
+  private static int checkScale(int scale) {
+    if (scale < 0 || scale > MAX_SCALE) {
+      throw new IllegalArgumentException(
+          "Scale must be between 0 and " + MAX_SCALE + ": " + scale);
+    }
+    return scale;
+  }
+
+  private static NumberFormatException invalid(CharSequence text) {
+    return new NumberFormatException("For input string: \"" + text + "\"");
+  }
+
+  private static long upscale(long unscaledValue, int scale, int newScale) {
+    return scale == newScale ? unscaledValue
+        : Math.multiplyExact(unscaledValue, POWERS_OF_TEN[newScale - scale]);
+  }
+
+  private static long downscale(long unscaledValue, int digits, RoundingMode roundingMode) {
+    if (digits == 0) {
+      return unscaledValue;
+    }
+    long divisor = POWERS_OF_TEN[digits];
+    long quotient = unscaledValue / divisor;
+    long remainder = Math.abs(unscaledValue % divisor);
+    if (remainder == 0) {
+      return quotient;
+    }
+    int half = Long.compare(remainder, divisor - remainder);
+    return round(quotient, Long.signum(unscaledValue), half, roundingMode);
+  }
+
+  static long rescale(long unscaledValue, int scale, int newScale,
+      RoundingMode roundingMode) {
+    return newScale >= scale ? upscale(unscaledValue, scale, newScale)
+        : downscale(unscaledValue, scale - newScale, roundingMode);
+  }
+
+  /**
+   * Rounds an inexact result that was truncated towards zero.
+   *
+   * @param truncated result truncated towards zero
+   * @param sign of the exact result
+   * @param half -1, 0 or 1 as the discarded fraction is below, at or above one half
+   */
+  private static long round(long truncated, int sign, int half, RoundingMode roundingMode) {
+    boolean awayFromZero;
+    switch (roundingMode) {
+      case UP:
+        awayFromZero = true;
+        break;
+      case DOWN:
+        awayFromZero = false;
+        break;
+      case CEILING:
+        awayFromZero = sign > 0;
+        break;
+      case FLOOR:
+        awayFromZero = sign < 0;
+        break;
+      case HALF_UP:
+        awayFromZero = half >= 0;
+        break;
+      case HALF_DOWN:
+        awayFromZero = half > 0;
+        break;
+      case HALF_EVEN:
+        awayFromZero = half > 0 || half == 0 && (truncated & 1) != 0;
+        break;
+      default:
+        throw new ArithmeticException("Rounding necessary");
+    }
+    return awayFromZero ? Math.addExact(truncated, sign) : truncated;
+  }
+}
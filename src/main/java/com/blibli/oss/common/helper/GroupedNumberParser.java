@@ -0,0 +1,423 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.NumberHelper.ParseMode;
+
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable parser of numbers written for people, such as <code>1.234.567,89</code> or
+ * <code>Rp 15.000</code>, with a configurable grouping separator, decimal separator and optional
+ * currency prefix and suffix. Each text is scanned once, straight into the result, without
+ * stripping separators into an intermediate string first. The scan state is kept in a per-thread
+ * holder, so {@link #parseLong(CharSequence, ParseMode)} and
+ * {@link #parseDouble(CharSequence, ParseMode)} create no objects unless they throw or the digits
+ * are too many for {@link NumberParser} to round.<br>
+ * The accepted text is, each part separated by optional whitespace: an optional sign, an optional
+ * prefix (the sign may also follow it), the digits, and an optional suffix. The integer digits may
+ * be grouped, in which case every group after the first has exactly three digits, and may be
+ * followed by the decimal separator and the fraction digits. Affixes are matched ignoring case,
+ * and a space-like grouping separator also accepts any other space character, e.g. for the
+ * no-break spaces French formats use.
+ */
+public final class GroupedNumberParser {
+
+  private static final ThreadLocal<Digits> DIGITS = ThreadLocal.withInitial(Digits::new);
+
+  private static final ConcurrentHashMap<Locale, GroupedNumberParser> CACHE =
+      new ConcurrentHashMap<>();
+
+  private final char groupingSeparator;
+  private final char decimalSeparator;
+  private final String prefix;
+  private final String suffix;
+
+  private GroupedNumberParser(char groupingSeparator, char decimalSeparator, String prefix,
+      String suffix) {
+    if (groupingSeparator == decimalSeparator || Character.isDigit(groupingSeparator)
+        || Character.isDigit(decimalSeparator)) {
+      throw new IllegalArgumentException("Invalid separators: '" + groupingSeparator + "' and '"
+          + decimalSeparator + "'");
+    }
+    this.groupingSeparator = groupingSeparator;
+    this.decimalSeparator = decimalSeparator;
+    this.prefix = prefix == null || prefix.isEmpty() ? null : prefix;
+    this.suffix = suffix == null || suffix.isEmpty() ? null : suffix;
+  }
+
+  /**
+   * @param groupingSeparator between groups of thousands, e.g. <code>'.'</code>
+   * @param decimalSeparator between the integer and the fraction digits, e.g. <code>','</code>
+   * @return parser without currency prefix and suffix
+   * @throws IllegalArgumentException if both separators are the same or either one is a digit
+   */
+  public static GroupedNumberParser of(char groupingSeparator, char decimalSeparator) {
+    return new GroupedNumberParser(groupingSeparator, decimalSeparator, null, null);
+  }
+
+  /**
+   * Returns the parser of the separators and currency symbol {@code locale} formats with, e.g.
+   * <code>'.'</code>, <code>','</code> and the prefix <code>Rp</code> for
+   * <code>Locale.forLanguageTag("id-ID")</code>.
+   *
+   * @param locale locale, null means {@link Locale#getDefault()}
+   * @return cached parser
+   */
+  public static GroupedNumberParser forLocale(Locale locale) {
+    Locale key = locale == null ? Locale.getDefault() : locale;
+    GroupedNumberParser parser = CACHE.get(key);
+    if (parser == null) {
+      DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(key);
+      String prefix = null;
+      String suffix = null;
+      NumberFormat format = NumberFormat.getCurrencyInstance(key);
+      if (format instanceof DecimalFormat) {
+        prefix = strip(((DecimalFormat) format).getPositivePrefix());
+        suffix = strip(((DecimalFormat) format).getPositiveSuffix());
+      }
+      parser = new GroupedNumberParser(symbols.getGroupingSeparator(),
+          symbols.getDecimalSeparator(), prefix, suffix);
+      GroupedNumberParser existing = CACHE.putIfAbsent(key, parser);
+      if (existing != null) {
+        parser = existing;
+      }
+    }
+    return parser;
+  }
+
+  /**
+   * @param prefix optional text before the number, e.g. <code>Rp</code>, null for none
+   * @param suffix optional text after the number, e.g. <code>IDR</code>, null for none
+   * @return parser with the same separators and the given affixes
+   */
+  public GroupedNumberParser withCurrency(String prefix, String suffix) {
+    return new GroupedNumberParser(groupingSeparator, decimalSeparator, prefix, suffix);
+  }
+
+  public char getGroupingSeparator() {
+    return groupingSeparator;
+  }
+
+  public char getDecimalSeparator() {
+    return decimalSeparator;
+  }
+
+  /**
+   * @return currency prefix, or null if there is none
+   */
+  public String getPrefix() {
+    return prefix;
+  }
+
+  /**
+   * @return currency suffix, or null if there is none
+   */
+  public String getSuffix() {
+    return suffix;
+  }
+
+  /**
+   * Parses {@code text} as long, e.g. <code>Rp 15.000</code> as <code>15000</code>. Fraction
+   * digits are accepted as long as they are all zero.
+   *
+   * @param text to be parsed
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return parsed long. If {@code text} is null or cannot be parsed and parseMode is
+   *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns <code>0L</code>
+   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT} and {@code text} is
+   *         null, cannot be parsed or does not fit in a long
+   */
+  public long parseLong(CharSequence text, ParseMode parseMode) {
+    Digits digits = DIGITS.get().reset();
+    if (!scan(text, digits) || !digits.toLong()) {
+      if (ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)) {
+        return 0L;
+      }
+      throw invalid(text);
+    }
+    return digits.longValue;
+  }
+
+  /**
+   * Parses {@code text} as double, e.g. <code>1.234.567,89</code> as <code>1234567.89</code>,
+   * rounded the same as {@link Double#parseDouble(String)} of the plain number.
+   *
+   * @param text to be parsed
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return parsed double. If {@code text} is null or cannot be parsed and parseMode is
+   *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns <code>0d</code>
+   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT} and {@code text} is
+   *         null or cannot be parsed
+   */
+  public double parseDouble(CharSequence text, ParseMode parseMode) {
+    Digits digits = DIGITS.get().reset();
+    if (!scan(text, digits)) {
+      if (ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)) {
+        return 0d;
+      }
+      throw invalid(text);
+    }
+    double value = NumberParser.toDouble(digits.significand, digits.exponent, digits.truncated);
+    if (Double.isNaN(value)) {
+      return Double.parseDouble(plain(text, digits));
+    }
+    return digits.negative ? -value : value;
+  }
+
+  /**
+   * Parses {@code text} as {@link FixedDecimal}, e.g. <code>Rp 15.000,50</code> as
+   * <code>15000.50</code>.
+   *
+   * @param text to be parsed
+   * @param scale number of fraction digits of the result, 0 to {@link FixedDecimal#MAX_SCALE}
+   * @param roundingMode to apply if {@code text} has more fraction digits than {@code scale}
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return parsed value. If {@code text} is null or cannot be parsed and parseMode is
+   *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns zero with the given scale
+   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT} and {@code text} is
+   *         null or cannot be parsed
+   * @throws ArithmeticException if the result does not fit, or rounding is needed and
+   *         roundingMode is {@link RoundingMode#UNNECESSARY}
+   * @throws IllegalArgumentException if {@code scale} is out of range
+   */
+  public FixedDecimal parseFixedDecimal(CharSequence text, int scale, RoundingMode roundingMode,
+      ParseMode parseMode) {
+    Digits digits = DIGITS.get().reset();
+    if (!scan(text, digits)) {
+      if (ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)) {
+        return FixedDecimal.of(0, scale);
+      }
+      throw invalid(text);
+    }
+    if (digits.truncated) {
+      return FixedDecimal.parse(plain(text, digits), scale, roundingMode);
+    }
+    return FixedDecimal.fromDigits(digits.negative, digits.significand, digits.exponent, scale,
+        roundingMode);
+  }
+
+  /**
+   * Validates {@code text} and reads its digits in the same pass.
+   *
+   * @return whether {@code text} is a valid number
+   */
+  private boolean scan(CharSequence text, Digits digits) {
+    if (text == null) {
+      return false;
+    }
+    int end = text.length();
+    int i = skipSpaces(text, 0, end);
+    i = scanSign(text, i, end, digits);
+    if (prefix != null && regionMatches(text, i, end, prefix)) {
+      i = skipSpaces(text, i + prefix.length(), end);
+      if (!digits.signed) {
+        i = scanSign(text, i, end, digits);
+      }
+    }
+
+    digits.start = i;
+    int count = 0;
+    int groupDigits = 0;
+    boolean grouped = false;
+    boolean fraction = false;
+    for (; i < end; i++) {
+      char c = text.charAt(i);
+      if (c >= '0' && c <= '9') {
+        digits.add(c - '0', fraction);
+        count++;
+        groupDigits++;
+      } else if (c == decimalSeparator && !fraction) {
+        fraction = true;
+        if (grouped && groupDigits != 3) {
+          return false;
+        }
+      } else if (!fraction && isGroupingSeparator(c) && i + 1 < end && text.charAt(i + 1) >= '0'
+          && text.charAt(i + 1) <= '9') {
+        // a separator not followed by a digit ends the number instead, e.g. the space before a
+        // suffix when spaces group the digits
+        if (groupDigits == 0 || grouped && groupDigits != 3) {
+          return false;
+        }
+        grouped = true;
+        groupDigits = 0;
+      } else {
+        break;
+      }
+    }
+    if (count == 0 || !fraction && grouped && groupDigits != 3) {
+      return false;
+    }
+    digits.end = i;
+
+    i = skipSpaces(text, i, end);
+    if (suffix != null && regionMatches(text, i, end, suffix)) {
+      i = skipSpaces(text, i + suffix.length(), end);
+    }
+    return i == end;
+  }
+
+  private boolean isGroupingSeparator(char c) {
+    return c == groupingSeparator
+        || Character.isSpaceChar(groupingSeparator) && Character.isSpaceChar(c);
+  }
+
+  /**
+   * Rebuilds the number as plain text for the rare values only the JDK can round.
+   */
+  private String plain(CharSequence text, Digits digits) {
+    StringBuilder builder = new StringBuilder(digits.end - digits.start + 1);
+    builder.append(digits.negative ? "-" : "");
+    for (int i = digits.start; i < digits.end; i++) {
+      char c = text.charAt(i);
+      if (c >= '0' && c <= '9') {
+        builder.append(c);
+      } else if (c == decimalSeparator) {
+        builder.append('.');
+      }
+    }
+    return builder.toString();
+  }
+
+  private static NumberFormatException invalid(CharSequence text) {
+    return new NumberFormatException(
+        text == null ? "null" : "For input string: \"" + text + "\"");
+  }
+
+  private static int scanSign(CharSequence text, int i, int end, Digits digits) {
+    if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+      digits.signed = true;
+      digits.negative = text.charAt(i) == '-';
+      return skipSpaces(text, i + 1, end);
+    }
+    return i;
+  }
+
+  private static int skipSpaces(CharSequence text, int i, int end) {
+    while (i < end && (text.charAt(i) <= ' ' || Character.isSpaceChar(text.charAt(i)))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean regionMatches(CharSequence text, int start, int end, String expected) {
+    if (end - start < expected.length()) {
+      return false;
+    }
+    for (int i = 0; i < expected.length(); i++) {
+      char c = text.charAt(start + i);
+      char e = expected.charAt(i);
+      if (c != e && Character.toUpperCase(c) != Character.toUpperCase(e)
+          && Character.toLowerCase(c) != Character.toLowerCase(e)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Trims the whitespace, including no-break spaces, around a currency affix.
+   */
+  private static String strip(String affix) {
+    int end = affix == null ? 0 : affix.length();
+    int start = skipSpaces(affix, 0, end);
+    while (end > start && (affix.charAt(end - 1) <= ' '
+        || Character.isSpaceChar(affix.charAt(end - 1)))) {
+      end--;
+    }
+    return start == end ? null : affix.substring(start, end);
+  }
+
+  /**
+   * Sign and digits of a scanned number, in the form {@link NumberParser#toDouble(long, int,
+   * boolean)} takes. Reused by every parse on the same thread.
+   */
+  private static final class Digits {
+
+    private boolean signed;
+    private boolean negative;
+    private long significand;
+    private int significantDigits;
+    private int exponent;
+    private boolean truncated;
+    private int start;
+    private int end;
+    private long longValue;
+
+    private Digits reset() {
+      signed = false;
+      negative = false;
+      significand = 0;
+      significantDigits = 0;
+      exponent = 0;
+      truncated = false;
+      start = 0;
+      end = 0;
+      longValue = 0;
+      return this;
+    }
+
+    private void add(int digit, boolean fraction) {
+      if (significantDigits < 19) {
+        if (significantDigits > 0 || digit != 0) {
+          significand = significand * 10 + digit;
+          significantDigits++;
+        }
+        exponent -= fraction ? 1 : 0;
+      } else {
+        exponent += fraction ? 0 : 1;
+        truncated |= digit != 0;
+      }
+    }
+
+    /**
+     * Sets {@link #longValue} if the number is a whole long.
+     */
+    private boolean toLong() {
+      if (truncated) {
+        return false;
+      }
+      // the significand is unsigned, strip the zero fraction digits before checking the sign
+      long value = significand;
+      int e = exponent;
+      for (; e < 0; e++) {
+        if (Long.remainderUnsigned(value, 10) != 0) {
+          return false;
+        }
+        value = Long.divideUnsigned(value, 10);
+      }
+      if (value < 0) {
+        // beyond Long.MAX_VALUE, only Long.MIN_VALUE itself fits
+        longValue = value;
+        return negative && value == Long.MIN_VALUE && e == 0;
+      }
+      for (; e > 0 && value != 0; e--) {
+        if (value > Long.MAX_VALUE / 10) {
+          return false;
+        }
+        value *= 10;
+      }
+      longValue = negative ? -value : value;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,791 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, thread safe printer of numbers for people, the counterpart of
+ * {@link GroupedNumberParser}: an optional minus sign, the currency prefix, the integer digits in
+ * groups of three, the decimal separator with a fixed number of fraction digits, and the currency
+ * suffix, e.g. <code>-Rp1.234.567,50</code>.<br>
+ * Values with more fraction digits than the printer are rounded {@link RoundingMode#HALF_EVEN}
+ * like {@link DecimalFormat} does; doubles, like there, from their shortest decimal digits as
+ * {@link Double#toString(double)} gives them, with a tie in those digits broken by the exact
+ * binary value. Unlike {@link DecimalFormat}, which prints <code>-0</code>, values that round to
+ * zero such as <code>-0.001</code> are printed without sign. Digits are written two at a time from
+ * lookup tables into a per-thread buffer, so printing <code>long</code>, <code>double</code> and
+ * {@link FixedDecimal} values produces no garbage unless a {@link String} is asked for;
+ * {@link BigDecimal} values allocate only when their digits need rescaling or exceed a
+ * <code>long</code>, doubles only when more than 14 significant digits are printed.
+ */
+public final class GroupedNumberPrinter {
+
+  private static final char[] DIGIT_TENS = new char[100];
+  private static final char[] DIGIT_ONES = new char[100];
+  private static final long[] POWERS_OF_TEN = new long[19];
+
+  /**
+   * Bound of the rounded digits of a double below which rounding its exact binary value gives
+   * the same result as rounding its shortest digits: the midpoint between two such results has
+   * at most 15 significant digits, and no other double has that few digits closer to it.
+   */
+  private static final long MAX_EXACT_UNSCALED = 99_999_999_999_999L;
+
+  static {
+    for (int i = 0; i < 100; i++) {
+      DIGIT_TENS[i] = (char) ('0' + i / 10);
+      DIGIT_ONES[i] = (char) ('0' + i % 10);
+    }
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  private static final ThreadLocal<Buffer> BUFFER = ThreadLocal.withInitial(Buffer::new);
+
+  private static final ConcurrentHashMap<Locale, GroupedNumberPrinter> CACHE =
+      new ConcurrentHashMap<>();
+
+  private final boolean grouping;
+  private final char groupingSeparator;
+  private final char decimalSeparator;
+  private final int fractionDigits;
+  private final String prefix;
+  private final String suffix;
+
+  private GroupedNumberPrinter(boolean grouping, char groupingSeparator, char decimalSeparator,
+      int fractionDigits, String prefix, String suffix) {
+    if (fractionDigits < 0 || fractionDigits > FixedDecimal.MAX_SCALE) {
+      throw new IllegalArgumentException("Fraction digits must be between 0 and "
+          + FixedDecimal.MAX_SCALE + ": " + fractionDigits);
+    }
+    this.grouping = grouping;
+    this.groupingSeparator = groupingSeparator;
+    this.decimalSeparator = decimalSeparator;
+    this.fractionDigits = fractionDigits;
+    this.prefix = prefix == null ? "" : prefix;
+    this.suffix = suffix == null ? "" : suffix;
+  }
+
+  /**
+   * @param groupingSeparator between groups of thousands, e.g. <code>'.'</code>
+   * @param decimalSeparator between the integer and the fraction digits, e.g. <code>','</code>
+   * @return printer with grouping, no fraction digits and no currency prefix and suffix
+   */
+  public static GroupedNumberPrinter of(char groupingSeparator, char decimalSeparator) {
+    return new GroupedNumberPrinter(true, groupingSeparator, decimalSeparator, 0, null, null);
+  }
+
+  /**
+   * Returns the printer of the currency format of {@code locale}: its separators, currency prefix
+   * and suffix and number of fraction digits, e.g. <code>Rp1.234.567,50</code> for
+   * <code>Locale.forLanguageTag("id-ID")</code>.
+   *
+   * @param locale locale, null means {@link Locale#getDefault()}
+   * @return cached printer
+   */
+  public static GroupedNumberPrinter forLocale(Locale locale) {
+    Locale key = locale == null ? Locale.getDefault() : locale;
+    GroupedNumberPrinter printer = CACHE.get(key);
+    if (printer == null) {
+      DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(key);
+      NumberFormat format = NumberFormat.getCurrencyInstance(key);
+      boolean decimalFormat = format instanceof DecimalFormat;
+      printer = new GroupedNumberPrinter(format.isGroupingUsed(),
+          symbols.getGroupingSeparator(), symbols.getDecimalSeparator(),
+          Math.min(format.getMinimumFractionDigits(), FixedDecimal.MAX_SCALE),
+          decimalFormat ? ((DecimalFormat) format).getPositivePrefix() : null,
+          decimalFormat ? ((DecimalFormat) format).getPositiveSuffix() : null);
+      GroupedNumberPrinter existing = CACHE.putIfAbsent(key, printer);
+      if (existing != null) {
+        printer = existing;
+      }
+    }
+    return printer;
+  }
+
+  /**
+   * @param prefix text printed before the digits and after the sign, e.g. <code>"Rp "</code>,
+   *        null for none
+   * @param suffix text printed after the digits, e.g. <code>" IDR"</code>, null for none
+   * @return printer with the given affixes
+   */
+  public GroupedNumberPrinter withCurrency(String prefix, String suffix) {
+    return new GroupedNumberPrinter(grouping, groupingSeparator, decimalSeparator,
+        fractionDigits, prefix, suffix);
+  }
+
+  /**
+   * @param fractionDigits number of digits printed after the decimal separator, 0 to
+   *        {@link FixedDecimal#MAX_SCALE}
+   * @return printer with the given number of fraction digits
+   * @throws IllegalArgumentException if {@code fractionDigits} is out of range
+   */
+  public GroupedNumberPrinter withFractionDigits(int fractionDigits) {
+    return new GroupedNumberPrinter(grouping, groupingSeparator, decimalSeparator,
+        fractionDigits, prefix, suffix);
+  }
+
+  /**
+   * @param grouping whether to separate groups of thousands
+   * @return printer with or without grouping
+   */
+  public GroupedNumberPrinter withGrouping(boolean grouping) {
+    return new GroupedNumberPrinter(grouping, groupingSeparator, decimalSeparator,
+        fractionDigits, prefix, suffix);
+  }
+
+  public boolean isGrouping() {
+    return grouping;
+  }
+
+  public char getGroupingSeparator() {
+    return groupingSeparator;
+  }
+
+  public char getDecimalSeparator() {
+    return decimalSeparator;
+  }
+
+  public int getFractionDigits() {
+    return fractionDigits;
+  }
+
+  /**
+   * @return currency prefix, empty if there is none
+   */
+  public String getPrefix() {
+    return prefix;
+  }
+
+  /**
+   * @return currency suffix, empty if there is none
+   */
+  public String getSuffix() {
+    return suffix;
+  }
+
+  /**
+   * Returns {@code value} formatted with the separators, fraction digits and affixes of this
+   * printer, e.g. <code>Rp1.234.567,00</code>.
+   *
+   * @param value to be formatted
+   * @return formatted value. Never returns null.
+   */
+  public String print(long value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return new String(chars, 0, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Appends {@code value} formatted to {@code buf}, producing no garbage as long as {@code buf} has
+   * enough capacity.
+   *
+   * @param buf to append to
+   * @param value to be formatted
+   * @return {@code buf}
+   */
+  public StringBuilder printTo(StringBuilder buf, long value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return buf.append(chars, 0, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Appends {@code value} formatted to {@code out}.
+   *
+   * @param out to append to
+   * @param value to be formatted
+   * @throws IOException propagated from {@code out}
+   */
+  public void printTo(Appendable out, long value) throws IOException {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    append(out, chars, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Writes {@code value} formatted into {@code buf}.
+   *
+   * @param buf to write to, must have enough room after {@code offset}
+   * @param offset index of the first char to write
+   * @param value to be formatted
+   * @return index after the last written char
+   */
+  public int printTo(char[] buf, int offset, long value) {
+    return layout(buf, offset, prepare(value));
+  }
+
+  /**
+   * Writes {@code value} formatted and UTF-8 encoded into {@code buf}.
+   *
+   * @param buf to write to, must have enough room after {@code offset}
+   * @param offset index of the first byte to write
+   * @param value to be formatted
+   * @return index after the last written byte
+   */
+  public int printTo(byte[] buf, int offset, long value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return DatePattern.encodeUtf8(chars, layout(chars, 0, buffer), buf, offset);
+  }
+
+  /**
+   * Writes {@code value} formatted and UTF-8 encoded at the position of {@code buf}, advancing it
+   * by the number of written bytes.
+   *
+   * @param buf to write to
+   * @param value to be formatted
+   * @return number of written bytes
+   * @throws java.nio.BufferOverflowException if {@code buf} has not enough room, in which case
+   *         nothing is written
+   */
+  public int printTo(ByteBuffer buf, long value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return put(buf, chars, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Returns {@code value} rounded half even to the fraction digits of this printer and formatted
+   * with its separators and affixes.
+   *
+   * @param value to be formatted, must be finite
+   * @return formatted value. Never returns null.
+   * @throws IllegalArgumentException if {@code value} is NaN or infinite
+   */
+  public String print(double value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return new String(chars, 0, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Appends {@code value} rounded half even to the fraction digits of this printer and formatted to
+   * {@code buf}, producing no garbage as long as {@code buf} has enough capacity.
+   *
+   * @param buf to append to
+   * @param value to be formatted, must be finite
+   * @return {@code buf}
+   * @throws IllegalArgumentException if {@code value} is NaN or infinite
+   */
+  public StringBuilder printTo(StringBuilder buf, double value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return buf.append(chars, 0, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Appends {@code value} rounded half even to the fraction digits of this printer and formatted to
+   * {@code out}.
+   *
+   * @param out to append to
+   * @param value to be formatted, must be finite
+   * @throws IOException propagated from {@code out}
+   * @throws IllegalArgumentException if {@code value} is NaN or infinite
+   */
+  public void printTo(Appendable out, double value) throws IOException {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    append(out, chars, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Writes {@code value} rounded half even to the fraction digits of this printer and formatted
+   * into {@code buf}.
+   *
+   * @param buf to write to, must have enough room after {@code offset}
+   * @param offset index of the first char to write
+   * @param value to be formatted, must be finite
+   * @return index after the last written char
+   * @throws IllegalArgumentException if {@code value} is NaN or infinite
+   */
+  public int printTo(char[] buf, int offset, double value) {
+    return layout(buf, offset, prepare(value));
+  }
+
+  /**
+   * Writes {@code value} rounded half even to the fraction digits of this printer, formatted and
+   * UTF-8 encoded into {@code buf}.
+   *
+   * @param buf to write to, must have enough room after {@code offset}
+   * @param offset index of the first byte to write
+   * @param value to be formatted, must be finite
+   * @return index after the last written byte
+   * @throws IllegalArgumentException if {@code value} is NaN or infinite
+   */
+  public int printTo(byte[] buf, int offset, double value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return DatePattern.encodeUtf8(chars, layout(chars, 0, buffer), buf, offset);
+  }
+
+  /**
+   * Writes {@code value} rounded half even to the fraction digits of this printer, formatted and
+   * UTF-8 encoded at the position of {@code buf}, advancing it by the number of written bytes.
+   *
+   * @param buf to write to
+   * @param value to be formatted, must be finite
+   * @return number of written bytes
+   * @throws java.nio.BufferOverflowException if {@code buf} has not enough room, in which case
+   *         nothing is written
+   * @throws IllegalArgumentException if {@code value} is NaN or infinite
+   */
+  public int printTo(ByteBuffer buf, double value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return put(buf, chars, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Returns {@code value} rounded half even to the fraction digits of this printer and formatted
+   * with its separators and affixes.
+   *
+   * @param value to be formatted
+   * @return formatted value if {@code value} is not null, otherwise returns empty string
+   */
+  public String print(BigDecimal value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return new String(chars, 0, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Appends {@code value} rounded half even to the fraction digits of this printer and formatted to
+   * {@code buf}, producing no garbage as long as {@code buf} has enough capacity. Nothing is
+   * appended if {@code value} is null.
+   *
+   * @param buf to append to
+   * @param value to be formatted
+   * @return {@code buf}
+   */
+  public StringBuilder printTo(StringBuilder buf, BigDecimal value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return buf.append(chars, 0, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Appends {@code value} rounded half even to the fraction digits of this printer and formatted to
+   * {@code out}. Nothing is appended if {@code value} is null.
+   *
+   * @param out to append to
+   * @param value to be formatted
+   * @throws IOException propagated from {@code out}
+   */
+  public void printTo(Appendable out, BigDecimal value) throws IOException {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    append(out, chars, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Writes {@code value} rounded half even to the fraction digits of this printer and formatted
+   * into {@code buf}.
+   *
+   * @param buf to write to, must have enough room after {@code offset}
+   * @param offset index of the first char to write
+   * @param value to be formatted
+   * @return index after the last written char, {@code offset} if {@code value} is null
+   */
+  public int printTo(char[] buf, int offset, BigDecimal value) {
+    return layout(buf, offset, prepare(value));
+  }
+
+  /**
+   * Writes {@code value} rounded half even to the fraction digits of this printer, formatted and
+   * UTF-8 encoded into {@code buf}.
+   *
+   * @param buf to write to, must have enough room after {@code offset}
+   * @param offset index of the first byte to write
+   * @param value to be formatted
+   * @return index after the last written byte, {@code offset} if {@code value} is null
+   */
+  public int printTo(byte[] buf, int offset, BigDecimal value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return DatePattern.encodeUtf8(chars, layout(chars, 0, buffer), buf, offset);
+  }
+
+  /**
+   * Writes {@code value} rounded half even to the fraction digits of this printer, formatted and
+   * UTF-8 encoded at the position of {@code buf}, advancing it by the number of written bytes.
+   *
+   * @param buf to write to
+   * @param value to be formatted
+   * @return number of written bytes, 0 if {@code value} is null
+   * @throws java.nio.BufferOverflowException if {@code buf} has not enough room, in which case
+   *         nothing is written
+   */
+  public int printTo(ByteBuffer buf, BigDecimal value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return put(buf, chars, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Returns {@code value} rounded half even to the fraction digits of this printer and formatted
+   * with its separators and affixes.
+   *
+   * @param value to be formatted
+   * @return formatted value if {@code value} is not null, otherwise returns empty string
+   */
+  public String print(FixedDecimal value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return new String(chars, 0, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Appends {@code value} rounded half even to the fraction digits of this printer and formatted to
+   * {@code buf}, producing no garbage as long as {@code buf} has enough capacity. Nothing is
+   * appended if {@code value} is null.
+   *
+   * @param buf to append to
+   * @param value to be formatted
+   * @return {@code buf}
+   */
+  public StringBuilder printTo(StringBuilder buf, FixedDecimal value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return buf.append(chars, 0, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Appends {@code value} rounded half even to the fraction digits of this printer and formatted to
+   * {@code out}. Nothing is appended if {@code value} is null.
+   *
+   * @param out to append to
+   * @param value to be formatted
+   * @throws IOException propagated from {@code out}
+   */
+  public void printTo(Appendable out, FixedDecimal value) throws IOException {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    append(out, chars, layout(chars, 0, buffer));
+  }
+
+  /**
+   * Writes {@code value} rounded half even to the fraction digits of this printer and formatted
+   * into {@code buf}.
+   *
+   * @param buf to write to, must have enough room after {@code offset}
+   * @param offset index of the first char to write
+   * @param value to be formatted
+   * @return index after the last written char, {@code offset} if {@code value} is null
+   */
+  public int printTo(char[] buf, int offset, FixedDecimal value) {
+    return layout(buf, offset, prepare(value));
+  }
+
+  /**
+   * Writes {@code value} rounded half even to the fraction digits of this printer, formatted and
+   * UTF-8 encoded into {@code buf}.
+   *
+   * @param buf to write to, must have enough room after {@code offset}
+   * @param offset index of the first byte to write
+   * @param value to be formatted
+   * @return index after the last written byte, {@code offset} if {@code value} is null
+   */
+  public int printTo(byte[] buf, int offset, FixedDecimal value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return DatePattern.encodeUtf8(chars, layout(chars, 0, buffer), buf, offset);
+  }
+
+  /**
+   * Writes {@code value} rounded half even to the fraction digits of this printer, formatted and
+   * UTF-8 encoded at the position of {@code buf}, advancing it by the number of written bytes.
+   *
+   * @param buf to write to
+   * @param value to be formatted
+   * @return number of written bytes, 0 if {@code value} is null
+   * @throws java.nio.BufferOverflowException if {@code buf} has not enough room, in which case
+   *         nothing is written
+   */
+  public int printTo(ByteBuffer buf, FixedDecimal value) {
+    Buffer buffer = prepare(value);
+    char[] chars = buffer.chars(length(buffer));
+    return put(buf, chars, layout(chars, 0, buffer));
+  }
+
+  private Buffer prepare(long value) {
+    return BUFFER.get().digits(value, 0);
+  }
+
+  /**
+   * @throws IllegalArgumentException if {@code value} is NaN or infinite
+   */
+  private Buffer prepare(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      throw new IllegalArgumentException("Not a finite number: " + value);
+    }
+    long bits = Double.doubleToRawLongBits(value);
+    int biasedExponent = (int) (bits >>> 52) & 0x7FF;
+    long significand = bits & 0xFFFFFFFFFFFFFL;
+    if (biasedExponent != 0) {
+      significand |= 1L << 52;
+    }
+    int exponent = Math.max(biasedExponent, 1) - 1075;
+    long unscaled = scale(significand, exponent, POWERS_OF_TEN[fractionDigits]);
+    if (unscaled < 0 || unscaled >= MAX_EXACT_UNSCALED) {
+      return prepare(shortest(value));
+    }
+    return BUFFER.get().digits(bits < 0 ? -unscaled : unscaled, fractionDigits);
+  }
+
+  /**
+   * @return shortest decimal digits of {@code value}, or its exact binary value rounded when
+   *         those digits are a tie at the printed fraction digits, as {@link DecimalFormat} does
+   */
+  private BigDecimal shortest(double value) {
+    BigDecimal digits = new BigDecimal(Double.toString(value)).stripTrailingZeros();
+    if (digits.scale() == fractionDigits + 1
+        && digits.unscaledValue().abs().mod(BigInteger.TEN).intValue() == 5) {
+      return new BigDecimal(value).setScale(fractionDigits, RoundingMode.HALF_EVEN);
+    }
+    return digits;
+  }
+
+  private Buffer prepare(BigDecimal value) {
+    if (value == null) {
+      return BUFFER.get().empty();
+    }
+    BigDecimal scaled = value.scale() > fractionDigits
+        ? value.setScale(fractionDigits, RoundingMode.HALF_EVEN)
+        : value.scale() < 0 ? value.setScale(0) : value;
+    if (scaled.unscaledValue().bitLength() < 64) {
+      return BUFFER.get().digits(scaled.unscaledValue().longValue(), scaled.scale());
+    }
+    return BUFFER.get().digits(scaled.signum() < 0,
+        scaled.unscaledValue().abs().toString(), scaled.scale());
+  }
+
+  private Buffer prepare(FixedDecimal value) {
+    if (value == null) {
+      return BUFFER.get().empty();
+    }
+    if (value.getScale() <= fractionDigits) {
+      return BUFFER.get().digits(value.getUnscaledValue(), value.getScale());
+    }
+    return BUFFER.get().digits(FixedDecimal.rescale(value.getUnscaledValue(), value.getScale(),
+        fractionDigits, RoundingMode.HALF_EVEN), fractionDigits);
+  }
+
+  /**
+   * Rounds <code>significand * 2^exponent * power</code> half even, exactly, using the 128-bit
+   * product of {@code significand} and {@code power}.
+   *
+   * @return rounded magnitude, or -1 if it does not fit in a long
+   */
+  private static long scale(long significand, int exponent, long power) {
+    long high = NumberParser.unsignedMultiplyHigh(significand, power);
+    long low = significand * power;
+    if (exponent >= 0) {
+      boolean fits = high == 0 && low >= 0 && exponent < 63
+          && Long.numberOfLeadingZeros(low) > exponent;
+      return fits ? low << exponent : -1;
+    }
+    int shift = -exponent;
+    if (shift >= 128) {
+      // below 2^113 / 2^128, far from one half
+      return 0;
+    }
+    long quotient;
+    int half;
+    if (shift < 64) {
+      if (high >>> shift != 0) {
+        return -1;
+      }
+      quotient = high << (64 - shift) | low >>> shift;
+      half = Long.compareUnsigned(low & (-1L >>> (64 - shift)), 1L << (shift - 1));
+    } else {
+      quotient = shift == 64 ? high : high >>> (shift - 64);
+      long remainderHigh = shift == 64 ? 0 : high & (-1L >>> (128 - shift));
+      long halfHigh = shift == 64 ? 0 : 1L << (shift - 65);
+      long halfLow = shift == 64 ? 1L << 63 : 0;
+      half = remainderHigh != halfHigh ? Long.compareUnsigned(remainderHigh, halfHigh)
+          : Long.compareUnsigned(low, halfLow);
+    }
+    if (quotient < 0) {
+      return -1;
+    }
+    return half > 0 || half == 0 && (quotient & 1) != 0 ? quotient + 1 : quotient;
+  }
+
+  /**
+   * @return number of chars {@link #layout(char[], int, Buffer)} writes
+   */
+  private int length(Buffer buffer) {
+    if (buffer.count == 0) {
+      return 0;
+    }
+    int integerDigits = Math.max(buffer.count - buffer.scale, 1);
+    return (buffer.negative ? 1 : 0) + prefix.length() + integerDigits
+        + (grouping ? (integerDigits - 1) / 3 : 0)
+        + (fractionDigits > 0 ? 1 + fractionDigits : 0) + suffix.length();
+  }
+
+  /**
+   * Writes the prepared digits, padded with zeros to at least one integer digit and exactly
+   * {@link #fractionDigits} fraction digits.
+   *
+   * @return index after the last written char
+   */
+  private int layout(char[] buf, int offset, Buffer buffer) {
+    if (buffer.count == 0) {
+      return offset;
+    }
+    char[] digits = buffer.digits;
+    int from = buffer.from;
+    int count = buffer.count;
+    int scale = buffer.scale;
+    int i = offset;
+    if (buffer.negative) {
+      buf[i++] = '-';
+    }
+    prefix.getChars(0, prefix.length(), buf, i);
+    i += prefix.length();
+
+    int integerDigits = count - scale;
+    if (integerDigits <= 0) {
+      buf[i++] = '0';
+    }
+    int group = grouping ? (integerDigits - 1) % 3 + 1 : Integer.MAX_VALUE;
+    for (int d = 0; d < integerDigits; d++) {
+      if (group-- == 0) {
+        buf[i++] = groupingSeparator;
+        group = 2;
+      }
+      buf[i++] = digits[from + d];
+    }
+    if (fractionDigits > 0) {
+      buf[i++] = decimalSeparator;
+      for (int d = count; d < scale; d++) {
+        buf[i++] = '0';
+      }
+      for (int d = Math.max(integerDigits, 0); d < count; d++) {
+        buf[i++] = digits[from + d];
+      }
+      for (int d = scale; d < fractionDigits; d++) {
+        buf[i++] = '0';
+      }
+    }
+    suffix.getChars(0, suffix.length(), buf, i);
+    return i + suffix.length();
+  }
+
+  private static void append(Appendable out, char[] chars, int length) throws IOException {
+    for (int i = 0; i < length; i++) {
+      out.append(chars[i]);
+    }
+  }
+
+  private static int put(ByteBuffer buf, char[] chars, int length) {
+    if (length > 256) {
+      byte[] bytes = new String(chars, 0, length).getBytes(StandardCharsets.UTF_8);
+      buf.put(bytes);
+      return bytes.length;
+    }
+    return DatePattern.putUtf8(buf, chars, length);
+  }
+
+  /**
+   * Per-thread digits of the value being printed and the chars it is printed into.
+   */
+  private static final class Buffer {
+
+    private char[] digits = new char[20];
+    private char[] chars = new char[64];
+    private boolean negative;
+    private int from;
+    private int count;
+    private int scale;
+
+    /**
+     * Writes the digits of {@code unscaled} two at a time, accumulating negatively so that
+     * {@link Long#MIN_VALUE} needs no special case.
+     */
+    private Buffer digits(long unscaled, int scale) {
+      negative = unscaled < 0;
+      long value = negative ? unscaled : -unscaled;
+      int i = digits.length;
+      while (value < Integer.MIN_VALUE) {
+        long quotient = value / 100;
+        int pair = (int) (quotient * 100 - value);
+        digits[--i] = DIGIT_ONES[pair];
+        digits[--i] = DIGIT_TENS[pair];
+        value = quotient;
+      }
+      // int division is several times cheaper than long division
+      int small = (int) value;
+      while (small <= -100) {
+        int quotient = small / 100;
+        int pair = quotient * 100 - small;
+        digits[--i] = DIGIT_ONES[pair];
+        digits[--i] = DIGIT_TENS[pair];
+        small = quotient;
+      }
+      digits[--i] = DIGIT_ONES[-small];
+      if (small <= -10) {
+        digits[--i] = DIGIT_TENS[-small];
+      }
+      from = i;
+      count = digits.length - i;
+      this.scale = scale;
+      return this;
+    }
+
+    private Buffer digits(boolean negative, String magnitude, int scale) {
+      if (digits.length < magnitude.length()) {
+        digits = new char[magnitude.length()];
+      }
+      magnitude.getChars(0, magnitude.length(), digits, 0);
+      this.negative = negative;
+      from = 0;
+      count = magnitude.length();
+      this.scale = scale;
+      return this;
+    }
+
+    private Buffer empty() {
+      negative = false;
+      count = 0;
+      return this;
+    }
+
+    private char[] chars(int length) {
+      if (chars.length < length) {
+        chars = new char[Math.max(length, chars.length * 2)];
+      }
+      return chars;
+    }
+  }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.CommonDateTimePatterns;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+
+import static com.blibli.oss.common.helper.FixedDatePattern.INVALID;
+import static com.blibli.oss.common.helper.FixedDatePattern.MILLIS_PER_DAY;
+import static com.blibli.oss.common.helper.FixedDatePattern.MILLIS_PER_HOUR;
+import static com.blibli.oss.common.helper.FixedDatePattern.MILLIS_PER_MINUTE;
+import static com.blibli.oss.common.helper.FixedDatePattern.MILLIS_PER_SECOND;
+import static com.blibli.oss.common.helper.FixedDatePattern.MISMATCH;
+import static com.blibli.oss.common.helper.FixedDatePattern.SCRATCH;
+import static com.blibli.oss.common.helper.FixedDatePattern.isChar;
+import static com.blibli.oss.common.helper.FixedDatePattern.put2;
+import static com.blibli.oss.common.helper.FixedDatePattern.read1;
+import static com.blibli.oss.common.helper.FixedDatePattern.read2;
+
+/**
+ * {@link DatePattern} of {@link CompiledDateTimePatterns#ISO_8601}. Prints the way
+ * {@link ISODateTimeFormat#dateTime()} does and parses whatever
+ * {@link ISODateTimeFormat#dateTimeParser()} accepts, so unlike
+ * {@link CommonDateTimePatterns#ISO_8601} compiled as a {@link org.joda.time.format.DateTimeFormat}
+ * pattern it prints <code>Z</code> in UTC and accepts partial date times.<br>
+ * Years <code>0..9999</code> with whole-minute offsets are printed by hand, and the extended
+ * layouts <code>yyyy-MM-dd</code>, <code>yyyy-MM-ddTHH:mm[:ss[.S{1,9}]][Z|&#177;HH:mm]</code> are
+ * parsed by hand. Anything else is handed over to Joda.
+ */
+final class IsoDatePattern extends DatePattern {
+
+  private final JodaDatePattern fallback;
+
+  /**
+   * Offset table of the zone this pattern is bound to, or null to follow the default zone.
+   */
+  private final ZoneOffsets zone;
+
+  private IsoDatePattern(JodaDatePattern fallback, ZoneOffsets zone) {
+    super(CommonDateTimePatterns.ISO_8601);
+    this.fallback = fallback;
+    this.zone = zone;
+  }
+
+  static IsoDatePattern create() {
+    DateTimeFormatter formatter = new DateTimeFormatter(ISODateTimeFormat.dateTime().getPrinter(),
+        ISODateTimeFormat.dateTimeParser().getParser());
+    return new IsoDatePattern(new JodaDatePattern(CommonDateTimePatterns.ISO_8601, formatter),
+        null);
+  }
+
+  @Override
+  public DatePattern withZone(DateTimeZone zone) {
+    return new IsoDatePattern(fallback.withZone(zone),
+        zone == null ? null : ZoneOffsets.forZone(zone));
+  }
+
+  @Override
+  public DateTimeZone getZone() {
+    return zone == null ? null : zone.getZone();
+  }
+
+  /**
+   * ISO-8601 has no locale dependent texts, the locale is only kept for {@link #getLocale()}.
+   */
+  @Override
+  public DatePattern withLocale(Locale locale) {
+    return new IsoDatePattern(fallback.withLocale(locale), zone);
+  }
+
+  @Override
+  public Locale getLocale() {
+    return fallback.getLocale();
+  }
+
+  @Override
+  public String print(long millis) {
+    char[] buf = SCRATCH.get();
+    int end = format(buf, 0, millis);
+    return end < 0 ? fallback.print(millis) : new String(buf, 0, end);
+  }
+
+  @Override
+  public StringBuilder printTo(StringBuilder buf, long millis) {
+    char[] scratch = SCRATCH.get();
+    int end = format(scratch, 0, millis);
+    if (end < 0) {
+      return fallback.printTo(buf, millis);
+    }
+    return buf.append(scratch, 0, end);
+  }
+
+  @Override
+  public void printTo(Appendable out, long millis) throws IOException {
+    char[] scratch = SCRATCH.get();
+    int end = format(scratch, 0, millis);
+    if (end < 0) {
+      fallback.printTo(out, millis);
+      return;
+    }
+    for (int i = 0; i < end; i++) {
+      out.append(scratch[i]);
+    }
+  }
+
+  @Override
+  public int printTo(char[] buf, int offset, long millis) {
+    int end = format(buf, offset, millis);
+    return end < 0 ? fallback.printTo(buf, offset, millis) : end;
+  }
+
+  @Override
+  public int printTo(byte[] buf, int offset, long millis) {
+    char[] scratch = SCRATCH.get();
+    int end = format(scratch, 0, millis);
+    if (end < 0) {
+      return fallback.printTo(buf, offset, millis);
+    }
+    return encodeUtf8(scratch, end, buf, offset);
+  }
+
+  @Override
+  public int printTo(ByteBuffer buf, long millis) {
+    char[] scratch = SCRATCH.get();
+    int end = format(scratch, 0, millis);
+    return end < 0 ? fallback.printTo(buf, millis) : putUtf8(buf, scratch, end);
+  }
+
+  @Override
+  public long parseMillis(CharSequence text) {
+    long millis = parseExtended(text);
+    return millis == MISMATCH || millis == INVALID ? fallback.parseMillis(text) : millis;
+  }
+
+  @Override
+  public long parseMillis(CharSequence text, long defaultValue) {
+    if (text == null) {
+      return defaultValue;
+    }
+    long millis = parseExtended(text);
+    if (millis == MISMATCH) {
+      return fallback.parseMillis(text, defaultValue);
+    }
+    return millis == INVALID ? defaultValue : millis;
+  }
+
+  /**
+   * Parses {@code text} in one of the extended layouts listed in the class description.
+   *
+   * @return epoch millis, {@link FixedDatePattern#MISMATCH} if {@code text} is in another layout,
+   *         or {@link FixedDatePattern#INVALID} if it has invalid field values or falls into a time
+   *         zone offset transition
+   */
+  private long parseExtended(CharSequence text) {
+    int end = text.length();
+    int century = read2(text, 0, end);
+    int yearOfCentury = read2(text, 2, end);
+    int month = read2(text, 5, end);
+    int day = read2(text, 8, end);
+    if (century < 0 || yearOfCentury < 0 || month < 0 || day < 0 || !isChar(text, 4, end, '-')
+        || !isChar(text, 7, end, '-')) {
+      return MISMATCH;
+    }
+
+    int pos = 10;
+    int hour = 0;
+    int minute = 0;
+    int second = 0;
+    int millisOfSecond = 0;
+    boolean hasOffset = false;
+    int offsetHours = 0;
+    int offsetMinutes = 0;
+    int offsetSign = 1;
+    if (pos < end) {
+      hour = read2(text, 11, end);
+      minute = read2(text, 14, end);
+      if (!isChar(text, 10, end, 'T') || hour < 0 || !isChar(text, 13, end, ':') || minute < 0) {
+        return MISMATCH;
+      }
+      pos = 16;
+      if (isChar(text, pos, end, ':')) {
+        second = read2(text, pos + 1, end);
+        if (second < 0) {
+          return MISMATCH;
+        }
+        pos += 3;
+        if (isChar(text, pos, end, '.')) {
+          int start = ++pos;
+          int digit;
+          while ((digit = read1(text, pos, end)) >= 0) {
+            if (pos - start < 3) {
+              millisOfSecond = millisOfSecond * 10 + digit;
+            }
+            pos++;
+          }
+          int digits = pos - start;
+          if (digits == 0 || digits > 9) {
+            return MISMATCH;
+          }
+          for (; digits < 3; digits++) {
+            millisOfSecond *= 10;
+          }
+        }
+      }
+      if (isChar(text, pos, end, 'Z')) {
+        hasOffset = true;
+        pos++;
+      } else if (isChar(text, pos, end, '+') || isChar(text, pos, end, '-')) {
+        offsetSign = text.charAt(pos) == '-' ? -1 : 1;
+        offsetHours = read2(text, pos + 1, end);
+        offsetMinutes = read2(text, pos + 4, end);
+        if (offsetHours < 0 || !isChar(text, pos + 3, end, ':') || offsetMinutes < 0) {
+          return MISMATCH;
+        }
+        hasOffset = true;
+        pos += 6;
+      }
+      if (pos != end) {
+        return MISMATCH;
+      }
+    }
+
+    int year = century * 100 + yearOfCentury;
+    if (month < 1 || month > 12 || day < 1 || day > FixedDatePattern.daysInMonth(year, month)
+        || hour > 23 || minute > 59 || second > 59 || offsetHours > 23 || offsetMinutes > 59) {
+      return INVALID;
+    }
+
+    long local = FixedDatePattern.daysFromCivil(year, month, day) * MILLIS_PER_DAY
+        + hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE + second * MILLIS_PER_SECOND
+        + millisOfSecond;
+    if (hasOffset) {
+      int offset = offsetHours * MILLIS_PER_HOUR + offsetMinutes * MILLIS_PER_MINUTE;
+      return local - offsetSign * offset;
+    }
+    ZoneOffsets offsets = ZoneOffsets.forZoneOrDefault(zone);
+    int offset = offsets.getOffsetFromLocal(local);
+    return offsets.isGap(local, offset) ? INVALID : local - offset;
+  }
+
+  /**
+   * Writes {@code millis} into {@code buf} starting at {@code pos}.
+   *
+   * @return index after the last written char, or -1 if the year is outside <code>0..9999</code>
+   *         or the offset is not a whole number of minutes, in which case nothing is written
+   */
+  private int format(char[] buf, int pos, long millis) {
+    int offset = ZoneOffsets.forZoneOrDefault(zone).getOffset(millis);
+    if (offset % MILLIS_PER_MINUTE != 0) {
+      return -1;
+    }
+    long local = millis + offset;
+    long civil = FixedDatePattern.civilFromDays(Math.floorDiv(local, MILLIS_PER_DAY));
+    long year = civil >> 9;
+    if (year < 0 || year > 9999) {
+      return -1;
+    }
+    int millisOfDay = (int) Math.floorMod(local, MILLIS_PER_DAY);
+
+    pos = put2(buf, pos, (int) year / 100);
+    pos = put2(buf, pos, (int) year % 100);
+    buf[pos++] = '-';
+    pos = put2(buf, pos, (int) (civil >> 5 & 0xF));
+    buf[pos++] = '-';
+    pos = put2(buf, pos, (int) (civil & 0x1F));
+    buf[pos++] = 'T';
+    pos = put2(buf, pos, millisOfDay / MILLIS_PER_HOUR);
+    buf[pos++] = ':';
+    pos = put2(buf, pos, millisOfDay / MILLIS_PER_MINUTE % 60);
+    buf[pos++] = ':';
+    pos = put2(buf, pos, millisOfDay / MILLIS_PER_SECOND % 60);
+    int millisOfSecond = millisOfDay % MILLIS_PER_SECOND;
+    buf[pos++] = '.';
+    buf[pos++] = (char) ('0' + millisOfSecond / 100);
+    pos = put2(buf, pos, millisOfSecond % 100);
+
+    if (offset == 0) {
+      buf[pos++] = 'Z';
+      return pos;
+    }
+    buf[pos++] = offset < 0 ? '-' : '+';
+    int offsetMinutes = Math.abs(offset) / MILLIS_PER_MINUTE;
+    pos = put2(buf, pos, offsetMinutes / 60);
+    buf[pos++] = ':';
+    return put2(buf, pos, offsetMinutes % 60);
+  }
+}
@@ -0,0 +1,495 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.TimeComparator;
+import com.blibli.oss.common.helper.constants.TimeUnit;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.chrono.ChronoZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link DateHelper} counterpart for <code>java.time</code> types. Works on {@link Instant},
+ * {@link LocalDate}, {@link LocalDateTime} and {@link ZonedDateTime} directly, without converting
+ * them to {@link java.util.Date} or Joda types. Patterns conform to the specifications of
+ * {@link DateTimeFormatter} and are compiled once and cached.
+ */
+public class JavaTimeHelper {
+
+  private static final int MAX_CACHED_PATTERNS = 500;
+
+  private static final ConcurrentHashMap<String, CachedFormatter> FORMATTERS =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Adds the specified amount of time to the given {@code instant}. A week is added as 7 days of
+   * 24 hours.
+   *
+   * @param instant to be added
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit}. Null means milliseconds
+   * @return the added instant if {@code instant} is not null, otherwise returns null
+   */
+  public static Instant add(Instant instant, int diff, TimeUnit unit) {
+    if (instant == null) {
+      return null;
+    }
+    return TimeUnit.WEEKS.equals(unit) ? instant.plus(7L * diff, ChronoUnit.DAYS)
+        : instant.plus(diff, toChronoUnit(unit));
+  }
+
+  /**
+   * Adds the specified amount of time to the given {@code date}.
+   *
+   * @param date to be added
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit#DAYS} or {@link TimeUnit#WEEKS}
+   * @return the added date if {@code date} is not null, otherwise returns null
+   * @throws java.time.temporal.UnsupportedTemporalTypeException if {@code unit} is shorter than a
+   *         day
+   */
+  public static LocalDate add(LocalDate date, int diff, TimeUnit unit) {
+    return date == null ? null : date.plus(diff, toChronoUnit(unit));
+  }
+
+  /**
+   * Adds the specified amount of time to the given {@code dateTime}.
+   *
+   * @param dateTime to be added
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit}. Null means milliseconds
+   * @return the added date time if {@code dateTime} is not null, otherwise returns null
+   */
+  public static LocalDateTime add(LocalDateTime dateTime, int diff, TimeUnit unit) {
+    return dateTime == null ? null : dateTime.plus(diff, toChronoUnit(unit));
+  }
+
+  /**
+   * Adds the specified amount of time to the given {@code dateTime}. Days and weeks are added on
+   * the local time-line, as {@link ZonedDateTime#plus(long, java.time.temporal.TemporalUnit)}
+   * does.
+   *
+   * @param dateTime to be added
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit}. Null means milliseconds
+   * @return the added date time if {@code dateTime} is not null, otherwise returns null
+   */
+  public static ZonedDateTime add(ZonedDateTime dateTime, int diff, TimeUnit unit) {
+    return dateTime == null ? null : dateTime.plus(diff, toChronoUnit(unit));
+  }
+
+  /**
+   * Subtracts the specified amount of time from the given {@code instant}.
+   *
+   * @see JavaTimeHelper#add(Instant, int, TimeUnit)
+   * @param instant to be subtracted
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit}. Null means milliseconds
+   * @return the subtracted instant if {@code instant} is not null, otherwise returns null
+   */
+  public static Instant minus(Instant instant, int diff, TimeUnit unit) {
+    if (instant == null) {
+      return null;
+    }
+    return TimeUnit.WEEKS.equals(unit) ? instant.minus(7L * diff, ChronoUnit.DAYS)
+        : instant.minus(diff, toChronoUnit(unit));
+  }
+
+  /**
+   * Subtracts the specified amount of time from the given {@code date}.
+   *
+   * @see JavaTimeHelper#add(LocalDate, int, TimeUnit)
+   * @param date to be subtracted
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit#DAYS} or {@link TimeUnit#WEEKS}
+   * @return the subtracted date if {@code date} is not null, otherwise returns null
+   * @throws java.time.temporal.UnsupportedTemporalTypeException if {@code unit} is shorter than a
+   *         day
+   */
+  public static LocalDate minus(LocalDate date, int diff, TimeUnit unit) {
+    return date == null ? null : date.minus(diff, toChronoUnit(unit));
+  }
+
+  /**
+   * Subtracts the specified amount of time from the given {@code dateTime}.
+   *
+   * @see JavaTimeHelper#add(LocalDateTime, int, TimeUnit)
+   * @param dateTime to be subtracted
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit}. Null means milliseconds
+   * @return the subtracted date time if {@code dateTime} is not null, otherwise returns null
+   */
+  public static LocalDateTime minus(LocalDateTime dateTime, int diff, TimeUnit unit) {
+    return dateTime == null ? null : dateTime.minus(diff, toChronoUnit(unit));
+  }
+
+  /**
+   * Subtracts the specified amount of time from the given {@code dateTime}.
+   *
+   * @see JavaTimeHelper#add(ZonedDateTime, int, TimeUnit)
+   * @param dateTime to be subtracted
+   * @param diff time difference (numeric), to be paired with {@code unit}
+   * @param unit {@link TimeUnit}. Null means milliseconds
+   * @return the subtracted date time if {@code dateTime} is not null, otherwise returns null
+   */
+  public static ZonedDateTime minus(ZonedDateTime dateTime, int diff, TimeUnit unit) {
+    return dateTime == null ? null : dateTime.minus(diff, toChronoUnit(unit));
+  }
+
+  /**
+   * Evaluates whether {@code first} satisfies {@code comparator} when compared to {@code second},
+   * following the same null rules as {@link DateHelper#is(java.util.Date, TimeComparator,
+   * java.util.Date)}.
+   *
+   * @see DateHelper#is(java.util.Date, TimeComparator, java.util.Date)
+   * @param first of type {@link Instant}
+   * @param comparator of type {@link TimeComparator}
+   * @param second of type {@link Instant}
+   * @return see ref
+   */
+  public static boolean is(Instant first, TimeComparator comparator, Instant second) {
+    if (first == null || second == null) {
+      return compareNull(first, comparator, second);
+    }
+    return compare(comparator, first.compareTo(second));
+  }
+
+  /**
+   * see ref
+   *
+   * @see JavaTimeHelper#is(Instant, TimeComparator, Instant)
+   * @param first of type {@link LocalDate}
+   * @param comparator of type {@link TimeComparator}
+   * @param second of type {@link LocalDate}
+   * @return see ref
+   */
+  public static boolean is(LocalDate first, TimeComparator comparator, LocalDate second) {
+    if (first == null || second == null) {
+      return compareNull(first, comparator, second);
+    }
+    return compare(comparator, first.compareTo(second));
+  }
+
+  /**
+   * see ref
+   *
+   * @see JavaTimeHelper#is(Instant, TimeComparator, Instant)
+   * @param first of type {@link LocalDateTime}
+   * @param comparator of type {@link TimeComparator}
+   * @param second of type {@link LocalDateTime}
+   * @return see ref
+   */
+  public static boolean is(LocalDateTime first, TimeComparator comparator, LocalDateTime second) {
+    if (first == null || second == null) {
+      return compareNull(first, comparator, second);
+    }
+    return compare(comparator, first.compareTo(second));
+  }
+
+  /**
+   * Same as {@link JavaTimeHelper#is(Instant, TimeComparator, Instant)}, comparing the instants of
+   * {@code first} and {@code second} regardless of their zones.
+   *
+   * @see JavaTimeHelper#is(Instant, TimeComparator, Instant)
+   * @param first of type {@link ZonedDateTime}
+   * @param comparator of type {@link TimeComparator}
+   * @param second of type {@link ZonedDateTime}
+   * @return see ref
+   */
+  public static boolean is(ZonedDateTime first, TimeComparator comparator, ZonedDateTime second) {
+    if (first == null || second == null) {
+      return compareNull(first, comparator, second);
+    }
+    return compare(comparator, ChronoZonedDateTime.timeLineOrder().compare(first, second));
+  }
+
+  /**
+   * Returns string representation of the given {@code instant} in the system default zone.
+   *
+   * @param instant to be converted to String
+   * @param pattern must conform to the specifications of {@link DateTimeFormatter}
+   * @return string representation of the given {@code instant}. Never returns null.
+   */
+  public static String toString(Instant instant, String pattern) {
+    return toString(instant, pattern, ZoneId.systemDefault());
+  }
+
+  /**
+   * Returns string representation of the given {@code instant} in the given {@code zone}.
+   *
+   * @param instant to be converted to String
+   * @param pattern must conform to the specifications of {@link DateTimeFormatter}
+   * @param zone zone in which the local fields of {@code instant} are printed, null to use
+   *        {@link ZoneId#systemDefault()}
+   * @return string representation of the given {@code instant}. Never returns null.
+   */
+  public static String toString(Instant instant, String pattern, ZoneId zone) {
+    if (instant != null && StringUtils.isNotBlank(pattern)) {
+      return formatter(pattern).withZone(zone == null ? ZoneId.systemDefault() : zone)
+          .format(instant);
+    }
+    return "";
+  }
+
+  /**
+   * Returns string representation of the given {@code date}.
+   *
+   * @param date to be converted to String
+   * @param pattern must conform to the specifications of {@link DateTimeFormatter}
+   * @return string representation of the given {@code date}. Never returns null.
+   */
+  public static String toString(LocalDate date, String pattern) {
+    if (date != null && StringUtils.isNotBlank(pattern)) {
+      return formatter(pattern).get().format(date);
+    }
+    return "";
+  }
+
+  /**
+   * Returns string representation of the given {@code dateTime}.
+   *
+   * @param dateTime to be converted to String
+   * @param pattern must conform to the specifications of {@link DateTimeFormatter}
+   * @return string representation of the given {@code dateTime}. Never returns null.
+   */
+  public static String toString(LocalDateTime dateTime, String pattern) {
+    if (dateTime != null && StringUtils.isNotBlank(pattern)) {
+      return formatter(pattern).get().format(dateTime);
+    }
+    return "";
+  }
+
+  /**
+   * Returns string representation of the given {@code dateTime} in its own zone.
+   *
+   * @param dateTime to be converted to String
+   * @param pattern must conform to the specifications of {@link DateTimeFormatter}
+   * @return string representation of the given {@code dateTime}. Never returns null.
+   */
+  public static String toString(ZonedDateTime dateTime, String pattern) {
+    if (dateTime != null && StringUtils.isNotBlank(pattern)) {
+      return formatter(pattern).get().format(dateTime);
+    }
+    return "";
+  }
+
+  /**
+   * Parses the given {@code str} using {@code pattern} to an {@link Instant}, reading the local
+   * fields in the system default zone unless {@code str} carries its own zone or offset.
+   *
+   * @see JavaTimeHelper#toInstant(String, String, ZoneId)
+   * @param str to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormatter}
+   * @return parsed instant if neither {@code str} nor {@code pattern} is blank, otherwise returns
+   *         null
+   * @throws java.time.format.DateTimeParseException if {@code str} cannot be parsed
+   */
+  public static Instant toInstant(String str, String pattern) {
+    return toInstant(str, pattern, ZoneId.systemDefault());
+  }
+
+  /**
+   * Parses the given {@code str} using {@code pattern} to an {@link Instant}, reading the local
+   * fields in {@code zone} unless {@code str} carries its own zone or offset. Missing time fields
+   * default to midnight.
+   *
+   * @param str to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormatter}
+   * @param zone zone of the local fields, null to use {@link ZoneId#systemDefault()}
+   * @return parsed instant if neither {@code str} nor {@code pattern} is blank, otherwise returns
+   *         null
+   * @throws java.time.format.DateTimeParseException if {@code str} cannot be parsed
+   */
+  public static Instant toInstant(String str, String pattern, ZoneId zone) {
+    ZonedDateTime dateTime = toZonedDateTime(str, pattern, zone);
+    return dateTime == null ? null : dateTime.toInstant();
+  }
+
+  /**
+   * Parses the given {@code str} using {@code pattern} to a {@link LocalDate}.
+   *
+   * @param str to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormatter}
+   * @return parsed date if neither {@code str} nor {@code pattern} is blank, otherwise returns null
+   * @throws java.time.format.DateTimeParseException if {@code str} cannot be parsed
+   */
+  public static LocalDate toLocalDate(String str, String pattern) {
+    if (StringUtils.isNoneBlank(str, pattern)) {
+      return formatter(pattern).get().parse(str, LocalDate::from);
+    }
+    return null;
+  }
+
+  /**
+   * Parses the given {@code str} using {@code pattern} to a {@link LocalDateTime}. Missing time
+   * fields default to midnight.
+   *
+   * @param str to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormatter}
+   * @return parsed date time if neither {@code str} nor {@code pattern} is blank, otherwise returns
+   *         null
+   * @throws java.time.format.DateTimeParseException if {@code str} cannot be parsed
+   */
+  public static LocalDateTime toLocalDateTime(String str, String pattern) {
+    if (StringUtils.isNoneBlank(str, pattern)) {
+      TemporalAccessor parsed = formatter(pattern).get().parse(str);
+      return LocalDateTime.of(LocalDate.from(parsed), localTime(parsed));
+    }
+    return null;
+  }
+
+  /**
+   * Parses the given {@code str} using {@code pattern} to a {@link ZonedDateTime}, in {@code zone}
+   * unless {@code str} carries its own zone or offset. Missing time fields default to midnight.
+   *
+   * @param str to be parsed
+   * @param pattern must conform to the specifications of {@link DateTimeFormatter}
+   * @param zone zone of the local fields, null to use {@link ZoneId#systemDefault()}
+   * @return parsed date time if neither {@code str} nor {@code pattern} is blank, otherwise returns
+   *         null
+   * @throws java.time.format.DateTimeParseException if {@code str} cannot be parsed
+   */
+  public static ZonedDateTime toZonedDateTime(String str, String pattern, ZoneId zone) {
+    if (StringUtils.isNoneBlank(str, pattern)) {
+      TemporalAccessor parsed = formatter(pattern).get().parse(str);
+      ZoneId parsedZone = parsed.query(TemporalQueries.zone());
+      if (parsedZone == null) {
+        parsedZone = zone == null ? ZoneId.systemDefault() : zone;
+      }
+      return ZonedDateTime.of(LocalDate.from(parsed), localTime(parsed), parsedZone);
+    }
+    return null;
+  }
+
+  private static LocalTime localTime(TemporalAccessor parsed) {
+    LocalTime time = parsed.query(TemporalQueries.localTime());
+    return time == null ? LocalTime.MIDNIGHT : time;
+  }
+
+  private static ChronoUnit toChronoUnit(TimeUnit unit) {
+    if (unit == null) {
+      return ChronoUnit.MILLIS;
+    }
+    switch (unit) {
+      case NANOSECONDS:
+        return ChronoUnit.NANOS;
+      case SECONDS:
+        return ChronoUnit.SECONDS;
+      case MINUTES:
+        return ChronoUnit.MINUTES;
+      case HOURS:
+        return ChronoUnit.HOURS;
+      case DAYS:
+        return ChronoUnit.DAYS;
+      case WEEKS:
+        return ChronoUnit.WEEKS;
+      default:
+        return ChronoUnit.MILLIS;
+    }
+  }
+
+  private static boolean compareNull(Object first, TimeComparator comparator, Object second) {
+    if (TimeComparator.EQUAL_TO.equals(comparator) && first == null && second == null) {
+      return true;
+    }
+    return TimeComparator.NOT_EQUAL_TO.equals(comparator) && (first == null ^ second == null);
+  }
+
+  private static boolean compare(TimeComparator comparator, int result) {
+    if (comparator == null) {
+      return false;
+    }
+    switch (comparator) {
+      case BEFORE:
+        return result < 0;
+      case BEFORE_OR_EQUAL_TO:
+        return result <= 0;
+      case EQUAL_TO:
+        return result == 0;
+      case NOT_EQUAL_TO:
+        return result != 0;
+      case AFTER:
+        return result > 0;
+      case AFTER_OR_EQUAL_TO:
+        return result >= 0;
+      default:
+        return false;
+    }
+  }
+
+  private static CachedFormatter formatter(String pattern) {
+    CachedFormatter formatter = FORMATTERS.get(pattern);
+    if (formatter == null) {
+      formatter = new CachedFormatter(DateTimeFormatter.ofPattern(pattern));
+      if (FORMATTERS.size() < MAX_CACHED_PATTERNS) {
+        CachedFormatter existing = FORMATTERS.putIfAbsent(pattern, formatter);
+        formatter = existing == null ? formatter : existing;
+      }
+    }
+    return formatter;
+  }
+
+  /**
+   * Compiled {@link DateTimeFormatter} of a pattern, re-localized only when the default locale
+   * changes and bound to the last zone it was used with, so steady state calls reuse the same
+   * formatter instances.
+   */
+  private static final class CachedFormatter {
+
+    private final DateTimeFormatter formatter;
+    private volatile DateTimeFormatter localized;
+    private volatile DateTimeFormatter zoned;
+
+    private CachedFormatter(DateTimeFormatter formatter) {
+      this.formatter = formatter;
+      this.localized = formatter;
+      this.zoned = formatter;
+    }
+
+    private DateTimeFormatter get() {
+      DateTimeFormatter current = localized;
+      Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+      if (!current.getLocale().equals(locale)) {
+        current = formatter.withLocale(locale);
+        localized = current;
+      }
+      return current;
+    }
+
+    private DateTimeFormatter withZone(ZoneId zone) {
+      DateTimeFormatter current = zoned;
+      Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+      if (!zone.equals(current.getZone()) || !current.getLocale().equals(locale)) {
+        current = formatter.withLocale(locale).withZone(zone);
+        zoned = current;
+      }
+      return current;
+    }
+  }
+}
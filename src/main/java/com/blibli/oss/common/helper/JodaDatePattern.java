@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import org.joda.time.Chronology;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.DateTimeParserBucket;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * {@link DatePattern} backed by a Joda {@link DateTimeFormatter}. Supports any pattern accepted by
+ * {@link org.joda.time.format.DateTimeFormat}.
+ */
+final class JodaDatePattern extends DatePattern {
+
+  private final DateTimeFormatter formatter;
+
+  JodaDatePattern(String pattern, DateTimeFormatter formatter) {
+    super(pattern);
+    this.formatter = formatter;
+  }
+
+  @Override
+  public JodaDatePattern withZone(DateTimeZone zone) {
+    return new JodaDatePattern(getPattern(), formatter.withZone(zone));
+  }
+
+  @Override
+  public DateTimeZone getZone() {
+    return formatter.getZone();
+  }
+
+  @Override
+  public JodaDatePattern withLocale(Locale locale) {
+    return new JodaDatePattern(getPattern(), formatter.withLocale(locale));
+  }
+
+  @Override
+  public Locale getLocale() {
+    return formatter.getLocale();
+  }
+
+  @Override
+  public String print(long millis) {
+    return formatter.print(millis);
+  }
+
+  @Override
+  public StringBuilder printTo(StringBuilder buf, long millis) {
+    try {
+      formatter.printTo(buf, millis);
+    } catch (IOException e) {
+      // StringBuilder never throws IOException
+    }
+    return buf;
+  }
+
+  @Override
+  public void printTo(Appendable out, long millis) throws IOException {
+    formatter.printTo(out, millis);
+  }
+
+  @Override
+  public long parseMillis(CharSequence text) {
+    return formatter.parseMillis(text.toString());
+  }
+
+  /**
+   * Mirrors {@link DateTimeFormatter#parseMillis(String)}, except that unparsable text is detected
+   * through the parse position instead of an exception. Field values that only turn out to be out
+   * of range once the instant is computed are still reported by Joda through an exception, which
+   * is caught here.
+   */
+  @Override
+  public long parseMillis(CharSequence text, long defaultValue) {
+    if (text == null) {
+      return defaultValue;
+    }
+    String str = text.toString();
+    DateTimeParserBucket bucket = new DateTimeParserBucket(0L, selectChronology(),
+        formatter.getLocale(), formatter.getPivotYear(), formatter.getDefaultYear());
+    if (formatter.getParser().parseInto(bucket, str, 0) != str.length()) {
+      return defaultValue;
+    }
+    try {
+      return bucket.computeMillis(true, str);
+    } catch (IllegalArgumentException e) {
+      return defaultValue;
+    }
+  }
+
+  private Chronology selectChronology() {
+    Chronology chrono = DateTimeUtils.getChronology(formatter.getChronology());
+    return formatter.getZone() == null ? chrono : chrono.withZone(formatter.getZone());
+  }
+}
@@ -19,6 +19,13 @@ package com.blibli.oss.common.helper;
 import com.blibli.oss.common.helper.constants.Comparator;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
 
 /**
  * @author william.s.setiadi on 2/19/2018.
@@ -161,65 +168,716 @@ public class NumberHelper {
   }
 
   /**
-   * Parses the given {@code str} as {@code double}.
+   * see ref
+   *
+   * @see NumberHelper#is(BigDecimal, Comparator, BigDecimal)
+   * @param num1 first number
+   * @param cmp of type {@link Comparator}
+   * @param num2 second number
+   * @return see ref
+   */
+  public static boolean is(FixedDecimal num1, Comparator cmp, FixedDecimal num2) {
+    if (Comparator.EQ.equals(cmp) && num1 == null && num2 == null) {
+      return true;
+    } else if (Comparator.NEQ.equals(cmp) && (num1 == null ^ num2 == null)) {
+      return true;
+    } else if (num1 != null && num2 != null) {
+      return compare(cmp, num1.compareTo(num2));
+    }
+    return false;
+  }
+
+  /**
+   * Parses the given {@code str} as {@code double}. Invalid input is detected without throwing
+   * when parseMode is {@link ParseMode#SUPPRESS_EXCEPTION}, so dirty input costs no more than
+   * valid input. Valid input is converted by a fast path that is correctly rounded, so the result
+   * is bit-identical to {@link Double#parseDouble(String)}.
    *
    * @param str to be parsed to double
    * @param parseMode to specify whether to suppress parsing exceptions or not
-   * @return parsed double. If an exception occurs and parseMode is
+   * @return parsed double. If {@code str} is null or cannot be parsed and parseMode is
    *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns <code>0d</code>
-   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT}
+   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT}, same as
+   *         {@link Double#parseDouble(String)}
    */
   public static double parseDouble(String str, ParseMode parseMode) {
-    try {
-      return Double.parseDouble(str);
-    } catch (NumberFormatException e) {
-      if (ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)) {
-        return 0d;
-      } else {
-        throw e;
-      }
+    if (str != null) {
+      return parseDouble((CharSequence) str, 0, str.length(), parseMode);
     }
+    return ParseMode.SUPPRESS_EXCEPTION.equals(parseMode) ? 0d : Double.parseDouble(str);
   }
 
   /**
-   * Parses the given {@code str} as int.
+   * Parses the given {@code str} as int. Invalid input is detected without throwing when
+   * parseMode is {@link ParseMode#SUPPRESS_EXCEPTION}.
    *
    * @param str to be parsed to int
    * @param parseMode to specify whether to suppress parsing exceptions or not
-   * @return parsed int. If an exception occurs and parseMode is {@link ParseMode#SUPPRESS_EXCEPTION},
-   *         returns 0
-   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT}
+   * @return parsed int. If {@code str} cannot be parsed and parseMode is
+   *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns 0
+   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT}, same as
+   *         {@link Integer#parseInt(String)}
    */
   public static int parseInt(String str, ParseMode parseMode) {
-    try {
-      return Integer.parseInt(str);
-    } catch (NumberFormatException e) {
-      if (ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)) {
-        return 0;
-      } else {
-        throw e;
-      }
+    if (ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)) {
+      return str == null ? 0 : NumberParser.parseInt(str, 0, str.length(), 0);
     }
+    return Integer.parseInt(str);
   }
 
   /**
-   * Parses the given {@code str} as long.
+   * Parses the given {@code str} as long. Invalid input is detected without throwing when
+   * parseMode is {@link ParseMode#SUPPRESS_EXCEPTION}.
    *
    * @param str to be parsed to long
    * @param parseMode to specify whether to suppress parsing exceptions or not
-   * @return parsed long. If exception occurs and parseMode is {@link ParseMode#SUPPRESS_EXCEPTION},
-   *         returns <code>0L</code>
-   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT}
+   * @return parsed long. If {@code str} cannot be parsed and parseMode is
+   *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns <code>0L</code>
+   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT}, same as
+   *         {@link Long#parseLong(String)}
    */
   public static long parseLong(String str, ParseMode parseMode) {
-    try {
-      return Long.parseLong(str);
-    } catch (NumberFormatException e) {
-      if (ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)) {
-        return 0L;
-      } else {
-        throw e;
+    if (ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)) {
+      return str == null ? 0L : NumberParser.parseLong(str, 0, str.length(), 0L);
+    }
+    return Long.parseLong(str);
+  }
+
+  /**
+   * Parses a double written the way {@code locale} formats numbers, e.g.
+   * <code>1.234.567,89</code> or <code>Rp 15.000,50</code> for Indonesian.
+   *
+   * @see GroupedNumberParser#forLocale(Locale)
+   * @param str to be parsed to double
+   * @param locale locale of the grouping and decimal separators and the currency symbol, null
+   *        means {@link Locale#getDefault()}
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return parsed double. If {@code str} is null or cannot be parsed and parseMode is
+   *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns <code>0d</code>
+   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT} and {@code str} is null
+   *         or cannot be parsed
+   */
+  public static double parseDouble(String str, Locale locale, ParseMode parseMode) {
+    return GroupedNumberParser.forLocale(locale).parseDouble(str, parseMode);
+  }
+
+  /**
+   * Parses a long written the way {@code locale} formats numbers, e.g. <code>Rp 15.000</code> for
+   * Indonesian.
+   *
+   * @see NumberHelper#parseDouble(String, Locale, ParseMode)
+   * @param str to be parsed to long
+   * @param locale locale of the grouping and decimal separators and the currency symbol, null
+   *        means {@link Locale#getDefault()}
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return parsed long. If {@code str} is null or cannot be parsed and parseMode is
+   *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns <code>0L</code>
+   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT} and {@code str} is null,
+   *         cannot be parsed or is not a whole long
+   */
+  public static long parseLong(String str, Locale locale, ParseMode parseMode) {
+    return GroupedNumberParser.forLocale(locale).parseLong(str, parseMode);
+  }
+
+  /**
+   * Parses the characters of {@code text} from {@code start} (inclusive) to {@code end}
+   * (exclusive) as int in place, e.g. a field of a fixed-width record held in a
+   * {@link StringBuilder}, without creating a substring.
+   *
+   * @see NumberHelper#parseInt(String, ParseMode)
+   * @param text to be parsed
+   * @param start index of the first character to parse
+   * @param end index after the last character to parse
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return parsed int. If {@code text} is null or the range cannot be parsed and parseMode is
+   *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns <code>0</code>
+   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT}, same as
+   *         {@link Integer#parseInt(String)} of the range
+   * @throws IndexOutOfBoundsException if the range is outside {@code text}
+   */
+  public static int parseInt(CharSequence text, int start, int end, ParseMode parseMode) {
+    if (text == null) {
+      return parseInt((String) null, parseMode);
+    }
+    if (start < 0 || start > end || end > text.length()) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + start + ", " + end + ") out of bounds for length " + text.length());
+    }
+    int result = NumberParser.parseInt(text, start, end, 0);
+    if (result == 0 && !ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)
+        && NumberParser.parseInt(text, start, end, 1) == 1) {
+      // not a number, let the JDK throw its usual exception
+      return Integer.parseInt(text.subSequence(start, end).toString());
+    }
+    return result;
+  }
+
+  /**
+   * Parses {@code length} characters of {@code buf} starting at {@code offset} as int in
+   * place.
+   *
+   * @see NumberHelper#parseInt(CharSequence, int, int, ParseMode)
+   * @param buf to be parsed
+   * @param offset index of the first character to parse
+   * @param length number of characters to parse
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return see ref
+   * @throws NumberFormatException see ref
+   * @throws IndexOutOfBoundsException if the range is outside {@code buf}
+   */
+  public static int parseInt(char[] buf, int offset, int length, ParseMode parseMode) {
+    if (buf == null) {
+      return parseInt((String) null, parseMode);
+    }
+    return parseInt(CharBuffer.wrap(buf, offset, length), 0, length, parseMode);
+  }
+
+  /**
+   * Parses {@code length} ASCII bytes of {@code buf} starting at {@code offset} as int in
+   * place. Non-ASCII input is decoded as UTF-8 first.
+   *
+   * @see NumberHelper#parseInt(CharSequence, int, int, ParseMode)
+   * @param buf to be parsed
+   * @param offset index of the first byte to parse
+   * @param length number of bytes to parse
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return see ref
+   * @throws NumberFormatException see ref
+   * @throws IndexOutOfBoundsException if the range is outside {@code buf}
+   */
+  public static int parseInt(byte[] buf, int offset, int length, ParseMode parseMode) {
+    if (buf == null) {
+      return parseInt((String) null, parseMode);
+    }
+    CharSequence text = AsciiBytes.of(buf, offset, length);
+    return parseInt(text, 0, text.length(), parseMode);
+  }
+
+  /**
+   * Parses {@code length} ASCII bytes of {@code buf} starting at absolute index {@code offset}
+   * as int in place, leaving the position of {@code buf} untouched. Non-ASCII input is decoded
+   * as UTF-8 first.
+   *
+   * @see NumberHelper#parseInt(CharSequence, int, int, ParseMode)
+   * @param buf to be parsed
+   * @param offset absolute index of the first byte to parse
+   * @param length number of bytes to parse
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return see ref
+   * @throws NumberFormatException see ref
+   * @throws IndexOutOfBoundsException if the range is outside the limit of {@code buf}
+   */
+  public static int parseInt(ByteBuffer buf, int offset, int length, ParseMode parseMode) {
+    if (buf == null) {
+      return parseInt((String) null, parseMode);
+    }
+    CharSequence text = AsciiBytes.of(buf, offset, length);
+    return parseInt(text, 0, text.length(), parseMode);
+  }
+
+  /**
+   * Parses the characters of {@code text} from {@code start} (inclusive) to {@code end}
+   * (exclusive) as long in place, e.g. a field of a fixed-width record held in a
+   * {@link StringBuilder}, without creating a substring.
+   *
+   * @see NumberHelper#parseLong(String, ParseMode)
+   * @param text to be parsed
+   * @param start index of the first character to parse
+   * @param end index after the last character to parse
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return parsed long. If {@code text} is null or the range cannot be parsed and parseMode is
+   *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns <code>0L</code>
+   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT}, same as
+   *         {@link Long#parseLong(String)} of the range
+   * @throws IndexOutOfBoundsException if the range is outside {@code text}
+   */
+  public static long parseLong(CharSequence text, int start, int end, ParseMode parseMode) {
+    if (text == null) {
+      return parseLong((String) null, parseMode);
+    }
+    if (start < 0 || start > end || end > text.length()) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + start + ", " + end + ") out of bounds for length " + text.length());
+    }
+    long result = NumberParser.parseLong(text, start, end, 0L);
+    if (result == 0L && !ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)
+        && NumberParser.parseLong(text, start, end, 1L) == 1L) {
+      // not a number, let the JDK throw its usual exception
+      return Long.parseLong(text.subSequence(start, end).toString());
+    }
+    return result;
+  }
+
+  /**
+   * Parses {@code length} characters of {@code buf} starting at {@code offset} as long in
+   * place.
+   *
+   * @see NumberHelper#parseLong(CharSequence, int, int, ParseMode)
+   * @param buf to be parsed
+   * @param offset index of the first character to parse
+   * @param length number of characters to parse
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return see ref
+   * @throws NumberFormatException see ref
+   * @throws IndexOutOfBoundsException if the range is outside {@code buf}
+   */
+  public static long parseLong(char[] buf, int offset, int length, ParseMode parseMode) {
+    if (buf == null) {
+      return parseLong((String) null, parseMode);
+    }
+    return parseLong(CharBuffer.wrap(buf, offset, length), 0, length, parseMode);
+  }
+
+  /**
+   * Parses {@code length} ASCII bytes of {@code buf} starting at {@code offset} as long in
+   * place. Non-ASCII input is decoded as UTF-8 first.
+   *
+   * @see NumberHelper#parseLong(CharSequence, int, int, ParseMode)
+   * @param buf to be parsed
+   * @param offset index of the first byte to parse
+   * @param length number of bytes to parse
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return see ref
+   * @throws NumberFormatException see ref
+   * @throws IndexOutOfBoundsException if the range is outside {@code buf}
+   */
+  public static long parseLong(byte[] buf, int offset, int length, ParseMode parseMode) {
+    if (buf == null) {
+      return parseLong((String) null, parseMode);
+    }
+    CharSequence text = AsciiBytes.of(buf, offset, length);
+    return parseLong(text, 0, text.length(), parseMode);
+  }
+
+  /**
+   * Parses {@code length} ASCII bytes of {@code buf} starting at absolute index {@code offset}
+   * as long in place, leaving the position of {@code buf} untouched. Non-ASCII input is decoded
+   * as UTF-8 first.
+   *
+   * @see NumberHelper#parseLong(CharSequence, int, int, ParseMode)
+   * @param buf to be parsed
+   * @param offset absolute index of the first byte to parse
+   * @param length number of bytes to parse
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return see ref
+   * @throws NumberFormatException see ref
+   * @throws IndexOutOfBoundsException if the range is outside the limit of {@code buf}
+   */
+  public static long parseLong(ByteBuffer buf, int offset, int length, ParseMode parseMode) {
+    if (buf == null) {
+      return parseLong((String) null, parseMode);
+    }
+    CharSequence text = AsciiBytes.of(buf, offset, length);
+    return parseLong(text, 0, text.length(), parseMode);
+  }
+
+  /**
+   * Parses the characters of {@code text} from {@code start} (inclusive) to {@code end}
+   * (exclusive) as double in place, e.g. a field of a fixed-width record held in a
+   * {@link StringBuilder}, without creating a substring.
+   *
+   * @see NumberHelper#parseDouble(String, ParseMode)
+   * @param text to be parsed
+   * @param start index of the first character to parse
+   * @param end index after the last character to parse
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return parsed double. If {@code text} is null or the range cannot be parsed and parseMode is
+   *         {@link ParseMode#SUPPRESS_EXCEPTION}, returns <code>0d</code>
+   * @throws NumberFormatException if parseMode is {@link ParseMode#STRICT}, same as
+   *         {@link Double#parseDouble(String)} of the range
+   * @throws IndexOutOfBoundsException if the range is outside {@code text}
+   */
+  public static double parseDouble(CharSequence text, int start, int end, ParseMode parseMode) {
+    if (text == null) {
+      return parseDouble((String) null, parseMode);
+    }
+    if (start < 0 || start > end || end > text.length()) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + start + ", " + end + ") out of bounds for length " + text.length());
+    }
+    double result = NumberParser.parseDouble(text, start, end, 0d);
+    if (result == 0d && !ParseMode.SUPPRESS_EXCEPTION.equals(parseMode)
+        && NumberParser.parseDouble(text, start, end, 1d) == 1d) {
+      // not a number, let the JDK throw its usual exception
+      return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+    return result;
+  }
+
+  /**
+   * Parses {@code length} characters of {@code buf} starting at {@code offset} as double in
+   * place.
+   *
+   * @see NumberHelper#parseDouble(CharSequence, int, int, ParseMode)
+   * @param buf to be parsed
+   * @param offset index of the first character to parse
+   * @param length number of characters to parse
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return see ref
+   * @throws NumberFormatException see ref
+   * @throws IndexOutOfBoundsException if the range is outside {@code buf}
+   */
+  public static double parseDouble(char[] buf, int offset, int length, ParseMode parseMode) {
+    if (buf == null) {
+      return parseDouble((String) null, parseMode);
+    }
+    return parseDouble(CharBuffer.wrap(buf, offset, length), 0, length, parseMode);
+  }
+
+  /**
+   * Parses {@code length} ASCII bytes of {@code buf} starting at {@code offset} as double in
+   * place. Non-ASCII input is decoded as UTF-8 first.
+   *
+   * @see NumberHelper#parseDouble(CharSequence, int, int, ParseMode)
+   * @param buf to be parsed
+   * @param offset index of the first byte to parse
+   * @param length number of bytes to parse
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return see ref
+   * @throws NumberFormatException see ref
+   * @throws IndexOutOfBoundsException if the range is outside {@code buf}
+   */
+  public static double parseDouble(byte[] buf, int offset, int length, ParseMode parseMode) {
+    if (buf == null) {
+      return parseDouble((String) null, parseMode);
+    }
+    CharSequence text = AsciiBytes.of(buf, offset, length);
+    return parseDouble(text, 0, text.length(), parseMode);
+  }
+
+  /**
+   * Parses {@code length} ASCII bytes of {@code buf} starting at absolute index {@code offset}
+   * as double in place, leaving the position of {@code buf} untouched. Non-ASCII input is decoded
+   * as UTF-8 first.
+   *
+   * @see NumberHelper#parseDouble(CharSequence, int, int, ParseMode)
+   * @param buf to be parsed
+   * @param offset absolute index of the first byte to parse
+   * @param length number of bytes to parse
+   * @param parseMode to specify whether to suppress parsing exceptions or not
+   * @return see ref
+   * @throws NumberFormatException see ref
+   * @throws IndexOutOfBoundsException if the range is outside the limit of {@code buf}
+   */
+  public static double parseDouble(ByteBuffer buf, int offset, int length, ParseMode parseMode) {
+    if (buf == null) {
+      return parseDouble((String) null, parseMode);
+    }
+    CharSequence text = AsciiBytes.of(buf, offset, length);
+    return parseDouble(text, 0, text.length(), parseMode);
+  }
+
+  /**
+   * Parses a column of texts into int values. Entries that are null or cannot be parsed become
+   * <code>0</code> and are flagged in {@code invalid}, so that a parsed zero can be told apart
+   * from a broken entry without catching exceptions.
+   *
+   * @see NumberHelper#parseInts(List, BitSet, boolean)
+   * @param texts to be parsed, one entry per row
+   * @param invalid cleared, then bit {@code i} is set if row {@code i} is null or not a valid
+   *        int, may be null if not needed
+   * @return parsed values, one per row. Empty if {@code texts} is null
+   */
+  public static int[] parseInts(List<? extends CharSequence> texts, BitSet invalid) {
+    return parseInts(texts, invalid, false);
+  }
+
+  /**
+   * Parses a column of texts into int values, optionally splitting large columns across the
+   * common fork-join pool. Rows are handed out in blocks of 64 so that every thread owns whole
+   * words of the {@code invalid} bitmap.
+   *
+   * @see NumberHelper#parseInt(CharSequence, int, int, ParseMode)
+   * @param texts to be parsed, one entry per row
+   * @param invalid cleared, then bit {@code i} is set if row {@code i} is null or not a valid
+   *        int, may be null if not needed
+   * @param parallel whether to parse in parallel
+   * @return parsed values, one per row. Empty if {@code texts} is null
+   */
+  public static int[] parseInts(List<? extends CharSequence> texts, BitSet invalid,
+      boolean parallel) {
+    CharSequence[] rows = texts == null ? new CharSequence[0]
+        : texts.toArray(new CharSequence[texts.size()]);
+    int[] values = new int[rows.length];
+    long[] words = parseRows(rows.length, parallel, row -> {
+      CharSequence text = rows[row];
+      if (text == null) {
+        return false;
+      }
+      values[row] = NumberParser.parseInt(text, 0, text.length(), 0);
+      return values[row] != 0
+          || NumberParser.parseInt(text, 0, text.length(), 1) != 1;
+    });
+    flag(invalid, words);
+    return values;
+  }
+
+  /**
+   * Parses a delimited buffer, e.g. one column of a feed joined by new lines, into int values
+   * in place. Fields that cannot be parsed, including empty ones, become <code>0</code> and are
+   * flagged in {@code invalid}.
+   *
+   * @see NumberHelper#parseInts(CharSequence, char, BitSet, boolean)
+   * @param text to be parsed, fields separated by {@code delimiter}
+   * @param delimiter between two fields
+   * @param invalid cleared, then bit {@code i} is set if field {@code i} is not a valid
+   *        int, may be null if not needed
+   * @return parsed values, one per field. Empty if {@code text} is null or empty
+   */
+  public static int[] parseInts(CharSequence text, char delimiter, BitSet invalid) {
+    return parseInts(text, delimiter, invalid, false);
+  }
+
+  /**
+   * Parses a delimited buffer into int values in place, optionally in parallel.
+   *
+   * @see NumberHelper#parseInts(CharSequence, char, BitSet)
+   * @see NumberHelper#parseInts(List, BitSet, boolean)
+   * @param text to be parsed, fields separated by {@code delimiter}
+   * @param delimiter between two fields
+   * @param invalid cleared, then bit {@code i} is set if field {@code i} is not a valid
+   *        int, may be null if not needed
+   * @param parallel whether to parse in parallel
+   * @return parsed values, one per field. Empty if {@code text} is null or empty
+   */
+  public static int[] parseInts(CharSequence text, char delimiter, BitSet invalid,
+      boolean parallel) {
+    int[] bounds = fieldBounds(text, delimiter);
+    int[] values = new int[bounds.length - 1];
+    long[] words = parseRows(values.length, parallel, row -> {
+      int start = bounds[row] + 1;
+      int end = bounds[row + 1];
+      values[row] = NumberParser.parseInt(text, start, end, 0);
+      return values[row] != 0 || NumberParser.parseInt(text, start, end, 1) != 1;
+    });
+    flag(invalid, words);
+    return values;
+  }
+
+  /**
+   * Parses a column of texts into long values. Entries that are null or cannot be parsed become
+   * <code>0L</code> and are flagged in {@code invalid}, so that a parsed zero can be told apart
+   * from a broken entry without catching exceptions.
+   *
+   * @see NumberHelper#parseLongs(List, BitSet, boolean)
+   * @param texts to be parsed, one entry per row
+   * @param invalid cleared, then bit {@code i} is set if row {@code i} is null or not a valid
+   *        long, may be null if not needed
+   * @return parsed values, one per row. Empty if {@code texts} is null
+   */
+  public static long[] parseLongs(List<? extends CharSequence> texts, BitSet invalid) {
+    return parseLongs(texts, invalid, false);
+  }
+
+  /**
+   * Parses a column of texts into long values, optionally splitting large columns across the
+   * common fork-join pool. Rows are handed out in blocks of 64 so that every thread owns whole
+   * words of the {@code invalid} bitmap.
+   *
+   * @see NumberHelper#parseLong(CharSequence, int, int, ParseMode)
+   * @param texts to be parsed, one entry per row
+   * @param invalid cleared, then bit {@code i} is set if row {@code i} is null or not a valid
+   *        long, may be null if not needed
+   * @param parallel whether to parse in parallel
+   * @return parsed values, one per row. Empty if {@code texts} is null
+   */
+  public static long[] parseLongs(List<? extends CharSequence> texts, BitSet invalid,
+      boolean parallel) {
+    CharSequence[] rows = texts == null ? new CharSequence[0]
+        : texts.toArray(new CharSequence[texts.size()]);
+    long[] values = new long[rows.length];
+    long[] words = parseRows(rows.length, parallel, row -> {
+      CharSequence text = rows[row];
+      if (text == null) {
+        return false;
+      }
+      values[row] = NumberParser.parseLong(text, 0, text.length(), 0L);
+      return values[row] != 0L
+          || NumberParser.parseLong(text, 0, text.length(), 1L) != 1L;
+    });
+    flag(invalid, words);
+    return values;
+  }
+
+  /**
+   * Parses a delimited buffer, e.g. one column of a feed joined by new lines, into long values
+   * in place. Fields that cannot be parsed, including empty ones, become <code>0L</code> and are
+   * flagged in {@code invalid}.
+   *
+   * @see NumberHelper#parseLongs(CharSequence, char, BitSet, boolean)
+   * @param text to be parsed, fields separated by {@code delimiter}
+   * @param delimiter between two fields
+   * @param invalid cleared, then bit {@code i} is set if field {@code i} is not a valid
+   *        long, may be null if not needed
+   * @return parsed values, one per field. Empty if {@code text} is null or empty
+   */
+  public static long[] parseLongs(CharSequence text, char delimiter, BitSet invalid) {
+    return parseLongs(text, delimiter, invalid, false);
+  }
+
+  /**
+   * Parses a delimited buffer into long values in place, optionally in parallel.
+   *
+   * @see NumberHelper#parseLongs(CharSequence, char, BitSet)
+   * @see NumberHelper#parseLongs(List, BitSet, boolean)
+   * @param text to be parsed, fields separated by {@code delimiter}
+   * @param delimiter between two fields
+   * @param invalid cleared, then bit {@code i} is set if field {@code i} is not a valid
+   *        long, may be null if not needed
+   * @param parallel whether to parse in parallel
+   * @return parsed values, one per field. Empty if {@code text} is null or empty
+   */
+  public static long[] parseLongs(CharSequence text, char delimiter, BitSet invalid,
+      boolean parallel) {
+    int[] bounds = fieldBounds(text, delimiter);
+    long[] values = new long[bounds.length - 1];
+    long[] words = parseRows(values.length, parallel, row -> {
+      int start = bounds[row] + 1;
+      int end = bounds[row + 1];
+      values[row] = NumberParser.parseLong(text, start, end, 0L);
+      return values[row] != 0L || NumberParser.parseLong(text, start, end, 1L) != 1L;
+    });
+    flag(invalid, words);
+    return values;
+  }
+
+  /**
+   * Parses a column of texts into double values. Entries that are null or cannot be parsed become
+   * <code>0d</code> and are flagged in {@code invalid}, so that a parsed zero can be told apart
+   * from a broken entry without catching exceptions.
+   *
+   * @see NumberHelper#parseDoubles(List, BitSet, boolean)
+   * @param texts to be parsed, one entry per row
+   * @param invalid cleared, then bit {@code i} is set if row {@code i} is null or not a valid
+   *        double, may be null if not needed
+   * @return parsed values, one per row. Empty if {@code texts} is null
+   */
+  public static double[] parseDoubles(List<? extends CharSequence> texts, BitSet invalid) {
+    return parseDoubles(texts, invalid, false);
+  }
+
+  /**
+   * Parses a column of texts into double values, optionally splitting large columns across the
+   * common fork-join pool. Rows are handed out in blocks of 64 so that every thread owns whole
+   * words of the {@code invalid} bitmap.
+   *
+   * @see NumberHelper#parseDouble(CharSequence, int, int, ParseMode)
+   * @param texts to be parsed, one entry per row
+   * @param invalid cleared, then bit {@code i} is set if row {@code i} is null or not a valid
+   *        double, may be null if not needed
+   * @param parallel whether to parse in parallel
+   * @return parsed values, one per row. Empty if {@code texts} is null
+   */
+  public static double[] parseDoubles(List<? extends CharSequence> texts, BitSet invalid,
+      boolean parallel) {
+    CharSequence[] rows = texts == null ? new CharSequence[0]
+        : texts.toArray(new CharSequence[texts.size()]);
+    double[] values = new double[rows.length];
+    long[] words = parseRows(rows.length, parallel, row -> {
+      CharSequence text = rows[row];
+      if (text == null) {
+        return false;
+      }
+      values[row] = NumberParser.parseDouble(text, 0, text.length(), 0d);
+      return values[row] != 0d
+          || NumberParser.parseDouble(text, 0, text.length(), 1d) != 1d;
+    });
+    flag(invalid, words);
+    return values;
+  }
+
+  /**
+   * Parses a delimited buffer, e.g. one column of a feed joined by new lines, into double values
+   * in place. Fields that cannot be parsed, including empty ones, become <code>0d</code> and are
+   * flagged in {@code invalid}.
+   *
+   * @see NumberHelper#parseDoubles(CharSequence, char, BitSet, boolean)
+   * @param text to be parsed, fields separated by {@code delimiter}
+   * @param delimiter between two fields
+   * @param invalid cleared, then bit {@code i} is set if field {@code i} is not a valid
+   *        double, may be null if not needed
+   * @return parsed values, one per field. Empty if {@code text} is null or empty
+   */
+  public static double[] parseDoubles(CharSequence text, char delimiter, BitSet invalid) {
+    return parseDoubles(text, delimiter, invalid, false);
+  }
+
+  /**
+   * Parses a delimited buffer into double values in place, optionally in parallel.
+   *
+   * @see NumberHelper#parseDoubles(CharSequence, char, BitSet)
+   * @see NumberHelper#parseDoubles(List, BitSet, boolean)
+   * @param text to be parsed, fields separated by {@code delimiter}
+   * @param delimiter between two fields
+   * @param invalid cleared, then bit {@code i} is set if field {@code i} is not a valid
+   *        double, may be null if not needed
+   * @param parallel whether to parse in parallel
+   * @return parsed values, one per field. Empty if {@code text} is null or empty
+   */
+  public static double[] parseDoubles(CharSequence text, char delimiter, BitSet invalid,
+      boolean parallel) {
+    int[] bounds = fieldBounds(text, delimiter);
+    double[] values = new double[bounds.length - 1];
+    long[] words = parseRows(values.length, parallel, row -> {
+      int start = bounds[row] + 1;
+      int end = bounds[row + 1];
+      values[row] = NumberParser.parseDouble(text, start, end, 0d);
+      return values[row] != 0d || NumberParser.parseDouble(text, start, end, 1d) != 1d;
+    });
+    flag(invalid, words);
+    return values;
+  }
+
+  /**
+   * Runs {@code parser} on every row, in blocks of 64 rows that map to one word of the returned
+   * bitmap each, so that parallel blocks never share a word.
+   *
+   * @return bitmap words with bit {@code i} set if {@code parser} rejected row {@code i}
+   */
+  private static long[] parseRows(int rows, boolean parallel, IntPredicate parser) {
+    long[] words = new long[(rows + 63) >>> 6];
+    IntStream blocks = IntStream.range(0, words.length);
+    (parallel ? blocks.parallel() : blocks).forEach(block -> {
+      long word = 0;
+      int end = Math.min(rows, (block + 1) << 6);
+      for (int row = block << 6; row < end; row++) {
+        word |= (parser.test(row) ? 0L : 1L) << row;
+      }
+      words[block] = word;
+    });
+    return words;
+  }
+
+  private static void flag(BitSet invalid, long[] words) {
+    if (invalid != null) {
+      invalid.clear();
+      invalid.or(BitSet.valueOf(words));
+    }
+  }
+
+  /**
+   * @return index of the delimiter before every field, then the index after the last field, so
+   *         field {@code i} spans from <code>bounds[i] + 1</code> to <code>bounds[i + 1]</code>
+   */
+  private static int[] fieldBounds(CharSequence text, char delimiter) {
+    int length = text == null ? 0 : text.length();
+    if (length == 0) {
+      return new int[] {-1};
+    }
+    int fields = 1;
+    for (int i = 0; i < length; i++) {
+      if (text.charAt(i) == delimiter) {
+        fields++;
+      }
+    }
+    int[] bounds = new int[fields + 1];
+    bounds[0] = -1;
+    for (int i = 0, field = 1; i < length; i++) {
+      if (text.charAt(i) == delimiter) {
+        bounds[field++] = i;
       }
     }
+    bounds[fields] = length;
+    return bounds;
   }
 }
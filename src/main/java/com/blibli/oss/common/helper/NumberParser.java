@@ -0,0 +1,422 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import java.math.BigInteger;
+
+/**
+ * Exception-free parsers behind {@link NumberHelper}. They accept exactly the input
+ * {@link Integer#parseInt(String)}, {@link Long#parseLong(String)} and
+ * {@link Double#parseDouble(String)} accept, but report invalid input by returning a default value
+ * instead of building a {@link NumberFormatException} and its stack trace.
+ */
+final class NumberParser {
+
+  /**
+   * Powers of ten that are exact as double, for the Clinger fast path.
+   */
+  private static final double[] EXACT_POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7,
+      1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  private static final int MIN_EXPONENT = -348;
+  private static final int MAX_EXPONENT = 347;
+
+  /**
+   * High and low 64 bits of <code>10^e</code> for every e from {@link #MIN_EXPONENT} to
+   * {@link #MAX_EXPONENT}, normalized so that the highest bit is set and truncated to 128 bits.
+   */
+  private static final long[] POWERS_OF_TEN_HIGH = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+  private static final long[] POWERS_OF_TEN_LOW = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+
+  /**
+   * Returned by {@link #eiselLemire(long, int)} when it cannot round with certainty. Never the bits
+   * of a finite double.
+   */
+  private static final long NO_RESULT = -1;
+
+  static {
+    for (int e = MIN_EXPONENT; e <= MAX_EXPONENT; e++) {
+      BigInteger power = BigInteger.TEN.pow(Math.abs(e));
+      BigInteger mantissa;
+      if (e >= 0) {
+        int shift = power.bitLength() - 128;
+        mantissa = shift > 0 ? power.shiftRight(shift) : power.shiftLeft(-shift);
+      } else {
+        mantissa = BigInteger.ONE.shiftLeft(127 + power.bitLength()).divide(power);
+      }
+      POWERS_OF_TEN_HIGH[e - MIN_EXPONENT] = mantissa.shiftRight(64).longValue();
+      POWERS_OF_TEN_LOW[e - MIN_EXPONENT] = mantissa.longValue();
+    }
+  }
+
+  private NumberParser() {
+  }
+
+  /**
+   * Parses {@code text} from {@code start} to {@code end} the way {@link Integer#parseInt(String)}
+   * does.
+   *
+   * @return parsed value, or {@code defaultValue} if the text is not a valid int
+   */
+  static int parseInt(CharSequence text, int start, int end, int defaultValue) {
+    long magnitude = negatedMagnitude(text, start, end, Integer.MIN_VALUE);
+    if (magnitude > 0) {
+      return defaultValue;
+    }
+    return (int) (text.charAt(start) == '-' ? magnitude : -magnitude);
+  }
+
+  /**
+   * Parses {@code text} from {@code start} to {@code end} the way {@link Long#parseLong(String)}
+   * does.
+   *
+   * @return parsed value, or {@code defaultValue} if the text is not a valid long
+   */
+  static long parseLong(CharSequence text, int start, int end, long defaultValue) {
+    long magnitude = negatedMagnitude(text, start, end, Long.MIN_VALUE);
+    if (magnitude > 0) {
+      return defaultValue;
+    }
+    return text.charAt(start) == '-' ? magnitude : -magnitude;
+  }
+
+  /**
+   * Reads an optionally signed decimal integer, accumulating negatively like the JDK does so that
+   * the most negative value does not overflow. Digits are read with {@link Character#digit(char,
+   * int)}, so non-ASCII digits are accepted just like the JDK accepts them.
+   *
+   * @param min most negative value allowed, <code>-(min + 1)</code> is the most positive one
+   * @return minus the magnitude of the number, or 1 if the text is not a valid number in range
+   */
+  private static long negatedMagnitude(CharSequence text, int start, int end, long min) {
+    if (start >= end) {
+      return 1;
+    }
+    int i = start;
+    char first = text.charAt(i);
+    long limit = min + 1;
+    if (first < '0') {
+      if (first == '-') {
+        limit = min;
+      } else if (first != '+') {
+        return 1;
+      }
+      if (++i == end) {
+        return 1;
+      }
+    }
+    long multiplyLimit = limit / 10;
+    long result = 0;
+    while (i < end) {
+      char c = text.charAt(i++);
+      int digit = c <= '9' && c >= '0' ? c - '0' : Character.digit(c, 10);
+      if (digit < 0 || result < multiplyLimit) {
+        return 1;
+      }
+      result *= 10;
+      if (result < limit + digit) {
+        return 1;
+      }
+      result -= digit;
+    }
+    return result;
+  }
+
+  /**
+   * Parses {@code text} from {@code start} to {@code end} the way
+   * {@link Double#parseDouble(String)} does. The text is first checked against the grammar of
+   * {@link Double#valueOf(String)}, which is the part that throws, and only valid text is
+   * converted, see {@link #toDouble(CharSequence, int, int)}.
+   *
+   * @return parsed value, or {@code defaultValue} if the text is not a valid double
+   */
+  static double parseDouble(CharSequence text, int start, int end, double defaultValue) {
+    while (start < end && text.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && text.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    if (!isDouble(text, start, end)) {
+      return defaultValue;
+    }
+    return toDouble(text, start, end);
+  }
+
+  /**
+   * Converts trimmed text that passed {@link #isDouble(CharSequence, int, int)} to the nearest
+   * double, bit-identical to {@link Double#parseDouble(String)}. Decimal literals are read into a
+   * 64-bit significand and a decimal exponent, then converted with Clinger's fast path when both
+   * are exact as double, or else with the Eisel-Lemire algorithm. Hexadecimal literals,
+   * <code>NaN</code>, <code>Infinity</code> and the rare decimals that cannot be rounded with
+   * certainty from the first 19 significant digits are left to the JDK.
+   */
+  private static double toDouble(CharSequence text, int start, int end) {
+    int i = start;
+    boolean negative = text.charAt(i) == '-';
+    if (negative || text.charAt(i) == '+') {
+      i++;
+    }
+    char c = text.charAt(i);
+    if (c == 'N' || c == 'I' || c == '0' && i + 1 < end && (text.charAt(i + 1) | 0x20) == 'x') {
+      return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+
+    // up to 19 significant digits, read as unsigned
+    long significand = 0;
+    int digits = 0;
+    int exponent = 0;
+    boolean truncated = false;
+    boolean point = false;
+    for (; i < end; i++) {
+      c = text.charAt(i);
+      if (c == '.') {
+        point = true;
+      } else if (c < '0' || c > '9') {
+        break;
+      } else if (digits < 19) {
+        if (digits > 0 || c != '0') {
+          significand = significand * 10 + (c - '0');
+          digits++;
+        }
+        exponent -= point ? 1 : 0;
+      } else {
+        exponent += point ? 0 : 1;
+        truncated |= c != '0';
+      }
+    }
+    if (i < end && (c == 'e' || c == 'E')) {
+      boolean negativeExponent = text.charAt(++i) == '-';
+      if (negativeExponent || text.charAt(i) == '+') {
+        i++;
+      }
+      int explicit = 0;
+      for (; i < end && (c = text.charAt(i)) >= '0' && c <= '9'; i++) {
+        if (explicit >= 100000) {
+          // only a very long digit run can bring such an exponent back into range, and the int
+          // would overflow soon, so leave it to the JDK
+          return Double.parseDouble(text.subSequence(start, end).toString());
+        }
+        explicit = explicit * 10 + (c - '0');
+      }
+      exponent += negativeExponent ? -explicit : explicit;
+    }
+
+    double value = toDouble(significand, exponent, truncated);
+    if (Double.isNaN(value)) {
+      return Double.parseDouble(text.subSequence(start, end).toString());
+    }
+    return negative ? -value : value;
+  }
+
+  /**
+   * Converts <code>significand * 10^exponent</code> to the nearest double without falling back to
+   * the JDK.
+   *
+   * @param significand first 19 significant digits at most, unsigned
+   * @param exponent decimal exponent of the last digit of {@code significand}
+   * @param truncated whether non-zero digits were dropped after the ones in {@code significand}
+   * @return the positive double, or {@link Double#NaN} if it cannot be rounded with certainty
+   */
+  static double toDouble(long significand, int exponent, boolean truncated) {
+    if (significand == 0) {
+      return 0d;
+    }
+    if (!truncated && Long.compareUnsigned(significand, 1L << 53) <= 0
+        && exponent >= -22 && exponent <= 22) {
+      return exponent < 0 ? significand / EXACT_POWERS_OF_TEN[-exponent]
+          : significand * EXACT_POWERS_OF_TEN[exponent];
+    }
+    long bits = eiselLemire(significand, exponent);
+    if (truncated && bits != NO_RESULT && eiselLemire(significand + 1, exponent) != bits) {
+      // the dropped digits may change the rounding
+      bits = NO_RESULT;
+    }
+    return bits == NO_RESULT ? Double.NaN : Double.longBitsToDouble(bits);
+  }
+
+  /**
+   * Eisel-Lemire conversion of <code>significand * 10^exponent</code> to the nearest double, as
+   * described in Daniel Lemire, "Number Parsing at a Gigabyte per Second" (2021).
+   *
+   * @param significand unsigned, not zero
+   * @return bits of the positive double, or {@link #NO_RESULT} if the result is out of the normal
+   *         range or too close to halfway between two doubles to decide
+   */
+  private static long eiselLemire(long significand, int exponent) {
+    if (exponent < MIN_EXPONENT || exponent > MAX_EXPONENT) {
+      return NO_RESULT;
+    }
+    int leadingZeros = Long.numberOfLeadingZeros(significand);
+    long normalized = significand << leadingZeros;
+    long binaryExponent = ((217706L * exponent) >> 16) + 64 + 1023 - leadingZeros;
+
+    long powerHigh = POWERS_OF_TEN_HIGH[exponent - MIN_EXPONENT];
+    long high = unsignedMultiplyHigh(normalized, powerHigh);
+    long low = normalized * powerHigh;
+    if ((high & 0x1FF) == 0x1FF && Long.compareUnsigned(low + normalized, normalized) < 0) {
+      // the truncated low half of the power may carry into the bits that matter
+      long powerLow = POWERS_OF_TEN_LOW[exponent - MIN_EXPONENT];
+      long lowHigh = unsignedMultiplyHigh(normalized, powerLow);
+      long lowLow = normalized * powerLow;
+      long mergedLow = low + lowHigh;
+      long mergedHigh = Long.compareUnsigned(mergedLow, low) < 0 ? high + 1 : high;
+      if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow == -1
+          && Long.compareUnsigned(lowLow + normalized, normalized) < 0) {
+        return NO_RESULT;
+      }
+      high = mergedHigh;
+      low = mergedLow;
+    }
+
+    long upperBit = high >>> 63;
+    long mantissa = high >>> (upperBit + 9);
+    binaryExponent -= 1 ^ upperBit;
+    if (low == 0 && (high & 0x1FF) == 0 && (mantissa & 3) == 1) {
+      // exactly halfway as far as 128 bits can tell
+      return NO_RESULT;
+    }
+    mantissa = (mantissa + (mantissa & 1)) >>> 1;
+    if (mantissa >>> 53 != 0) {
+      mantissa >>>= 1;
+      binaryExponent++;
+    }
+    if (binaryExponent <= 0 || binaryExponent >= 0x7FF) {
+      return NO_RESULT;
+    }
+    return binaryExponent << 52 | mantissa & 0xFFFFFFFFFFFFFL;
+  }
+
+  /**
+   * @return high 64 bits of the unsigned 128-bit product of {@code x} and {@code y}
+   */
+  static long unsignedMultiplyHigh(long x, long y) {
+    long x0 = x & 0xFFFFFFFFL;
+    long x1 = x >>> 32;
+    long y0 = y & 0xFFFFFFFFL;
+    long y1 = y >>> 32;
+    long cross = x1 * y0 + ((x0 * y0) >>> 32) + ((x0 * y1) & 0xFFFFFFFFL);
+    return x1 * y1 + (cross >>> 32) + ((x0 * y1) >>> 32);
+  }
+
+  /**
+   * Checks whether the already trimmed text is a valid {@link Double#valueOf(String)} input:
+   * <code>NaN</code>, <code>Infinity</code>, a decimal or a hexadecimal floating point literal,
+   * each optionally signed and the literals optionally followed by a type suffix.
+   */
+  private static boolean isDouble(CharSequence text, int start, int end) {
+    int i = start;
+    if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+      i++;
+    }
+    if (i == end) {
+      return false;
+    }
+    char c = text.charAt(i);
+    if (c == 'N') {
+      return regionEquals(text, i, end, "NaN");
+    }
+    if (c == 'I') {
+      return regionEquals(text, i, end, "Infinity");
+    }
+    if (c == '0' && i + 1 < end && (text.charAt(i + 1) == 'x' || text.charAt(i + 1) == 'X')) {
+      return isHexDouble(text, i + 2, end);
+    }
+
+    int digits = 0;
+    boolean point = false;
+    for (; i < end; i++) {
+      c = text.charAt(i);
+      if (c >= '0' && c <= '9') {
+        digits++;
+      } else if (c == '.' && !point) {
+        point = true;
+      } else {
+        break;
+      }
+    }
+    if (digits == 0) {
+      return false;
+    }
+    if (i < end && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+      i = skipExponent(text, i + 1, end);
+      if (i < 0) {
+        return false;
+      }
+    }
+    return isSuffixOrEnd(text, i, end);
+  }
+
+  /**
+   * Checks the part of a hexadecimal literal after <code>0x</code>: hex digits with at most one
+   * point and at least one digit, then a mandatory binary exponent.
+   */
+  private static boolean isHexDouble(CharSequence text, int i, int end) {
+    int digits = 0;
+    boolean point = false;
+    for (; i < end; i++) {
+      char c = text.charAt(i);
+      if (c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F') {
+        digits++;
+      } else if (c == '.' && !point) {
+        point = true;
+      } else {
+        break;
+      }
+    }
+    if (digits == 0 || i == end || (text.charAt(i) != 'p' && text.charAt(i) != 'P')) {
+      return false;
+    }
+    i = skipExponent(text, i + 1, end);
+    return i >= 0 && isSuffixOrEnd(text, i, end);
+  }
+
+  /**
+   * @return index after an optionally signed run of at least one ASCII digit, or -1 if there is
+   *         no digit
+   */
+  private static int skipExponent(CharSequence text, int i, int end) {
+    if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+      i++;
+    }
+    int first = i;
+    while (i < end && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+      i++;
+    }
+    return i == first ? -1 : i;
+  }
+
+  private static boolean isSuffixOrEnd(CharSequence text, int i, int end) {
+    if (i == end) {
+      return true;
+    }
+    char c = text.charAt(i);
+    return i + 1 == end && (c == 'f' || c == 'F' || c == 'd' || c == 'D');
+  }
+
+  private static boolean regionEquals(CharSequence text, int start, int end, String expected) {
+    if (end - start != expected.length()) {
+      return false;
+    }
+    for (int i = 0; i < expected.length(); i++) {
+      if (text.charAt(start + i) != expected.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.TimeUnit;
+
+/**
+ * Conversions between {@link TimeUnit} constants, driven by a factor table precomputed for every
+ * pair of units.<br>
+ * A null unit is treated as {@link TimeUnit#MILLISECONDS}, consistent with
+ * {@link DateHelper#toMilliseconds(long, TimeUnit)}.
+ */
+public class TimeUnitHelper {
+
+  private static final TimeUnit[] UNITS = TimeUnit.values();
+
+  /**
+   * {@code MULTIPLIERS[from][to]} is the number of {@code to} units in one {@code from} unit, or 0
+   * if {@code to} is coarser than {@code from}.
+   */
+  private static final long[][] MULTIPLIERS = new long[UNITS.length][UNITS.length];
+
+  /**
+   * {@code DIVISORS[from][to]} is the number of {@code from} units in one {@code to} unit, or 0 if
+   * {@code to} is finer than {@code from}.
+   */
+  private static final long[][] DIVISORS = new long[UNITS.length][UNITS.length];
+
+  /**
+   * {@code LIMITS[from][to]} is the largest duration that can be multiplied without overflow.
+   */
+  private static final long[][] LIMITS = new long[UNITS.length][UNITS.length];
+
+  static {
+    for (TimeUnit from : UNITS) {
+      for (TimeUnit to : UNITS) {
+        long fromNanos = nanosOf(from);
+        long toNanos = nanosOf(to);
+        int i = from.ordinal();
+        int j = to.ordinal();
+        if (fromNanos >= toNanos) {
+          MULTIPLIERS[i][j] = fromNanos / toNanos;
+          LIMITS[i][j] = Long.MAX_VALUE / MULTIPLIERS[i][j];
+        } else {
+          DIVISORS[i][j] = toNanos / fromNanos;
+        }
+      }
+    }
+  }
+
+  private static long nanosOf(TimeUnit unit) {
+    switch (unit) {
+      case NANOSECONDS:
+        return 1L;
+      case MILLISECONDS:
+        return 1000000L;
+      case SECONDS:
+        return 1000000000L;
+      case MINUTES:
+        return 60000000000L;
+      case HOURS:
+        return 3600000000000L;
+      case DAYS:
+        return 86400000000000L;
+      case WEEKS:
+        return 604800000000000L;
+      default:
+        throw new IllegalArgumentException("Unsupported time unit: " + unit);
+    }
+  }
+
+  private static int indexOf(TimeUnit unit) {
+    return unit == null ? TimeUnit.MILLISECONDS.ordinal() : unit.ordinal();
+  }
+
+  /**
+   * Returns how many {@code to} units make up one {@code from} unit, e.g. 7 from
+   * {@link TimeUnit#WEEKS} to {@link TimeUnit#DAYS}.
+   *
+   * @param from source unit
+   * @param to target unit
+   * @return conversion factor, or 0 if {@code to} is coarser than {@code from}
+   */
+  public static long factor(TimeUnit from, TimeUnit to) {
+    return MULTIPLIERS[indexOf(from)][indexOf(to)];
+  }
+
+  /**
+   * Converts {@code duration} from one unit to another. Conversions to a coarser unit truncate
+   * towards zero, and conversions to a finer unit saturate at {@link Long#MAX_VALUE} or
+   * {@link Long#MIN_VALUE} instead of overflowing, the same way
+   * {@link java.util.concurrent.TimeUnit#convert(long, java.util.concurrent.TimeUnit)} does.
+   *
+   * @param duration time, paired with {@code from}
+   * @param from unit of {@code duration}
+   * @param to unit of the result
+   * @return converted duration
+   */
+  public static long convert(long duration, TimeUnit from, TimeUnit to) {
+    int i = indexOf(from);
+    int j = indexOf(to);
+    long multiplier = MULTIPLIERS[i][j];
+    if (multiplier == 0) {
+      return duration / DIVISORS[i][j];
+    }
+    long limit = LIMITS[i][j];
+    if (duration > limit) {
+      return Long.MAX_VALUE;
+    }
+    if (duration < -limit) {
+      return Long.MIN_VALUE;
+    }
+    return duration * multiplier;
+  }
+
+  /**
+   * Converts {@code duration} from one unit to another, failing instead of losing information.
+   *
+   * @param duration time, paired with {@code from}
+   * @param from unit of {@code duration}
+   * @param to unit of the result
+   * @return converted duration
+   * @throws ArithmeticException if the result overflows a long, or if {@code duration} is not a
+   *         whole multiple of {@code to}
+   */
+  public static long convertExact(long duration, TimeUnit from, TimeUnit to) {
+    int i = indexOf(from);
+    int j = indexOf(to);
+    long multiplier = MULTIPLIERS[i][j];
+    if (multiplier == 0) {
+      long divisor = DIVISORS[i][j];
+      if (duration % divisor != 0) {
+        throw new ArithmeticException(duration + " " + from + " is not a whole number of " + to);
+      }
+      return duration / divisor;
+    }
+    return Math.multiplyExact(duration, multiplier);
+  }
+
+  /**
+   * Converts every element of {@code src} from one unit to another into {@code dst}, with the
+   * same semantics as {@link #convert(long, TimeUnit, TimeUnit)}. The per-pair factors are looked
+   * up once, so the loop body is a plain multiplication or division.
+   *
+   * @param src durations, paired with {@code from}
+   * @param from unit of {@code src}
+   * @param dst receives the converted durations, may be {@code src} itself
+   * @param to unit of {@code dst}
+   * @throws IllegalArgumentException if {@code dst} is shorter than {@code src}
+   */
+  public static void convert(long[] src, TimeUnit from, long[] dst, TimeUnit to) {
+    int length = src.length;
+    if (dst.length < length) {
+      throw new IllegalArgumentException(
+          "Destination length " + dst.length + " is shorter than source length " + length);
+    }
+    int i = indexOf(from);
+    int j = indexOf(to);
+    long multiplier = MULTIPLIERS[i][j];
+    if (multiplier == 1) {
+      System.arraycopy(src, 0, dst, 0, length);
+    } else if (multiplier == 0) {
+      long divisor = DIVISORS[i][j];
+      for (int k = 0; k < length; k++) {
+        dst[k] = src[k] / divisor;
+      }
+    } else {
+      long limit = LIMITS[i][j];
+      for (int k = 0; k < length; k++) {
+        long duration = src[k];
+        long product = duration * multiplier;
+        dst[k] = duration > limit ? Long.MAX_VALUE : duration < -limit ? Long.MIN_VALUE : product;
+      }
+    }
+  }
+
+  /**
+   * Converts every element of {@code src} from one unit to another into {@code dst}, failing
+   * instead of losing information.
+   *
+   * @see #convertExact(long, TimeUnit, TimeUnit)
+   * @param src durations, paired with {@code from}
+   * @param from unit of {@code src}
+   * @param dst receives the converted durations, may be {@code src} itself
+   * @param to unit of {@code dst}
+   * @throws ArithmeticException if any element overflows or is not a whole multiple of {@code to}.
+   *         {@code dst} is left untouched in that case
+   * @throws IllegalArgumentException if {@code dst} is shorter than {@code src}
+   */
+  public static void convertExact(long[] src, TimeUnit from, long[] dst, TimeUnit to) {
+    int length = src.length;
+    if (dst.length < length) {
+      throw new IllegalArgumentException(
+          "Destination length " + dst.length + " is shorter than source length " + length);
+    }
+    int i = indexOf(from);
+    int j = indexOf(to);
+    long multiplier = MULTIPLIERS[i][j];
+    if (multiplier == 0) {
+      long divisor = DIVISORS[i][j];
+      long remainders = 0;
+      for (int k = 0; k < length; k++) {
+        remainders |= src[k] % divisor;
+      }
+      if (remainders != 0) {
+        throw new ArithmeticException("Not every duration is a whole number of " + to);
+      }
+    } else if (multiplier > 1) {
+      long limit = LIMITS[i][j];
+      boolean overflow = false;
+      for (int k = 0; k < length; k++) {
+        overflow |= src[k] > limit | src[k] < -limit;
+      }
+      if (overflow) {
+        throw new ArithmeticException("long overflow");
+      }
+    }
+    convert(src, from, dst, to);
+  }
+
+  /**
+   * Returns the equivalent {@link java.util.concurrent.TimeUnit}.
+   *
+   * @param unit to be converted, null is treated as {@link TimeUnit#MILLISECONDS}
+   * @return equivalent concurrent time unit
+   * @throws IllegalArgumentException if {@code unit} is {@link TimeUnit#WEEKS}, which has no
+   *         counterpart
+   */
+  public static java.util.concurrent.TimeUnit toConcurrentTimeUnit(TimeUnit unit) {
+    switch (UNITS[indexOf(unit)]) {
+      case NANOSECONDS:
+        return java.util.concurrent.TimeUnit.NANOSECONDS;
+      case MILLISECONDS:
+        return java.util.concurrent.TimeUnit.MILLISECONDS;
+      case SECONDS:
+        return java.util.concurrent.TimeUnit.SECONDS;
+      case MINUTES:
+        return java.util.concurrent.TimeUnit.MINUTES;
+      case HOURS:
+        return java.util.concurrent.TimeUnit.HOURS;
+      case DAYS:
+        return java.util.concurrent.TimeUnit.DAYS;
+      default:
+        throw new IllegalArgumentException("No concurrent time unit equivalent to " + unit);
+    }
+  }
+
+  /**
+   * Returns the equivalent {@link TimeUnit}.
+   *
+   * @param unit to be converted
+   * @return equivalent time unit, or null if {@code unit} is null
+   * @throws IllegalArgumentException if {@code unit} is
+   *         {@link java.util.concurrent.TimeUnit#MICROSECONDS}, which has no counterpart
+   */
+  public static TimeUnit fromConcurrentTimeUnit(java.util.concurrent.TimeUnit unit) {
+    if (unit == null) {
+      return null;
+    }
+    switch (unit) {
+      case NANOSECONDS:
+        return TimeUnit.NANOSECONDS;
+      case MILLISECONDS:
+        return TimeUnit.MILLISECONDS;
+      case SECONDS:
+        return TimeUnit.SECONDS;
+      case MINUTES:
+        return TimeUnit.MINUTES;
+      case HOURS:
+        return TimeUnit.HOURS;
+      case DAYS:
+        return TimeUnit.DAYS;
+      default:
+        throw new IllegalArgumentException("No time unit equivalent to " + unit);
+    }
+  }
+}
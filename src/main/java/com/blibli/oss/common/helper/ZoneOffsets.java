@@ -0,0 +1,285 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import org.joda.time.DateTimeZone;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Offset transitions of a {@link DateTimeZone} between 1900 and 2100, precomputed into a sorted
+ * <code>long[]</code> so that converting between epoch and local millis is a binary search.
+ * Fixed-offset zones, and zones whose last transition lies in the past (e.g. Asia/Jakarta), resolve
+ * to a single addition. Instants outside the precomputed range are delegated to the zone itself.
+ */
+final class ZoneOffsets {
+
+  private static final long TABLE_START = -2208988800000L;
+  private static final long TABLE_END = 4102444800000L;
+  private static final long MAX_OFFSET_SWING = 2 * 86400000L;
+
+  private static final ConcurrentHashMap<DateTimeZone, ZoneOffsets> CACHE =
+      new ConcurrentHashMap<>();
+
+  private final DateTimeZone zone;
+
+  /**
+   * Instants at which {@code offsets[i + 1]} starts to apply, in ascending order.
+   */
+  private final long[] transitions;
+
+  /**
+   * {@code offsets[0]} applies before the first transition.
+   */
+  private final int[] offsets;
+
+  /**
+   * Start of the range served from the table. Earlier instants are delegated to {@link #zone}.
+   */
+  private final long start;
+
+  /**
+   * End of the range served from the table. Later instants are delegated to {@link #zone} unless
+   * {@link #fixedTail} is set.
+   */
+  private final long end;
+
+  /**
+   * Whether the offset after the last transition never changes again.
+   */
+  private final boolean fixedTail;
+
+  private ZoneOffsets(DateTimeZone zone) {
+    this.zone = zone;
+    if (zone.isFixed()) {
+      transitions = new long[0];
+      offsets = new int[] {zone.getOffset(0L)};
+      start = Long.MIN_VALUE;
+      end = Long.MAX_VALUE;
+      fixedTail = true;
+      return;
+    }
+
+    long[] instants = new long[64];
+    int[] values = new int[65];
+    int count = 0;
+    values[0] = zone.getOffset(TABLE_START);
+    long instant = zone.nextTransition(TABLE_START);
+    long previous = TABLE_START;
+    while (instant != previous && instant < TABLE_END) {
+      if (count == instants.length) {
+        instants = Arrays.copyOf(instants, count * 2);
+        values = Arrays.copyOf(values, count * 2 + 1);
+      }
+      instants[count] = instant;
+      values[++count] = zone.getOffset(instant);
+      previous = instant;
+      instant = zone.nextTransition(instant);
+    }
+
+    transitions = Arrays.copyOf(instants, count);
+    offsets = Arrays.copyOf(values, count + 1);
+    start = TABLE_START;
+    fixedTail = instant == previous;
+    end = fixedTail ? Long.MAX_VALUE : TABLE_END;
+  }
+
+  /**
+   * Returns the offset table of {@code zone}, building it on first use only.
+   *
+   * @param zone time zone, must not be null
+   * @return cached offset table
+   */
+  static ZoneOffsets forZone(DateTimeZone zone) {
+    ZoneOffsets offsets = CACHE.get(zone);
+    if (offsets == null) {
+      offsets = new ZoneOffsets(zone);
+      ZoneOffsets existing = CACHE.putIfAbsent(zone, offsets);
+      if (existing != null) {
+        offsets = existing;
+      }
+    }
+    return offsets;
+  }
+
+  /**
+   * Returns the offset table of {@code zone}, or of the default zone if {@code zone} is null.
+   */
+  static ZoneOffsets forZoneOrDefault(ZoneOffsets zone) {
+    return zone != null ? zone : forZone(DateTimeZone.getDefault());
+  }
+
+  DateTimeZone getZone() {
+    return zone;
+  }
+
+  /**
+   * Same as {@link DateTimeZone#getOffset(long)}.
+   *
+   * @param millis epoch millis
+   * @return offset to add to {@code millis} to get the local millis
+   */
+  int getOffset(long millis) {
+    if (millis < start) {
+      return zone.getOffset(millis);
+    }
+    int last = transitions.length;
+    if (last == 0 || millis >= transitions[last - 1]) {
+      return millis < end ? offsets[last] : zone.getOffset(millis);
+    }
+    return offsets[indexOf(millis)];
+  }
+
+  /**
+   * Same as {@link DateTimeZone#getOffsetFromLocal(long)}, i.e. picks the later offset in overlaps
+   * and pushes local times inside gaps after the transition.
+   *
+   * @param local local millis
+   * @return offset to subtract from {@code local} to get the epoch millis
+   */
+  int getOffsetFromLocal(long local) {
+    int last = transitions.length;
+    // the table may be empty because the last transition is at its start, e.g. Indian/Cocos
+    if (local - MAX_OFFSET_SWING >= start && (last == 0
+        || local - MAX_OFFSET_SWING >= transitions[last - 1] && fixedTail)) {
+      return offsets[last];
+    }
+    if (local - MAX_OFFSET_SWING < start || local + MAX_OFFSET_SWING >= end) {
+      return zone.getOffsetFromLocal(local);
+    }
+
+    int offsetLocal = getOffset(local);
+    long adjusted = local - offsetLocal;
+    int offsetAdjusted = getOffset(adjusted);
+    if (offsetLocal != offsetAdjusted) {
+      if (offsetLocal - offsetAdjusted < 0) {
+        long nextLocal = nextTransition(adjusted);
+        if (nextLocal == adjusted) {
+          nextLocal = Long.MAX_VALUE;
+        }
+        long nextAdjusted = nextTransition(local - offsetAdjusted);
+        if (nextAdjusted == local - offsetAdjusted) {
+          nextAdjusted = Long.MAX_VALUE;
+        }
+        if (nextLocal != nextAdjusted) {
+          return offsetLocal;
+        }
+      }
+    } else if (offsetLocal >= 0) {
+      int index = indexOf(adjusted);
+      if (index > 0) {
+        long previous = transitions[index - 1] - 1;
+        int offsetPrevious = offsets[index - 1];
+        if (adjusted - previous <= offsetPrevious - offsetLocal) {
+          return offsetPrevious;
+        }
+      }
+    }
+    return offsetAdjusted;
+  }
+
+  /**
+   * Converts local millis to epoch millis the way Joda's zoned duration fields do, e.g. when
+   * adding days to a <code>DateTime</code>.
+   *
+   * @param local local millis
+   * @return epoch millis
+   */
+  long toUtc(long local) {
+    return local - getOffsetFromLocal(local);
+  }
+
+  /**
+   * Same as {@link DateTimeZone#convertLocalToUTC(long, boolean, long)} without strict checking,
+   * i.e. keeps {@code originalOffset} if it is still valid at {@code local} and otherwise resolves
+   * gaps and overlaps the way Joda's rounding of date fields does.
+   *
+   * @param local local millis
+   * @param originalOffset offset of the instant {@code local} was derived from
+   * @return epoch millis
+   */
+  long toUtc(long local, int originalOffset) {
+    long millis = local - originalOffset;
+    if (getOffset(millis) == originalOffset) {
+      return millis;
+    }
+    if (local - MAX_OFFSET_SWING < start || local + MAX_OFFSET_SWING >= end) {
+      return zone.convertLocalToUTC(local, false);
+    }
+    int offsetLocal = getOffset(local);
+    int offset = getOffset(local - offsetLocal);
+    if (offsetLocal != offset && offsetLocal < 0) {
+      long nextLocal = nextTransition(local - offsetLocal);
+      if (nextLocal == local - offsetLocal) {
+        nextLocal = Long.MAX_VALUE;
+      }
+      long nextAdjusted = nextTransition(local - offset);
+      if (nextAdjusted == local - offset) {
+        nextAdjusted = Long.MAX_VALUE;
+      }
+      if (nextLocal != nextAdjusted) {
+        offset = offsetLocal;
+      }
+    }
+    return local - offset;
+  }
+
+  /**
+   * @return instant from which on the offset never changes anymore, {@link Long#MIN_VALUE} for
+   *         fixed-offset zones or {@link Long#MAX_VALUE} if there is none
+   */
+  long fixedSince() {
+    if (!fixedTail) {
+      return Long.MAX_VALUE;
+    }
+    return transitions.length == 0 ? start : transitions[transitions.length - 1];
+  }
+
+  /**
+   * @return offset applying from {@link #fixedSince()} on
+   */
+  int fixedOffset() {
+    return offsets[offsets.length - 1];
+  }
+
+  /**
+   * @return whether {@code local} falls into a gap, i.e. does not exist on the local time-line
+   */
+  boolean isGap(long local, int offset) {
+    return offset != getOffset(local - offset);
+  }
+
+  /**
+   * @return index of the offset applying at {@code millis}
+   */
+  private int indexOf(long millis) {
+    int index = Arrays.binarySearch(transitions, millis);
+    return index >= 0 ? index + 1 : -index - 1;
+  }
+
+  /**
+   * Same as {@link DateTimeZone#nextTransition(long)} for instants inside the table.
+   */
+  private long nextTransition(long millis) {
+    int index = indexOf(millis);
+    if (index < transitions.length) {
+      return transitions[index];
+    }
+    return fixedTail ? millis : zone.nextTransition(millis);
+  }
+}
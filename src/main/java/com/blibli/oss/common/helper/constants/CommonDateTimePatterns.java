@@ -67,4 +67,13 @@ public final class CommonDateTimePatterns {
    * Sample result: 29 Jan 2017 01:50:59.370 PM
    */
   public static final String dd_MMM_yyyy__hh_mm_ss_SSS_a = "dd MMM yyyy hh:mm:ss.SSS a";
+
+  /**
+   * ISO-8601 date time with milliseconds and offset.<br>
+   * Sample result: 2017-01-29T13:50:59.370+07:00, or 2017-01-29T06:50:59.370+00:00 in UTC.<br>
+   * Like every other pattern here, parsing requires the whole layout, offset included. For
+   * printing <code>Z</code> in UTC and parsing partial ISO-8601 date times such as 2017-01-29, use
+   * {@link com.blibli.oss.common.helper.CompiledDateTimePatterns#ISO_8601}.
+   */
+  public static final String ISO_8601 = "yyyy-MM-dd'T'HH:mm:ss.SSSZZ";
 }
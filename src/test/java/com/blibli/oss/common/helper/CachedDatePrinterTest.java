@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.CommonDateTimePatterns;
+import com.blibli.oss.common.helper.constants.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class CachedDatePrinterTest {
+
+  private static final long MILLIS = 1529107180307L;
+
+  @After
+  public void tearDown() {
+    DateHelper.setClock(null);
+  }
+
+  @Test
+  public void print_sameTick_returnsCachedString() {
+    CachedDatePrinter printer =
+        CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS.cached(TimeUnit.SECONDS);
+
+    String first = printer.print(MILLIS);
+    assertEquals(CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS.print(MILLIS - 307), first);
+    assertSame(first, printer.print(MILLIS + 692));
+    assertNotSame(first, printer.print(MILLIS + 693));
+  }
+
+  @Test
+  public void print_millisecondTick_rendersEveryMillisecond() {
+    CachedDatePrinter printer =
+        CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS.cached(TimeUnit.MILLISECONDS);
+
+    assertEquals(CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS.print(MILLIS),
+        printer.print(MILLIS));
+    assertEquals(CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS.print(MILLIS + 1),
+        printer.print(MILLIS + 1));
+  }
+
+  @Test
+  public void print_beforeEpoch_truncatesToTickStart() {
+    CachedDatePrinter printer =
+        DateHelper.compile("yyyy-MM-dd HH:mm:ss.SSS").cached(TimeUnit.MINUTES);
+    assertEquals(DateHelper.toString(-120000L, "yyyy-MM-dd HH:mm:ss.SSS"), printer.print(-60001L));
+  }
+
+  @Test
+  public void now_usesDateHelperClock() {
+    DateHelper.setClock(Clock.fixed(Instant.ofEpochMilli(MILLIS), ZoneOffset.UTC));
+    CachedDatePrinter printer = CompiledDateTimePatterns.dd_MM_yyyy.cached(TimeUnit.MINUTES);
+
+    assertSame(CompiledDateTimePatterns.dd_MM_yyyy, printer.getPattern());
+    assertEquals(CompiledDateTimePatterns.dd_MM_yyyy.print(MILLIS), printer.now());
+  }
+
+  @Test
+  public void now_clockMovesToNextTick_rendersAgain() {
+    MutableClock clock = new MutableClock(MILLIS);
+    DateHelper.setClock(clock);
+    String pattern = CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss;
+
+    String first = DateHelper.now(pattern, TimeUnit.SECONDS);
+    clock.millis += 100;
+    assertSame(first, DateHelper.now(pattern, TimeUnit.SECONDS));
+    clock.millis += 1000;
+    assertEquals(DateHelper.toString(clock.millis, pattern),
+        DateHelper.now(pattern, TimeUnit.SECONDS));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void cached_unsupportedTick_throwsException() {
+    CompiledDateTimePatterns.dd_MM_yyyy.cached(TimeUnit.HOURS);
+  }
+
+  private static class MutableClock extends Clock {
+
+    private long millis;
+
+    private MutableClock(long millis) {
+      this.millis = millis;
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+
+    @Override
+    public long millis() {
+      return millis;
+    }
+  }
+}
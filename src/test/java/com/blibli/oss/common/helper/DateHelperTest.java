@@ -16,11 +16,32 @@
 
 package com.blibli.oss.common.helper;
 
+import com.blibli.oss.common.helper.constants.CommonDateTimePatterns;
+import com.blibli.oss.common.helper.constants.TimeComparator;
+import com.blibli.oss.common.helper.constants.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.blibli.oss.common.helper.constants.TimeComparator.AFTER;
 import static com.blibli.oss.common.helper.constants.TimeComparator.AFTER_OR_EQUAL_TO;
@@ -38,7 +59,9 @@ import static com.blibli.oss.common.helper.constants.TimeUnit.WEEKS;
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNotSame;
 import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
 import static junit.framework.Assert.assertTrue;
 
 public class DateHelperTest {
@@ -73,6 +96,242 @@ public class DateHelperTest {
     assertEquals(dateInMs + expectedDiffInMs, result.getTime());
   }
 
+  @Test
+  public void add_nullMillis_returnsNullMillis() {
+    assertEquals(DateHelper.NULL_MILLIS, DateHelper.add(DateHelper.NULL_MILLIS, 10, DAYS));
+  }
+
+  @Test
+  public void add_validMillis_returnsMillisAddedByDiffConvertedToMs() {
+    long dateInMs = 1519130699000L;
+    assertEquals(dateInMs + 2 * 24 * 60 * 60 * 1000, DateHelper.add(dateInMs, 2, DAYS));
+    assertEquals(dateInMs + 10L, DateHelper.add(dateInMs, 10, null));
+  }
+
+  @Test
+  public void add_withZone_keepsWallClockAcrossDaylightSaving() {
+    DateTimeZone zone = DateTimeZone.forID("America/New_York");
+    DateTime start = new DateTime(2018, 3, 10, 2, 30, zone);
+
+    assertEquals(start.plusDays(1).getMillis(), DateHelper.add(start.getMillis(), 1, DAYS, zone));
+    assertEquals(start.plusWeeks(2).getMillis(),
+        DateHelper.add(start.getMillis(), 2, WEEKS, zone));
+    assertEquals(start.plusHours(24).getMillis(),
+        DateHelper.add(start.getMillis(), 24, HOURS, zone));
+    assertEquals(start.plusDays(1).toDate(), DateHelper.add(start.toDate(), 1, DAYS, zone));
+    assertEquals(DateHelper.NULL_MILLIS, DateHelper.add(DateHelper.NULL_MILLIS, 1, DAYS, zone));
+    assertNull(DateHelper.add(null, 1, DAYS, zone));
+  }
+
+  @Test
+  public void minus_withZone_keepsWallClockAcrossDaylightSaving() {
+    DateTimeZone zone = DateTimeZone.forID("America/New_York");
+    DateTime start = new DateTime(2018, 11, 5, 1, 30, zone);
+
+    assertEquals(start.minusDays(1).getMillis(),
+        DateHelper.minus(start.getMillis(), 1, DAYS, zone));
+    assertEquals(start.minusDays(1).toDate(), DateHelper.minus(start.toDate(), 1, DAYS, zone));
+  }
+
+  @Test
+  public void add_withFixedOffsetZone_equalsPlainAdd() {
+    DateTimeZone zone = DateTimeZone.forID("Asia/Jakarta");
+    long dateInMs = 1519130699000L;
+    assertEquals(DateHelper.add(dateInMs, 3, WEEKS), DateHelper.add(dateInMs, 3, WEEKS, zone));
+  }
+
+  @Test
+  public void truncate_everyUnitAndZone_matchesJodaRoundFloor() {
+    String[] zones = {"UTC", "Asia/Jakarta", "Asia/Kolkata", "America/New_York",
+        "Australia/Lord_Howe", "America/Sao_Paulo", "Europe/London"};
+    Random random = new Random(23);
+
+    for (String id : zones) {
+      DateTimeZone zone = DateTimeZone.forID(id);
+      List<Long> samples = new ArrayList<>();
+      for (int i = 0; i < 3000; i++) {
+        samples.add(random.nextLong() % 5000000000000L);
+      }
+      long transition = zone.nextTransition(1500000000000L);
+      for (long delta = -90000000L; delta <= 90000000L; delta += 900000L) {
+        samples.add(transition + delta);
+      }
+
+      for (long millis : samples) {
+        DateTime dateTime = new DateTime(millis, zone);
+        assertEquals(dateTime.secondOfMinute().roundFloorCopy().getMillis(),
+            DateHelper.truncate(millis, SECONDS, zone));
+        assertEquals(dateTime.minuteOfHour().roundFloorCopy().getMillis(),
+            DateHelper.truncate(millis, MINUTES, zone));
+        assertEquals(dateTime.hourOfDay().roundFloorCopy().getMillis(),
+            DateHelper.truncate(millis, HOURS, zone));
+        assertEquals(id + " / " + millis, dateTime.dayOfMonth().roundFloorCopy().getMillis(),
+            DateHelper.truncate(millis, DAYS, zone));
+        assertEquals(id + " / " + millis, dateTime.weekOfWeekyear().roundFloorCopy().getMillis(),
+            DateHelper.truncate(millis, WEEKS, zone));
+        assertEquals(millis, DateHelper.truncate(millis, MILLISECONDS, zone));
+        assertEquals(millis, DateHelper.truncate(millis, NANOSECONDS, zone));
+      }
+    }
+  }
+
+  @Test
+  public void truncate_defaultZone_usesDefaultZone() {
+    long millis = 1519130699000L;
+    assertEquals(DateHelper.truncate(millis, DAYS, DateTimeZone.getDefault()),
+        DateHelper.truncate(millis, DAYS));
+    assertEquals(DateHelper.NULL_MILLIS, DateHelper.truncate(DateHelper.NULL_MILLIS, DAYS));
+  }
+
+  @Test
+  public void bucket_multipleUnits_returnsBucketStart() {
+    DateTimeZone zone = DateTimeZone.forID("Asia/Jakarta");
+    long millis = new DateTime(2018, 2, 21, 19, 44, 59, 123, zone).getMillis();
+
+    assertEquals(new DateTime(2018, 2, 21, 19, 30, zone).getMillis(),
+        DateHelper.bucket(millis, 15, MINUTES, zone));
+    assertEquals(new DateTime(2018, 2, 21, 18, 0, zone).getMillis(),
+        DateHelper.bucket(millis, 6, HOURS, zone));
+    assertEquals(new DateTime(2018, 2, 19, 0, 0, zone).getMillis(),
+        DateHelper.bucket(millis, 2, WEEKS, zone));
+    assertEquals(millis - 123, DateHelper.bucket(millis, 1000, null, zone));
+    assertEquals(DateHelper.NULL_MILLIS, DateHelper.bucket(DateHelper.NULL_MILLIS, 2, DAYS, zone));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void bucket_nonPositiveSize_throwsException() {
+    DateHelper.bucket(1519130699000L, 0, HOURS, null);
+  }
+
+  @Test
+  public void bucket_array_matchesScalarBucket() {
+    Random random = new Random(29);
+    long[] millis = new long[5000];
+    for (int i = 0; i < millis.length; i++) {
+      millis[i] = random.nextLong() % 5000000000000L;
+    }
+    millis[3] = DateHelper.NULL_MILLIS;
+
+    for (String id : new String[] {"UTC", "Asia/Jakarta", "America/New_York"}) {
+      DateTimeZone zone = DateTimeZone.forID(id);
+      for (TimeUnit unit : TimeUnit.values()) {
+        long[] dst = new long[millis.length];
+        DateHelper.bucket(millis, 3, unit, zone, dst);
+        for (int i = 0; i < millis.length; i++) {
+          assertEquals(DateHelper.bucket(millis[i], 3, unit, zone), dst[i]);
+        }
+
+        long[] copy = millis.clone();
+        DateHelper.truncate(copy, unit, zone, copy);
+        for (int i = 0; i < millis.length; i++) {
+          assertEquals(DateHelper.truncate(millis[i], unit, zone), copy[i]);
+        }
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void bucket_arrayWithShortDestination_throwsException() {
+    DateHelper.truncate(new long[2], DAYS, null, new long[1]);
+  }
+
+  @Test
+  public void range_everyFifteenMinutes_returnsHalfOpenRange() {
+    long start = 1519130699000L;
+    long[] result = DateHelper.range(start, start + 3600000L, 15, MINUTES).toArray();
+
+    assertTrue(Arrays.equals(new long[] {start, start + 900000L, start + 1800000L,
+        start + 2700000L}, result));
+    assertEquals(5, DateHelper.range(start, start + 3600001L, 15, MINUTES).count());
+    assertEquals(1, DateHelper.range(start, start + 1, 1, DAYS).count());
+  }
+
+  @Test
+  public void range_emptyOrNullBounds_returnsEmptyStream() {
+    assertEquals(0, DateHelper.range(10L, 10L, 1, SECONDS).count());
+    assertEquals(0, DateHelper.range(10L, 5L, 1, SECONDS).count());
+    assertEquals(0, DateHelper.range(DateHelper.NULL_MILLIS, 5L, 1, SECONDS).count());
+    assertEquals(0, DateHelper.range(null, new Date(), 1, SECONDS).count());
+  }
+
+  @Test
+  public void range_dates_matchesMillisRange() {
+    assertTrue(Arrays.equals(DateHelper.range(LESSER_DATE.getTime(), GREATER_DATE.getTime(), 7,
+        SECONDS).toArray(), DateHelper.range(LESSER_DATE, GREATER_DATE, 7, SECONDS).toArray()));
+  }
+
+  @Test
+  public void range_parallel_isSizedAndMatchesSequential() {
+    long start = -86400000L * 365;
+    long end = 86400000L * 365 * 3;
+    long expected = (end - start + 59999) / 60000;
+
+    assertEquals(expected, DateHelper.range(start, end, 1, MINUTES).spliterator()
+        .getExactSizeIfKnown());
+    assertEquals(expected, DateHelper.range(start, end, 1, MINUTES).parallel().count());
+    assertEquals(DateHelper.range(start, end, 1, MINUTES).sum(),
+        DateHelper.range(start, end, 1, MINUTES).parallel().sum());
+    assertTrue(Arrays.equals(DateHelper.range(start, end, 13, HOURS).toArray(),
+        DateHelper.range(start, end, 13, HOURS).parallel().toArray()));
+  }
+
+  @Test
+  public void range_iterator_isLazy() {
+    PrimitiveIterator.OfLong iterator =
+        DateHelper.range(Long.MIN_VALUE + 1, Long.MAX_VALUE, 2, null).iterator();
+    assertEquals(Long.MIN_VALUE + 1, iterator.nextLong());
+    assertEquals(Long.MIN_VALUE + 3, iterator.nextLong());
+    assertTrue(iterator.hasNext());
+  }
+
+  @Test
+  public void range_wholeLongRange_splitsEvenly() {
+    Spliterator.OfLong spliterator =
+        DateHelper.range(Long.MIN_VALUE + 1, Long.MAX_VALUE, 2, null).spliterator();
+    long size = spliterator.estimateSize();
+    Spliterator.OfLong prefix = spliterator.trySplit();
+
+    assertEquals(size, prefix.estimateSize() + spliterator.estimateSize());
+    assertTrue(Math.abs(prefix.estimateSize() - spliterator.estimateSize()) <= 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void range_tooManyElements_throwsException() {
+    DateHelper.range(Long.MIN_VALUE + 1, Long.MAX_VALUE, 1, MILLISECONDS);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void range_subMillisecondStep_throwsException() {
+    DateHelper.range(0L, 10L, 999, NANOSECONDS);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void range_fractionalMillisecondStep_throwsException() {
+    DateHelper.range(0L, 10L, 1500000, NANOSECONDS);
+  }
+
+  @Test
+  public void range_wholeMillisecondStepInNanoseconds_returnsRange() {
+    assertTrue(Arrays.equals(new long[] {0L, 2L, 4L},
+        DateHelper.range(0L, 5L, 2000000, NANOSECONDS).toArray()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void range_nonPositiveStep_throwsException() {
+    DateHelper.range(0L, 10L, -1, SECONDS);
+  }
+
+  @Test
+  public void minus_nullMillis_returnsNullMillis() {
+    assertEquals(DateHelper.NULL_MILLIS, DateHelper.minus(DateHelper.NULL_MILLIS, 10, DAYS));
+  }
+
+  @Test
+  public void minus_validMillis_returnsMillisSubtractedByDiffConvertedToMs() {
+    long dateInMs = 1519130699000L;
+    assertEquals(dateInMs - 2 * 24 * 60 * 60 * 1000, DateHelper.minus(dateInMs, 2, DAYS));
+  }
+
   @Test
   public void minus_nullDate_returnsNull() {
     Date result = DateHelper.minus(null, 10, DAYS);
@@ -205,12 +464,149 @@ public class DateHelperTest {
     assertTrue(result);
   }
 
+  @Test
+  public void is_millis_matchesDateComparison() {
+    Date[] dates = {null, LESSER_DATE, GREATER_DATE};
+    TimeComparator[] comparators = {null, BEFORE, BEFORE_OR_EQUAL_TO, EQUAL_TO, NOT_EQUAL_TO, AFTER,
+        AFTER_OR_EQUAL_TO};
+
+    for (Date first : dates) {
+      for (Date second : dates) {
+        for (TimeComparator comparator : comparators) {
+          boolean expected = DateHelper.is(first, comparator, second);
+          boolean result = DateHelper.is(toMillis(first), comparator, toMillis(second));
+          assertEquals(first + " " + comparator + " " + second, expected, result);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void count_select_mask_matchElementwiseComparison() {
+    Random random = new Random(15);
+    long[] millis = new long[200];
+    for (int i = 0; i < millis.length; i++) {
+      millis[i] = random.nextInt(20) - 10;
+    }
+    millis[3] = DateHelper.NULL_MILLIS;
+    millis[4] = Long.MAX_VALUE;
+    millis[5] = DateHelper.NULL_MILLIS + 1;
+    long[] pivots = {DateHelper.NULL_MILLIS, DateHelper.NULL_MILLIS + 1, -3, 0, 7,
+        Long.MAX_VALUE};
+    TimeComparator[] comparators = {null, BEFORE, BEFORE_OR_EQUAL_TO, EQUAL_TO, NOT_EQUAL_TO, AFTER,
+        AFTER_OR_EQUAL_TO};
+
+    for (long pivot : pivots) {
+      for (TimeComparator comparator : comparators) {
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < millis.length; i++) {
+          if (DateHelper.is(millis[i], comparator, pivot)) {
+            expected.add(i);
+          }
+        }
+        String message = comparator + " " + pivot;
+        int[] selected = DateHelper.select(millis, comparator, pivot);
+        BitSet mask = DateHelper.mask(millis, comparator, pivot);
+        assertEquals(message, expected.size(), DateHelper.count(millis, comparator, pivot));
+        assertEquals(message, expected.toString(), Arrays.toString(selected));
+        assertEquals(message, expected.size(), mask.cardinality());
+        for (int index : expected) {
+          assertTrue(message, mask.get(index));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void count_select_mask_nullMillis_returnEmpty() {
+    assertEquals(0, DateHelper.count(null, EQUAL_TO, 0));
+    assertEquals(0, DateHelper.select(null, EQUAL_TO, 0).length);
+    assertTrue(DateHelper.mask(null, EQUAL_TO, 0).isEmpty());
+  }
+
+  @Test
+  public void detectPattern_mixedColumn_returnsEachPattern() {
+    assertEquals(CommonDateTimePatterns.dd_MM_yy, DateHelper.detectPattern("29-01-17"));
+    assertEquals(CommonDateTimePatterns.dd_MM_yyyy, DateHelper.detectPattern("29-01-2017"));
+    assertEquals(CommonDateTimePatterns.dd_MMM_yyyy__HH_mm,
+        DateHelper.detectPattern(DateHelper.toString(LESSER_DATE,
+            CommonDateTimePatterns.dd_MMM_yyyy__HH_mm)));
+    assertNull(DateHelper.detectPattern("29/01/2017"));
+    assertNull(DateHelper.detectPattern(" "));
+  }
+
+  @Test
+  public void toDateDetected_mixedColumn_parsesWithDetectedPattern() {
+    String text = DateHelper.toString(LESSER_DATE, CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss);
+
+    assertEquals(LESSER_DATE, DateHelper.toDateDetected(text, DateHelper.ParseMode.STRICT));
+    assertEquals(DateHelper.toMillis("29-01-17", CommonDateTimePatterns.dd_MM_yy),
+        DateHelper.toMillisDetected("29-01-17", DateHelper.ParseMode.STRICT));
+    assertNull(DateHelper.toDateDetected("29/01/2017", DateHelper.ParseMode.SUPPRESS_EXCEPTION));
+    assertNull(DateHelper.toDateDetected(null, DateHelper.ParseMode.STRICT));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void toMillisDetected_unrecognizedStrict_throwsException() {
+    DateHelper.toMillisDetected("29/01/2017", DateHelper.ParseMode.STRICT);
+  }
+
+  @Test
+  public void toString_withLocale_usesLocaleTexts() {
+    DateTimeZone zone = DateTimeZone.forID("Asia/Jakarta");
+    Date date = new DateTime(2017, 8, 17, 13, 5, zone).toDate();
+    Locale indonesian = new Locale("id");
+
+    String text = DateHelper.toString(date, CommonDateTimePatterns.dd_MMM_yyyy__HH_mm, zone,
+        indonesian);
+
+    assertEquals("17 Agu 2017 13:05", text);
+    assertEquals(text, DateHelper.toString(date.getTime(),
+        CommonDateTimePatterns.dd_MMM_yyyy__HH_mm, zone, indonesian));
+    assertEquals(date, DateHelper.toDate(text, CommonDateTimePatterns.dd_MMM_yyyy__HH_mm, zone,
+        indonesian));
+    assertEquals(date.getTime(), DateHelper.toMillis(text,
+        CommonDateTimePatterns.dd_MMM_yyyy__HH_mm, zone, indonesian));
+    assertEquals("", DateHelper.toString((Date) null, "yyyy", zone, indonesian));
+    assertNull(DateHelper.toDate(" ", "yyyy", zone, indonesian));
+  }
+
+  private static long toMillis(Date date) {
+    return date == null ? DateHelper.NULL_MILLIS : date.getTime();
+  }
+
   @Test
   public void now_returnsNewInstanceOfDate() {
     Date actual = DateHelper.now();
     assertNotNull(actual);
   }
 
+  @Test
+  public void now_fixedClock_returnsClockTime() {
+    DateHelper.setClock(Clock.fixed(Instant.ofEpochMilli(1519130699000L), ZoneOffset.UTC));
+    try {
+      assertEquals(1519130699000L, DateHelper.currentTimeMillis());
+      assertEquals(new Date(1519130699000L), DateHelper.now());
+      assertEquals(DateHelper.toString(1519130699000L, VALID_DATE_FORMAT_PATTERN),
+          DateHelper.now(VALID_DATE_FORMAT_PATTERN));
+      assertEquals(DateHelper.toString(1519130699000L, VALID_DATE_FORMAT_PATTERN),
+          DateHelper.now(VALID_DATE_FORMAT_PATTERN, SECONDS));
+    } finally {
+      DateHelper.setClock(null);
+    }
+    assertEquals(Clock.systemUTC(), DateHelper.getClock());
+  }
+
+  @Test
+  public void now_withPatternAndTick_blankPattern_returnsEmptyString() {
+    assertEquals("", DateHelper.now(" ", SECONDS));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void now_withPatternAndNullTick_throwsException() {
+    DateHelper.now(VALID_DATE_FORMAT_PATTERN, null);
+  }
+
   @Test
   public void now_withPattern_returnsFormattedCurrentDate() {
     String formattedCurrentDate = DateHelper.now(VALID_DATE_FORMAT_PATTERN);
@@ -300,6 +696,237 @@ public class DateHelperTest {
     DateHelper.toDate("21-03-2017", VALID_DATE_FORMAT_PATTERN);
   }
 
+  @Test
+  public void toDate_invalidStringAndSuppressException_returnsNull() {
+    Date result = DateHelper.toDate("21-03-2017", VALID_DATE_FORMAT_PATTERN,
+        DateHelper.ParseMode.SUPPRESS_EXCEPTION);
+    assertNull(result);
+
+    result = DateHelper.toDate("31-02-2017", CommonDateTimePatterns.dd_MM_yyyy,
+        DateHelper.ParseMode.SUPPRESS_EXCEPTION);
+    assertNull(result);
+  }
+
+  @Test
+  public void toDate_blankStringAndSuppressException_returnsNull() {
+    Date result = DateHelper.toDate(" ", VALID_DATE_FORMAT_PATTERN,
+        DateHelper.ParseMode.SUPPRESS_EXCEPTION);
+    assertNull(result);
+  }
+
+  @Test
+  public void toDate_validStringAndSuppressException_returnsDate() {
+    Date result = DateHelper.toDate("21-Mar-2017", VALID_DATE_FORMAT_PATTERN,
+        DateHelper.ParseMode.SUPPRESS_EXCEPTION);
+    assertEquals(DateHelper.toDate("21-Mar-2017", VALID_DATE_FORMAT_PATTERN), result);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void toDate_invalidStringAndStrictMode_propagatesException() {
+    DateHelper.toDate("21-03-2017", VALID_DATE_FORMAT_PATTERN, DateHelper.ParseMode.STRICT);
+  }
+
+  @Test
+  public void toMillis_blankInputs_returnsNullMillis() {
+    assertEquals(DateHelper.NULL_MILLIS, DateHelper.toMillis(null, VALID_DATE_FORMAT_PATTERN));
+    assertEquals(DateHelper.NULL_MILLIS, DateHelper.toMillis("21-Mar-2017", null));
+    assertEquals(DateHelper.NULL_MILLIS,
+        DateHelper.toMillis(" ", VALID_DATE_FORMAT_PATTERN, DateHelper.ParseMode.STRICT));
+  }
+
+  @Test
+  public void toMillis_validString_returnsMillis() {
+    long result = DateHelper.toMillis("21-Mar-2017", VALID_DATE_FORMAT_PATTERN);
+    assertEquals(DateHelper.toDate("21-Mar-2017", VALID_DATE_FORMAT_PATTERN).getTime(), result);
+  }
+
+  @Test
+  public void toMillis_invalidStringAndSuppressException_returnsNullMillis() {
+    long result = DateHelper.toMillis("21-03-2017", VALID_DATE_FORMAT_PATTERN,
+        DateHelper.ParseMode.SUPPRESS_EXCEPTION);
+    assertEquals(DateHelper.NULL_MILLIS, result);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void toMillis_invalidStringAndStrictMode_propagatesException() {
+    DateHelper.toMillis("21-03-2017", VALID_DATE_FORMAT_PATTERN, DateHelper.ParseMode.STRICT);
+  }
+
+  @Test
+  public void toString_millis_returnsFormattedDate() {
+    assertEquals("", DateHelper.toString(DateHelper.NULL_MILLIS, VALID_DATE_FORMAT_PATTERN));
+    assertEquals("", DateHelper.toString(LESSER_DATE.getTime(), null));
+    assertEquals(DateHelper.toString(LESSER_DATE, VALID_DATE_FORMAT_PATTERN),
+        DateHelper.toString(LESSER_DATE.getTime(), VALID_DATE_FORMAT_PATTERN));
+  }
+
+  @Test
+  public void toString_isoPattern_matchesJoda() {
+    DateTimeFormatter joda = DateTimeFormat.forPattern(CommonDateTimePatterns.ISO_8601);
+
+    assertEquals(joda.print(LESSER_DATE.getTime()),
+        DateHelper.toString(LESSER_DATE, CommonDateTimePatterns.ISO_8601));
+    assertEquals("2018-02-20T12:44:59.000+00:00",
+        DateHelper.toString(LESSER_DATE, CommonDateTimePatterns.ISO_8601, DateTimeZone.UTC));
+    assertEquals(joda.withZone(DateTimeZone.UTC).print(LESSER_DATE.getTime()),
+        DateHelper.toString(LESSER_DATE, CommonDateTimePatterns.ISO_8601, DateTimeZone.UTC));
+    assertEquals("2018-02-20T19:44:59.000+07:00", DateHelper.toString(LESSER_DATE,
+        CommonDateTimePatterns.ISO_8601, DateTimeZone.forID("Asia/Jakarta")));
+  }
+
+  @Test
+  public void toString_withZone_formatsLocalTimeOfZone() {
+    DateTimeZone zone = DateTimeZone.forID("Asia/Jakarta");
+    long millis = 1519130699000L;
+
+    assertEquals("20 Feb 2018 19:44:59",
+        DateHelper.toString(millis, CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss, zone));
+    assertEquals("20 Feb 2018 12:44:59", DateHelper.toString(new Date(millis),
+        CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss, DateTimeZone.UTC));
+    assertEquals("", DateHelper.toString(DateHelper.NULL_MILLIS, "dd-MM-yyyy", zone));
+    assertEquals("", DateHelper.toString(null, "dd-MM-yyyy", zone));
+  }
+
+  @Test
+  public void toMillis_withZone_parsesLocalTimeOfZone() {
+    DateTimeZone zone = DateTimeZone.forID("Asia/Jakarta");
+
+    assertEquals(1519130699000L, DateHelper.toMillis("20 Feb 2018 19:44:59",
+        CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss, zone));
+    assertEquals(new Date(1519130699000L), DateHelper.toDate("2018-02-20 19:44:59",
+        "yyyy-MM-dd HH:mm:ss", zone));
+    assertEquals(DateHelper.NULL_MILLIS, DateHelper.toMillis(" ", "dd-MM-yyyy", zone));
+    assertNull(DateHelper.toDate("", "dd-MM-yyyy", zone));
+  }
+
+  @Test
+  public void compile_withZone_reusesCompiledPattern() {
+    DateTimeZone zone = DateTimeZone.forID("Asia/Jakarta");
+    DatePattern common = DateHelper.compile(CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss, zone);
+    DatePattern custom = DateHelper.compile("yyyy-MM-dd HH:mm:ss", zone);
+
+    assertSame(common, DateHelper.compile(CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss, zone));
+    assertSame(custom, DateHelper.compile("yyyy-MM-dd HH:mm:ss", zone));
+    assertSame(zone, custom.getZone());
+    assertNotSame(custom, DateHelper.compile("yyyy-MM-dd HH:mm:ss", DateTimeZone.UTC));
+    assertSame(CompiledDateTimePatterns.dd_MM_yyyy,
+        DateHelper.compile(CommonDateTimePatterns.dd_MM_yyyy, null));
+  }
+
+  @Test
+  public void compile_withLocale_reusesCompiledPattern() {
+    DateTimeZone zone = DateTimeZone.forID("Asia/Jakarta");
+    Locale locale = new Locale("id");
+    DatePattern zoned = DateHelper.compile("dd MMM yyyy HH:mm", zone, locale);
+    DatePattern unzoned = DateHelper.compile(CommonDateTimePatterns.dd_MMM_yyyy, null, locale);
+
+    assertSame(zoned, DateHelper.compile("dd MMM yyyy HH:mm", zone, locale));
+    assertSame(unzoned, DateHelper.compile(CommonDateTimePatterns.dd_MMM_yyyy, null, locale));
+    assertSame(zone, zoned.getZone());
+    assertEquals(locale, zoned.getLocale());
+    assertNotSame(zoned, DateHelper.compile("dd MMM yyyy HH:mm", zone, Locale.US));
+    assertSame(DateHelper.compile("dd MMM yyyy HH:mm", zone),
+        DateHelper.compile("dd MMM yyyy HH:mm", zone, null));
+  }
+
+  @Test
+  public void formatAll_largeInput_matchesToString() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Random random = new Random(1);
+      long[] millis = new long[50000];
+      for (int i = 0; i < millis.length; i++) {
+        millis[i] = random.nextLong() % 10000000000000L;
+      }
+      millis[7] = DateHelper.NULL_MILLIS;
+
+      for (String pattern : new String[] {CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_SSS_a,
+          "yyyy-MM-dd'T'HH:mm"}) {
+        String[] result = DateHelper.formatAll(millis, pattern, pool);
+        assertEquals(millis.length, result.length);
+        for (int i = 0; i < millis.length; i++) {
+          assertEquals(DateHelper.toString(millis[i], pattern), result[i]);
+        }
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void formatAll_nullOrBlankInputs_returnsEmptyValues() {
+    assertEquals(0, DateHelper.formatAll(null, "dd-MM-yyyy").length);
+    assertTrue(Arrays.equals(new String[] {"", ""},
+        DateHelper.formatAll(new long[] {1L, 2L}, " ")));
+    assertTrue(Arrays.equals(new String[] {DateHelper.toString(0L, "dd-MM-yyyy"), ""},
+        DateHelper.formatAll(new long[] {0L, DateHelper.NULL_MILLIS}, "dd-MM-yyyy")));
+  }
+
+  @Test
+  public void parseAll_largeInput_matchesToMillis() {
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      Random random = new Random(2);
+      String pattern = CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss;
+      List<String> texts = new ArrayList<>();
+      for (int i = 0; i < 30000; i++) {
+        texts.add(DateHelper.toString(random.nextLong() % 10000000000000L, pattern));
+      }
+      texts.set(11, "");
+      texts.set(12, null);
+
+      long[] result = DateHelper.parseAll(texts, pattern, DateHelper.ParseMode.STRICT, pool);
+      assertEquals(texts.size(), result.length);
+      for (int i = 0; i < texts.size(); i++) {
+        assertEquals(DateHelper.toMillis(texts.get(i), pattern), result[i]);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void parseAll_invalidElementAndSuppressException_returnsNullMillis() {
+    List<String> texts = new LinkedList<>(Collections.nCopies(10000, "15-06-2018"));
+    texts.set(9000, "15-13-2018");
+    texts.set(9001, "invalid");
+
+    long[] result =
+        DateHelper.parseAll(texts, "dd-MM-yyyy", DateHelper.ParseMode.SUPPRESS_EXCEPTION);
+    assertEquals(DateHelper.toMillis("15-06-2018", "dd-MM-yyyy"), result[0]);
+    assertEquals(DateHelper.NULL_MILLIS, result[9000]);
+    assertEquals(DateHelper.NULL_MILLIS, result[9001]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parseAll_invalidElementAndStrictMode_propagatesException() {
+    List<String> texts = new ArrayList<>(Collections.nCopies(10000, "15-06-2018"));
+    texts.set(9000, "invalid");
+    DateHelper.parseAll(texts, "dd-MM-yyyy");
+  }
+
+  @Test
+  public void formatAllAndParseAll_nullPool_runOnCallerThread() {
+    String pattern = CommonDateTimePatterns.dd_MM_yyyy;
+    long[] millis = new long[10000];
+    Arrays.fill(millis, LESSER_DATE.getTime());
+    List<String> texts = Collections.nCopies(millis.length, "15-06-2018");
+
+    String[] printed = DateHelper.formatAll(millis, pattern, null);
+    long[] parsed = DateHelper.parseAll(texts, pattern, DateHelper.ParseMode.STRICT, null);
+    assertEquals(millis.length, printed.length);
+    assertEquals(DateHelper.toString(LESSER_DATE, pattern), printed[millis.length - 1]);
+    assertEquals(texts.size(), parsed.length);
+    assertEquals(DateHelper.toMillis("15-06-2018", pattern), parsed[texts.size() - 1]);
+  }
+
+  @Test
+  public void parseAll_nullOrBlankInputs_returnsEmptyValues() {
+    assertEquals(0, DateHelper.parseAll(null, "dd-MM-yyyy").length);
+    long[] result = DateHelper.parseAll(Arrays.asList("15-06-2018", "x"), null);
+    assertTrue(Arrays.equals(new long[] {DateHelper.NULL_MILLIS, DateHelper.NULL_MILLIS}, result));
+  }
+
   @Test
   public void toString_nullDateNullPattern_returnsNull() {
     String result = DateHelper.toString(null, null);
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.TimeComparator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DateIntervalIndexTest {
+
+  private static final TimeComparator[][] COMPARATORS = {
+      {TimeComparator.AFTER_OR_EQUAL_TO, TimeComparator.BEFORE},
+      {TimeComparator.AFTER_OR_EQUAL_TO, TimeComparator.BEFORE_OR_EQUAL_TO},
+      {TimeComparator.AFTER, TimeComparator.BEFORE},
+      {TimeComparator.AFTER, TimeComparator.BEFORE_OR_EQUAL_TO}};
+
+  @Test
+  public void containing_halfOpenWindows_respectsBounds() {
+    DateIntervalIndex index = DateIntervalIndex.of(new long[] {10, 20, 5, DateHelper.NULL_MILLIS},
+        new long[] {20, 30, 15, 6});
+
+    assertEquals(4, index.size());
+    assertArrayEquals(new int[] {3}, index.containing(0));
+    assertArrayEquals(new int[] {3, 2}, index.containing(5));
+    assertArrayEquals(new int[] {2, 0}, index.containing(10));
+    assertArrayEquals(new int[] {1}, index.containing(20));
+    assertArrayEquals(new int[0], index.containing(30));
+    assertTrue(index.anyContains(29));
+    assertFalse(index.anyContains(30));
+  }
+
+  @Test
+  public void containing_inclusiveEnd_containsEnd() {
+    DateIntervalIndex index = DateIntervalIndex.of(new long[] {10}, new long[] {20},
+        TimeComparator.AFTER, TimeComparator.BEFORE_OR_EQUAL_TO);
+
+    assertFalse(index.anyContains(10));
+    assertTrue(index.anyContains(11));
+    assertTrue(index.anyContains(20));
+    assertFalse(index.anyContains(21));
+  }
+
+  @Test
+  public void containing_openEnd_containsEverythingAfterStart() {
+    DateIntervalIndex index = DateIntervalIndex.of(new long[] {10},
+        new long[] {DateHelper.NULL_MILLIS});
+
+    assertTrue(index.anyContains(Long.MAX_VALUE));
+    assertFalse(index.anyContains(9));
+  }
+
+  @Test
+  public void size_emptyWindows_areNotIndexed() {
+    DateIntervalIndex index = DateIntervalIndex.of(new long[] {10, 10, 10}, new long[] {10, 11, 9});
+
+    assertEquals(1, index.size());
+    assertArrayEquals(new int[] {1}, index.overlapping(0, 100));
+  }
+
+  @Test
+  public void containing_emptyIndex_findsNothing() {
+    DateIntervalIndex index = DateIntervalIndex.of(new long[0], new long[0]);
+
+    assertEquals(0, index.size());
+    assertFalse(index.anyContains(0));
+    assertArrayEquals(new int[0], index.overlapping(DateHelper.NULL_MILLIS,
+        DateHelper.NULL_MILLIS));
+  }
+
+  @Test
+  public void queries_randomWindows_matchDateHelperIs() {
+    Random random = new Random(31);
+    for (int n : new int[] {1, 2, 3, 7, 8, 9, 15, 16, 17, 31, 100, 257, 1000}) {
+      long[] starts = new long[n];
+      long[] ends = new long[n];
+      for (int i = 0; i < n; i++) {
+        starts[i] = random.nextInt(1000);
+        ends[i] = starts[i] + random.nextInt(i % 10 == 0 ? 500 : 30);
+        if (random.nextInt(50) == 0) {
+          starts[i] = DateHelper.NULL_MILLIS;
+        }
+        if (random.nextInt(50) == 0) {
+          ends[i] = DateHelper.NULL_MILLIS;
+        }
+      }
+
+      for (TimeComparator[] comparators : COMPARATORS) {
+        DateIntervalIndex index = DateIntervalIndex.of(starts, ends, comparators[0],
+            comparators[1]);
+        for (long t = -5; t < 1600; t += 1 + random.nextInt(3)) {
+          int[] expected = bruteForce(starts, ends, comparators, t, t);
+          assertArrayEquals(n + " / " + t, expected, index.containing(t));
+          assertEquals(expected.length > 0, index.anyContains(t));
+          List<Integer> reported = new ArrayList<>();
+          index.forEachContaining(t, reported::add);
+          assertEquals(expected.length, reported.size());
+
+          long to = t + random.nextInt(40);
+          long first = comparators[0] == TimeComparator.AFTER ? t + 1 : t;
+          long last = comparators[1] == TimeComparator.BEFORE ? to - 1 : to;
+          assertArrayEquals(bruteForce(starts, ends, comparators, first, last),
+              index.overlapping(t, to));
+        }
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void of_differentLengths_throwsException() {
+    DateIntervalIndex.of(new long[1], new long[2]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void of_invalidStartComparator_throwsException() {
+    DateIntervalIndex.of(new long[1], new long[1], TimeComparator.BEFORE, TimeComparator.BEFORE);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void of_invalidEndComparator_throwsException() {
+    DateIntervalIndex.of(new long[1], new long[1], TimeComparator.AFTER, TimeComparator.EQUAL_TO);
+  }
+
+  /**
+   * Windows containing any instant from {@code from} to {@code to}, ordered like the
+   * index orders them, i.e. by effective start and then by position.
+   */
+  private static int[] bruteForce(long[] starts, long[] ends, TimeComparator[] comparators,
+      long from, long to) {
+    List<long[]> found = new ArrayList<>();
+    for (int i = 0; i < starts.length; i++) {
+      boolean overlaps = false;
+      for (long t = from; t <= to && !overlaps; t++) {
+        overlaps = (starts[i] == DateHelper.NULL_MILLIS || DateHelper.is(t, comparators[0],
+            starts[i])) && (ends[i] == DateHelper.NULL_MILLIS || DateHelper.is(t, comparators[1],
+            ends[i]));
+      }
+      if (overlaps) {
+        long low = starts[i] == DateHelper.NULL_MILLIS ? Long.MIN_VALUE
+            : comparators[0] == TimeComparator.AFTER ? starts[i] + 1 : starts[i];
+        found.add(new long[] {low, i});
+      }
+    }
+    found.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+    int[] result = new int[found.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = (int) found.get(i)[1];
+    }
+    return result;
+  }
+}
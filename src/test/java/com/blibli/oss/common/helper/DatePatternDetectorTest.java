@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.CommonDateTimePatterns;
+import org.joda.time.format.DateTimeFormat;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class DatePatternDetectorTest {
+
+  private static final DatePattern[] PATTERNS = {
+      CompiledDateTimePatterns.dd_MM_yy,
+      CompiledDateTimePatterns.dd_MM_yyyy,
+      CompiledDateTimePatterns.dd_MMM_yyyy,
+      CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm,
+      CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_a,
+      CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss,
+      CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_a,
+      CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS,
+      CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_SSS_a,
+      CompiledDateTimePatterns.ISO_8601
+  };
+
+  @Test
+  public void parseMillis_everyCommonPattern_matchesPattern() {
+    Random random = new Random(16);
+
+    for (DatePattern compiled : PATTERNS) {
+      for (int i = 0; i < 500; i++) {
+        long millis = random.nextLong() % 4000000000000L;
+        String text = compiled.print(millis);
+
+        assertSame(text, compiled, DatePatternDetector.detect(text));
+        assertEquals(text, compiled.parseMillis(text),
+            DatePatternDetector.parseMillis(text, true, DateHelper.NULL_MILLIS));
+      }
+    }
+  }
+
+  @Test
+  public void detect_isoDateAndPartialTime_returnsIso() {
+    assertSame(CompiledDateTimePatterns.ISO_8601, DatePatternDetector.detect("2017-01-29"));
+    assertSame(CompiledDateTimePatterns.ISO_8601, DatePatternDetector.detect("2017-01-29T13:50Z"));
+  }
+
+  @Test
+  public void detectPattern_isoLayouts_reportsOnlyExactPatternLayout() {
+    String joda = DateHelper.toString(new Date(0L), CommonDateTimePatterns.ISO_8601);
+
+    assertEquals(CommonDateTimePatterns.ISO_8601, DatePatternDetector.detectPattern(joda));
+    assertEquals(CommonDateTimePatterns.ISO_8601,
+        DatePatternDetector.detectPattern("2017-01-29T13:50:59.370Z"));
+    assertEquals(CommonDateTimePatterns.ISO_8601,
+        DatePatternDetector.detectPattern("2017-01-29T13:50:59.370+0700"));
+    assertNull(DatePatternDetector.detectPattern("2017-01-29"));
+    assertNull(DatePatternDetector.detectPattern("2017-01-29T13:50Z"));
+    assertNull(DatePatternDetector.detectPattern("2017-01-29T13:50:59.370123+07:00"));
+    assertNull(DatePatternDetector.detectPattern("2017-01-29T13:50:59.370+07"));
+  }
+
+  @Test
+  public void detect_unknownLayout_returnsNull() {
+    assertNull(DatePatternDetector.detect("2017/01/29"));
+    assertNull(DatePatternDetector.detect("29-01-201"));
+    assertNull(DatePatternDetector.detect("29 Jan 2017 13:50:"));
+    assertNull(DatePatternDetector.detect("29 Jan 2017 13:50 PM extra"));
+    assertNull(DatePatternDetector.detect(""));
+  }
+
+  @Test
+  public void parseMillis_invalidFields_behavesLikeDetectedPattern() {
+    String[] texts = {"31-02-17", "00-01-2017", "29 Foo 2017", "29 Jan 2017 00:10 AM",
+        "29 Jan 2017 13:50 XM", "29 Jan 2017 24:00"};
+
+    for (String text : texts) {
+      DatePattern pattern = DatePatternDetector.detect(text);
+      assertEquals(text, pattern.parseMillis(text, -1L),
+          DatePatternDetector.parseMillis(text, false, -1L));
+      String expected = null;
+      try {
+        pattern.parseMillis(text);
+      } catch (IllegalArgumentException e) {
+        expected = e.getMessage();
+      }
+      try {
+        DatePatternDetector.parseMillis(text, true, -1L);
+        fail(text);
+      } catch (IllegalArgumentException e) {
+        assertEquals(expected, e.getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void parseMillis_mixedCaseTexts_behavesLikeJoda() {
+    String[] texts = {"29 Jan 2017", "29 jan 2017", "29 JAN 2017", "29 jAn 2017",
+        "29 Jan 2017 01:50 PM", "29 Jan 2017 01:50 pm", "29 Jan 2017 01:50 Pm"};
+
+    for (String text : texts) {
+      DatePattern pattern = DatePatternDetector.detect(text);
+      Long expected = null;
+      try {
+        expected = DateTimeFormat.forPattern(pattern.getPattern()).parseMillis(text);
+      } catch (IllegalArgumentException e) {
+        // compared below
+      }
+      assertEquals(text, expected == null ? -1L : expected,
+          DatePatternDetector.parseMillis(text, false, -1L));
+    }
+    assertEquals(-1L, DatePatternDetector.parseMillis("29 jAn 2017", false, -1L));
+  }
+
+  @Test
+  public void parseMillis_unrecognized_throwsOrReturnsDefault() {
+    assertEquals(-1L, DatePatternDetector.parseMillis("2017/01/29", false, -1L));
+    try {
+      DatePatternDetector.parseMillis("2017/01/29", true, -1L);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("Unrecognized date format: \"2017/01/29\"", e.getMessage());
+    }
+  }
+}
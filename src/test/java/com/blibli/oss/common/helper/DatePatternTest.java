@@ -0,0 +1,651 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.CommonDateTimePatterns;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DatePatternTest {
+
+  private static final Date DATE = new DateTime(2018, 6, 15, 23, 59, 40, 307).toDate();
+
+  private static final DatePattern[] COMMON_PATTERNS = {CompiledDateTimePatterns.dd_MM_yy,
+      CompiledDateTimePatterns.dd_MM_yyyy, CompiledDateTimePatterns.dd_MMM_yyyy,
+      CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm, CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_a,
+      CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss,
+      CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_a,
+      CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS,
+      CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_SSS_a};
+
+  private final DateTimeZone defaultZone = DateTimeZone.getDefault();
+  private final Locale defaultLocale = Locale.getDefault();
+
+  @After
+  public void tearDown() {
+    DateTimeZone.setDefault(defaultZone);
+    Locale.setDefault(defaultLocale);
+  }
+
+  @Test
+  public void compile_commonPattern_returnsPrecompiledHandle() {
+    assertSame(CompiledDateTimePatterns.dd_MM_yyyy,
+        DateHelper.compile(CommonDateTimePatterns.dd_MM_yyyy));
+    assertSame(CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_SSS_a,
+        DateHelper.compile(CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_SSS_a));
+  }
+
+  @Test
+  public void compile_customPattern_returnsCachedHandle() {
+    DatePattern pattern = DateHelper.compile("yyyy/MM/dd");
+    assertSame(pattern, DateHelper.compile("yyyy/MM/dd"));
+    assertSame(pattern, DateHelper.compile("yyyy/MM/dd", null));
+    assertEquals("yyyy/MM/dd", pattern.getPattern());
+    assertEquals("yyyy/MM/dd", pattern.toString());
+    assertEquals("2018/06/15", pattern.print(DATE));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void compile_nullPattern_throwsException() {
+    DateHelper.compile(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void compile_invalidPattern_throwsException() {
+    DateHelper.compile("invalidpattern-dd-MMM-yyyy");
+  }
+
+  @Test
+  public void print_nullDate_returnsEmptyString() {
+    assertEquals("", CompiledDateTimePatterns.dd_MM_yyyy.print(null));
+  }
+
+  @Test
+  public void print_millis_returnsFormattedDate() {
+    assertEquals("15 Jun 2018 23:59:40.307",
+        CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS.print(DATE.getTime()));
+  }
+
+  @Test
+  public void parse_blankText_returnsNull() {
+    assertNull(CompiledDateTimePatterns.dd_MM_yyyy.parse(null));
+    assertNull(CompiledDateTimePatterns.dd_MM_yyyy.parse(" "));
+  }
+
+  @Test
+  public void parse_validText_returnsDate() {
+    Date result = CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_SSS_a
+        .parse(new StringBuilder("15 Jun 2018 11:59:40.307 PM"));
+    assertEquals(DATE, result);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void parse_invalidText_throwsException() {
+    CompiledDateTimePatterns.dd_MM_yyyy.parse("15 Jun 2018");
+  }
+
+  @Test
+  public void print_commonPatterns_matchesDateHelper() {
+    for (DatePattern pattern : COMMON_PATTERNS) {
+      String printed = pattern.print(DATE);
+      assertEquals(DateHelper.toString(DATE, pattern.getPattern()), printed);
+      assertEquals(DateHelper.toDate(printed, pattern.getPattern()), pattern.parse(printed));
+    }
+  }
+
+  @Test
+  public void print_commonPatterns_matchesJodaInEveryZoneAndLocale() {
+    String[] zones = {"UTC", "Asia/Jakarta", "Asia/Makassar", "America/New_York", "Asia/Kolkata"};
+    Locale[] locales = {Locale.ENGLISH, new Locale("id"), Locale.FRENCH};
+    Random random = new Random(42);
+
+    for (String zone : zones) {
+      DateTimeZone.setDefault(DateTimeZone.forID(zone));
+      for (Locale locale : locales) {
+        Locale.setDefault(locale);
+        for (int i = 0; i < 2000; i++) {
+          long millis = (random.nextLong() % 200000000000000L) + (i % 2 == 0 ? 0 : 300000000000L);
+          for (DatePattern pattern : COMMON_PATTERNS) {
+            String expected = DateTimeFormat.forPattern(pattern.getPattern()).print(millis);
+            assertEquals(expected, pattern.print(millis));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void printTo_buffers_writesFormattedDate() throws Exception {
+    DatePattern pattern = CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_SSS_a;
+    String expected = "15 Jun 2018 11:59:40.307 PM";
+
+    assertEquals("x" + expected,
+        pattern.printTo(new StringBuilder("x"), DATE.getTime()).toString());
+
+    StringBuffer appendable = new StringBuffer();
+    pattern.printTo(appendable, DATE.getTime());
+    assertEquals(expected, appendable.toString());
+
+    char[] chars = new char[40];
+    int end = pattern.printTo(chars, 2, DATE.getTime());
+    assertEquals(expected, new String(chars, 2, end - 2));
+
+    byte[] bytes = new byte[40];
+    end = pattern.printTo(bytes, 3, DATE.getTime());
+    assertEquals(expected, new String(bytes, 3, end - 3, StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void printTo_customPattern_writesFormattedDate() throws Exception {
+    DatePattern pattern = DateHelper.compile("yyyy/MM/dd");
+
+    assertEquals("2018/06/15", pattern.printTo(new StringBuilder(), DATE.getTime()).toString());
+
+    StringBuffer appendable = new StringBuffer();
+    pattern.printTo(appendable, DATE.getTime());
+    assertEquals("2018/06/15", appendable.toString());
+
+    char[] chars = new char[10];
+    assertEquals(10, pattern.printTo(chars, 0, DATE.getTime()));
+    assertEquals("2018/06/15", new String(chars));
+
+    byte[] bytes = new byte[10];
+    assertEquals(10, pattern.printTo(bytes, 0, DATE.getTime()));
+    assertEquals("2018/06/15", new String(bytes, StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void printTo_nonAsciiMonth_writesUtf8() {
+    Locale.setDefault(new Locale("ru"));
+    DatePattern pattern = CompiledDateTimePatterns.dd_MMM_yyyy;
+    byte[] bytes = new byte[64];
+
+    int end = pattern.printTo(bytes, 0, DATE.getTime());
+    assertEquals(pattern.print(DATE), new String(bytes, 0, end, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void printTo_byteBuffer_writesUtf8AtPosition() {
+    for (DatePattern pattern : COMMON_PATTERNS) {
+      ByteBuffer buf = ByteBuffer.allocate(64);
+      buf.put((byte) 'x');
+      int written = pattern.printTo(buf, DATE.getTime());
+      assertEquals(1 + written, buf.position());
+      assertEquals(pattern.print(DATE),
+          new String(buf.array(), 1, written, StandardCharsets.UTF_8));
+    }
+
+    Locale.setDefault(new Locale("ru"));
+    ByteBuffer direct = ByteBuffer.allocateDirect(64);
+    int written = CompiledDateTimePatterns.dd_MMM_yyyy.printTo(direct, DATE.getTime());
+    direct.flip();
+    assertEquals(written, direct.remaining());
+    assertEquals(CompiledDateTimePatterns.dd_MMM_yyyy.print(DATE),
+        StandardCharsets.UTF_8.decode(direct).toString());
+  }
+
+  @Test
+  public void printTo_byteBufferWithoutRoom_writesNothing() {
+    ByteBuffer buf = ByteBuffer.allocate(10);
+    for (DatePattern pattern : new DatePattern[] {CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm,
+        DateHelper.compile("yyyy/MM/dd HH:mm")}) {
+      try {
+        pattern.printTo(buf, DATE.getTime());
+        fail();
+      } catch (BufferOverflowException e) {
+        assertEquals(0, buf.position());
+      }
+    }
+  }
+
+  @Test
+  public void parseMillis_bytes_matchesText() {
+    for (DatePattern pattern : COMMON_PATTERNS) {
+      String text = pattern.print(DATE);
+      byte[] bytes = ("[" + text + "]").getBytes(StandardCharsets.UTF_8);
+      long expected = pattern.parseMillis(text);
+
+      assertEquals(expected, pattern.parseMillis(bytes, 1, bytes.length - 2));
+      assertEquals(expected, pattern.parseMillis(bytes, 1, bytes.length - 2, Long.MIN_VALUE));
+      assertEquals(Long.MIN_VALUE, pattern.parseMillis(bytes, 0, bytes.length, Long.MIN_VALUE));
+
+      ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+      direct.put(bytes).flip();
+      assertEquals(expected, pattern.parseMillis(direct, 1, bytes.length - 2));
+      assertEquals(expected, pattern.parseMillis(direct, 1, bytes.length - 2, Long.MIN_VALUE));
+      assertEquals(0, direct.position());
+      assertEquals(expected, pattern.parseMillis(ByteBuffer.wrap(bytes), 1, bytes.length - 2));
+    }
+  }
+
+  @Test
+  public void parseMillis_nonAsciiBytes_decodesUtf8() {
+    Locale.setDefault(new Locale("ru"));
+    DatePattern pattern = CompiledDateTimePatterns.dd_MMM_yyyy;
+    String text = pattern.print(DATE);
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+    assertEquals(pattern.parseMillis(text), pattern.parseMillis(bytes, 0, bytes.length));
+    assertEquals(pattern.parseMillis(text),
+        pattern.parseMillis(ByteBuffer.wrap(bytes), 0, bytes.length));
+    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip();
+    assertEquals(pattern.parseMillis(text), pattern.parseMillis(direct, 0, bytes.length));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void parseMillis_bytesOutOfRange_throwsException() {
+    CompiledDateTimePatterns.dd_MM_yyyy.parseMillis(new byte[10], 2, 9);
+  }
+
+  @Test
+  public void print_yearOutsideFourDigits_fallsBackToJoda() {
+    long millis = new DateTime(12018, 6, 15, 0, 0).getMillis();
+    assertEquals("15-06-12018", CompiledDateTimePatterns.dd_MM_yyyy.print(millis));
+
+    millis = new DateTime(-5, 6, 15, 0, 0).getMillis();
+    assertEquals(DateTimeFormat.forPattern("dd MMM yyyy").print(millis),
+        CompiledDateTimePatterns.dd_MMM_yyyy.print(millis));
+  }
+
+  @Test
+  public void parseMillis_commonPatterns_matchesJodaInEveryZoneAndLocale() {
+    String[] zones = {"UTC", "Asia/Jakarta", "America/New_York", "Europe/London"};
+    Locale[] locales = {Locale.ENGLISH, new Locale("id")};
+    Random random = new Random(7);
+
+    for (String zone : zones) {
+      DateTimeZone.setDefault(DateTimeZone.forID(zone));
+      for (Locale locale : locales) {
+        Locale.setDefault(locale);
+        for (int i = 0; i < 2000; i++) {
+          long millis = random.nextLong() % 100000000000000L;
+          for (DatePattern pattern : COMMON_PATTERNS) {
+            String text = DateTimeFormat.forPattern(pattern.getPattern()).print(millis);
+            assertSameOutcome(pattern, text);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void withZone_commonPatterns_matchesJodaRegardlessOfDefaultZone() {
+    DateTimeZone.setDefault(DateTimeZone.forID("Asia/Tokyo"));
+    String[] zones = {"UTC", "Asia/Jakarta", "America/New_York", "Europe/London",
+        "Australia/Lord_Howe"};
+    Random random = new Random(11);
+
+    for (String id : zones) {
+      DateTimeZone zone = DateTimeZone.forID(id);
+      for (int i = 0; i < 2000; i++) {
+        long millis = random.nextLong() % 100000000000000L;
+        for (DatePattern common : COMMON_PATTERNS) {
+          DatePattern pattern = common.withZone(zone);
+          assertSame(zone, pattern.getZone());
+          String expected =
+              DateTimeFormat.forPattern(pattern.getPattern()).withZone(zone).print(millis);
+          assertEquals(expected, pattern.print(millis));
+          assertEquals(common.withZone(null).print(millis),
+              DateTimeFormat.forPattern(pattern.getPattern()).print(millis));
+          assertEquals(pattern + " / " + expected,
+              DateTimeFormat.forPattern(pattern.getPattern()).withZone(zone).parseMillis(expected),
+              pattern.parseMillis(expected));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void withLocale_commonPatterns_matchesJodaRegardlessOfDefaultLocale() {
+    Locale.setDefault(Locale.ENGLISH);
+    Locale[] locales = {new Locale("id"), Locale.UK, Locale.GERMAN, Locale.FRENCH,
+        new Locale("ja")};
+    Random random = new Random(17);
+
+    for (Locale locale : locales) {
+      for (int i = 0; i < 500; i++) {
+        long millis = random.nextLong() % 100000000000000L;
+        for (DatePattern common : COMMON_PATTERNS) {
+          DatePattern pattern = common.withLocale(locale);
+          assertSame(locale, pattern.getLocale());
+          String expected =
+              DateTimeFormat.forPattern(pattern.getPattern()).withLocale(locale).print(millis);
+          assertEquals(expected, pattern.print(millis));
+          assertEquals(pattern + " / " + expected,
+              DateTimeFormat.forPattern(pattern.getPattern()).withLocale(locale)
+                  .parseMillis(expected),
+              pattern.parseMillis(expected));
+          assertEquals(pattern + " / " + expected, pattern.parseMillis(expected),
+              pattern.parseMillis(expected.toUpperCase(locale)));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void withLocale_mixedCaseTexts_matchesJoda() {
+    Locale.setDefault(Locale.ENGLISH);
+    Locale[] locales = {new Locale("id"), Locale.UK, Locale.GERMAN, Locale.FRENCH};
+    Random random = new Random(29);
+
+    for (Locale locale : locales) {
+      for (int i = 0; i < 500; i++) {
+        long millis = random.nextLong() % 100000000000000L;
+        for (DatePattern common : COMMON_PATTERNS) {
+          DatePattern pattern = common.withLocale(locale);
+          DateTimeFormatter joda =
+              DateTimeFormat.forPattern(pattern.getPattern()).withLocale(locale);
+          assertSameOutcome(pattern, joda, randomCase(joda.print(millis), random));
+        }
+      }
+    }
+    DatePattern indonesian = CompiledDateTimePatterns.dd_MMM_yyyy.withLocale(new Locale("id"));
+    assertEquals(Long.MIN_VALUE, indonesian.parseMillis("17 aGu 2017", Long.MIN_VALUE));
+  }
+
+  @Test
+  public void withLocale_indonesianTexts_printsAndParsesThem() {
+    Locale.setDefault(Locale.ENGLISH);
+    DatePattern pattern = CompiledDateTimePatterns.dd_MMM_yyyy.withLocale(new Locale("id"));
+    long millis = new DateTime(2017, 8, 17, 0, 0).getMillis();
+
+    assertNull(CompiledDateTimePatterns.dd_MMM_yyyy.getLocale());
+    assertEquals("17 Agu 2017", pattern.print(millis));
+    assertEquals(millis, pattern.parseMillis("17 agu 2017"));
+    assertEquals(Long.MIN_VALUE, pattern.parseMillis("17 Aug 2017", Long.MIN_VALUE));
+    assertEquals(millis, CompiledDateTimePatterns.dd_MMM_yyyy.parseMillis("17 Aug 2017"));
+    assertEquals(pattern.withZone(DateTimeZone.UTC).getLocale(), pattern.getLocale());
+  }
+
+  @Test
+  public void withLocale_longerMonthText_prefersLongestMatch() {
+    DatePattern pattern = CompiledDateTimePatterns.dd_MMM_yyyy.withLocale(Locale.UK);
+    DateTimeFormatter joda = DateTimeFormat.forPattern(pattern.getPattern()).withLocale(Locale.UK);
+    String text = joda.print(new DateTime(2017, 9, 5, 0, 0));
+
+    assertEquals(joda.parseMillis(text), pattern.parseMillis(text));
+    assertSameOutcome(CompiledDateTimePatterns.dd_MMM_yyyy, "05 Sep 2017");
+  }
+
+  @Test
+  public void withZone_gapAndOverlap_matchesJoda() {
+    DateTimeZone zone = DateTimeZone.forID("America/New_York");
+    DatePattern pattern = CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm.withZone(zone);
+    DatePattern joda = DateHelper.compile("yyyy/dd MMM HH:mm").withZone(zone);
+
+    assertNull(CompiledDateTimePatterns.dd_MMM_yyyy.getZone());
+    assertSame(zone, joda.getZone());
+    assertEquals(Long.MIN_VALUE, pattern.parseMillis("11 Mar 2018 02:30", Long.MIN_VALUE));
+    assertEquals(Long.MIN_VALUE, joda.parseMillis("2018/11 Mar 02:30", Long.MIN_VALUE));
+    assertEquals(new DateTime(2018, 11, 4, 1, 30, zone).getMillis(),
+        pattern.parseMillis("04 Nov 2018 01:30"));
+    assertEquals(new DateTime(2018, 11, 4, 1, 30, zone).getMillis(),
+        joda.parseMillis("2018/04 Nov 01:30"));
+  }
+
+  @Test
+  public void parseMillis_nonCanonicalInput_matchesJoda() {
+    DateTimeZone.setDefault(DateTimeZone.forID("America/New_York"));
+    String[][] cases = {
+        {CommonDateTimePatterns.dd_MM_yy, "15-06-18"},
+        {CommonDateTimePatterns.dd_MM_yy, "15-06-2018"},
+        {CommonDateTimePatterns.dd_MM_yy, "15-06-70"},
+        {CommonDateTimePatterns.dd_MM_yyyy, "1-6-2018"},
+        {CommonDateTimePatterns.dd_MM_yyyy, "29-02-2016"},
+        {CommonDateTimePatterns.dd_MM_yyyy, "29-02-2018"},
+        {CommonDateTimePatterns.dd_MM_yyyy, "31-04-2018"},
+        {CommonDateTimePatterns.dd_MM_yyyy, "15-13-2018"},
+        {CommonDateTimePatterns.dd_MM_yyyy, "15-06-2018 "},
+        {CommonDateTimePatterns.dd_MM_yyyy, "15/06/2018"},
+        {CommonDateTimePatterns.dd_MM_yyyy, "15-06-20180"},
+        {CommonDateTimePatterns.dd_MM_yyyy, "15-06-"},
+        {CommonDateTimePatterns.dd_MM_yyyy, ""},
+        {CommonDateTimePatterns.dd_MMM_yyyy, "15 june 2018"},
+        {CommonDateTimePatterns.dd_MMM_yyyy, "15 JUN 2018"},
+        {CommonDateTimePatterns.dd_MMM_yyyy, "15 Jux 2018"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__HH_mm, "11 Mar 2018 02:30"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__HH_mm, "15 Jun 2018 24:00"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__HH_mm, "15 Jun 2018 23:60"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_a, "15 Jun 2018 12:05 am"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_a, "15 Jun 2018 12:05 PM"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_a, "15 Jun 2018 00:05 PM"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_a, "15 Jun 2018 13:05 PM"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss, "15 Jun 2018 23:59:60"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS, "15 Jun 2018 23:59:40.3"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS, "15 Jun 2018 23:59:40.30712"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_ss_SSS_a, "15 Jun 2018 11:59:40.307 PMX"}};
+
+    for (String[] testCase : cases) {
+      assertSameOutcome(DateHelper.compile(testCase[0]), testCase[1]);
+    }
+  }
+
+  @Test
+  public void parseMillis_mixedCaseTexts_matchesJoda() {
+    Locale.setDefault(Locale.ENGLISH);
+    String[][] cases = {
+        {CommonDateTimePatterns.dd_MMM_yyyy, "19 Jun 1969"},
+        {CommonDateTimePatterns.dd_MMM_yyyy, "19 jun 1969"},
+        {CommonDateTimePatterns.dd_MMM_yyyy, "19 JUN 1969"},
+        {CommonDateTimePatterns.dd_MMM_yyyy, "19 JuN 1969"},
+        {CommonDateTimePatterns.dd_MMM_yyyy, "19 jUn 1969"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_a, "19 Jun 1969 04:53 AM"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_a, "19 Jun 1969 04:53 am"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_a, "19 Jun 1969 04:53 Am"},
+        {CommonDateTimePatterns.dd_MMM_yyyy__hh_mm_a, "19 Jun 1969 04:53 pM"}};
+
+    for (String[] testCase : cases) {
+      assertSameOutcome(DateHelper.compile(testCase[0]), testCase[1]);
+    }
+    assertEquals(Long.MIN_VALUE,
+        CompiledDateTimePatterns.dd_MMM_yyyy.parseMillis("19 JuN 1969", Long.MIN_VALUE));
+  }
+
+  @Test
+  public void parseMillis_randomCase_matchesJodaInEveryLocale() {
+    Locale[] locales = {Locale.ENGLISH, new Locale("id"), Locale.GERMAN, Locale.FRENCH};
+    Random random = new Random(23);
+
+    for (Locale locale : locales) {
+      Locale.setDefault(locale);
+      for (int i = 0; i < 1000; i++) {
+        long millis = random.nextLong() % 100000000000000L;
+        for (DatePattern pattern : COMMON_PATTERNS) {
+          String text = DateTimeFormat.forPattern(pattern.getPattern()).print(millis);
+          assertSameOutcome(pattern, randomCase(text, random));
+        }
+      }
+    }
+  }
+
+  static String randomCase(String text, Random random) {
+    char[] chars = text.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      if (random.nextBoolean()) {
+        chars[i] = random.nextBoolean() ? Character.toUpperCase(chars[i])
+            : Character.toLowerCase(chars[i]);
+      }
+    }
+    return new String(chars);
+  }
+
+  private static void assertSameOutcome(DatePattern pattern, String text) {
+    assertSameOutcome(pattern, DateTimeFormat.forPattern(pattern.getPattern()), text);
+  }
+
+  private static void assertSameOutcome(DatePattern pattern, DateTimeFormatter joda, String text) {
+    Long expected = null;
+    try {
+      expected = joda.parseMillis(text);
+    } catch (IllegalArgumentException e) {
+      // compared below
+    }
+
+    try {
+      long actual = pattern.parseMillis(text);
+      assertEquals(pattern + " / " + text, expected, Long.valueOf(actual));
+    } catch (IllegalArgumentException e) {
+      assertFalse(pattern + " / " + text + " should be parsable", expected != null);
+    }
+
+    long actual = pattern.parseMillis(text, Long.MIN_VALUE);
+    assertEquals(pattern + " / " + text, expected == null ? Long.MIN_VALUE : expected, actual);
+  }
+
+  @Test
+  public void printAllAndParseAll_runOnCallerOrGivenPoolOnly() {
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int length : new int[] {3000, DatePattern.BULK_THRESHOLD, 200000}) {
+        long[] millis = new long[length];
+        List<String> texts = new ArrayList<>(Collections.nCopies(length, "15-06-2018"));
+
+        Set<Thread> threads = runAll(millis, texts, single);
+        assertEquals(length + " / " + threads, Collections.singleton(Thread.currentThread()),
+            threads);
+
+        threads = runAll(millis, texts, null);
+        assertEquals(length + " / " + threads, Collections.singleton(Thread.currentThread()),
+            threads);
+
+        threads = runAll(millis, texts, pool);
+        if (length < DatePattern.BULK_THRESHOLD) {
+          assertEquals(Collections.singleton(Thread.currentThread()), threads);
+        } else {
+          for (Thread thread : threads) {
+            assertTrue(length + " / " + thread, thread instanceof ForkJoinWorkerThread
+                && ((ForkJoinWorkerThread) thread).getPool() == pool);
+          }
+        }
+      }
+    } finally {
+      single.shutdown();
+      pool.shutdown();
+    }
+  }
+
+  private static Set<Thread> runAll(long[] millis, List<String> texts, ForkJoinPool pool) {
+    Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    DatePattern pattern = new ThreadRecordingPattern(CompiledDateTimePatterns.dd_MM_yyyy, threads);
+    assertEquals(millis.length, pattern.printAll(millis, pool).length);
+    assertEquals(texts.size(), pattern.parseAll(texts, true, pool).length);
+    return threads;
+  }
+
+  private static final class ThreadRecordingPattern extends DatePattern {
+
+    private final DatePattern delegate;
+    private final Set<Thread> threads;
+
+    ThreadRecordingPattern(DatePattern delegate, Set<Thread> threads) {
+      super(delegate.getPattern());
+      this.delegate = delegate;
+      this.threads = threads;
+    }
+
+    @Override
+    public DatePattern withZone(DateTimeZone zone) {
+      return new ThreadRecordingPattern(delegate.withZone(zone), threads);
+    }
+
+    @Override
+    public DateTimeZone getZone() {
+      return delegate.getZone();
+    }
+
+    @Override
+    public DatePattern withLocale(Locale locale) {
+      return new ThreadRecordingPattern(delegate.withLocale(locale), threads);
+    }
+
+    @Override
+    public Locale getLocale() {
+      return delegate.getLocale();
+    }
+
+    @Override
+    public String print(long millis) {
+      threads.add(Thread.currentThread());
+      return delegate.print(millis);
+    }
+
+    @Override
+    public long parseMillis(CharSequence text) {
+      threads.add(Thread.currentThread());
+      return delegate.parseMillis(text);
+    }
+
+    @Override
+    public long parseMillis(CharSequence text, long defaultValue) {
+      threads.add(Thread.currentThread());
+      return delegate.parseMillis(text, defaultValue);
+    }
+  }
+
+  @Test
+  public void parseMillis_customPatternWithDefaultValue_neverThrows() {
+    DatePattern pattern = DateHelper.compile("yyyy/MM/dd HH:mm");
+    DateTimeZone.setDefault(DateTimeZone.forID("America/New_York"));
+
+    assertEquals(-1L, pattern.parseMillis(null, -1L));
+    assertEquals(-1L, pattern.parseMillis("", -1L));
+    assertEquals(-1L, pattern.parseMillis("2018/06/15", -1L));
+    assertEquals(-1L, pattern.parseMillis("2018/06/15 23:59x", -1L));
+    assertEquals(-1L, pattern.parseMillis("2018/02/30 23:59", -1L));
+    assertEquals(-1L, pattern.parseMillis("2018/03/11 02:30", -1L));
+    assertEquals(DateTimeFormat.forPattern("yyyy/MM/dd HH:mm").parseMillis("2018/06/15 23:59"),
+        pattern.parseMillis("2018/06/15 23:59", -1L));
+  }
+
+  @Test
+  public void parseMillis_commonPatternWithDefaultValue_neverThrows() {
+    assertEquals(-1L, CompiledDateTimePatterns.dd_MM_yyyy.parseMillis(null, -1L));
+    assertEquals(-1L, CompiledDateTimePatterns.dd_MM_yyyy.parseMillis("31-02-2018", -1L));
+    assertEquals(-1L, CompiledDateTimePatterns.dd_MM_yyyy.parseMillis("garbage", -1L));
+    assertEquals(-1L, CompiledDateTimePatterns.dd_MMM_yyyy__hh_mm_a
+        .parseMillis("15 Jun 2018 13:05 PM", -1L));
+    assertEquals(DATE.getTime(), CompiledDateTimePatterns.dd_MMM_yyyy__HH_mm_ss_SSS
+        .parseMillis("15 Jun 2018 23:59:40.307", -1L));
+  }
+}
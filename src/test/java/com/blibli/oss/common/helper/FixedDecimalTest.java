@@ -0,0 +1,197 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class FixedDecimalTest {
+
+  @Test
+  public void parse_plainDecimals_matchBigDecimal() {
+    String[] texts = {"15000", "15000.5", "-15000.50", "+0.05", ".5", "7.", "-0.001",
+        "0.125", "-2.675", "999999999.995", "0000.10"};
+    for (String text : texts) {
+      for (int digits = 0; digits <= 4; digits++) {
+        int scale = digits;
+        for (RoundingMode mode : RoundingMode.values()) {
+          assertEquals(text + " " + scale + " " + mode, result(() -> new BigDecimal(text)
+                  .setScale(scale, mode).toPlainString()),
+              result(() -> FixedDecimal.parse(text, scale, mode).toString()));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void parse_longRange_roundTrips() {
+    FixedDecimal[] values = {FixedDecimal.of(Long.MIN_VALUE, 0), FixedDecimal.of(Long.MAX_VALUE, 0),
+        FixedDecimal.of(Long.MIN_VALUE, 1), FixedDecimal.of(Long.MIN_VALUE, 18)};
+    for (FixedDecimal value : values) {
+      assertEquals(value, FixedDecimal.parse(value.toString(), value.getScale(),
+          RoundingMode.UNNECESSARY));
+    }
+    assertEquals(Long.MIN_VALUE,
+        FixedDecimal.parse("-9223372036854775808", 0, RoundingMode.UNNECESSARY).getUnscaledValue());
+    assertEquals(Long.MIN_VALUE, FixedDecimal.parse("-9223372036854775807.5", 0,
+        RoundingMode.HALF_UP).getUnscaledValue());
+    for (String text : new String[] {"9223372036854775808", "-9223372036854775809"}) {
+      try {
+        FixedDecimal.parse(text, 0, RoundingMode.UNNECESSARY);
+        fail(text);
+      } catch (ArithmeticException expected) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void parse_invalidText_throwsNumberFormatException() {
+    String[] texts = {null, "", "-", ".", "1.2.3", "1e5", "1,000", " 1", "--1"};
+    for (String text : texts) {
+      try {
+        FixedDecimal.parse(text, 2, RoundingMode.HALF_UP);
+        fail(text);
+      } catch (NumberFormatException expected) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void arithmetic_randomValues_matchBigDecimal() {
+    Random random = new Random(22);
+    for (int i = 0; i < 20000; i++) {
+      FixedDecimal a = randomValue(random);
+      FixedDecimal b = randomValue(random);
+      BigDecimal x = a.toBigDecimal();
+      BigDecimal y = b.toBigDecimal();
+      long quantity = random.nextInt(2000) - 1000;
+      RoundingMode mode = RoundingMode.values()[random.nextInt(RoundingMode.values().length)];
+
+      assertEquals(result(() -> exact(x.add(y))), result(() -> a.add(b).toBigDecimal()));
+      assertEquals(result(() -> exact(x.subtract(y))), result(() -> a.subtract(b).toBigDecimal()));
+      assertEquals(result(() -> exact(x.multiply(BigDecimal.valueOf(quantity)))),
+          result(() -> a.multiply(quantity).toBigDecimal()));
+      assertEquals(result(() -> exact(x.multiply(y).setScale(a.getScale(), mode))),
+          result(() -> a.multiply(b, mode).toBigDecimal()));
+      assertEquals(result(() -> exact(x.setScale(b.getScale(), mode))),
+          result(() -> a.setScale(b.getScale(), mode).toBigDecimal()));
+      assertEquals(Integer.signum(x.compareTo(y)), Integer.signum(a.compareTo(b)));
+      assertEquals(x.signum(), a.signum());
+    }
+  }
+
+  @Test
+  public void add_overflow_throwsArithmeticException() {
+    FixedDecimal max = FixedDecimal.of(Long.MAX_VALUE, 2);
+    assertEquals("java.lang.ArithmeticException",
+        result(() -> max.add(FixedDecimal.of(1, 2))).split(":")[0]);
+    assertEquals("java.lang.ArithmeticException",
+        result(() -> max.add(FixedDecimal.of(1, 3))).split(":")[0]);
+    assertEquals("java.lang.ArithmeticException",
+        result(() -> FixedDecimal.of(Long.MIN_VALUE, 0).negate()).split(":")[0]);
+    assertEquals(1, FixedDecimal.of(Long.MAX_VALUE, 0).compareTo(FixedDecimal.of(1, 18)));
+    assertEquals(-1, FixedDecimal.of(1, 18).compareTo(FixedDecimal.of(Long.MAX_VALUE, 0)));
+  }
+
+  @Test
+  public void bigDecimal_roundTrip() {
+    BigDecimal price = new BigDecimal("15000.50");
+    FixedDecimal value = FixedDecimal.valueOf(price);
+    assertEquals(FixedDecimal.of(1500050, 2), value);
+    assertEquals(price, value.toBigDecimal());
+    assertEquals(FixedDecimal.of(15000, 0), FixedDecimal.valueOf(new BigDecimal("1.5E4")));
+    assertEquals(FixedDecimal.of(15001, 0),
+        FixedDecimal.valueOf(price, 0, RoundingMode.HALF_UP));
+  }
+
+  @Test
+  public void equals_considersScale() {
+    FixedDecimal one = FixedDecimal.of(10, 1);
+    FixedDecimal sameOne = FixedDecimal.of(100, 2);
+    assertNotEquals(one, sameOne);
+    assertEquals(0, one.compareTo(sameOne));
+    assertEquals(FixedDecimal.of(10, 1), one);
+    assertEquals(FixedDecimal.of(10, 1).hashCode(), one.hashCode());
+    assertSame(one, one.setScale(1, RoundingMode.UNNECESSARY));
+    assertFalse(one.equals("1.0"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void of_scaleOutOfRange_throwsIllegalArgumentException() {
+    FixedDecimal.of(1, FixedDecimal.MAX_SCALE + 1);
+  }
+
+  @Test
+  public void accumulator_sumsCart() {
+    FixedDecimal.Accumulator total = new FixedDecimal.Accumulator(2);
+    total.add(FixedDecimal.parse("15000.50", 2, RoundingMode.UNNECESSARY), 3)
+        .add(FixedDecimal.of(2, 0))
+        .subtract(FixedDecimal.of(5, 1));
+
+    assertEquals(FixedDecimal.of(4500300, 2), total.toFixedDecimal());
+    assertEquals(4500300, total.getUnscaledValue());
+    assertEquals(2, total.getScale());
+    assertEquals("45003.00", total.toString());
+    assertEquals(0, total.reset().getUnscaledValue());
+  }
+
+  @Test
+  public void accumulator_inexactOrOverflow_keepsTotal() {
+    FixedDecimal.Accumulator total = new FixedDecimal.Accumulator(2);
+    total.add(FixedDecimal.of(Long.MAX_VALUE - 1, 2));
+    assertEquals("java.lang.ArithmeticException",
+        result(() -> total.add(FixedDecimal.of(1, 3))).split(":")[0]);
+    assertEquals("java.lang.ArithmeticException",
+        result(() -> total.add(FixedDecimal.of(2, 2))).split(":")[0]);
+    assertEquals(Long.MAX_VALUE - 1, total.getUnscaledValue());
+  }
+
+  private static FixedDecimal randomValue(Random random) {
+    int scale = random.nextInt(5);
+    long unscaled = random.nextBoolean() ? random.nextInt(100000000) - 50000000
+        : random.nextLong() >> random.nextInt(64);
+    return FixedDecimal.of(unscaled, scale);
+  }
+
+  private static BigDecimal exact(BigDecimal value) {
+    return FixedDecimal.valueOf(value).toBigDecimal();
+  }
+
+  private static String result(Supplier supplier) {
+    try {
+      return String.valueOf(supplier.get());
+    } catch (RuntimeException e) {
+      return e.getClass().getName();
+    }
+  }
+
+  private interface Supplier {
+
+    Object get();
+  }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.NumberHelper.ParseMode;
+import org.junit.Test;
+
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class GroupedNumberParserTest {
+
+  private static final Locale INDONESIA = Locale.forLanguageTag("id-ID");
+
+  private final GroupedNumberParser indonesian = GroupedNumberParser.forLocale(INDONESIA);
+
+  @Test
+  public void forLocale_indonesia_usesRupiahFormat() {
+    assertEquals('.', indonesian.getGroupingSeparator());
+    assertEquals(',', indonesian.getDecimalSeparator());
+    assertEquals("Rp", indonesian.getPrefix());
+    assertNull(indonesian.getSuffix());
+    assertSame(indonesian, GroupedNumberParser.forLocale(INDONESIA));
+  }
+
+  @Test
+  public void parse_indonesianFormats() {
+    assertEquals(1234567.89, indonesian.parseDouble("1.234.567,89", ParseMode.STRICT), 0d);
+    assertEquals(15000L, indonesian.parseLong("Rp 15.000", ParseMode.STRICT));
+    assertEquals(15000L, indonesian.parseLong("Rp15.000,00", ParseMode.STRICT));
+    assertEquals(15000L, indonesian.parseLong("  rp 15000 ", ParseMode.STRICT));
+    assertEquals(-15000L, indonesian.parseLong("-Rp 15.000", ParseMode.STRICT));
+    assertEquals(-15000L, indonesian.parseLong("Rp -15.000", ParseMode.STRICT));
+    assertEquals(15000L, indonesian.parseLong("15000", ParseMode.STRICT));
+    assertEquals(0.5, indonesian.parseDouble(",5", ParseMode.STRICT), 0d);
+    assertEquals(FixedDecimal.of(1500050, 2), indonesian.parseFixedDecimal("Rp 15.000,50", 2,
+        RoundingMode.UNNECESSARY, ParseMode.STRICT));
+    assertEquals(FixedDecimal.of(15001, 0), indonesian.parseFixedDecimal("Rp 15.000,50", 0,
+        RoundingMode.HALF_UP, ParseMode.STRICT));
+    assertEquals(Long.MIN_VALUE,
+        indonesian.parseLong("-9.223.372.036.854.775.808", ParseMode.STRICT));
+  }
+
+  @Test
+  public void parse_invalidText_isRejected() {
+    String[] texts = {null, "", "Rp", "-", "1.23", "1.2345", "1..234", ".123", "1.234.", "12,3,4",
+        "1,2.345", "Rp 15.000 Rp", "15.000 IDR", "--1", "- -1", "1 000"};
+    for (String text : texts) {
+      assertEquals(0L, indonesian.parseLong(text, ParseMode.SUPPRESS_EXCEPTION));
+      assertEquals(FixedDecimal.of(0, 2), indonesian.parseFixedDecimal(text, 2,
+          RoundingMode.HALF_UP, ParseMode.SUPPRESS_EXCEPTION));
+      try {
+        indonesian.parseLong(text, ParseMode.STRICT);
+        fail(text);
+      } catch (NumberFormatException expected) {
+        // expected
+      }
+    }
+    assertEquals(0L, indonesian.parseLong("15.000,5", ParseMode.SUPPRESS_EXCEPTION));
+    assertEquals(0L,
+        indonesian.parseLong("9.223.372.036.854.775.808", ParseMode.SUPPRESS_EXCEPTION));
+    assertEquals(15000.5, indonesian.parseDouble("15.000,5", ParseMode.SUPPRESS_EXCEPTION), 0d);
+  }
+
+  @Test
+  public void parse_customSeparatorsAndAffixes() {
+    GroupedNumberParser parser = GroupedNumberParser.of(' ', ',').withCurrency(null, "€");
+    assertEquals(1234567.5, parser.parseDouble("1 234 567,5 €", ParseMode.STRICT), 0d);
+    assertEquals(1234567.5, parser.parseDouble("1 234 567,5 €", ParseMode.STRICT),
+        0d);
+    assertEquals(1234L, parser.parseLong("1 234", ParseMode.STRICT));
+    assertEquals(0L, parser.parseLong("1 234 €€", ParseMode.SUPPRESS_EXCEPTION));
+    assertEquals(12L, GroupedNumberParser.of(',', '.').withCurrency("IDR", "IDR")
+        .parseLong("idr 12 IDR", ParseMode.STRICT));
+  }
+
+  @Test
+  public void parse_consecutiveTexts_doNotShareState() {
+    GroupedNumberParser parser = GroupedNumberParser.of('.', ',');
+
+    assertEquals(-1.5, parser.parseDouble("-1,5", ParseMode.STRICT), 0d);
+    assertEquals(2L, parser.parseLong("2", ParseMode.STRICT));
+    assertEquals(0L, parser.parseLong("1,5", ParseMode.SUPPRESS_EXCEPTION));
+    assertEquals(15L, parser.parseLong("15", ParseMode.STRICT));
+    assertEquals(1e20, parser.parseDouble("100.000.000.000.000.000.001", ParseMode.STRICT), 0d);
+    assertEquals(7.25, parser.parseDouble("7,25", ParseMode.STRICT), 0d);
+    assertEquals(FixedDecimal.of(300, 2),
+        parser.parseFixedDecimal("3", 2, RoundingMode.UNNECESSARY, ParseMode.STRICT));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void of_sameSeparators_throwsIllegalArgumentException() {
+    GroupedNumberParser.of(',', ',');
+  }
+
+  @Test
+  public void parse_formattedByLocale_roundTrips() {
+    Random random = new Random(24);
+    for (Locale locale : new Locale[] {INDONESIA, Locale.GERMANY, Locale.FRANCE, Locale.US}) {
+      GroupedNumberParser parser = GroupedNumberParser.forLocale(locale);
+      DecimalFormat currency = (DecimalFormat) NumberFormat.getCurrencyInstance(locale);
+      DecimalFormat number = (DecimalFormat) NumberFormat.getNumberInstance(locale);
+      number.setMaximumFractionDigits(20);
+      for (int i = 0; i < 5000; i++) {
+        long cents = random.nextLong() >> random.nextInt(64);
+        FixedDecimal price = FixedDecimal.of(cents, 2);
+        String text = currency.format(price.toBigDecimal());
+        assertEquals(text, price, parser.parseFixedDecimal(text, 2, RoundingMode.UNNECESSARY,
+            ParseMode.STRICT));
+        double value = Double.longBitsToDouble(random.nextLong());
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) > 1e30) {
+          continue;
+        }
+        text = number.format(value);
+        assertEquals(text, Double.parseDouble(number.parse(text, new java.text.ParsePosition(0))
+            .toString()), parser.parseDouble(text, ParseMode.STRICT), 0d);
+      }
+    }
+  }
+
+  @Test
+  public void parseLong_zeroFractionOfLargeLong_returnsLong() {
+    GroupedNumberParser parser = GroupedNumberParser.of('.', ',');
+
+    assertEquals(922337203685477581L,
+        parser.parseLong("922.337.203.685.477.581,0", ParseMode.STRICT));
+    assertEquals(999999999999999999L,
+        parser.parseLong("999.999.999.999.999.999,0", ParseMode.STRICT));
+    assertEquals(Long.MAX_VALUE,
+        parser.parseLong("9.223.372.036.854.775.807,000", ParseMode.STRICT));
+    assertEquals(Long.MIN_VALUE,
+        parser.parseLong("-9.223.372.036.854.775.808,00", ParseMode.STRICT));
+    assertEquals(0L, parser.parseLong("9.223.372.036.854.775.808,0", ParseMode.SUPPRESS_EXCEPTION));
+    assertEquals(0L, parser.parseLong("922.337.203.685.477.580,7", ParseMode.SUPPRESS_EXCEPTION));
+  }
+
+  @Test
+  public void parseLong_printedWithFractionDigits_roundTrips() {
+    GroupedNumberParser parser = GroupedNumberParser.of('.', ',');
+    Random random = new Random(24);
+    for (int fractionDigits = 0; fractionDigits <= 3; fractionDigits++) {
+      GroupedNumberPrinter printer =
+          GroupedNumberPrinter.of('.', ',').withFractionDigits(fractionDigits);
+      for (int i = 0; i < 20000; i++) {
+        long value = i < 2 ? (i == 0 ? Long.MAX_VALUE : Long.MIN_VALUE)
+            : random.nextLong() >> random.nextInt(64);
+        String text = printer.print(value);
+        assertEquals(text, value, parser.parseLong(text, ParseMode.STRICT));
+      }
+    }
+  }
+
+  @Test
+  public void parseDouble_manyDigits_matchesJdk() {
+    GroupedNumberParser parser = GroupedNumberParser.of('.', ',');
+    Random random = new Random(25);
+    StringBuilder grouped = new StringBuilder();
+    StringBuilder plain = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      grouped.setLength(0);
+      plain.setLength(0);
+      int groups = 1 + random.nextInt(12);
+      grouped.append(1 + random.nextInt(999));
+      for (int j = 1; j < groups; j++) {
+        grouped.append('.').append(String.format("%03d", random.nextInt(1000)));
+      }
+      plain.append(grouped.toString().replace(".", ""));
+      if (random.nextBoolean()) {
+        String fraction = Long.toString(random.nextLong() & Long.MAX_VALUE);
+        grouped.append(',').append(fraction);
+        plain.append('.').append(fraction);
+      }
+      assertEquals(grouped.toString(),
+          Double.doubleToRawLongBits(Double.parseDouble(plain.toString())),
+          Double.doubleToRawLongBits(parser.parseDouble(grouped, ParseMode.STRICT)));
+      assertEquals(grouped.toString(), result(() -> FixedDecimal.parse(plain, 4,
+          RoundingMode.HALF_EVEN)), result(() -> parser.parseFixedDecimal(grouped, 4,
+          RoundingMode.HALF_EVEN, ParseMode.STRICT)));
+    }
+  }
+
+  private static String result(Supplier supplier) {
+    try {
+      return String.valueOf(supplier.get());
+    } catch (RuntimeException e) {
+      return e.getClass().getName();
+    }
+  }
+
+  private interface Supplier {
+
+    Object get();
+  }
+}
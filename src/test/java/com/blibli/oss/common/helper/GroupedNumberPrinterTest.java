@@ -0,0 +1,232 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.NumberHelper.ParseMode;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class GroupedNumberPrinterTest {
+
+  private static final Locale INDONESIA = Locale.forLanguageTag("id-ID");
+
+  private final GroupedNumberPrinter rupiah = GroupedNumberPrinter.forLocale(INDONESIA);
+
+  @Test
+  public void forLocale_indonesia_usesRupiahFormat() {
+    assertEquals("Rp1.234.567,50", rupiah.print(1234567.5));
+    assertEquals("-Rp15.000,00", rupiah.print(-15000L));
+    assertEquals("Rp0,05", rupiah.print(FixedDecimal.of(5, 2)));
+    assertEquals("Rp15.000,50", rupiah.print(new BigDecimal("15000.5")));
+    assertSame(rupiah, GroupedNumberPrinter.forLocale(INDONESIA));
+  }
+
+  @Test
+  public void print_customFormats() {
+    GroupedNumberPrinter printer = GroupedNumberPrinter.of('.', ',');
+    assertEquals("0", printer.print(0L));
+    assertEquals("-9.223.372.036.854.775.808", printer.print(Long.MIN_VALUE));
+    assertEquals("9.223.372.036.854.775.807", printer.print(Long.MAX_VALUE));
+    assertEquals("123", printer.print(123L));
+    assertEquals("1.000", printer.print(1000));
+    assertEquals("2", printer.print(2.5));
+    assertEquals("4", printer.print(3.5));
+    assertEquals("0", printer.print(-0.4));
+    assertEquals("Rp 15.000", printer.withCurrency("Rp ", null).print(15000L));
+    assertEquals("15000 IDR", printer.withGrouping(false).withCurrency(null, " IDR")
+        .print(15000L));
+    assertEquals("1.234,5000", printer.withFractionDigits(4).print(FixedDecimal.of(12345, 1)));
+    assertEquals("0,12", printer.withFractionDigits(2).print(FixedDecimal.of(125, 3)));
+    assertEquals("0,000001", printer.withFractionDigits(6).print(1e-6));
+    assertEquals("123.456.789.012.345.678.901.234.567.890,10",
+        printer.withFractionDigits(2).print(new BigDecimal("123456789012345678901234567890.1")));
+    assertEquals("1.000", printer.print(new BigDecimal("1E+3")));
+    assertEquals("", printer.print((BigDecimal) null));
+    assertEquals("", printer.print((FixedDecimal) null));
+  }
+
+  @Test
+  public void print_negativeRoundingToZero_printsZeroWithoutSign() {
+    GroupedNumberPrinter printer = GroupedNumberPrinter.of('.', ',');
+    DecimalFormat format = new DecimalFormat("#,##0");
+
+    assertEquals("-0", format.format(-0.001));
+    assertEquals("0", printer.print(-0.001));
+    assertEquals("0", printer.print(-0.0));
+    assertEquals("0", printer.print(new BigDecimal("-0.001")));
+    assertEquals("0", printer.print(FixedDecimal.of(-1, 3)));
+    assertEquals("0,00", printer.withFractionDigits(2).print(-0.004));
+    assertEquals("-0,01", printer.withFractionDigits(2).print(-0.005001));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void print_nan_throwsIllegalArgumentException() {
+    rupiah.print(Double.NaN);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void withFractionDigits_outOfRange_throwsIllegalArgumentException() {
+    rupiah.withFractionDigits(19);
+  }
+
+  @Test
+  public void print_randomValues_matchDecimalFormat() {
+    Random random = new Random(25);
+    for (Locale locale : new Locale[] {INDONESIA, Locale.GERMANY, Locale.FRANCE, Locale.US}) {
+      for (int digits = 0; digits <= 18; digits += 3) {
+        GroupedNumberPrinter printer =
+            GroupedNumberPrinter.forLocale(locale).withFractionDigits(digits);
+        DecimalFormat format = (DecimalFormat) NumberFormat.getCurrencyInstance(locale);
+        format.setMinimumFractionDigits(digits);
+        format.setMaximumFractionDigits(digits);
+        format.setRoundingMode(RoundingMode.HALF_EVEN);
+        for (int i = 0; i < 2000; i++) {
+          long value = random.nextLong() >> random.nextInt(64);
+          assertEquals(expected(format, new BigDecimal(value)), printer.print(value));
+          double doubleValue = Double.longBitsToDouble(random.nextLong());
+          if (random.nextBoolean()) {
+            doubleValue = (random.nextLong() >> random.nextInt(64)) / Math.pow(10,
+                random.nextInt(20));
+          }
+          if (!Double.isNaN(doubleValue) && !Double.isInfinite(doubleValue)) {
+            assertEquals(Double.toString(doubleValue), expected(format, doubleValue),
+                printer.print(doubleValue));
+          }
+          FixedDecimal fixed = FixedDecimal.of(value, random.nextInt(19));
+          assertEquals(fixed.toString(), expected(format, fixed.toBigDecimal()),
+              printer.print(fixed));
+          assertEquals(expected(format, fixed.toBigDecimal()),
+              printer.print(fixed.toBigDecimal()));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void print_doubles_matchDecimalFormatHalfEven() {
+    GroupedNumberPrinter printer = GroupedNumberPrinter.of('.', ',');
+    assertEquals("952.896.487.471.754,90",
+        printer.withFractionDigits(2).print(9.528964874717549E14));
+    assertEquals("-6.974.642.888.344,502000",
+        printer.withFractionDigits(6).print(-6.974642888344502E12));
+    assertEquals("99.999.999.999.999.990.000.000", printer.print(1e23));
+    assertEquals("0,12", printer.withFractionDigits(2).print(0.125));
+    assertEquals("0,14", printer.withFractionDigits(2).print(0.135));
+    assertEquals("1,00", printer.withFractionDigits(2).print(1.005));
+    assertEquals("0,000000001", printer.withFractionDigits(9).print(5e-10));
+
+    Random random = new Random(27);
+    for (int digits = 0; digits <= 18; digits++) {
+      GroupedNumberPrinter withDigits = printer.withFractionDigits(digits);
+      DecimalFormat format = (DecimalFormat) NumberFormat.getInstance(Locale.GERMANY);
+      format.setMinimumFractionDigits(digits);
+      format.setMaximumFractionDigits(digits);
+      format.setRoundingMode(RoundingMode.HALF_EVEN);
+      for (int i = 0; i < 20000; i++) {
+        double value;
+        switch (i % 3) {
+          case 0:
+            value = random.nextDouble() * Math.pow(10, random.nextInt(40) - 20);
+            break;
+          case 1:
+            // ties and near ties at the printed fraction digits
+            value = (random.nextInt(2000000) * 2 + 1) / Math.pow(10, digits + 1)
+                * Math.pow(10, random.nextInt(3));
+            break;
+          default:
+            value = Double.longBitsToDouble(random.nextLong() >>> 1 & ~(1L << 62));
+        }
+        value = random.nextBoolean() ? -value : value;
+        assertEquals(Double.toString(value), expected(format, value), withDigits.print(value));
+      }
+    }
+  }
+
+  @Test
+  public void printTo_everyTarget_matchesPrint() throws IOException {
+    GroupedNumberPrinter printer = GroupedNumberPrinter.of(' ', ',').withCurrency(null, " €")
+        .withFractionDigits(2);
+    double value = -1234567.891;
+    String expected = "-1 234 567,89 €";
+    assertEquals(expected, printer.print(value));
+
+    StringBuilder builder = new StringBuilder("x");
+    assertSame(builder, printer.printTo(builder, value));
+    assertEquals("x" + expected, builder.toString());
+
+    StringBuffer appendable = new StringBuffer();
+    printer.printTo(appendable, value);
+    assertEquals(expected, appendable.toString());
+
+    char[] chars = new char[20];
+    assertEquals(2 + expected.length(), printer.printTo(chars, 2, value));
+    assertEquals(expected, new String(chars, 2, expected.length()));
+
+    byte[] utf8 = expected.getBytes(StandardCharsets.UTF_8);
+    byte[] bytes = new byte[20];
+    assertEquals(1 + utf8.length, printer.printTo(bytes, 1, value));
+    assertEquals(expected, new String(bytes, 1, utf8.length, StandardCharsets.UTF_8));
+
+    ByteBuffer buffer = ByteBuffer.allocate(20);
+    buffer.position(3);
+    assertEquals(utf8.length, printer.printTo(buffer, value));
+    assertEquals(3 + utf8.length, buffer.position());
+    assertEquals(expected, new String(buffer.array(), 3, utf8.length, StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void print_parsedBack_roundTrips() {
+    GroupedNumberParser parser = GroupedNumberParser.forLocale(INDONESIA);
+    Random random = new Random(26);
+    for (int i = 0; i < 10000; i++) {
+      FixedDecimal price = FixedDecimal.of(random.nextLong() >> random.nextInt(64), 2);
+      assertEquals(price, parser.parseFixedDecimal(rupiah.print(price), 2,
+          RoundingMode.UNNECESSARY, ParseMode.STRICT));
+    }
+  }
+
+  private static String expected(DecimalFormat format, double value) {
+    int digits = format.getMaximumFractionDigits();
+    if (BigDecimal.valueOf(Math.abs(value)).compareTo(BigDecimal.valueOf(5, digits + 1)) == 0) {
+      // DecimalFormat rounds a lone 5 right after the last fraction digit, like 5e-10 with 9
+      // fraction digits, down from 3 fraction digits on, even when the double is above the tie
+      return expected(format, new BigDecimal(value));
+    }
+    String text = format.format(value);
+    // unlike DecimalFormat, zero is printed without sign
+    return text.equals(format.format(-0.0)) ? format.format(0.0) : text;
+  }
+
+  private static String expected(DecimalFormat format, BigDecimal value) {
+    String text = format.format(value);
+    // unlike DecimalFormat, zero is printed without sign
+    return value.setScale(format.getMaximumFractionDigits(), RoundingMode.HALF_EVEN).signum() == 0
+        ? format.format(BigDecimal.ZERO) : text;
+  }
+}
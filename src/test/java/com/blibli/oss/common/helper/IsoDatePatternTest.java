@@ -0,0 +1,191 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.CommonDateTimePatterns;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+import org.junit.After;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class IsoDatePatternTest {
+
+  private static final DatePattern ISO = CompiledDateTimePatterns.ISO_8601;
+
+  private final DateTimeZone defaultZone = DateTimeZone.getDefault();
+
+  @After
+  public void tearDown() {
+    DateTimeZone.setDefault(defaultZone);
+  }
+
+  @Test
+  public void compile_isoPattern_doesNotReturnLenientHandle() {
+    assertNotSame(ISO, DateHelper.compile(CommonDateTimePatterns.ISO_8601));
+    assertSame(DateHelper.compile(CommonDateTimePatterns.ISO_8601),
+        DateHelper.compile(CommonDateTimePatterns.ISO_8601));
+    assertEquals(CommonDateTimePatterns.ISO_8601, ISO.getPattern());
+  }
+
+  @Test
+  public void compile_isoPattern_parsesLikeJoda() {
+    DatePattern compiled = DateHelper.compile(CommonDateTimePatterns.ISO_8601);
+
+    assertEquals(1485672659370L, compiled.parseMillis("2017-01-29T13:50:59.370+07:00"));
+    assertEquals(-1L, compiled.parseMillis("2017-01-29", -1L));
+    assertEquals(-1L, compiled.parseMillis("2017-01-29T13:50:59.370123+07:00", -1L));
+    assertNull(DateHelper.toDate("2017-01-29", CommonDateTimePatterns.ISO_8601,
+        DateHelper.ParseMode.SUPPRESS_EXCEPTION));
+    assertEquals(1485672659370L, ISO.parseMillis("2017-01-29T13:50:59.370123+07:00"));
+  }
+
+  @Test
+  public void print_everyZone_matchesJoda() {
+    String[] zones = {"UTC", "Asia/Jakarta", "America/New_York", "Asia/Kolkata", "Europe/Dublin"};
+    Random random = new Random(13);
+
+    for (String zone : zones) {
+      DateTimeZone.setDefault(DateTimeZone.forID(zone));
+      for (int i = 0; i < 5000; i++) {
+        long millis = random.nextLong() % 300000000000000L;
+        assertEquals(ISODateTimeFormat.dateTime().print(millis), ISO.print(millis));
+        assertEquals(ISODateTimeFormat.dateTime().print(millis),
+            ISO.printTo(new StringBuilder(), millis).toString());
+      }
+    }
+  }
+
+  @Test
+  public void print_withZone_printsOffsetOfZone() {
+    long millis = new DateTime(2018, 6, 15, 23, 59, 40, 307, DateTimeZone.UTC).getMillis();
+
+    assertEquals("2018-06-15T23:59:40.307Z", ISO.withZone(DateTimeZone.UTC).print(millis));
+    assertEquals("2018-06-16T06:59:40.307+07:00",
+        ISO.withZone(DateTimeZone.forID("Asia/Jakarta")).print(millis));
+    assertEquals("2018-06-15T19:59:40.307-04:00",
+        ISO.withZone(DateTimeZone.forID("America/New_York")).print(millis));
+    assertEquals(DateTimeZone.UTC, ISO.withZone(DateTimeZone.UTC).getZone());
+    assertNull(ISO.getZone());
+  }
+
+  @Test
+  public void parseMillis_extendedLayouts_matchesJoda() {
+    String[] zones = {"UTC", "Asia/Jakarta", "America/New_York"};
+    String[] offsets = {"", "Z", "+07:00", "-03:30", "+00:00", "+14:00"};
+    Random random = new Random(17);
+
+    for (String zone : zones) {
+      DateTimeZone.setDefault(DateTimeZone.forID(zone));
+      for (int i = 0; i < 3000; i++) {
+        String text = String.format("%04d-%02d-%02d", random.nextInt(10000),
+            1 + random.nextInt(13), 1 + random.nextInt(31));
+        int layout = random.nextInt(4);
+        if (layout > 0) {
+          text += String.format("T%02d:%02d", random.nextInt(25), random.nextInt(61));
+        }
+        if (layout > 1) {
+          text += String.format(":%02d", random.nextInt(61));
+        }
+        if (layout > 2) {
+          text += "." + Long.toString(Math.abs(random.nextLong())).substring(0,
+              1 + random.nextInt(9));
+        }
+        if (layout > 0) {
+          text += offsets[random.nextInt(offsets.length)];
+        }
+        assertSameOutcome(ISO, text);
+      }
+    }
+  }
+
+  @Test
+  public void parseMillis_otherIsoLayouts_matchesJoda() {
+    DateTimeZone.setDefault(DateTimeZone.forID("America/New_York"));
+    String[] cases = {"2018-06-15T23:59:40.307+0700", "2018-06-15T23:59:40,307Z",
+        "2018-06-15T23", "2018-06-15T23:59:40.307z", "2018-W24-5", "2018-166", "2018-06",
+        "2018", "+2018-06-15", "12018-06-15", "2018-6-15", "2018-06-15T23:59:40.", "T23:59",
+        "2018-06-15T23:59:40.1234567890Z", "2018-06-15T24:00", "2018-03-11T02:30",
+        "2018-11-04T01:30", "2018-06-15T23:59+24:00", "2018-06-15T23:59+07:60",
+        "2018-06-15 23:59", "2018-06-15T23:59:40.307+07:00x", "", "x"};
+
+    for (String text : cases) {
+      assertSameOutcome(ISO, text);
+    }
+    for (String text : cases) {
+      assertSameOutcome(ISO.withZone(DateTimeZone.forID("Asia/Jakarta")), text);
+    }
+  }
+
+  @Test
+  public void parseMillis_bytes_readsInPlace() {
+    byte[] bytes = "xx2018-06-15T23:59:40.307+07:00yy".getBytes(StandardCharsets.US_ASCII);
+    long expected = new DateTime(2018, 6, 15, 16, 59, 40, 307, DateTimeZone.UTC).getMillis();
+
+    assertEquals(expected, ISO.parseMillis(bytes, 2, 29));
+    assertEquals(expected, ISO.parseMillis(ByteBuffer.wrap(bytes), 2, 29));
+    assertEquals(Long.MIN_VALUE, ISO.parseMillis(bytes, 2, 30, Long.MIN_VALUE));
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(40);
+    direct.put(bytes).flip();
+    assertEquals(expected, ISO.parseMillis(direct, 2, 29));
+    assertEquals(Long.MIN_VALUE, ISO.parseMillis(direct, 2, 30, Long.MIN_VALUE));
+    assertEquals(0, direct.position());
+  }
+
+  @Test
+  public void printTo_byteBuffer_writesAscii() {
+    long millis = new DateTime(2018, 6, 15, 16, 59, 40, 307, DateTimeZone.UTC).getMillis();
+    ByteBuffer buf = ByteBuffer.allocate(64);
+
+    assertEquals(24, ISO.withZone(DateTimeZone.UTC).printTo(buf, millis));
+    assertEquals(24, buf.position());
+    assertEquals("2018-06-15T16:59:40.307Z",
+        new String(buf.array(), 0, 24, StandardCharsets.US_ASCII));
+  }
+
+  private static void assertSameOutcome(DatePattern pattern, String text) {
+    DateTimeFormatter joda = ISODateTimeFormat.dateTimeParser().withZone(pattern.getZone());
+    Long expected = null;
+    try {
+      expected = joda.parseMillis(text);
+    } catch (IllegalArgumentException e) {
+      // compared below
+    }
+
+    try {
+      long actual = pattern.parseMillis(text);
+      assertEquals(text, expected, Long.valueOf(actual));
+    } catch (IllegalArgumentException e) {
+      assertFalse(text + " should be parsable", expected != null);
+    }
+
+    long actual = pattern.parseMillis(text, Long.MIN_VALUE);
+    assertEquals(text, expected == null ? Long.MIN_VALUE : expected, actual);
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.TimeComparator;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.Date;
+
+import static com.blibli.oss.common.helper.constants.TimeComparator.AFTER;
+import static com.blibli.oss.common.helper.constants.TimeComparator.BEFORE;
+import static com.blibli.oss.common.helper.constants.TimeComparator.BEFORE_OR_EQUAL_TO;
+import static com.blibli.oss.common.helper.constants.TimeComparator.EQUAL_TO;
+import static com.blibli.oss.common.helper.constants.TimeComparator.NOT_EQUAL_TO;
+import static com.blibli.oss.common.helper.constants.TimeUnit.DAYS;
+import static com.blibli.oss.common.helper.constants.TimeUnit.HOURS;
+import static com.blibli.oss.common.helper.constants.TimeUnit.WEEKS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class JavaTimeHelperTest {
+
+  private static final ZoneId JAKARTA = ZoneId.of("Asia/Jakarta");
+  private static final Instant INSTANT = Instant.ofEpochMilli(1529107180307L);
+  private static final LocalDate DATE = LocalDate.of(2018, 6, 15);
+  private static final LocalDateTime DATE_TIME = LocalDateTime.of(2018, 6, 15, 23, 59, 40);
+  private static final ZonedDateTime ZONED = ZonedDateTime.of(DATE_TIME, JAKARTA);
+
+  @Test
+  public void add_nullInputs_returnsNull() {
+    assertNull(JavaTimeHelper.add((Instant) null, 1, DAYS));
+    assertNull(JavaTimeHelper.add((LocalDate) null, 1, DAYS));
+    assertNull(JavaTimeHelper.add((LocalDateTime) null, 1, DAYS));
+    assertNull(JavaTimeHelper.add((ZonedDateTime) null, 1, DAYS));
+    assertNull(JavaTimeHelper.minus((Instant) null, 1, DAYS));
+    assertNull(JavaTimeHelper.minus((LocalDate) null, 1, DAYS));
+    assertNull(JavaTimeHelper.minus((LocalDateTime) null, 1, DAYS));
+    assertNull(JavaTimeHelper.minus((ZonedDateTime) null, 1, DAYS));
+  }
+
+  @Test
+  public void add_validInputs_returnsAddedValue() {
+    assertEquals(INSTANT.plusMillis(DateHelper.toMilliseconds(2, DAYS)),
+        JavaTimeHelper.add(INSTANT, 2, DAYS));
+    assertEquals(INSTANT.plusMillis(10), JavaTimeHelper.add(INSTANT, 10, null));
+    assertEquals(DATE.plusWeeks(1), JavaTimeHelper.add(DATE, 1, WEEKS));
+    assertEquals(DATE_TIME.plusHours(3), JavaTimeHelper.add(DATE_TIME, 3, HOURS));
+    assertEquals(ZONED.plusDays(1), JavaTimeHelper.add(ZONED, 1, DAYS));
+  }
+
+  @Test
+  public void minus_validInputs_returnsSubtractedValue() {
+    assertEquals(INSTANT.minusMillis(DateHelper.toMilliseconds(2, DAYS)),
+        JavaTimeHelper.minus(INSTANT, 2, DAYS));
+    assertEquals(DATE.minusDays(3), JavaTimeHelper.minus(DATE, 3, DAYS));
+    assertEquals(DATE_TIME.minusHours(3), JavaTimeHelper.minus(DATE_TIME, 3, HOURS));
+    assertEquals(ZONED.minusWeeks(1), JavaTimeHelper.minus(ZONED, 1, WEEKS));
+  }
+
+  @Test
+  public void add_instantWithWeeks_addsSevenDaysPerWeek() {
+    assertEquals(INSTANT.plus(14, ChronoUnit.DAYS), JavaTimeHelper.add(INSTANT, 2, WEEKS));
+    assertEquals(INSTANT.minus(7, ChronoUnit.DAYS), JavaTimeHelper.minus(INSTANT, 1, WEEKS));
+    assertEquals(DateHelper.add(Date.from(INSTANT), 3, WEEKS).toInstant(),
+        JavaTimeHelper.add(INSTANT, 3, WEEKS));
+  }
+
+  @Test(expected = UnsupportedTemporalTypeException.class)
+  public void add_localDateWithHours_throwsException() {
+    JavaTimeHelper.add(DATE, 1, HOURS);
+  }
+
+  @Test
+  public void is_instant() {
+    Instant later = INSTANT.plusMillis(1);
+    assertTrue(JavaTimeHelper.is(INSTANT, BEFORE, later));
+    assertFalse(JavaTimeHelper.is(INSTANT, AFTER, later));
+    assertTrue(JavaTimeHelper.is(INSTANT, BEFORE_OR_EQUAL_TO, INSTANT));
+    assertTrue(JavaTimeHelper.is((Instant) null, EQUAL_TO, null));
+    assertTrue(JavaTimeHelper.is(null, NOT_EQUAL_TO, INSTANT));
+    assertFalse(JavaTimeHelper.is((Instant) null, NOT_EQUAL_TO, null));
+    assertFalse(JavaTimeHelper.is(null, BEFORE, INSTANT));
+    assertFalse(JavaTimeHelper.is(INSTANT, null, later));
+  }
+
+  @Test
+  public void is_localTypes() {
+    assertTrue(JavaTimeHelper.is(DATE, BEFORE, DATE.plusDays(1)));
+    assertFalse(JavaTimeHelper.is(DATE, NOT_EQUAL_TO, DATE));
+    assertTrue(JavaTimeHelper.is(DATE_TIME, AFTER, DATE_TIME.minusNanos(1)));
+    assertTrue(JavaTimeHelper.is(DATE_TIME, TimeComparator.AFTER_OR_EQUAL_TO, DATE_TIME));
+  }
+
+  @Test
+  public void is_zonedDateTime_comparesInstants() {
+    ZonedDateTime sameInstant = ZONED.withZoneSameInstant(ZoneId.of("UTC"));
+    assertTrue(JavaTimeHelper.is(ZONED, EQUAL_TO, sameInstant));
+    assertTrue(JavaTimeHelper.is(ZONED, BEFORE, sameInstant.plusSeconds(1)));
+  }
+
+  @Test
+  public void toString_validInputs_returnsFormattedValue() {
+    assertEquals("15 Jun 2018 23:59:40.307",
+        JavaTimeHelper.toString(INSTANT, "dd MMM yyyy HH:mm:ss.SSS", ZoneId.of("UTC")));
+    assertEquals("16-06-2018", JavaTimeHelper.toString(INSTANT, "dd-MM-yyyy", JAKARTA));
+    assertEquals("15-06-2018", JavaTimeHelper.toString(DATE, "dd-MM-yyyy"));
+    assertEquals("15 Jun 2018 11:59 PM", JavaTimeHelper.toString(DATE_TIME, "dd MMM yyyy hh:mm a"));
+    assertEquals("2018-06-15T23:59:40+0700",
+        JavaTimeHelper.toString(ZONED, "yyyy-MM-dd'T'HH:mm:ssZ"));
+    assertEquals(JavaTimeHelper.toString(INSTANT, "dd-MM-yyyy", ZoneId.systemDefault()),
+        JavaTimeHelper.toString(INSTANT, "dd-MM-yyyy"));
+  }
+
+  @Test
+  public void nullZone_usesSystemDefault() {
+    assertEquals(JavaTimeHelper.toString(INSTANT, "dd-MM-yyyy HH:mm"),
+        JavaTimeHelper.toString(INSTANT, "dd-MM-yyyy HH:mm", null));
+    assertEquals(JavaTimeHelper.toInstant("15-06-2018 23:59", "dd-MM-yyyy HH:mm"),
+        JavaTimeHelper.toInstant("15-06-2018 23:59", "dd-MM-yyyy HH:mm", null));
+    assertEquals(ZoneId.systemDefault(),
+        JavaTimeHelper.toZonedDateTime("15-06-2018", "dd-MM-yyyy", null).getZone());
+  }
+
+  @Test
+  public void toString_nullInputs_returnsEmptyString() {
+    assertEquals("", JavaTimeHelper.toString((Instant) null, "dd-MM-yyyy"));
+    assertEquals("", JavaTimeHelper.toString(INSTANT, " ", JAKARTA));
+    assertEquals("", JavaTimeHelper.toString((LocalDate) null, "dd-MM-yyyy"));
+    assertEquals("", JavaTimeHelper.toString((LocalDateTime) null, "dd-MM-yyyy"));
+    assertEquals("", JavaTimeHelper.toString((ZonedDateTime) null, "dd-MM-yyyy"));
+  }
+
+  @Test
+  public void parse_validInputs_returnsParsedValue() {
+    assertEquals(DATE, JavaTimeHelper.toLocalDate("15-06-2018", "dd-MM-yyyy"));
+    assertEquals(DATE_TIME,
+        JavaTimeHelper.toLocalDateTime("15 Jun 2018 23:59:40", "dd MMM yyyy HH:mm:ss"));
+    assertEquals(DATE.atStartOfDay(), JavaTimeHelper.toLocalDateTime("15-06-2018", "dd-MM-yyyy"));
+    assertEquals(ZONED,
+        JavaTimeHelper.toZonedDateTime("15-06-2018 23:59:40", "dd-MM-yyyy HH:mm:ss", JAKARTA));
+    assertEquals(ZONED.toInstant(),
+        JavaTimeHelper.toInstant("15-06-2018 23:59:40", "dd-MM-yyyy HH:mm:ss", JAKARTA));
+    assertEquals(ZONED.toInstant(), JavaTimeHelper.toInstant("2018-06-15T23:59:40+07:00",
+        "yyyy-MM-dd'T'HH:mm:ssXXX", ZoneId.of("UTC")));
+    assertEquals(DATE.atStartOfDay(ZoneId.systemDefault()).toInstant(),
+        JavaTimeHelper.toInstant("15-06-2018", "dd-MM-yyyy"));
+  }
+
+  @Test
+  public void parse_blankInputs_returnsNull() {
+    assertNull(JavaTimeHelper.toLocalDate(" ", "dd-MM-yyyy"));
+    assertNull(JavaTimeHelper.toLocalDateTime("15-06-2018", null));
+    assertNull(JavaTimeHelper.toZonedDateTime(null, "dd-MM-yyyy", JAKARTA));
+    assertNull(JavaTimeHelper.toInstant("", "dd-MM-yyyy", JAKARTA));
+  }
+
+  @Test(expected = DateTimeParseException.class)
+  public void parse_invalidInput_throwsException() {
+    JavaTimeHelper.toLocalDate("15 Jun 2018", "dd-MM-yyyy");
+  }
+}
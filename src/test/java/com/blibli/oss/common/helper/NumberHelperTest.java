@@ -21,6 +21,14 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
 
 import static com.blibli.oss.common.helper.NumberHelper.is;
 import static junit.framework.Assert.assertEquals;
@@ -668,6 +676,216 @@ public class NumberHelperTest {
     assertEquals(5, result);
   }
 
+  @Test
+  public void parse_nullAndSuppressException_returnsZero() {
+    assertEquals(0, NumberHelper.parseInt(null, NumberHelper.ParseMode.SUPPRESS_EXCEPTION));
+    assertEquals(0L, NumberHelper.parseLong(null, NumberHelper.ParseMode.SUPPRESS_EXCEPTION));
+    assertEquals(0.0, NumberHelper.parseDouble(null, NumberHelper.ParseMode.SUPPRESS_EXCEPTION));
+  }
+
+  @Test
+  public void parse_validStringAndSuppressException_returnsNumber() {
+    assertEquals(-2147483648,
+        NumberHelper.parseInt("-2147483648", NumberHelper.ParseMode.SUPPRESS_EXCEPTION));
+    assertEquals(9223372036854775807L,
+        NumberHelper.parseLong("+9223372036854775807", NumberHelper.ParseMode.SUPPRESS_EXCEPTION));
+    assertEquals(-0.125,
+        NumberHelper.parseDouble(" -1.25e-1d ", NumberHelper.ParseMode.SUPPRESS_EXCEPTION));
+  }
+
+  @Test
+  public void parse_overflowAndSuppressException_returnsZero() {
+    assertEquals(0, NumberHelper.parseInt("2147483648", NumberHelper.ParseMode.SUPPRESS_EXCEPTION));
+    assertEquals(0L,
+        NumberHelper.parseLong("9223372036854775808", NumberHelper.ParseMode.SUPPRESS_EXCEPTION));
+  }
+
+  @Test
+  public void parse_invalidStringAndStrictMode_throwsSameExceptionAsJdk() {
+    String[] texts = {"5,0", "", "-", "2147483648", "1e", null};
+    for (String text : texts) {
+      assertEquals(exceptionOf(() -> Integer.parseInt(text)),
+          exceptionOf(() -> NumberHelper.parseInt(text, NumberHelper.ParseMode.STRICT)));
+      assertEquals(exceptionOf(() -> Long.parseLong(text)),
+          exceptionOf(() -> NumberHelper.parseLong(text, NumberHelper.ParseMode.STRICT)));
+      assertEquals(exceptionOf(() -> Double.parseDouble(text)),
+          exceptionOf(() -> NumberHelper.parseDouble(text, NumberHelper.ParseMode.STRICT)));
+    }
+  }
+
+  @Test
+  public void is_fixedDecimal_matchesBigDecimal() {
+    FixedDecimal[] values = {null, FixedDecimal.of(100, 2), FixedDecimal.of(10, 1),
+        FixedDecimal.of(-5, 0), FixedDecimal.of(15000, 0)};
+    for (FixedDecimal num1 : values) {
+      for (FixedDecimal num2 : values) {
+        for (Comparator cmp : Comparator.values()) {
+          assertEquals(is(num1 == null ? null : num1.toBigDecimal(), cmp,
+              num2 == null ? null : num2.toBigDecimal()), is(num1, cmp, num2));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void parse_localeFormats() {
+    Locale indonesia = Locale.forLanguageTag("id-ID");
+    assertEquals(1234567.89,
+        NumberHelper.parseDouble("1.234.567,89", indonesia, NumberHelper.ParseMode.STRICT));
+    assertEquals(15000L,
+        NumberHelper.parseLong("Rp 15.000", indonesia, NumberHelper.ParseMode.STRICT));
+    assertEquals(1234567.89,
+        NumberHelper.parseDouble("1,234,567.89", Locale.US, NumberHelper.ParseMode.STRICT));
+    assertEquals(0L, NumberHelper.parseLong("Rp 15.000", Locale.US,
+        NumberHelper.ParseMode.SUPPRESS_EXCEPTION));
+  }
+
+  @Test
+  public void parse_ranges_parseInPlace() {
+    StringBuilder record = new StringBuilder("0042|-9000000000|12.5e1|x");
+    char[] chars = record.toString().toCharArray();
+    byte[] bytes = record.toString().getBytes(StandardCharsets.US_ASCII);
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    buffer.position(3);
+    NumberHelper.ParseMode mode = NumberHelper.ParseMode.STRICT;
+
+    assertEquals(42, NumberHelper.parseInt(record, 0, 4, mode));
+    assertEquals(42, NumberHelper.parseInt(chars, 0, 4, mode));
+    assertEquals(42, NumberHelper.parseInt(bytes, 0, 4, mode));
+    assertEquals(42, NumberHelper.parseInt(buffer, 0, 4, mode));
+    assertEquals(-9000000000L, NumberHelper.parseLong(record, 5, 16, mode));
+    assertEquals(-9000000000L, NumberHelper.parseLong(chars, 5, 11, mode));
+    assertEquals(-9000000000L, NumberHelper.parseLong(bytes, 5, 11, mode));
+    assertEquals(-9000000000L, NumberHelper.parseLong(buffer, 5, 11, mode));
+    assertEquals(125.0, NumberHelper.parseDouble(record, 17, 23, mode));
+    assertEquals(125.0, NumberHelper.parseDouble(chars, 17, 6, mode));
+    assertEquals(125.0, NumberHelper.parseDouble(bytes, 17, 6, mode));
+    assertEquals(125.0, NumberHelper.parseDouble(buffer, 17, 6, mode));
+    assertEquals(3, buffer.position());
+    assertEquals(0, NumberHelper.parseInt(record, 0, 1, mode));
+    assertEquals(0d, NumberHelper.parseDouble(chars, 0, 1, mode));
+  }
+
+  @Test
+  public void parse_invalidRangeAndSuppressException_returnsZero() {
+    NumberHelper.ParseMode mode = NumberHelper.ParseMode.SUPPRESS_EXCEPTION;
+    assertEquals(0, NumberHelper.parseInt("12|x", 2, 4, mode));
+    assertEquals(0L, NumberHelper.parseLong("12|x".toCharArray(), 2, 2, mode));
+    assertEquals(0d, NumberHelper.parseDouble("12|x".getBytes(StandardCharsets.US_ASCII), 2, 2,
+        mode));
+    assertEquals(0, NumberHelper.parseInt((CharSequence) null, 0, 0, mode));
+    assertEquals(0L, NumberHelper.parseLong((ByteBuffer) null, 0, 0, mode));
+  }
+
+  @Test
+  public void parse_invalidRangeAndStrictMode_throwsSameExceptionAsJdk() {
+    String record = "5,0|1e|2147483648|-|";
+    int[][] ranges = {{0, 3}, {4, 6}, {7, 17}, {18, 19}, {20, 20}};
+    for (int[] range : ranges) {
+      String text = record.substring(range[0], range[1]);
+      char[] chars = record.toCharArray();
+      int start = range[0];
+      int length = range[1] - range[0];
+      assertEquals(exceptionOf(() -> Integer.parseInt(text)),
+          exceptionOf(() -> NumberHelper.parseInt(record, start, start + length,
+              NumberHelper.ParseMode.STRICT)));
+      assertEquals(exceptionOf(() -> Long.parseLong(text)),
+          exceptionOf(() -> NumberHelper.parseLong(chars, start, length,
+              NumberHelper.ParseMode.STRICT)));
+      assertEquals(exceptionOf(() -> Double.parseDouble(text)),
+          exceptionOf(() -> NumberHelper.parseDouble(
+              record.getBytes(StandardCharsets.US_ASCII), start, length,
+              NumberHelper.ParseMode.STRICT)));
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void parse_rangeOutOfBounds_throwsIndexOutOfBoundsException() {
+    NumberHelper.parseInt("123", 1, 4, NumberHelper.ParseMode.SUPPRESS_EXCEPTION);
+  }
+
+  @Test
+  public void parseColumn_invalidEntries_areFlagged() {
+    List<String> texts = Arrays.asList("12", "0", null, "x", "-7", "");
+    BitSet invalid = new BitSet();
+    invalid.set(70);
+
+    int[] ints = NumberHelper.parseInts(texts, invalid);
+    assertTrue(Arrays.equals(new int[] {12, 0, 0, 0, -7, 0}, ints));
+    assertEquals(bits(2, 3, 5), invalid);
+    assertTrue(Arrays.equals(new long[] {12L, 0L, 0L, 0L, -7L, 0L},
+        NumberHelper.parseLongs(texts, invalid)));
+    assertEquals(bits(2, 3, 5), invalid);
+    assertTrue(Arrays.equals(new double[] {12d, 0d, 0d, 0d, -7d, 0d},
+        NumberHelper.parseDoubles(texts, invalid)));
+    assertEquals(bits(2, 3, 5), invalid);
+    assertEquals(0, NumberHelper.parseLongs((List<String>) null, invalid).length);
+    assertTrue(invalid.isEmpty());
+  }
+
+  @Test
+  public void parseDelimited_invalidFields_areFlagged() {
+    BitSet invalid = new BitSet();
+
+    long[] longs = NumberHelper.parseLongs("15000\n0\n\n1.5\n-2", '\n', invalid);
+    assertTrue(Arrays.equals(new long[] {15000L, 0L, 0L, 0L, -2L}, longs));
+    assertEquals(bits(2, 3), invalid);
+    double[] doubles = NumberHelper.parseDoubles("1.5,NaN,a,", ',', invalid);
+    assertEquals(4, doubles.length);
+    assertEquals(1.5, doubles[0]);
+    assertTrue(Double.isNaN(doubles[1]));
+    assertEquals(bits(2, 3), invalid);
+    assertEquals(0, NumberHelper.parseInts("", ',', invalid).length);
+    assertEquals(0, NumberHelper.parseInts(null, ',', null).length);
+    assertTrue(invalid.isEmpty());
+  }
+
+  @Test
+  public void parseColumn_parallel_matchesSequential() {
+    Random random = new Random(21);
+    List<String> texts = new ArrayList<>();
+    StringBuilder joined = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      int kind = random.nextInt(4);
+      String text = kind == 0 ? "n/a" : kind == 1 ? "0" : Long.toString(random.nextLong() >> 20);
+      texts.add(text);
+      joined.append(i == 0 ? "" : "|").append(text);
+    }
+    BitSet sequential = new BitSet();
+    BitSet parallel = new BitSet();
+
+    assertTrue(Arrays.equals(NumberHelper.parseLongs(texts, sequential),
+        NumberHelper.parseLongs(texts, parallel, true)));
+    assertEquals(sequential, parallel);
+    assertTrue(Arrays.equals(NumberHelper.parseInts(joined, '|', sequential),
+        NumberHelper.parseInts(joined, '|', parallel, true)));
+    assertEquals(sequential, parallel);
+    assertTrue(Arrays.equals(NumberHelper.parseDoubles(texts, sequential),
+        NumberHelper.parseDoubles(joined, '|', parallel, true)));
+    assertEquals(sequential, parallel);
+    for (int i = 0; i < texts.size(); i++) {
+      String text = texts.get(i);
+      assertEquals(exceptionOf(() -> Long.parseLong(text)) != null, sequential.get(i));
+    }
+  }
+
+  private static BitSet bits(int... indexes) {
+    BitSet bits = new BitSet();
+    for (int index : indexes) {
+      bits.set(index);
+    }
+    return bits;
+  }
+
+  private static String exceptionOf(Runnable runnable) {
+    try {
+      runnable.run();
+      return null;
+    } catch (RuntimeException e) {
+      return e.getClass().getName() + ": " + e.getMessage();
+    }
+  }
+
   @Before
   public void setUp() {
     new NumberHelper();
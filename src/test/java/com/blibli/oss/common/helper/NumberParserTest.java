@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class NumberParserTest {
+
+  private static final String[] SAMPLES = {"0", "-0", "+0", "7", "-7", "+7", "007", "", "-", "+",
+      "--1", "+-1", "1-", " 1", "1 ", "1_000", "2147483647", "2147483648", "-2147483648",
+      "-2147483649", "9223372036854775807", "9223372036854775808", "-9223372036854775808",
+      "-9223372036854775809", "00000000000000000000009223372036854775807", "١٢٣",
+      "１２", "12a", "a12", "1.5", "1e3", ".5", "5.", ".", "1e", "1e+", "1e-2", "1E+2",
+      "1.5f", "1.5D", "1.5ff", "1.5fd", "NaN", "-NaN", "+Infinity", "-Infinity", "Infinity ",
+      "nan", "NaNx", "Inf", "0x1p3", "0x1.8p1", "-0X.8P-1d", "0x1", "0xp1", "0x.p1", "0x1.p1",
+      "0x1pf", "00x1p1", "  \t12.5e-3\n", "1..2", "1.2.3", "\u0000", "1e99999", "-1e-99999",
+      "4.9e-324", "1.7976931348623157E308", "5,0"};
+
+  private static final String ALPHABET = "0123456789+-.eExXpPfFdDaNIny ١";
+
+  @Test
+  public void parse_samples_matchJdk() {
+    for (String sample : SAMPLES) {
+      assertSameOutcome(sample);
+    }
+  }
+
+  @Test
+  public void parse_randomText_matchesJdk() {
+    Random random = new Random(19);
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 200000; i++) {
+      builder.setLength(0);
+      int length = random.nextInt(12);
+      for (int j = 0; j < length; j++) {
+        builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+      }
+      assertSameOutcome(builder.toString());
+    }
+  }
+
+  @Test
+  public void parse_randomNumbers_matchJdk() {
+    Random random = new Random(20);
+    for (int i = 0; i < 100000; i++) {
+      assertSameOutcome(Long.toString(random.nextLong()));
+      assertSameOutcome(Integer.toString(random.nextInt()));
+      assertSameOutcome(Double.toString(Double.longBitsToDouble(random.nextLong())));
+    }
+  }
+
+  @Test
+  public void parseDouble_hardCases_bitIdenticalToJdk() {
+    String[] texts = {"9007199254740993", "9007199254740992.5", "2.2250738585072011e-308",
+        "2.2250738585072012e-308", "4.9406564584124654e-324", "2.4703282292062327e-324",
+        "2.4703282292062328e-324", "1.7976931348623157e308", "1.7976931348623158e308",
+        "1.7976931348623159e308", "1e23", "8.41e21", "5e-324", "1e-400", "1e400", "0e999999",
+        "0.0", "0.1", "0.3", "123456789012345678901234567890", "7.3177701707893310e+15",
+        "0.000000000000000000000000000000000000000000001", "1448997445238699",
+        "3.0540412e5", "1.00000000000000011102230246251565404236316680908203125",
+        "1.00000000000000011102230246251565404236316680908203124",
+        "1.00000000000000011102230246251565404236316680908203126",
+        "179769313486231580793728971405303415079934132710037826936173778980444968292764750946649"
+            + "01787236501180032592128768256016007306437281224224843920592913049434136e-0",
+        "1e1000000", "1e-1000000", "0e1000000", "1e-99999999999", "1e+99999999999",
+        "1" + StringUtils.repeat('0', 100018) + "e-1000000",
+        "1" + StringUtils.repeat('0', 100018) + "e-100010",
+        "0." + StringUtils.repeat('0', 100018) + "1e100030"};
+    for (String text : texts) {
+      assertBitIdentical(text);
+      assertBitIdentical("-" + text);
+    }
+  }
+
+  @Test
+  public void parseDouble_randomDecimals_bitIdenticalToJdk() {
+    Random random = new Random(23);
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 300000; i++) {
+      builder.setLength(0);
+      int digits = 1 + random.nextInt(random.nextBoolean() ? 17 : 30);
+      int point = random.nextInt(digits + 1);
+      for (int j = 0; j < digits; j++) {
+        if (j == point) {
+          builder.append('.');
+        }
+        builder.append((char) ('0' + random.nextInt(10)));
+      }
+      if (random.nextBoolean()) {
+        builder.append('e').append(random.nextInt(720) - 360);
+      }
+      assertBitIdentical(builder.toString());
+    }
+  }
+
+  @Test
+  public void parseDouble_shortestAndHalfwayRepresentations_bitIdenticalToJdk() {
+    Random random = new Random(24);
+    for (int i = 0; i < 10000; i++) {
+      double value = Math.abs(Double.longBitsToDouble(random.nextLong()));
+      if (Double.isNaN(value) || Double.isInfinite(value) || value == Double.MAX_VALUE) {
+        continue;
+      }
+      assertBitIdentical(Double.toString(value));
+      assertBitIdentical(Float.toString((float) value));
+      BigDecimal halfway = new BigDecimal(value).add(new BigDecimal(Math.nextUp(value)))
+          .divide(BigDecimal.valueOf(2));
+      assertBitIdentical(halfway.toString());
+      assertBitIdentical(halfway.add(halfway.ulp()).toString());
+      assertBitIdentical(halfway.subtract(halfway.ulp()).toString());
+    }
+  }
+
+  @Test
+  public void parse_range_readsOnlyRange() {
+    assertEquals(-42, NumberParser.parseInt("x-42y", 1, 4, 0));
+    assertEquals(42L, NumberParser.parseLong("x42y", 1, 3, 0L));
+    assertEquals(4.25d, NumberParser.parseDouble("x 4.25 y", 1, 6, 0d), 0d);
+    assertEquals(-1, NumberParser.parseInt("x-42y", 1, 1, -1));
+  }
+
+  private static void assertSameOutcome(String text) {
+    Integer expectedInt;
+    try {
+      expectedInt = Integer.parseInt(text);
+    } catch (NumberFormatException e) {
+      expectedInt = null;
+    }
+    int actualInt = NumberParser.parseInt(text, 0, text.length(), Integer.MIN_VALUE + 1);
+    assertEquals(text, expectedInt == null ? Integer.MIN_VALUE + 1 : expectedInt, actualInt);
+    assertEquals(text, expectedInt == null ? 7 : expectedInt,
+        NumberParser.parseInt(text, 0, text.length(), 7));
+
+    Long expectedLong;
+    try {
+      expectedLong = Long.parseLong(text);
+    } catch (NumberFormatException e) {
+      expectedLong = null;
+    }
+    assertEquals(text, expectedLong == null ? 7L : expectedLong,
+        NumberParser.parseLong(text, 0, text.length(), 7L));
+
+    Double expectedDouble;
+    try {
+      expectedDouble = Double.parseDouble(text);
+    } catch (NumberFormatException e) {
+      expectedDouble = null;
+    }
+    double actualDouble = NumberParser.parseDouble(text, 0, text.length(), 7.5d);
+    assertEquals(text, expectedDouble == null ? 7.5d : expectedDouble, actualDouble, 0d);
+  }
+
+  private static void assertBitIdentical(String text) {
+    assertEquals(text, Double.doubleToRawLongBits(Double.parseDouble(text)),
+        Double.doubleToRawLongBits(NumberParser.parseDouble(text, 0, text.length(), 7.5d)));
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import com.blibli.oss.common.helper.constants.TimeUnit;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class TimeUnitHelperTest {
+
+  @Test
+  public void factor_returnsNumberOfTargetUnitsPerSourceUnit() {
+    assertEquals(7, TimeUnitHelper.factor(TimeUnit.WEEKS, TimeUnit.DAYS));
+    assertEquals(604800000L, TimeUnitHelper.factor(TimeUnit.WEEKS, null));
+    assertEquals(0, TimeUnitHelper.factor(TimeUnit.SECONDS, TimeUnit.MINUTES));
+    assertEquals(1, TimeUnitHelper.factor(TimeUnit.HOURS, TimeUnit.HOURS));
+  }
+
+  @Test
+  public void convert_everyPair_matchesConcurrentTimeUnit() {
+    Random random = new Random(5);
+    long[] samples = new long[1000];
+    for (int i = 0; i < samples.length; i++) {
+      samples[i] = random.nextLong() >> random.nextInt(64);
+    }
+    samples[0] = Long.MAX_VALUE;
+    samples[1] = Long.MIN_VALUE;
+    samples[2] = 0;
+    samples[3] = -1;
+
+    for (TimeUnit from : TimeUnit.values()) {
+      for (TimeUnit to : TimeUnit.values()) {
+        if (from == TimeUnit.WEEKS || to == TimeUnit.WEEKS) {
+          continue;
+        }
+        java.util.concurrent.TimeUnit concurrentTo = TimeUnitHelper.toConcurrentTimeUnit(to);
+        java.util.concurrent.TimeUnit concurrentFrom = TimeUnitHelper.toConcurrentTimeUnit(from);
+        for (long sample : samples) {
+          assertEquals(from + " -> " + to + " / " + sample,
+              concurrentTo.convert(sample, concurrentFrom),
+              TimeUnitHelper.convert(sample, from, to));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void convert_weeks_saturatesInsteadOfOverflowing() {
+    assertEquals(1209600000L, TimeUnitHelper.convert(2, TimeUnit.WEEKS, TimeUnit.MILLISECONDS));
+    assertEquals(3, TimeUnitHelper.convert(22, TimeUnit.DAYS, TimeUnit.WEEKS));
+    assertEquals(-3, TimeUnitHelper.convert(-22, TimeUnit.DAYS, TimeUnit.WEEKS));
+    assertEquals(Long.MAX_VALUE,
+        TimeUnitHelper.convert(Long.MAX_VALUE / 1000, TimeUnit.WEEKS, TimeUnit.NANOSECONDS));
+    assertEquals(Long.MIN_VALUE,
+        TimeUnitHelper.convert(Long.MIN_VALUE / 1000, TimeUnit.WEEKS, null));
+  }
+
+  @Test
+  public void convertExact_lossless_returnsConvertedValue() {
+    assertEquals(3, TimeUnitHelper.convertExact(21, TimeUnit.DAYS, TimeUnit.WEEKS));
+    assertEquals(-120000L, TimeUnitHelper.convertExact(-2, TimeUnit.MINUTES, null));
+    assertEquals(Long.MIN_VALUE,
+        TimeUnitHelper.convertExact(Long.MIN_VALUE, TimeUnit.SECONDS, TimeUnit.SECONDS));
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void convertExact_truncation_throwsException() {
+    TimeUnitHelper.convertExact(22, TimeUnit.DAYS, TimeUnit.WEEKS);
+  }
+
+  @Test(expected = ArithmeticException.class)
+  public void convertExact_overflow_throwsException() {
+    TimeUnitHelper.convertExact(Long.MAX_VALUE / 1000, TimeUnit.WEEKS, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void convert_array_matchesScalarConversion() {
+    Random random = new Random(9);
+    long[] src = new long[517];
+    for (int i = 0; i < src.length; i++) {
+      src[i] = random.nextLong() >> random.nextInt(64);
+    }
+
+    for (TimeUnit from : TimeUnit.values()) {
+      for (TimeUnit to : TimeUnit.values()) {
+        long[] dst = new long[src.length + 3];
+        TimeUnitHelper.convert(src, from, dst, to);
+        for (int i = 0; i < src.length; i++) {
+          assertEquals(TimeUnitHelper.convert(src[i], from, to), dst[i]);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void convert_arrayInPlace_overwritesSource() {
+    long[] values = {1, 2, -3};
+    TimeUnitHelper.convert(values, TimeUnit.SECONDS, values, TimeUnit.MILLISECONDS);
+    assertArrayEquals(new long[] {1000, 2000, -3000}, values);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void convert_shortDestination_throwsException() {
+    TimeUnitHelper.convert(new long[2], TimeUnit.SECONDS, new long[1], TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void convertExact_array_throwsWithoutTouchingDestination() {
+    long[] dst = new long[2];
+    try {
+      TimeUnitHelper.convertExact(new long[] {7, 8}, TimeUnit.DAYS, dst, TimeUnit.WEEKS);
+      fail();
+    } catch (ArithmeticException e) {
+      assertArrayEquals(new long[2], dst);
+    }
+    try {
+      TimeUnitHelper.convertExact(new long[] {1, Long.MAX_VALUE}, TimeUnit.DAYS, dst, null);
+      fail();
+    } catch (ArithmeticException e) {
+      assertArrayEquals(new long[2], dst);
+    }
+
+    TimeUnitHelper.convertExact(new long[] {7, -14}, TimeUnit.DAYS, dst, TimeUnit.WEEKS);
+    assertArrayEquals(new long[] {1, -2}, dst);
+  }
+
+  @Test
+  public void toConcurrentTimeUnit_nullUnit_returnsMilliseconds() {
+    assertEquals(java.util.concurrent.TimeUnit.MILLISECONDS,
+        TimeUnitHelper.toConcurrentTimeUnit(null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void toConcurrentTimeUnit_weeks_throwsException() {
+    TimeUnitHelper.toConcurrentTimeUnit(TimeUnit.WEEKS);
+  }
+
+  @Test
+  public void fromConcurrentTimeUnit_roundTrips() {
+    for (TimeUnit unit : TimeUnit.values()) {
+      if (unit != TimeUnit.WEEKS) {
+        assertEquals(unit,
+            TimeUnitHelper.fromConcurrentTimeUnit(TimeUnitHelper.toConcurrentTimeUnit(unit)));
+      }
+    }
+    assertNull(TimeUnitHelper.fromConcurrentTimeUnit(null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fromConcurrentTimeUnit_microseconds_throwsException() {
+    TimeUnitHelper.fromConcurrentTimeUnit(java.util.concurrent.TimeUnit.MICROSECONDS);
+  }
+}
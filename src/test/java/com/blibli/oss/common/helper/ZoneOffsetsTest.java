@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 BLIBLI.COM
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.blibli.oss.common.helper;
+
+import org.joda.time.DateTimeZone;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ZoneOffsetsTest {
+
+  private static final String[] ZONES = {"UTC", "Asia/Jakarta", "Asia/Makassar", "Asia/Kolkata",
+      "America/New_York", "Europe/London", "Europe/Moscow", "Australia/Lord_Howe",
+      "America/Sao_Paulo", "Pacific/Apia", "Asia/Kathmandu", "Africa/Bujumbura",
+      "Africa/Kinshasa", "Africa/Lome", "Africa/Lubumbashi", "Atlantic/South_Georgia",
+      "Indian/Christmas", "Indian/Cocos", "Pacific/Port_Moresby"};
+
+  @Test
+  public void forZone_sameZone_returnsCachedTable() {
+    DateTimeZone zone = DateTimeZone.forID("Asia/Jakarta");
+    assertSame(ZoneOffsets.forZone(zone), ZoneOffsets.forZone(zone));
+    assertSame(zone, ZoneOffsets.forZone(zone).getZone());
+  }
+
+  @Test
+  public void forZoneOrDefault_null_returnsDefaultZoneTable() {
+    assertSame(DateTimeZone.getDefault(), ZoneOffsets.forZoneOrDefault(null).getZone());
+  }
+
+  @Test
+  public void getOffset_aroundEveryTransition_matchesJoda() {
+    for (String id : ZONES) {
+      DateTimeZone zone = DateTimeZone.forID(id);
+      ZoneOffsets offsets = ZoneOffsets.forZone(zone);
+      long instant = -3000000000000L;
+      while (instant < 4200000000000L) {
+        for (long delta = -2; delta <= 2; delta++) {
+          assertEquals(id + " / " + instant, zone.getOffset(instant + delta),
+              offsets.getOffset(instant + delta));
+        }
+        long next = zone.nextTransition(instant);
+        if (next == instant) {
+          break;
+        }
+        instant = next;
+      }
+    }
+  }
+
+  @Test
+  public void getOffsetFromLocal_aroundEveryTransition_matchesJoda() {
+    long[] deltas = {-7200001, -3600001, -3600000, -1800000, -1, 0, 1, 1800000, 3599999, 3600000,
+        7200000};
+    for (String id : ZONES) {
+      DateTimeZone zone = DateTimeZone.forID(id);
+      ZoneOffsets offsets = ZoneOffsets.forZone(zone);
+      long instant = -3000000000000L;
+      while (instant < 4200000000000L) {
+        long local = instant + zone.getOffset(instant);
+        for (long delta : deltas) {
+          assertEquals(id + " / " + (local + delta), zone.getOffsetFromLocal(local + delta),
+              offsets.getOffsetFromLocal(local + delta));
+        }
+        long next = zone.nextTransition(instant);
+        if (next == instant) {
+          break;
+        }
+        instant = next;
+      }
+    }
+  }
+
+  @Test
+  public void getOffset_randomInstants_matchesJoda() {
+    Random random = new Random(3);
+    for (String id : ZONES) {
+      DateTimeZone zone = DateTimeZone.forID(id);
+      ZoneOffsets offsets = ZoneOffsets.forZone(zone);
+      for (int i = 0; i < 20000; i++) {
+        long millis = random.nextLong() % 20000000000000L;
+        assertEquals(zone.getOffset(millis), offsets.getOffset(millis));
+        assertEquals(zone.getOffsetFromLocal(millis), offsets.getOffsetFromLocal(millis));
+      }
+    }
+  }
+
+  @Test
+  public void getOffset_before1900InZonesWithoutLaterTransitions_delegatesToZone() {
+    long[] instants = {-2208988800001L, -2208988800000L - 86400000L, -2840140800000L,
+        -5000000000000L};
+    for (String id : new String[] {"Pacific/Port_Moresby", "Indian/Cocos", "Africa/Kinshasa"}) {
+      DateTimeZone zone = DateTimeZone.forID(id);
+      ZoneOffsets offsets = ZoneOffsets.forZone(zone);
+      for (long millis : instants) {
+        assertEquals(id + " / " + millis, zone.getOffset(millis), offsets.getOffset(millis));
+        assertEquals(id + " / " + millis, zone.getOffsetFromLocal(millis),
+            offsets.getOffsetFromLocal(millis));
+      }
+      assertEquals(-2208988800000L, offsets.fixedSince());
+    }
+  }
+
+  @Test
+  public void isGap_springForward_returnsTrue() {
+    DateTimeZone zone = DateTimeZone.forID("America/New_York");
+    ZoneOffsets offsets = ZoneOffsets.forZone(zone);
+    long local = FixedDatePattern.daysFromCivil(2018, 3, 11) * 86400000L + 9000000L;
+
+    assertTrue(offsets.isGap(local, offsets.getOffsetFromLocal(local)));
+    assertFalse(offsets.isGap(local + 3600000L, offsets.getOffsetFromLocal(local + 3600000L)));
+  }
+
+  @Test
+  public void getOffset_fixedZone_neverDelegates() {
+    DateTimeZone zone = DateTimeZone.forOffsetHours(7);
+    ZoneOffsets offsets = ZoneOffsets.forZone(zone);
+
+    assertEquals(25200000, offsets.getOffset(Long.MIN_VALUE + 1));
+    assertEquals(25200000, offsets.getOffset(Long.MAX_VALUE));
+    assertEquals(25200000, offsets.getOffsetFromLocal(0L));
+  }
+}